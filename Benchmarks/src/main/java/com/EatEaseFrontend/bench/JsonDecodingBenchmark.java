@@ -0,0 +1,110 @@
+package com.EatEaseFrontend.bench;
+
+import com.EatEaseFrontend.Item;
+import com.EatEaseFrontend.ItemJsonLoader;
+import com.EatEaseFrontend.JsonParser;
+import com.EatEaseFrontend.Mesa;
+import com.EatEaseFrontend.PedidoRapid;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a conversão das respostas da API nos modelos: os decoders streaming
+ * do JsonParser contra o Jackson databind (ItemJsonLoader e um ObjectMapper
+ * configurado da mesma forma), para 10, 1k e 100k objetos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class JsonDecodingBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+
+    private String pedidosJson;
+    private String mesasJson;
+    private String itemsJson;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pedidosJson = Payloads.pedidosRapid(size);
+        mesasJson = Payloads.mesas(size);
+        itemsJson = Payloads.items(size);
+
+        // ItemJsonLoader escreve o payload inteiro no stdout; descartar para a
+        // escrita na consola não dominar a medição
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    /* ---------- /pedido/getAllRapid ---------- */
+
+    @Benchmark
+    public List<PedidoRapid> pedidosRapidStreaming() {
+        return JsonParser.parsePedidosRapid(pedidosJson);
+    }
+
+    @Benchmark
+    public List<PedidoRapid> pedidosRapidDatabind() throws Exception {
+        return mapper.readValue(pedidosJson, new TypeReference<List<PedidoRapid>>() {
+        });
+    }
+
+    /* ---------- /mesa/getAll ---------- */
+
+    @Benchmark
+    public List<Mesa> mesasStreaming() {
+        return JsonParser.parseMesas(mesasJson);
+    }
+
+    @Benchmark
+    public List<Mesa> mesasDatabind() throws Exception {
+        return mapper.readValue(mesasJson, new TypeReference<List<Mesa>>() {
+        });
+    }
+
+    /* ---------- /item/getAll ---------- */
+
+    @Benchmark
+    public List<Item> itemsStreaming() {
+        return JsonParser.parseItems(itemsJson);
+    }
+
+    @Benchmark
+    public List<Item> itemsItemJsonLoader() throws Exception {
+        return ItemJsonLoader.parseItems(itemsJson);
+    }
+}
@@ -0,0 +1,112 @@
+package com.EatEaseFrontend.bench;
+
+import java.util.Random;
+
+/**
+ * Gera respostas JSON sintéticas com o mesmo formato da API, para os
+ * benchmarks não dependerem do servidor.
+ */
+final class Payloads {
+
+    private static final String[] NOMES = { "Pão de Alho", "Bitoque", "Açorda", "Francesinha", "Sumo de Laranja",
+            "Bacalhau à Brás", "Arroz Doce", "Café", "Sopa do Dia", "Polvo à Lagareiro" };
+
+    private Payloads() {
+        /* Impede instanciar */ }
+
+    /**
+     * Resposta de /pedido/getAllRapid com o número de pedidos indicado; cada
+     * pedido tem entre 1 e 4 itens completos.
+     */
+    static String pedidosRapid(int count) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(count * 600);
+        sb.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i + 1).append(",\"itensIds\":[");
+            int items = 1 + random.nextInt(4);
+            for (int j = 0; j < items; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                appendItem(sb, random.nextInt(1500) + 1, random);
+            }
+            sb.append("],\"estadoPedido_id\":").append(1 + random.nextInt(5))
+                    .append(",\"mesa_number\":").append(1 + random.nextInt(60))
+                    .append(",\"funcionario\":\"Funcionário ").append(random.nextInt(20))
+                    .append("\",\"dataHora\":\"2025-05-").append(10 + random.nextInt(18))
+                    .append("T").append(10 + random.nextInt(12)).append(":15:30.123Z\"")
+                    .append(",\"observacao\":").append(random.nextBoolean() ? "\"Sem cebola\"" : "null")
+                    .append(",\"ingredientesRemover\":[").append(random.nextBoolean() ? "3,7" : "").append("]}");
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Resposta de /mesa/getAll com o número de mesas indicado
+     */
+    static String mesas(int count) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(count * 80);
+        sb.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i + 1)
+                    .append(",\"numero\":").append(i + 1)
+                    .append(",\"estadoLivre\":").append(random.nextBoolean())
+                    .append(",\"capacidade\":").append(2 + random.nextInt(7))
+                    .append('}');
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Resposta de /item/getAll com o número de itens indicado
+     */
+    static String items(int count) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(count * 250);
+        sb.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendItem(sb, i + 1, random);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static void appendItem(StringBuilder sb, int id, Random random) {
+        boolean composto = random.nextInt(3) > 0;
+        sb.append("{\"id\":").append(id)
+                .append(",\"nome\":\"").append(NOMES[id % NOMES.length]).append(' ').append(id)
+                .append("\",\"tipoPrato_id\":").append(1 + random.nextInt(4))
+                .append(",\"preco\":").append(1 + random.nextInt(25)).append('.').append(random.nextInt(10)).append('0')
+                .append(",\"eComposto\":").append(composto)
+                .append(",\"stockAtual\":").append(random.nextInt(100))
+                .append(",\"ingredientesJson\":\"");
+        if (composto) {
+            sb.append('[');
+            int ingredientes = 1 + random.nextInt(5);
+            for (int k = 0; k < ingredientes; k++) {
+                if (k > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\\\"ingredienteId\\\":").append(1 + random.nextInt(200))
+                        .append(",\\\"quantidade\\\":").append(1 + random.nextInt(10)).append('}');
+            }
+            sb.append(']');
+        } else {
+            sb.append("[]");
+        }
+        sb.append("\",\"foto\":").append(random.nextBoolean() ? "\"item_" + id + ".jpg\"" : "null").append('}');
+    }
+}
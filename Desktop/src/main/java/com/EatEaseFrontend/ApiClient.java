@@ -0,0 +1,213 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cliente da API partilhado por todas as views.
+ * Usa o HttpClient criado no Main (com os cookies da sessão), aplica um
+ * timeout a cada pedido, limita o número de pedidos em simultâneo ao backend
+ * e converte as respostas diretamente para os modelos.
+ */
+public class ApiClient {
+
+    private final HttpClient http;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+
+    /**
+     * Cria o cliente com os valores de timeout e concorrência do AppConfig
+     *
+     * @param http HttpClient partilhado da aplicação
+     */
+    public ApiClient(HttpClient http) {
+        this(http, Duration.ofSeconds(AppConfig.getApiTimeoutSeconds()), AppConfig.getApiMaxConcurrentRequests());
+    }
+
+    /**
+     * @param http          HttpClient partilhado da aplicação
+     * @param timeout       Timeout aplicado aos pedidos que não definem um
+     * @param maxConcurrent Número máximo de pedidos em curso ao mesmo tempo
+     */
+    public ApiClient(HttpClient http, Duration timeout, int maxConcurrent) {
+        this.http = http;
+        this.timeout = timeout;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Cria um builder já com o endpoint completo e o timeout por defeito
+     *
+     * @param path Caminho do endpoint (ex: "/mesa/getAll")
+     * @return Builder do pedido
+     */
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(AppConfig.getApiEndpoint(path)))
+                .timeout(timeout);
+    }
+
+    /**
+     * Envia um pedido de forma assíncrona. Se já houver demasiados pedidos em
+     * curso, o pedido fica em fila até haver uma vaga.
+     *
+     * @param request     Pedido a enviar
+     * @param bodyHandler Handler do corpo da resposta
+     * @param <T>         Tipo do corpo
+     * @return Future com a resposta
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest timedRequest = withTimeout(request);
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+
+        waiting.add(() -> {
+            try {
+                http.sendAsync(timedRequest, bodyHandler).whenComplete((response, throwable) -> {
+                    releasePermit();
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(response);
+                    }
+                });
+            } catch (RuntimeException e) {
+                releasePermit();
+                result.completeExceptionally(e);
+            }
+        });
+        drainQueue();
+
+        return result;
+    }
+
+    /**
+     * Envia um pedido de forma síncrona, respeitando o mesmo limite de
+     * concorrência. Não deve ser chamado na UI thread.
+     *
+     * @param request     Pedido a enviar
+     * @param bodyHandler Handler do corpo da resposta
+     * @param <T>         Tipo do corpo
+     * @return Resposta do servidor
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        permits.acquire();
+        try {
+            return http.send(withTimeout(request), bodyHandler);
+        } finally {
+            releasePermit();
+        }
+    }
+
+    /**
+     * Faz um GET e devolve o corpo como texto
+     *
+     * @param path Caminho do endpoint
+     * @return Future com o corpo; falha se o status não for 2xx
+     */
+    public CompletableFuture<String> getString(String path) {
+        return sendAsync(request(path).GET().build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(ApiClient::requireSuccess);
+    }
+
+    /**
+     * Faz um GET e converte o corpo num objeto do modelo
+     *
+     * @param path Caminho do endpoint
+     * @param type Classe do modelo
+     * @param <T>  Tipo do modelo
+     * @return Future com o objeto
+     */
+    public <T> CompletableFuture<T> getObject(String path, Class<T> type) {
+        return getString(path).thenApply(body -> decode(body, mapper.constructType(type)));
+    }
+
+    /**
+     * Faz um GET e converte o corpo numa lista de objetos do modelo
+     *
+     * @param path Caminho do endpoint
+     * @param type Classe dos elementos da lista
+     * @param <T>  Tipo dos elementos
+     * @return Future com a lista
+     */
+    public <T> CompletableFuture<List<T>> getList(String path, Class<T> type) {
+        return getString(path).thenApply(
+                body -> decode(body, mapper.getTypeFactory().constructCollectionType(List.class, type)));
+    }
+
+    /**
+     * @return ObjectMapper configurado como o resto da aplicação
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * @return HttpClient partilhado da aplicação
+     */
+    public HttpClient getHttpClient() {
+        return http;
+    }
+
+    private <T> T decode(String body, JavaType type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static String requireSuccess(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new CompletionException(new IOException("Código " + status + " em " + response.uri().getPath()));
+        }
+        return response.body();
+    }
+
+    private HttpRequest withTimeout(HttpRequest request) {
+        if (request.timeout().isPresent()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(timeout).build();
+    }
+
+    private void releasePermit() {
+        permits.release();
+        drainQueue();
+    }
+
+    /**
+     * Arranca os pedidos em fila enquanto houver vagas
+     */
+    private void drainQueue() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // Outra thread levou o pedido; devolver a vaga e voltar a verificar
+                permits.release();
+                continue;
+            }
+            next.run();
+        }
+    }
+}
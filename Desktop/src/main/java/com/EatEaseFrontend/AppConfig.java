@@ -2,6 +2,13 @@ package com.EatEaseFrontend;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Properties;
 
 /**
@@ -14,6 +21,26 @@ public class AppConfig {
 
     // Default values in case the config file is not found
     private static final String DEFAULT_API_BASE_URL = "https://p2.maruqes.com:10513";
+    private static final int DEFAULT_API_TIMEOUT_SECONDS = 15;
+    private static final int DEFAULT_API_MAX_CONCURRENT_REQUESTS = 6;
+    private static final String DEFAULT_EVENTS_PATH = "/events";
+    private static final int DEFAULT_LIVE_POLL_CONNECTED_SECONDS = 120;
+    private static final int DEFAULT_ASYNC_MAX_PARALLEL = 8;
+    private static final int DEFAULT_MESA_POSITIONS_REVALIDATE_SECONDS = 30;
+    private static final int DEFAULT_SEARCH_DEBOUNCE_MILLIS = 150;
+    private static final int DEFAULT_IMAGE_CACHE_MEMORY_MB = 64;
+    private static final int DEFAULT_IMAGE_CACHE_DISK_MB = 256;
+    private static final int DEFAULT_IMAGE_CACHE_REVALIDATE_SECONDS = 300;
+    private static final int DEFAULT_UPLOAD_PHOTO_MAX_DIMENSION = 1920;
+    private static final int DEFAULT_UPLOAD_PHOTO_JPEG_QUALITY = 85;
+    private static final int DEFAULT_UPLOAD_TIMEOUT_SECONDS = 600;
+    private static final int DEFAULT_REPORT_MAX_PARALLEL = 4;
+    private static final int DEFAULT_STOCK_CRITICAL = 5;
+    private static final int DEFAULT_STOCK_LOW = 10;
+    private static final int DEFAULT_STOCK_RESYNC_SECONDS = 300;
+    private static final int DEFAULT_ITEM_CACHE_MAX_AGE_SECONDS = 60;
+    private static final int DEFAULT_INGREDIENT_CACHE_MAX_AGE_SECONDS = 60;
+    private static final int DEFAULT_STOCK_MOVEMENTS_FLUSH_MILLIS = 1500;
 
     static {
         loadConfig();
@@ -48,6 +75,309 @@ public class AppConfig {
         return getApiBaseUrl() + path;
     }
 
+    /**
+     * Gets the directory used for local caches, creating it if needed.
+     *
+     * @return The cache directory
+     */
+    public static Path getCacheDirectory() {
+        Path dir = Paths.get(properties.getProperty("cache.dir",
+                Paths.get(System.getProperty("user.home"), ".eatease", "cache").toString()));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            System.err.println("Could not create cache directory " + dir + ": " + ex.getMessage());
+        }
+        return dir;
+    }
+
+    /**
+     * Gets the cache directory for data that belongs to the current backend
+     * (sales history, floor plan). It is a subdirectory of the cache
+     * directory named after a hash of the API base URL, so pointing the app at
+     * another server never shows or replays the previous server's data.
+     *
+     * @return The backend cache directory
+     */
+    public static Path getBackendCacheDirectory() {
+        Path dir = getCacheDirectory().resolve("backend-" + hash(getApiBaseUrl()));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            System.err.println("Could not create cache directory " + dir + ": " + ex.getMessage());
+        }
+        return dir;
+    }
+
+    /**
+     * Gets the cache directory for data that belongs to one user of the
+     * current backend (queued stock movements). It is a subdirectory of the
+     * backend cache directory named after a hash of the username, so one
+     * user's unsent data is never replayed under another user's session.
+     *
+     * @param username The logged in user
+     * @return The user cache directory
+     */
+    public static Path getUserCacheDirectory(String username) {
+        Path dir = getBackendCacheDirectory().resolve("user-" + hash(username));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            System.err.println("Could not create cache directory " + dir + ": " + ex.getMessage());
+        }
+        return dir;
+    }
+
+    /**
+     * @return The first 16 hex digits of the SHA-256 of the value
+     */
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available in the JDK
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the per-request timeout used for API calls.
+     *
+     * @return The timeout in seconds (at least 1)
+     */
+    public static int getApiTimeoutSeconds() {
+        return getIntProperty("api.timeout.seconds", DEFAULT_API_TIMEOUT_SECONDS, 1);
+    }
+
+    /**
+     * Gets the maximum number of API requests allowed in flight at once.
+     *
+     * @return The concurrent request limit (at least 1)
+     */
+    public static int getApiMaxConcurrentRequests() {
+        return getIntProperty("api.max.concurrent", DEFAULT_API_MAX_CONCURRENT_REQUESTS, 1);
+    }
+
+    /**
+     * Gets the URL of the server-sent events stream for live order and table
+     * updates. Defaults to the events path on the API base URL.
+     *
+     * @return The events stream URL
+     */
+    public static String getEventsEndpoint() {
+        return properties.getProperty("api.events.url", getApiEndpoint(DEFAULT_EVENTS_PATH));
+    }
+
+    /**
+     * Gets the safety polling interval used while the events stream is
+     * connected.
+     *
+     * @return The interval in seconds
+     */
+    public static int getLivePollConnectedSeconds() {
+        return getIntProperty("live.poll.connected.seconds", DEFAULT_LIVE_POLL_CONNECTED_SECONDS);
+    }
+
+    /**
+     * Gets the maximum number of background operations (AsyncOperationManager)
+     * allowed to run at once across all views.
+     *
+     * @return The parallel operation limit
+     */
+    public static int getAsyncMaxParallel() {
+        return Math.max(1, getIntProperty("async.max.parallel", DEFAULT_ASYNC_MAX_PARALLEL));
+    }
+
+    /**
+     * Gets how often the cached table floor plan is revalidated against the
+     * server.
+     *
+     * @return The interval in seconds
+     */
+    public static int getMesaPositionsRevalidateSeconds() {
+        return getIntProperty("mesa.positions.revalidate.seconds", DEFAULT_MESA_POSITIONS_REVALIDATE_SECONDS);
+    }
+
+    /**
+     * Gets how long the search fields wait after the last keystroke before
+     * running the query.
+     *
+     * @return The debounce delay in milliseconds
+     */
+    public static int getSearchDebounceMillis() {
+        return Math.max(0, getIntProperty("search.debounce.millis", DEFAULT_SEARCH_DEBOUNCE_MILLIS));
+    }
+
+    /**
+     * Gets the memory budget for decoded item photos.
+     *
+     * @return The budget in megabytes
+     */
+    public static int getImageCacheMemoryMb() {
+        return Math.max(1, getIntProperty("image.cache.memory.mb", DEFAULT_IMAGE_CACHE_MEMORY_MB));
+    }
+
+    /**
+     * Gets the disk budget for downloaded item photos.
+     *
+     * @return The budget in megabytes
+     */
+    public static int getImageCacheDiskMb() {
+        return Math.max(1, getIntProperty("image.cache.disk.mb", DEFAULT_IMAGE_CACHE_DISK_MB));
+    }
+
+    /**
+     * Gets how long a downloaded item photo is used before it is revalidated
+     * with the server.
+     *
+     * @return The interval in seconds
+     */
+    public static int getImageCacheRevalidateSeconds() {
+        return getIntProperty("image.cache.revalidate.seconds", DEFAULT_IMAGE_CACHE_REVALIDATE_SECONDS);
+    }
+
+    /**
+     * Gets the largest side, in pixels, a photo may have before it is
+     * downscaled for upload.
+     *
+     * @return The maximum dimension in pixels
+     */
+    public static int getUploadPhotoMaxDimension() {
+        return Math.max(64, getIntProperty("upload.photo.max.dimension", DEFAULT_UPLOAD_PHOTO_MAX_DIMENSION));
+    }
+
+    /**
+     * Gets the JPEG quality used when a photo is recompressed for upload.
+     *
+     * @return The quality, from 1 to 100
+     */
+    public static int getUploadPhotoJpegQuality() {
+        return Math.min(100, Math.max(1, getIntProperty("upload.photo.jpeg.quality",
+                DEFAULT_UPLOAD_PHOTO_JPEG_QUALITY)));
+    }
+
+    /**
+     * Gets the timeout for file uploads, which take longer than regular API
+     * calls.
+     *
+     * @return The timeout in seconds
+     */
+    public static int getUploadTimeoutSeconds() {
+        return getIntProperty("upload.timeout.seconds", DEFAULT_UPLOAD_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Gets how many per-item requests the reports view keeps in flight while
+     * building a report snapshot.
+     *
+     * @return The request limit
+     */
+    public static int getReportMaxParallel() {
+        return Math.max(1, getIntProperty("report.max.parallel", DEFAULT_REPORT_MAX_PARALLEL));
+    }
+
+    /**
+     * Gets the stock level at or below which an item is critical. Single
+     * items or ingredients can override it (see getStockThreshold).
+     *
+     * @return The critical stock level
+     */
+    public static int getStockCritical() {
+        return getIntProperty("stock.critical", DEFAULT_STOCK_CRITICAL);
+    }
+
+    /**
+     * Gets the stock level at or below which an item is low.
+     *
+     * @return The low stock level
+     */
+    public static int getStockLow() {
+        return getIntProperty("stock.low", DEFAULT_STOCK_LOW);
+    }
+
+    /**
+     * Gets a stock threshold for a single item or ingredient, configured as
+     * stock.&lt;scope&gt;.&lt;id&gt;.&lt;level&gt; (e.g. stock.item.12.critical).
+     *
+     * @param scope        "item" or "ingrediente"
+     * @param id           The item or ingredient id
+     * @param level        "critical" or "low"
+     * @param defaultValue Value used when there is no override
+     * @return The threshold
+     */
+    public static int getStockThreshold(String scope, int id, String level, int defaultValue) {
+        return getIntProperty("stock." + scope + "." + id + "." + level, defaultValue);
+    }
+
+    /**
+     * Gets how old the stock index may get before it is downloaded again.
+     * Applies even with the live event stream connected, since the backend
+     * does not publish every stock change.
+     *
+     * @return The age in seconds
+     */
+    public static int getStockResyncSeconds() {
+        return getIntProperty("stock.resync.seconds", DEFAULT_STOCK_RESYNC_SECONDS);
+    }
+
+    /**
+     * Gets how long the shared item list is reused before /item/getAll is
+     * requested again.
+     *
+     * @return The age in seconds
+     */
+    public static int getItemCacheMaxAgeSeconds() {
+        return getIntProperty("item.cache.max.age.seconds", DEFAULT_ITEM_CACHE_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Gets how long the shared ingredient list is reused before
+     * /ingredientes/getAll is requested again, even if no change was seen.
+     *
+     * @return The age in seconds
+     */
+    public static int getIngredientCacheMaxAgeSeconds() {
+        return getIntProperty("ingredient.cache.max.age.seconds", DEFAULT_INGREDIENT_CACHE_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Gets how long stock movements are collected (and merged per
+     * ingredient) before they are sent to the server.
+     *
+     * @return The delay in milliseconds
+     */
+    public static int getStockMovementsFlushMillis() {
+        return Math.max(0, getIntProperty("stock.movements.flush.millis", DEFAULT_STOCK_MOVEMENTS_FLUSH_MILLIS));
+    }
+
+    private static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ". Using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Like getIntProperty, but values below the minimum also fall back to the
+     * default.
+     */
+    private static int getIntProperty(String key, int defaultValue, int minValue) {
+        int value = getIntProperty(key, defaultValue);
+        if (value < minValue) {
+            System.err.println("Invalid value for " + key + ": " + value + " (minimum " + minValue
+                    + "). Using default " + defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
     /**
      * Updates and saves a configuration property.
      * 
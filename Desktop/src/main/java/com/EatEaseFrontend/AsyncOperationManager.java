@@ -1,23 +1,93 @@
 package com.EatEaseFrontend;
 
 import javafx.application.Platform;
-import javafx.concurrent.Task;
+import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
 
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
  * Gerenciador centralizado para operações assíncronas
  * Previne race conditions e garante sincronização adequada
+ *
+ * Cada operação é identificada por uma chave (ex: "loadMesas",
+ * "generateQR_3"):
+ * <ul>
+ * <li>executeOperation: um pedido repetido para uma chave que ainda está em
+ * curso partilha o mesmo future em vez de lançar outro;</li>
+ * <li>executeSimpleOperation: um pedido mais recente para a mesma chave
+ * cancela o anterior, que já está desatualizado;</li>
+ * <li>chaves diferentes correm em paralelo, até ao limite global
+ * async.max.parallel; as restantes ficam em fila.</li>
+ * </ul>
+ *
+ * As operações correm num executor de virtual threads partilhado por todas
+ * as instâncias, próprio para chamadas bloqueantes (ex: ApiClient.send), em
+ * vez do ForkJoinPool comum. Cancelar uma operação interrompe a thread, o que
+ * aborta o pedido HTTP em curso.
+ *
+ * O estado de loading da UI é o das próprias operações: isLoading(chave) e
+ * os botões passados a executeOperation ficam desativados enquanto a chave
+ * estiver em curso.
  */
 public class AsyncOperationManager {
-    
-    private final AtomicBoolean isOperationRunning = new AtomicBoolean(false);
-    
+
+    // Executor partilhado para trabalho bloqueante (uma virtual thread por operação)
+    private static final ExecutorService blockingExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("eatease-io-", 0).factory());
+    // Limite de operações a correr ao mesmo tempo (todas as views)
+    private static final Semaphore parallelLimit = new Semaphore(AppConfig.getAsyncMaxParallel());
+
+    // Métricas globais do executor
+    private static final AtomicInteger queuedOperations = new AtomicInteger();
+    private static final AtomicInteger inFlightOperations = new AtomicInteger();
+    private static final AtomicLong completedOperations = new AtomicLong();
+    private static final AtomicLong failedOperations = new AtomicLong();
+    private static final AtomicLong cancelledOperations = new AtomicLong();
+    private static final AtomicLong sharedRequests = new AtomicLong();
+    private static final AtomicLong operationCounter = new AtomicLong();
+
+    private final Map<String, RunningOperation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Operação submetida ao executor. "claimed" garante que só um dos lados
+     * (a thread que a vai correr ou o cancelamento) a tira da fila.
+     */
+    private static final class RunningOperation {
+        final CompletableFuture<?> result = new CompletableFuture<>();
+        final Button[] buttons;
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        volatile Future<?> task;
+
+        RunningOperation(Button[] buttons) {
+            this.buttons = buttons;
+        }
+
+        boolean holds(Button button) {
+            for (Button b : buttons) {
+                if (b == button) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     /**
-     * Executa uma operação assíncrona com proteção contra execução simultânea
-     * 
+     * Executa uma operação assíncrona sem chave (nunca é partilhada)
+     *
      * @param operation Operação a ser executada em thread separada
      * @param onSuccess Callback executado na UI thread em caso de sucesso
      * @param onError Callback executado na UI thread em caso de erro
@@ -28,39 +98,53 @@ public class AsyncOperationManager {
             Supplier<T> operation,
             Runnable onSuccess,
             Runnable onError) {
-        
-        // Verificar se já há uma operação em execução
-        if (!isOperationRunning.compareAndSet(false, true)) {
-            // Operação já em execução, retornar future falhado
-            CompletableFuture<T> failedFuture = new CompletableFuture<>();
-            failedFuture.completeExceptionally(new IllegalStateException("Operação já em execução"));
-            return failedFuture;
-        }
-        
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return operation.get();
-            } finally {
-                isOperationRunning.set(false);
-            }
-        }).whenComplete((result, throwable) -> {
-            Platform.runLater(() -> {
-                if (throwable != null) {
-                    if (onError != null) {
-                        onError.run();
-                    }
-                } else {
-                    if (onSuccess != null) {
-                        onSuccess.run();
+        return executeOperation(nextOperationId(), operation, onSuccess, onError);
+    }
+
+    /**
+     * Executa uma operação assíncrona identificada por uma chave. Se já
+     * houver uma operação em curso com a mesma chave, não é lançada outra: o
+     * resultado da que está em curso é partilhado (e os callbacks deste
+     * pedido correm quando ela terminar).
+     *
+     * @param operationId Chave da operação
+     * @param operation Operação a ser executada em thread separada
+     * @param onSuccess Callback executado na UI thread em caso de sucesso
+     * @param onError Callback executado na UI thread em caso de erro (não é
+     *                chamado se a operação for cancelada)
+     * @param buttons Botões desativados enquanto a operação estiver em curso
+     * @param <T> Tipo do resultado da operação
+     * @return CompletableFuture da operação
+     */
+    public <T> CompletableFuture<T> executeOperation(
+            String operationId,
+            Supplier<T> operation,
+            Runnable onSuccess,
+            Runnable onError,
+            Button... buttons) {
+
+        return this.<T>schedule(operationId, operation, false, buttons)
+                .whenComplete((result, throwable) -> {
+                    if (isCancellation(throwable)) {
+                        return;
                     }
-                }
-            });
-        });
+                    Platform.runLater(() -> {
+                        if (throwable != null) {
+                            if (onError != null) {
+                                onError.run();
+                            }
+                        } else {
+                            if (onSuccess != null) {
+                                onSuccess.run();
+                            }
+                        }
+                    });
+                });
     }
-    
+
     /**
-     * Executa uma operação assíncrona simples sem proteção de concorrência
-     * 
+     * Executa uma operação assíncrona simples sem chave
+     *
      * @param operation Operação a ser executada
      * @param onComplete Callback executado após completion
      * @param <T> Tipo do resultado
@@ -69,28 +153,269 @@ public class AsyncOperationManager {
     public <T> CompletableFuture<T> executeSimpleOperation(
             Supplier<T> operation,
             Runnable onComplete) {
-        
-        return CompletableFuture.supplyAsync(operation)
+        return executeSimpleOperation(nextOperationId(), operation, onComplete);
+    }
+
+    /**
+     * Executa uma operação assíncrona simples identificada por uma chave. Se
+     * já houver uma operação em curso com a mesma chave, essa é cancelada e
+     * substituída por esta (o resultado dela já estaria desatualizado).
+     *
+     * @param operationId Chave da operação
+     * @param operation Operação a ser executada
+     * @param onComplete Callback executado após completion (também se cancelada)
+     * @param <T> Tipo do resultado
+     * @return CompletableFuture da operação
+     */
+    public <T> CompletableFuture<T> executeSimpleOperation(
+            String operationId,
+            Supplier<T> operation,
+            Runnable onComplete) {
+
+        return this.<T>schedule(operationId, operation, true)
                 .whenComplete((result, throwable) -> {
                     if (onComplete != null) {
                         Platform.runLater(onComplete);
                     }
                 });
     }
-    
+
+    /**
+     * Cancela uma operação pela chave. Se ainda estiver na fila não chega a
+     * correr; se já estiver a correr, a thread é interrompida. O future da
+     * operação termina com CancellationException.
+     *
+     * @param operationId Chave da operação
+     * @return true se havia uma operação com essa chave por terminar
+     */
+    public boolean cancel(String operationId) {
+        RunningOperation op = operations.remove(operationId);
+        return op != null && cancelOperation(op);
+    }
+
+    /**
+     * Cancela todas as operações desta instância (ex: quando a view é fechada)
+     */
+    public void cancelAll() {
+        for (String operationId : operations.keySet()) {
+            cancel(operationId);
+        }
+    }
+
+    /**
+     * Verifica se uma operação específica está em execução
+     *
+     * @param operationId Chave da operação
+     * @return true se a operação está em execução
+     */
+    public boolean isLoading(String operationId) {
+        RunningOperation op = operations.get(operationId);
+        return op != null && !op.result.isDone();
+    }
+
+    /**
+     * Verifica se há qualquer operação desta instância em execução
+     *
+     * @return true se há operações em execução
+     */
+    public boolean hasAnyLoading() {
+        for (RunningOperation op : operations.values()) {
+            if (!op.result.isDone()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Verifica se há uma operação em execução
-     * 
+     *
      * @return true se há operação em execução
      */
     public boolean isOperationRunning() {
-        return isOperationRunning.get();
+        return hasAnyLoading();
     }
-    
+
     /**
-     * Força o reset do estado de operação (usar com cuidado)
+     * Força o reset do estado de operação (usar com cuidado): cancela tudo
+     * o que estiver em curso
      */
     public void forceReset() {
-        isOperationRunning.set(false);
+        cancelAll();
+    }
+
+    /**
+     * Cria um ProgressIndicator com configurações padrão
+     *
+     * @return ProgressIndicator configurado
+     */
+    public static ProgressIndicator createProgressIndicator() {
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(30, 30);
+        return progress;
+    }
+
+    /**
+     * @return Operações à espera de vaga para correr
+     */
+    public static int getQueuedOperations() {
+        return queuedOperations.get();
+    }
+
+    /**
+     * @return Operações a correr neste momento
+     */
+    public static int getInFlightOperations() {
+        return inFlightOperations.get();
+    }
+
+    /**
+     * @return Operações terminadas com sucesso desde o arranque
+     */
+    public static long getCompletedOperations() {
+        return completedOperations.get();
+    }
+
+    /**
+     * @return Operações terminadas com erro desde o arranque
+     */
+    public static long getFailedOperations() {
+        return failedOperations.get();
+    }
+
+    /**
+     * @return Operações canceladas (ou substituídas) desde o arranque
+     */
+    public static long getCancelledOperations() {
+        return cancelledOperations.get();
+    }
+
+    /**
+     * @return Pedidos que partilharam uma operação já em curso
+     */
+    public static long getSharedRequests() {
+        return sharedRequests.get();
+    }
+
+    /**
+     * Resumo das métricas, para logs
+     */
+    public static String describeMetrics() {
+        return "fila=" + queuedOperations.get()
+                + " em curso=" + inFlightOperations.get()
+                + " concluídas=" + completedOperations.get()
+                + " falhadas=" + failedOperations.get()
+                + " canceladas=" + cancelledOperations.get()
+                + " partilhadas=" + sharedRequests.get();
+    }
+
+    private static String nextOperationId() {
+        return "op-" + operationCounter.incrementAndGet();
+    }
+
+    private static boolean isCancellation(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return cause instanceof CancellationException;
+    }
+
+    private static boolean cancelOperation(RunningOperation op) {
+        if (op.claimed.compareAndSet(false, true)) {
+            queuedOperations.decrementAndGet();
+        }
+        Future<?> task = op.task;
+        if (task != null) {
+            task.cancel(true);
+        }
+        return op.result.cancel(false);
+    }
+
+    /**
+     * Regista a operação pela chave e submete-a ao executor, ou devolve a que
+     * já está em curso (supersede = false) / cancela-a (supersede = true)
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> schedule(String operationId, Supplier<T> operation, boolean supersede,
+            Button... buttons) {
+        RunningOperation created = new RunningOperation(buttons);
+        RunningOperation[] replaced = { null };
+
+        RunningOperation active = operations.compute(operationId, (key, existing) -> {
+            if (existing != null && !existing.result.isDone()) {
+                if (!supersede) {
+                    return existing;
+                }
+                replaced[0] = existing;
+            }
+            return created;
+        });
+
+        if (active != created) {
+            sharedRequests.incrementAndGet();
+            return (CompletableFuture<T>) active.result;
+        }
+        if (replaced[0] != null) {
+            cancelOperation(replaced[0]);
+        }
+
+        setButtonsDisabled(created, true);
+        created.result.whenComplete((value, throwable) -> {
+            operations.remove(operationId, created);
+            if (throwable == null) {
+                completedOperations.incrementAndGet();
+            } else if (isCancellation(throwable)) {
+                cancelledOperations.incrementAndGet();
+            } else {
+                failedOperations.incrementAndGet();
+            }
+            setButtonsDisabled(created, false);
+        });
+
+        CompletableFuture<T> result = (CompletableFuture<T>) created.result;
+        queuedOperations.incrementAndGet();
+        created.task = blockingExecutor.submit(() -> {
+            try {
+                parallelLimit.acquire();
+            } catch (InterruptedException e) {
+                return; // cancelada enquanto esperava vaga
+            }
+            try {
+                if (!created.claimed.compareAndSet(false, true)) {
+                    return; // cancelada antes de começar
+                }
+                queuedOperations.decrementAndGet();
+                inFlightOperations.incrementAndGet();
+                try {
+                    result.complete(operation.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    inFlightOperations.decrementAndGet();
+                }
+            } finally {
+                parallelLimit.release();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Desativa os botões da operação, ou reativa-os se nenhuma outra
+     * operação em curso os estiver a usar
+     */
+    private void setButtonsDisabled(RunningOperation op, boolean disabled) {
+        if (op.buttons.length == 0) {
+            return;
+        }
+        Platform.runLater(() -> {
+            for (Button button : op.buttons) {
+                if (disabled) {
+                    button.setDisable(true);
+                } else if (operations.values().stream().noneMatch(o -> !o.result.isDone() && o.holds(button))) {
+                    button.setDisable(false);
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,272 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Carrega o ranking dos produtos mais vendidos do dashboard: para cada
+ * posição pede /dashboard/bestItem e depois o lucro do produto, com todas as
+ * posições em paralelo.
+ *
+ * As falhas são repetidas até maxAttempts tentativas por posição, com espera
+ * exponencial com jitter (RETRY_BASE_MILLIS, 2x, 4x, ... até
+ * RETRY_MAX_MILLIS) agendada num scheduler partilhado, sem threads a dormir.
+ * Tudo o que um carregamento lança (pedidos e tentativas agendadas) pertence
+ * ao seu Batch: Batch.cancel() pára o trabalho pendente e nenhum callback é
+ * chamado depois disso.
+ */
+public class BestItemsLoader {
+
+    private static final long RETRY_BASE_MILLIS = 500;
+    private static final long RETRY_MAX_MILLIS = 8000;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "eatease-best-items-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Produto numa posição do ranking
+     *
+     * @param position Posição (0 = primeiro)
+     * @param item     Produto
+     * @param quantity Quantidade vendida no período
+     * @param profit   Lucro no período
+     */
+    public record BestItem(int position, Item item, int quantity, double profit) {
+    }
+
+    /**
+     * Recebe o estado de cada posição, sempre na UI thread
+     */
+    public interface Listener {
+        /**
+         * Uma tentativa falhou e vai ser repetida
+         *
+         * @param nextAttempt Número da próxima tentativa
+         */
+        void onRetry(int position, int nextAttempt);
+
+        void onLoaded(BestItem bestItem);
+
+        /**
+         * Todas as tentativas falharam
+         */
+        void onFailed(int position, int attempts, Throwable error);
+    }
+
+    private final ApiClient apiClient;
+    private final int lastDays;
+    private final int maxAttempts;
+
+    /**
+     * @param apiClient   Cliente da API
+     * @param lastDays    Período do ranking em dias
+     * @param maxAttempts Tentativas por posição
+     */
+    public BestItemsLoader(ApiClient apiClient, int lastDays, int maxAttempts) {
+        this.apiClient = apiClient;
+        this.lastDays = lastDays;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Carrega as primeiras count posições em paralelo
+     *
+     * @param count    Número de posições
+     * @param listener Estado de cada posição
+     * @return Batch com o resultado e o cancelamento
+     */
+    public Batch load(int count, Listener listener) {
+        Batch batch = new Batch(listener);
+        for (int position = 0; position < count; position++) {
+            batch.reload(position);
+        }
+        return batch;
+    }
+
+    /**
+     * Um carregamento do ranking e todo o trabalho que lançou
+     */
+    public final class Batch {
+        private final Listener listener;
+        private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+        private final List<CompletableFuture<BestItem>> positions = new ArrayList<>();
+        private volatile boolean cancelled = false;
+
+        private Batch(Listener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Volta a carregar uma posição (ex: botão "Tentar novamente"), com
+         * as tentativas a contar do zero
+         */
+        public synchronized CompletableFuture<BestItem> reload(int position) {
+            AtomicInteger attempts = new AtomicInteger();
+            CompletableFuture<BestItem> result = withRetry(position, attempts, () -> fetchItem(position))
+                    .thenCompose(item -> withRetry(position, attempts, () -> fetchProfit(item))
+                            .thenApply(profit -> new BestItem(position, item,
+                                    profit.path("quantidade").asInt(0), profit.path("lucro").asDouble(0.0))));
+
+            result.whenComplete((bestItem, e) -> {
+                if (e == null) {
+                    notify(() -> listener.onLoaded(bestItem));
+                } else if (!(unwrap(e) instanceof CancellationException)) {
+                    notify(() -> listener.onFailed(position, attempts.get(), unwrap(e)));
+                }
+            });
+            positions.add(result);
+            return result;
+        }
+
+        /**
+         * @return Future com as posições carregadas (as que falharam ficam de
+         *         fora), quando todas as posições terminarem
+         */
+        public synchronized CompletableFuture<List<BestItem>> result() {
+            List<CompletableFuture<BestItem>> all = new ArrayList<>(positions);
+            return CompletableFuture.allOf(all.stream()
+                    .map(future -> future.exceptionally(e -> null))
+                    .toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> {
+                        List<BestItem> loaded = new ArrayList<>();
+                        for (CompletableFuture<BestItem> future : all) {
+                            BestItem bestItem = future.getNow(null);
+                            if (bestItem != null) {
+                                loaded.add(bestItem);
+                            }
+                        }
+                        return loaded;
+                    });
+        }
+
+        /**
+         * Cancela os pedidos em curso e as tentativas agendadas
+         */
+        public void cancel() {
+            cancelled = true;
+            for (Future<?> future : pending) {
+                future.cancel(false);
+            }
+            pending.clear();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Executa a chamada; se falhar, agenda nova tentativa enquanto houver
+         * tentativas e o batch não tiver sido cancelado
+         */
+        private <T> CompletableFuture<T> withRetry(int position, AtomicInteger attempts,
+                Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            attempt(position, attempts, call, result);
+            return result;
+        }
+
+        private <T> void attempt(int position, AtomicInteger attempts, Supplier<CompletableFuture<T>> call,
+                CompletableFuture<T> result) {
+            if (cancelled) {
+                result.cancel(false);
+                return;
+            }
+            int attempt = attempts.incrementAndGet();
+            CompletableFuture<T> running = call.get();
+            pending.add(running);
+
+            running.whenComplete((value, e) -> {
+                pending.remove(running);
+                if (cancelled) {
+                    result.cancel(false);
+                } else if (e == null) {
+                    result.complete(value);
+                } else if (attempt >= maxAttempts) {
+                    result.completeExceptionally(unwrap(e));
+                } else {
+                    long delay = backoff(attempt);
+                    System.err.println("Erro ao carregar produto mais vendido na posição " + position + " (tentativa "
+                            + attempt + "/" + maxAttempts + "), nova tentativa em " + delay + "ms: "
+                            + unwrap(e).getMessage());
+                    notify(() -> listener.onRetry(position, attempt + 1));
+                    Future<?> scheduled = scheduler.schedule(() -> attempt(position, attempts, call, result),
+                            delay, TimeUnit.MILLISECONDS);
+                    pending.add(scheduled);
+                    if (cancelled) {
+                        scheduled.cancel(false);
+                        result.cancel(false);
+                    }
+                }
+            });
+        }
+
+        private void notify(Runnable callback) {
+            Platform.runLater(() -> {
+                if (!cancelled) {
+                    callback.run();
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<Item> fetchItem(int position) {
+        return apiClient.getObject("/dashboard/bestItem?lastDays=" + lastDays + "&position=" + position, Item.class);
+    }
+
+    /**
+     * Lucro e quantidade do produto no período. A resposta pode vir agregada
+     * (um objeto) ou dia a dia (lista), e nesse caso é somada.
+     */
+    private CompletableFuture<JsonNode> fetchProfit(Item item) {
+        return apiClient.getString("/dashboard/lucroByItemId?itemId=" + item.getId() + "&lastDays=" + lastDays)
+                .thenApply(body -> {
+                    try {
+                        JsonNode profit = apiClient.getMapper().readTree(body);
+                        if (!profit.isArray()) {
+                            return profit;
+                        }
+                        double total = 0;
+                        int quantity = 0;
+                        for (JsonNode day : profit) {
+                            total += day.path("lucro").asDouble(0.0);
+                            quantity += day.path("quantidade").asInt(0);
+                        }
+                        return apiClient.getMapper().createObjectNode().put("lucro", total).put("quantidade",
+                                quantity);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Espera exponencial com jitter: entre metade e o total de
+     * RETRY_BASE_MILLIS * 2^(tentativa - 1), no máximo RETRY_MAX_MILLIS
+     */
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(RETRY_MAX_MILLIS, RETRY_BASE_MILLIS << Math.min(attempt - 1, 20));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
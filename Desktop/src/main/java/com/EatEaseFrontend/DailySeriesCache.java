@@ -0,0 +1,158 @@
+package com.EatEaseFrontend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Cache em disco de valores diários (vendas, pedidos) para dias já fechados.
+ * Os dias anteriores a hoje nunca mudam, por isso só são pedidos ao servidor
+ * uma vez; o dia de hoje nunca é guardado.
+ *
+ * Formato do ficheiro (big-endian):
+ *
+ * <pre>
+ * int    magic
+ * int    versão
+ * long   primeiro dia (epoch day)
+ * int    número de dias
+ * double valor de cada dia, NaN quando o dia não está em cache
+ * </pre>
+ *
+ * O ficheiro é lido de uma vez por memory-map e mantido em memória como um
+ * array denso indexado pelo dia.
+ */
+public class DailySeriesCache {
+
+    private static final int MAGIC = 0x45414453; // "EADS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    private final Path file;
+    private long firstEpochDay;
+    private double[] values = new double[0];
+    private boolean dirty = false;
+
+    /**
+     * @param file Ficheiro onde a série é guardada
+     */
+    public DailySeriesCache(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Devolve o valor em cache para um dia
+     *
+     * @param date Dia pretendido
+     * @return Valor guardado ou NaN se o dia não estiver em cache
+     */
+    public synchronized double get(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= values.length) {
+            return Double.NaN;
+        }
+        return values[(int) index];
+    }
+
+    /**
+     * Guarda o valor de um dia. Dias de hoje em diante são ignorados, porque
+     * ainda podem mudar.
+     *
+     * @param date  Dia do valor
+     * @param value Valor do dia
+     */
+    public synchronized void put(LocalDate date, double value) {
+        if (Double.isNaN(value) || !date.isBefore(LocalDate.now())) {
+            return;
+        }
+
+        long epochDay = date.toEpochDay();
+        if (values.length == 0) {
+            firstEpochDay = epochDay;
+            values = new double[] { Double.NaN };
+        } else if (epochDay < firstEpochDay) {
+            int shift = (int) (firstEpochDay - epochDay);
+            double[] grown = new double[values.length + shift];
+            Arrays.fill(grown, 0, shift, Double.NaN);
+            System.arraycopy(values, 0, grown, shift, values.length);
+            values = grown;
+            firstEpochDay = epochDay;
+        } else if (epochDay - firstEpochDay >= values.length) {
+            int oldLength = values.length;
+            values = Arrays.copyOf(values, (int) (epochDay - firstEpochDay) + 1);
+            Arrays.fill(values, oldLength, values.length, Double.NaN);
+        }
+
+        int index = (int) (epochDay - firstEpochDay);
+        if (Double.compare(values[index], value) != 0) {
+            values[index] = value;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Escreve o cache para disco se houve alterações desde a última escrita.
+     * A escrita é feita para um ficheiro temporário e depois movida, para
+     * nunca deixar um ficheiro meio escrito.
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + values.length * Double.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(firstEpochDay).putInt(values.length);
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(0);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Erro ao guardar cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                System.err.println("Cache " + file + " com formato desconhecido, a ignorar");
+                return;
+            }
+            long first = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() < (long) count * Double.BYTES) {
+                System.err.println("Cache " + file + " incompleto, a ignorar");
+                return;
+            }
+            double[] loaded = new double[count];
+            buffer.asDoubleBuffer().get(loaded);
+
+            firstEpochDay = first;
+            values = loaded;
+        } catch (IOException e) {
+            System.err.println("Erro ao ler cache " + file + ": " + e.getMessage());
+        }
+    }
+}
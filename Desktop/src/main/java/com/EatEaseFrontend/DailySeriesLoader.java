@@ -0,0 +1,148 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carrega séries diárias do dashboard (vendas e pedidos) para um intervalo
+ * de datas. O backend só expõe um valor por dia, por isso os pedidos são
+ * lançados em conjunto através do ApiClient (que limita a concorrência) e o
+ * resultado só é entregue quando o intervalo inteiro chegou, já ordenado
+ * por dia.
+ *
+ * Os dias já fechados são lidos do DailySeriesCache, partilhado por todas
+ * as views; só o dia de hoje e os dias em falta vão à rede.
+ */
+public class DailySeriesLoader {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * Métricas diárias disponíveis no backend
+     */
+    public enum Metric {
+        VENDAS("/dashboard/vendas-dia", "vendas-dia.series"),
+        PEDIDOS("/dashboard/pedidos-dia", "pedidos-dia.series");
+
+        private final String path;
+        private final String cacheFile;
+
+        Metric(String path, String cacheFile) {
+            this.path = path;
+            this.cacheFile = cacheFile;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    // Por ficheiro: cada backend tem a sua diretoria de cache
+    private static final Map<Path, DailySeriesCache> caches = new HashMap<>();
+
+    /**
+     * Devolve o cache partilhado de uma métrica do backend atual, carregando-o
+     * do disco na primeira utilização
+     */
+    private static synchronized DailySeriesCache cacheFor(Metric metric) {
+        return caches.computeIfAbsent(AppConfig.getBackendCacheDirectory().resolve(metric.cacheFile),
+                DailySeriesCache::new);
+    }
+
+    private final ApiClient apiClient;
+
+    public DailySeriesLoader(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * Carrega os valores de uma métrica para cada dia do intervalo
+     *
+     * @param metric Métrica a carregar
+     * @param start  Primeiro dia do intervalo
+     * @param days   Número de dias
+     * @return Future com um valor por dia (índice 0 = start); dias que
+     *         falharem ficam a NaN
+     */
+    public CompletableFuture<double[]> loadRange(Metric metric, LocalDate start, int days) {
+        DailySeriesCache cache = cacheFor(metric);
+        double[] values = new double[days];
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+
+        for (int i = 0; i < days; i++) {
+            final int index = i;
+            LocalDate date = start.plusDays(i);
+            values[i] = cache.get(date);
+            if (!Double.isNaN(values[i])) {
+                continue;
+            }
+
+            String dateStr = date.format(DATE_FORMAT);
+            requests.add(apiClient.sendAsync(
+                    apiClient.request(metric.getPath() + "?data=" + dateStr)
+                            .header("Accept", "application/json")
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        if (response.statusCode() == 200) {
+                            values[index] = parseValue(metric, response.body());
+                            cache.put(date, values[index]);
+                        } else {
+                            System.err.println("Erro na API " + metric.getPath() + " para " + dateStr + ": "
+                                    + response.statusCode());
+                        }
+                    })
+                    .exceptionally(throwable -> {
+                        System.err.println("Erro na requisição " + metric.getPath() + " para " + dateStr + ": "
+                                + throwable.getMessage());
+                        return null;
+                    }));
+        }
+
+        // Cada índice é escrito por um único pedido; o allOf garante a visibilidade
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    cache.flush();
+                    return values;
+                });
+    }
+
+    /**
+     * Converte o corpo da resposta no valor do dia. As vendas podem vir como
+     * número simples ou como JSON com o campo "vendas"; os pedidos vêm sempre
+     * como número inteiro.
+     *
+     * @return Valor do dia, ou NaN se a resposta não o tiver (o dia fica em
+     *         falta e não vai para a cache)
+     */
+    private double parseValue(Metric metric, String body) {
+        String trimmed = body.trim();
+        try {
+            return Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            if (metric == Metric.VENDAS && !trimmed.startsWith("<")) {
+                try {
+                    JsonNode jsonNode = apiClient.getMapper().readTree(trimmed);
+                    JsonNode vendas = jsonNode.has("vendas") ? jsonNode.get("vendas") : jsonNode.path("vendasDia");
+                    if (!vendas.isMissingNode() && !vendas.isNull()) {
+                        return vendas.asDouble(Double.NaN);
+                    }
+                } catch (Exception e2) {
+                    // cai para o erro abaixo
+                }
+            }
+            System.err.println("Erro ao processar resposta: " + trimmed);
+            return Double.NaN;
+        }
+    }
+}
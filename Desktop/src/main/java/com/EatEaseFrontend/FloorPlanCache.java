@@ -0,0 +1,181 @@
+package com.EatEaseFrontend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache em disco da planta da sala: posição relativa (0-1) de cada mesa,
+ * por id. Permite desenhar o layout guardado logo ao abrir a view e só ir ao
+ * servidor buscar o que mudou.
+ *
+ * A versão da planta é composta pela revisão local (incrementada a cada
+ * alteração) e pelo ETag devolvido pelo servidor na última leitura em bloco,
+ * usado para pedidos condicionais.
+ *
+ * Formato do ficheiro (DataOutputStream):
+ *
+ * <pre>
+ * int    magic
+ * int    versão do formato
+ * long   revisão
+ * long   última validação com o servidor (epoch millis)
+ * UTF    ETag ("" se não houver)
+ * int    número de mesas
+ * (int id, double x, double y) por mesa
+ * </pre>
+ */
+public class FloorPlanCache {
+
+    private static final int MAGIC = 0x45414650; // "EAFP"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Map<Integer, double[]> positions = new HashMap<>();
+    private long revision = 0;
+    private long validatedAt = 0;
+    private String etag = null;
+    private boolean dirty = false;
+
+    /**
+     * @param file Ficheiro onde a planta é guardada
+     */
+    public FloorPlanCache(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Devolve a posição guardada de uma mesa
+     *
+     * @param mesaId ID da mesa
+     * @return {x, y} relativos ou null se não estiver em cache
+     */
+    public synchronized double[] get(int mesaId) {
+        double[] pos = positions.get(mesaId);
+        return pos == null ? null : pos.clone();
+    }
+
+    /**
+     * Guarda a posição de uma mesa
+     *
+     * @return true se a posição mudou
+     */
+    public synchronized boolean put(int mesaId, double x, double y) {
+        double[] old = positions.get(mesaId);
+        if (old != null && Double.compare(old[0], x) == 0 && Double.compare(old[1], y) == 0) {
+            return false;
+        }
+        positions.put(mesaId, new double[] { x, y });
+        revision++;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Remove as mesas que já não existem no servidor
+     *
+     * @param mesaIds IDs das mesas atuais
+     */
+    public synchronized void retain(Set<Integer> mesaIds) {
+        if (positions.keySet().retainAll(mesaIds)) {
+            revision++;
+            dirty = true;
+        }
+    }
+
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    public synchronized String getEtag() {
+        return etag;
+    }
+
+    public synchronized long getValidatedAt() {
+        return validatedAt;
+    }
+
+    /**
+     * Marca a planta como validada com o servidor agora
+     *
+     * @param etag ETag da resposta (null se o servidor não enviou)
+     */
+    public synchronized void markValidated(String etag) {
+        this.etag = etag;
+        this.validatedAt = System.currentTimeMillis();
+        dirty = true;
+    }
+
+    /**
+     * Escreve a planta para disco se houve alterações. A escrita é feita para
+     * um ficheiro temporário e depois movida.
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(revision);
+            out.writeLong(validatedAt);
+            out.writeUTF(etag == null ? "" : etag);
+            out.writeInt(positions.size());
+            for (Map.Entry<Integer, double[]> entry : positions.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeDouble(entry.getValue()[0]);
+                out.writeDouble(entry.getValue()[1]);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao guardar planta " + file + ": " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Erro ao guardar planta " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                System.err.println("Planta " + file + " com formato desconhecido, a ignorar");
+                return;
+            }
+            long rev = in.readLong();
+            long validated = in.readLong();
+            String tag = in.readUTF();
+            int count = in.readInt();
+            Map<Integer, double[]> loaded = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                loaded.put(id, new double[] { in.readDouble(), in.readDouble() });
+            }
+
+            revision = rev;
+            validatedAt = validated;
+            etag = tag.isEmpty() ? null : tag;
+            positions.putAll(loaded);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler planta " + file + ": " + e.getMessage());
+        }
+    }
+}
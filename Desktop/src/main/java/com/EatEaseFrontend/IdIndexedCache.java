@@ -0,0 +1,145 @@
+package com.EatEaseFrontend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lista de entidades do backend partilhada pelas views e indexada pelo id,
+ * para resolver um id sem novos pedidos nem procuras na lista. É a base da
+ * ItemCache e do IngredientRepository; o Main cria uma instância de cada após
+ * o login e entrega-a às views e ao StockAlertService.
+ *
+ * A lista carregada é reutilizada enquanto:
+ * <ul>
+ * <li>tiver menos do que a idade máxima configurada (alterações noutro
+ * terminal nem sempre chegam como evento);</li>
+ * <li>ninguém tiver chamado invalidate() desde o carregamento.</li>
+ * </ul>
+ * Fora disso (ou com forceRefresh) é descarregada de novo, e pedidos ao mesmo
+ * tempo partilham o mesmo download. As views que carregam ou alteram
+ * entidades atualizam a cache diretamente (replaceAll, put, remove).
+ *
+ * @param <T> Tipo das entidades
+ */
+public class IdIndexedCache<T> {
+
+    private final ToIntFunction<T> idOf;
+    private final IntSupplier maxAgeSeconds;
+    private final Supplier<CompletableFuture<List<T>>> loader;
+
+    private final IntConcurrentMap<T> byId = new IntConcurrentMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile List<T> all = List.of();
+    private volatile long loadedVersion = -1;
+    private volatile long loadedAt = 0;
+    private CompletableFuture<List<T>> loading; // guardado por this
+
+    /**
+     * @param idOf          Id de uma entidade
+     * @param maxAgeSeconds Idade máxima da lista (lida da configuração em cada
+     *                      consulta)
+     * @param loader        Descarrega e converte a lista completa
+     */
+    protected IdIndexedCache(ToIntFunction<T> idOf, IntSupplier maxAgeSeconds,
+            Supplier<CompletableFuture<List<T>>> loader) {
+        this.idOf = idOf;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.loader = loader;
+    }
+
+    /**
+     * Lista completa, da cache se ainda estiver atual
+     *
+     * @param forceRefresh Descarregar sempre a lista
+     * @return Future com as entidades (lista imutável)
+     */
+    public CompletableFuture<List<T>> getAll(boolean forceRefresh) {
+        if (!forceRefresh && isCurrent()) {
+            return CompletableFuture.completedFuture(all);
+        }
+        synchronized (this) {
+            if (loading != null && !loading.isDone()) {
+                return loading;
+            }
+            long requested = version.get();
+            loading = loader.get().thenApply(loaded -> {
+                replaceAll(loaded, requested);
+                return all;
+            });
+            return loading;
+        }
+    }
+
+    /**
+     * @return true se a lista foi carregada há menos da idade máxima e nada
+     *         mudou desde então
+     */
+    public boolean isCurrent() {
+        long maxAge = maxAgeSeconds.getAsInt() * 1000L;
+        return loadedVersion == version.get() && System.currentTimeMillis() - loadedAt < maxAge;
+    }
+
+    /**
+     * @return Entidade em cache ou null
+     */
+    public T get(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Marca a lista como desatualizada; o próximo getAll descarrega-a de novo
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Substitui a lista (ex: a que uma view acabou de carregar)
+     */
+    public void replaceAll(Collection<T> entities) {
+        replaceAll(entities, version.get());
+    }
+
+    private synchronized void replaceAll(Collection<T> entities, long atVersion) {
+        for (T entity : all) {
+            byId.remove(idOf.applyAsInt(entity));
+        }
+        for (T entity : entities) {
+            byId.put(idOf.applyAsInt(entity), entity);
+        }
+        all = List.copyOf(entities);
+        // Se houve alterações durante o download a lista continua desatualizada
+        loadedVersion = atVersion;
+        loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Guarda uma entidade criada ou alterada (a lista não passa a
+     * desatualizada)
+     */
+    public synchronized void put(T entity) {
+        int id = idOf.applyAsInt(entity);
+        T previous = byId.put(id, entity);
+        List<T> updated = new ArrayList<>(all);
+        if (previous != null) {
+            updated.replaceAll(existing -> idOf.applyAsInt(existing) == id ? entity : existing);
+        } else {
+            updated.add(entity);
+        }
+        all = List.copyOf(updated);
+    }
+
+    public synchronized void remove(int id) {
+        if (byId.remove(id) != null) {
+            List<T> updated = new ArrayList<>(all);
+            updated.removeIf(entity -> idOf.applyAsInt(entity) == id);
+            all = List.copyOf(updated);
+        }
+    }
+}
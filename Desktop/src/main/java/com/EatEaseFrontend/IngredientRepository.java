@@ -0,0 +1,21 @@
+package com.EatEaseFrontend;
+
+/**
+ * Ingredientes (/ingredientes/getAll) partilhados pelas views. Os diálogos
+ * dos produtos resolvem nomes e unidades a partir daqui, sem novos pedidos
+ * nem procuras na lista.
+ *
+ * Cada alteração conhecida (evento "ingrediente", criar/editar/movimentar na
+ * IngredientsView) chama invalidate(); sem alterações a lista volta a ser
+ * descarregada ao fim de ingredient.cache.max.age.seconds (ver
+ * IdIndexedCache).
+ */
+public class IngredientRepository extends IdIndexedCache<Ingredient> {
+
+    private static final String INGREDIENTS_PATH = "/ingredientes/getAll";
+
+    public IngredientRepository(ApiClient apiClient) {
+        super(Ingredient::getId, AppConfig::getIngredientCacheMaxAgeSeconds,
+                () -> apiClient.getString(INGREDIENTS_PATH).thenApply(JsonParser::parseIngredients));
+    }
+}
@@ -0,0 +1,242 @@
+package com.EatEaseFrontend;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Mapa concorrente com chaves int (ids de produtos, ingredientes, ...), sem
+ * boxing das chaves. Está dividido em SEGMENTS segmentos com lock próprio;
+ * cada segmento é uma tabela de endereçamento aberto (sondagem linear), por
+ * isso threads a escrever ids diferentes raramente esperam umas pelas outras.
+ *
+ * Os valores não podem ser null.
+ *
+ * @param <V> Tipo dos valores
+ */
+public class IntConcurrentMap<V> {
+
+    private static final int SEGMENTS = 16;
+    static final int INITIAL_CAPACITY = 16; // por segmento, potência de 2
+
+    private final Segment[] segments;
+
+    public IntConcurrentMap() {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @return Valor da chave ou null se não existir
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Guarda o valor, substituindo o anterior
+     *
+     * @return Valor anterior ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).put(key, hash, requireValue(value), false);
+    }
+
+    /**
+     * Guarda o valor só se a chave ainda não existir
+     *
+     * @return Valor que já existia ou null se o novo foi guardado
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(int key, V value) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).put(key, hash, requireValue(value), true);
+    }
+
+    /**
+     * Junta o valor ao existente com a função dada (atómico por chave)
+     *
+     * @return Valor guardado
+     */
+    @SuppressWarnings("unchecked")
+    public V merge(int key, V value, BinaryOperator<V> function) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).merge(key, hash, requireValue(value),
+                (BinaryOperator<Object>) (BinaryOperator<?>) function);
+    }
+
+    /**
+     * Remove a chave
+     *
+     * @return Valor removido ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).remove(key, hash, null);
+    }
+
+    /**
+     * Remove a chave só se estiver associada a este valor (mesma instância)
+     *
+     * @return true se removeu
+     */
+    public boolean remove(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> 28]; // 4 bits de cima para 16 segmentos
+    }
+
+    private static Object requireValue(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Valor null em IntConcurrentMap");
+        }
+        return value;
+    }
+
+    /**
+     * Mistura os bits da chave (ids sequenciais ficariam todos seguidos)
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Tabela de um segmento: keys[i] só é válido quando values[i] != null
+     */
+    private static final class Segment {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size = 0;
+
+        synchronized Object get(int key, int hash) {
+            int slot = find(key, hash);
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        synchronized Object put(int key, int hash, Object value, boolean onlyIfAbsent) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                Object old = values[slot];
+                if (!onlyIfAbsent) {
+                    values[slot] = value;
+                }
+                return old;
+            }
+            insert(key, hash, value);
+            return null;
+        }
+
+        synchronized Object merge(int key, int hash, Object value, BinaryOperator<Object> function) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                insert(key, hash, value);
+                return value;
+            }
+            Object merged = requireValue(function.apply(values[slot], value));
+            values[slot] = merged;
+            return merged;
+        }
+
+        synchronized Object remove(int key, int hash, Object expected) {
+            int slot = find(key, hash);
+            if (slot < 0 || (expected != null && values[slot] != expected)) {
+                return null;
+            }
+            Object old = values[slot];
+            deleteSlot(slot);
+            return old;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            keys = new int[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        private int find(int key, int hash) {
+            int mask = values.length - 1;
+            for (int slot = hash & mask; values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(int key, int hash, Object value) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize();
+            }
+            int mask = values.length - 1;
+            int slot = hash & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[oldValues.length * 2];
+            values = new Object[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], hash(oldKeys[i]), oldValues[i]);
+                }
+            }
+        }
+
+        /**
+         * Apaga a posição e puxa para trás as entradas seguintes da mesma
+         * sequência de sondagem, para não ser preciso marcar posições apagadas
+         */
+        private void deleteSlot(int slot) {
+            int mask = values.length - 1;
+            values[slot] = null;
+            size--;
+            int gap = slot;
+            for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                // A entrada pode ocupar o buraco se a posição "home" não estiver entre o buraco e ela
+                boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+                if (movable) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    values[next] = null;
+                    gap = next;
+                }
+            }
+        }
+    }
+}
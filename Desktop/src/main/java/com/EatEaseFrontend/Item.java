@@ -2,8 +2,6 @@ package com.EatEaseFrontend;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,26 +63,7 @@ public class Item {
             return;
 
         try {
-            // Debug: print the raw JSON being parsed
-            System.out.println("[DEBUG] Parsing ingredientesJson for " + nome + ": " + raw);
-
-            // Handle escaped JSON strings properly
-            String cleanedJson = raw;
-
-            // If the string contains escaped quotes, unescape them
-            if (raw.contains("\\\"")) {
-                cleanedJson = raw.replace("\\\"", "\"")
-                        .replace("\\\\", "\\");
-                System.out.println("[DEBUG] Cleaned JSON: " + cleanedJson);
-            }
-
-            ObjectMapper mapper = new ObjectMapper();
-            this.ingredientes = mapper.readValue(
-                    cleanedJson,
-                    new TypeReference<List<ItemIngrediente>>() {
-                    });
-
-            System.out.println("[DEBUG] Successfully parsed " + ingredientes.size() + " ingredientes for " + nome);
+            this.ingredientes = JsonParser.parseItemIngredientes(raw);
         } catch (Exception ex) {
             System.err.println("Falha a ler ingredientes do item id " + id + " (" + nome + "): " + ex.getMessage());
             System.err.println("Raw JSON: " + raw);
@@ -123,12 +102,10 @@ public class Item {
     }
 
     public boolean isEComposto() {
-        System.out.println("[DEBUG] Getting eComposto for " + nome + ": " + eComposto);
         return eComposto;
     }
 
     public void setEComposto(boolean flag) {
-        System.out.println("[DEBUG] Setting eComposto for " + nome + " to: " + flag);
         this.eComposto = flag;
     } // <-- OBRIGATÓRIO
 
@@ -144,6 +121,10 @@ public class Item {
         return ingredientes;
     }
 
+    public void setIngredientes(List<ItemIngrediente> ingredientes) {
+        this.ingredientes = ingredientes;
+    }
+
     public String getTipoPratoName() {
         return switch (tipoPratoId) {
             case 1 -> "Entrada";
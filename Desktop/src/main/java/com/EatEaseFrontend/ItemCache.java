@@ -0,0 +1,26 @@
+package com.EatEaseFrontend;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Produtos (/item/getAll) partilhados pelas views. Quem precisar dos detalhes
+ * de um produto lê daqui em vez de voltar a descarregar o catálogo.
+ *
+ * A lista é considerada atual durante item.cache.max.age.seconds (ver
+ * IdIndexedCache).
+ */
+public class ItemCache extends IdIndexedCache<Item> {
+
+    private static final String ITEMS_PATH = "/item/getAll";
+
+    public ItemCache(ApiClient apiClient) {
+        super(Item::getId, AppConfig::getItemCacheMaxAgeSeconds,
+                () -> apiClient.getString(ITEMS_PATH).thenApply(body -> {
+                    try {
+                        return ItemJsonLoader.parseItems(body);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }));
+    }
+}
@@ -0,0 +1,393 @@
+package com.EatEaseFrontend;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Cache das fotos dos itens (/uploads/items/{foto}), partilhada por todas as
+ * views:
+ * <ul>
+ * <li>em memória, as imagens descodificadas ficam num LRU limitado em bytes
+ * (image.cache.memory.mb), para não se acumularem no heap;</li>
+ * <li>em disco, na pasta do backend atual (outro servidor pode ter uma foto
+ * diferente com o mesmo nome), os ficheiros originais ficam guardados pelo
+ * nome, com o ETag e o Last-Modified da resposta; ao fim de
+ * image.cache.revalidate.seconds são revalidados com um pedido condicional
+ * (304 não volta a descarregar);</li>
+ * <li>as miniaturas para os cards são descodificadas já reduzidas a partir do
+ * ficheiro em disco.</li>
+ * </ul>
+ * A imagem em cache é entregue de imediato; se a revalidação trouxer uma
+ * versão nova, o callback é chamado outra vez com ela. Na UI thread só se
+ * consulta a memória (imagens e hora da última validação); tudo o que lê o
+ * disco corre no executor das imagens.
+ */
+public class ItemImageCache {
+
+    private static final String UPLOADS_PATH = "/uploads/items/";
+
+    private static final ExecutorService decoder = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("eatease-images-", 0).factory());
+
+    private static final MemoryCache memory = new MemoryCache(AppConfig.getImageCacheMemoryMb() * 1024L * 1024L);
+    // Descargas em curso por ficheiro, para não pedir a mesma foto duas vezes
+    private static final Map<String, CompletableFuture<Boolean>> downloads = new ConcurrentHashMap<>();
+    // Hora da última validação por ficheiro (cópia em memória do validatedAt do .meta)
+    private static final Map<String, Long> validatedAt = new ConcurrentHashMap<>();
+
+    private final ApiClient apiClient;
+    private final Path directory;
+
+    public ItemImageCache(ApiClient apiClient) {
+        this.apiClient = apiClient;
+        this.directory = AppConfig.getBackendCacheDirectory().resolve("images");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Erro ao criar pasta de imagens " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Carrega a foto em tamanho original
+     *
+     * @param filename Nome da foto do item
+     * @param onImage  Recebe a imagem na UI thread (pode ser chamado duas
+     *                 vezes: versão em cache e versão revalidada)
+     */
+    public void load(String filename, Consumer<Image> onImage) {
+        load(filename, 0, onImage);
+    }
+
+    /**
+     * Carrega uma miniatura da foto, reduzida ao tamanho indicado
+     *
+     * @param filename Nome da foto do item
+     * @param size     Lado máximo da miniatura em pixels
+     * @param onImage  Recebe a imagem na UI thread
+     */
+    public void loadThumbnail(String filename, int size, Consumer<Image> onImage) {
+        load(filename, size, onImage);
+    }
+
+    /**
+     * Esquece uma foto (ex: depois de um upload com o mesmo nome)
+     */
+    public void invalidate(String filename) {
+        memory.removeFile(filename);
+        validatedAt.remove(filename);
+        try {
+            Files.deleteIfExists(imageFile(filename));
+            Files.deleteIfExists(metaFile(filename));
+        } catch (IOException e) {
+            System.err.println("Erro ao apagar foto em cache " + filename + ": " + e.getMessage());
+        }
+    }
+
+    private void load(String filename, int size, Consumer<Image> onImage) {
+        if (filename == null || filename.isEmpty()) {
+            return;
+        }
+
+        Image cached = memory.get(filename + "@" + size);
+        if (cached != null) {
+            deliver(onImage, cached);
+            Long validated = validatedAt.get(filename);
+            if (validated != null && isFresh(validated)) {
+                return;
+            }
+        }
+
+        CompletableFuture.supplyAsync(() -> {
+            boolean onDisk = Files.isRegularFile(imageFile(filename));
+            if (cached == null && onDisk) {
+                Image fromDisk = decode(filename, size);
+                if (fromDisk != null) {
+                    deliver(onImage, fromDisk);
+                }
+            }
+            return onDisk && isFresh(filename);
+        }, decoder)
+                .thenCompose(fresh -> fresh ? CompletableFuture.completedFuture(false) : download(filename))
+                .thenAccept(changed -> {
+                    // Versão nova (ou primeira descarga): descodificar e entregar
+                    if (changed) {
+                        Image image = decode(filename, size);
+                        if (image != null) {
+                            deliver(onImage, image);
+                        }
+                    }
+                })
+                .exceptionally(e -> {
+                    System.err.println("Erro ao carregar foto " + filename + ": " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Descarrega (ou revalida) a foto para o disco
+     *
+     * @return Future com true se o ficheiro em disco mudou
+     */
+    private CompletableFuture<Boolean> download(String filename) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = downloads.putIfAbsent(filename, result);
+        if (running != null) {
+            return running;
+        }
+
+        Properties meta = readMeta(filename);
+        HttpRequest.Builder builder = apiClient.request(UPLOADS_PATH + filename).GET();
+        if (Files.isRegularFile(imageFile(filename))) {
+            String etag = meta.getProperty("etag");
+            String lastModified = meta.getProperty("lastModified");
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+        }
+
+        apiClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApplyAsync(response -> {
+                    int status = response.statusCode();
+                    if (status == 304) {
+                        markValidated(filename, meta);
+                        return false;
+                    }
+                    if (status != 200) {
+                        throw new IllegalStateException("HTTP " + status);
+                    }
+
+                    writeAtomically(imageFile(filename), response.body());
+                    Properties fresh = new Properties();
+                    response.headers().firstValue("ETag").ifPresent(v -> fresh.setProperty("etag", v));
+                    response.headers().firstValue("Last-Modified")
+                            .ifPresent(v -> fresh.setProperty("lastModified", v));
+                    markValidated(filename, fresh);
+                    memory.removeFile(filename);
+                    pruneDisk();
+                    return true;
+                }, decoder)
+                .whenComplete((changed, e) -> {
+                    downloads.remove(filename, result);
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(changed);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Indica se a foto em disco foi validada há menos de
+     * image.cache.revalidate.seconds. Lê o .meta só da primeira vez; não
+     * chamar na UI thread.
+     */
+    private boolean isFresh(String filename) {
+        Long validated = validatedAt.get(filename);
+        if (validated == null) {
+            try {
+                validated = Long.parseLong(readMeta(filename).getProperty("validatedAt", "0"));
+            } catch (NumberFormatException e) {
+                validated = 0L;
+            }
+            validatedAt.putIfAbsent(filename, validated);
+        }
+        return isFresh(validated);
+    }
+
+    private static boolean isFresh(long validated) {
+        return System.currentTimeMillis() - validated < AppConfig.getImageCacheRevalidateSeconds() * 1000L;
+    }
+
+    private void markValidated(String filename, Properties meta) {
+        long now = System.currentTimeMillis();
+        meta.setProperty("validatedAt", Long.toString(now));
+        writeMeta(filename, meta);
+        validatedAt.put(filename, now);
+    }
+
+    /**
+     * Descodifica a foto do disco (reduzida se size > 0) e guarda-a em memória
+     */
+    private Image decode(String filename, int size) {
+        String key = filename + "@" + size;
+        Path file = imageFile(filename);
+        try (InputStream in = new ByteArrayInputStream(Files.readAllBytes(file))) {
+            // A data de modificação marca o último uso (para limpar o disco)
+            file.toFile().setLastModified(System.currentTimeMillis());
+            Image image = size > 0 ? new Image(in, size, size, true, true) : new Image(in);
+            if (image.isError()) {
+                System.err.println("Foto inválida " + filename + ": " + image.getException());
+                return null;
+            }
+            memory.put(key, image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erro ao ler foto em cache " + filename + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void deliver(Consumer<Image> onImage, Image image) {
+        if (Platform.isFxApplicationThread()) {
+            onImage.accept(image);
+        } else {
+            Platform.runLater(() -> onImage.accept(image));
+        }
+    }
+
+    private Path imageFile(String filename) {
+        return directory.resolve(URLEncoder.encode(filename, StandardCharsets.UTF_8));
+    }
+
+    private Path metaFile(String filename) {
+        return directory.resolve(URLEncoder.encode(filename, StandardCharsets.UTF_8) + ".meta");
+    }
+
+    private Properties readMeta(String filename) {
+        Properties meta = new Properties();
+        Path file = metaFile(filename);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                meta.load(in);
+            } catch (IOException e) {
+                System.err.println("Erro ao ler " + file + ": " + e.getMessage());
+            }
+        }
+        return meta;
+    }
+
+    private void writeMeta(String filename, Properties meta) {
+        Path file = metaFile(filename);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            meta.store(out, null);
+        } catch (IOException e) {
+            System.err.println("Erro ao guardar " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] data) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(tmp, data);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao guardar " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apaga as fotos usadas há mais tempo quando a pasta passa de
+     * image.cache.disk.mb
+     */
+    private void pruneDisk() {
+        long budget = AppConfig.getImageCacheDiskMb() * 1024L * 1024L;
+        List<Path> images = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".meta") && !name.endsWith(".tmp")) {
+                    images.add(file);
+                    total += Files.size(file);
+                }
+            }
+            if (total <= budget) {
+                return;
+            }
+
+            images.sort(Comparator.comparingLong(file -> file.toFile().lastModified()));
+            for (Path file : images) {
+                if (total <= budget) {
+                    break;
+                }
+                total -= Files.size(file);
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".meta"));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao limpar fotos em cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * LRU de imagens descodificadas limitado pelo tamanho em memória
+     * (largura x altura x 4 bytes)
+     */
+    private static final class MemoryCache {
+        private final long budget;
+        private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes = 0;
+
+        MemoryCache(long budget) {
+            this.budget = budget;
+        }
+
+        synchronized Image get(String key) {
+            return images.get(key);
+        }
+
+        synchronized void put(String key, Image image) {
+            Image old = images.put(key, image);
+            if (old != null) {
+                bytes -= sizeOf(old);
+            }
+            bytes += sizeOf(image);
+
+            Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+            while (bytes > budget && it.hasNext()) {
+                Map.Entry<String, Image> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                bytes -= sizeOf(eldest.getValue());
+                it.remove();
+            }
+        }
+
+        synchronized void removeFile(String filename) {
+            String prefix = filename + "@";
+            Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Image> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    bytes -= sizeOf(entry.getValue());
+                    it.remove();
+                }
+            }
+        }
+
+        private static long sizeOf(Image image) {
+            return (long) image.getWidth() * (long) image.getHeight() * 4L;
+        }
+    }
+}
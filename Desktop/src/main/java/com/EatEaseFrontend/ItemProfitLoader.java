@@ -0,0 +1,218 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carrega o lucro diário de uma lista de produtos através de
+ * /dashboard/lucroByItemId. O backend só aceita um produto por pedido, por
+ * isso o lote é percorrido com no máximo report.max.parallel pedidos em
+ * curso, e:
+ * <ul>
+ * <li>os dias já fechados (antes de hoje) ficam em cache por produto,
+ * partilhada por todas as views; um intervalo que já está todo em cache não
+ * faz pedidos, e um que acaba hoje só pede os dias em falta;</li>
+ * <li>dois carregamentos que precisem do mesmo produto ao mesmo tempo
+ * partilham o pedido.</li>
+ * </ul>
+ * Os resultados são guardados em IntConcurrentMap, indexados pelo id do
+ * produto, porque são escritos pelas threads do HttpClient.
+ */
+public class ItemProfitLoader {
+
+    private static final String PROFIT_PATH = "/dashboard/lucroByItemId";
+
+    // Dias fechados por produto (nunca mudam)
+    private static final IntConcurrentMap<ItemProfitSeries> closedDays = new IntConcurrentMap<>();
+    // Pedidos em curso por produto
+    private static final IntConcurrentMap<Request> inFlight = new IntConcurrentMap<>();
+
+    /**
+     * Pedido em curso para os últimos lastDays dias de um produto
+     */
+    private record Request(int lastDays, CompletableFuture<ItemProfitSeries> future) {
+    }
+
+    /**
+     * Resultado de um lote
+     *
+     * @param byItem  Lucro por produto, recortado ao intervalo pedido
+     * @param missing Produtos cujo pedido falhou
+     */
+    public record Result(IntConcurrentMap<ItemProfitSeries> byItem, Set<Integer> missing) {
+    }
+
+    private final ApiClient apiClient;
+
+    public ItemProfitLoader(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * Carrega o lucro de todos os produtos no intervalo
+     *
+     * @param items Produtos
+     * @param start Primeiro dia
+     * @param end   Último dia (inclusive)
+     * @param owner Future de quem pediu o lote; quando termina (ex:
+     *              cancelado) deixam de ser lançados pedidos novos
+     * @return Future com o lucro por produto
+     */
+    public CompletableFuture<Result> load(List<Item> items, LocalDate start, LocalDate end,
+            CompletableFuture<?> owner) {
+        Result result = new Result(new IntConcurrentMap<>(), ConcurrentHashMap.newKeySet());
+        int[] itemIds = items.stream().mapToInt(Item::getId).toArray();
+        AtomicInteger next = new AtomicInteger();
+
+        int workers = Math.min(AppConfig.getReportMaxParallel(), itemIds.length);
+        CompletableFuture<?>[] running = new CompletableFuture<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            running[i] = loadNext(itemIds, next, start, end, result, owner);
+        }
+        return CompletableFuture.allOf(running).thenApply(ignored -> result);
+    }
+
+    /**
+     * Cada "worker" carrega um produto e, quando termina, passa ao seguinte
+     * ainda por carregar
+     */
+    private CompletableFuture<Void> loadNext(int[] itemIds, AtomicInteger next, LocalDate start, LocalDate end,
+            Result result, CompletableFuture<?> owner) {
+        int index = next.getAndIncrement();
+        if (index >= itemIds.length || owner.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int itemId = itemIds[index];
+
+        return loadItem(itemId, start, end)
+                .thenAccept(series -> result.byItem().put(itemId, series))
+                .exceptionally(e -> {
+                    System.out.println("Failed to load profit data for item " + itemId + ": " + e.getMessage());
+                    result.missing().add(itemId);
+                    return null;
+                })
+                .thenCompose(ignored -> loadNext(itemIds, next, start, end, result, owner));
+    }
+
+    /**
+     * Lucro de um produto no intervalo, usando a cache para os dias fechados
+     */
+    private CompletableFuture<ItemProfitSeries> loadItem(int itemId, LocalDate start, LocalDate end) {
+        LocalDate today = LocalDate.now();
+        ItemProfitSeries cached = closedDays.get(itemId);
+
+        // O endpoint só conhece o passado; dias futuros ficam desconhecidos
+        LocalDate lastKnown = end.isAfter(today) ? today : end;
+        if (start.isAfter(lastKnown)) {
+            return CompletableFuture.completedFuture(
+                    new ItemProfitSeries(start, new double[0], new int[0]).slice(start, end));
+        }
+
+        // Primeiro dia do intervalo que não está em cache
+        LocalDate firstNeeded = start;
+        if (cached != null) {
+            while (!firstNeeded.isAfter(lastKnown) && firstNeeded.isBefore(today)
+                    && !Double.isNaN(cached.profitOn(firstNeeded))) {
+                firstNeeded = firstNeeded.plusDays(1);
+            }
+        }
+        if (firstNeeded.isAfter(lastKnown)) {
+            return CompletableFuture.completedFuture(cached.slice(start, end));
+        }
+
+        // O endpoint só aceita "últimos N dias" a contar de hoje
+        int lastDays = (int) ChronoUnit.DAYS.between(firstNeeded, today) + 1;
+        return fetch(itemId, lastDays).thenApply(fresh -> {
+            ItemProfitSeries base = closedDays.get(itemId);
+            return (base == null ? fresh : base.merge(fresh)).slice(start, end);
+        });
+    }
+
+    /**
+     * Pede os últimos lastDays dias de um produto, partilhando um pedido em
+     * curso que já cubra esses dias
+     */
+    private CompletableFuture<ItemProfitSeries> fetch(int itemId, int lastDays) {
+        CompletableFuture<ItemProfitSeries> future = new CompletableFuture<>();
+        Request request = new Request(lastDays, future);
+        // Atómico por produto: fica o pedido em curso se já cobrir estes dias,
+        // senão este passa a ser o partilhado
+        Request active = inFlight.merge(itemId, request,
+                (running, created) -> running.lastDays() >= created.lastDays() ? running : created);
+        if (active != request) {
+            return active.future();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(lastDays - 1);
+        apiClient.getString(PROFIT_PATH + "?itemId=" + itemId + "&lastDays=" + lastDays)
+                .thenApply(body -> parse(body, firstDay, today))
+                .whenComplete((series, e) -> {
+                    inFlight.remove(itemId, request);
+                    if (e != null) {
+                        future.completeExceptionally(e instanceof CompletionException && e.getCause() != null
+                                ? e.getCause()
+                                : e);
+                        return;
+                    }
+                    // Só os dias antes de hoje vão para a cache
+                    if (firstDay.isBefore(today)) {
+                        closedDays.merge(itemId, series.slice(firstDay, today.minusDays(1)),
+                                ItemProfitSeries::merge);
+                    }
+                    future.complete(series);
+                });
+        return future;
+    }
+
+    /**
+     * Converte a resposta (lista de dias com "data", "lucro" e "quantidade")
+     * numa série de firstDay a lastDay. Os dias que não vêm na resposta não
+     * tiveram vendas.
+     */
+    private ItemProfitSeries parse(String body, LocalDate firstDay, LocalDate lastDay) {
+        if (body.trim().startsWith("<")) {
+            throw new IllegalStateException("Resposta HTML em vez de JSON");
+        }
+        JsonNode profitNode;
+        try {
+            profitNode = apiClient.getMapper().readTree(body);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        int days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        double[] profit = new double[days];
+        int[] quantity = new int[days];
+        if (!profitNode.isArray()) {
+            // Resposta agregada, sem detalhe por dia: os dias ficam desconhecidos
+            Arrays.fill(profit, Double.NaN);
+            return new ItemProfitSeries(firstDay, profit, quantity);
+        }
+        for (JsonNode dayData : profitNode) {
+            String dateStr = dayData.path("data").asText("");
+            if (dateStr.length() < 10) {
+                continue;
+            }
+            try {
+                long index = ChronoUnit.DAYS.between(firstDay, LocalDate.parse(dateStr.substring(0, 10)));
+                if (index >= 0 && index < days) {
+                    profit[(int) index] += dayData.path("lucro").asDouble(0.0);
+                    quantity[(int) index] += dayData.path("quantidade").asInt(0);
+                }
+            } catch (DateTimeParseException e) {
+                System.out.println("Error parsing date: " + dateStr);
+            }
+        }
+        return new ItemProfitSeries(firstDay, profit, quantity);
+    }
+}
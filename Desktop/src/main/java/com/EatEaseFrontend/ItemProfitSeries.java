@@ -0,0 +1,152 @@
+package com.EatEaseFrontend;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Lucro e quantidade vendida de um produto, dia a dia, num intervalo
+ * contínuo. É imutável: juntar ou recortar devolve uma série nova, por isso
+ * pode ser partilhada entre threads e guardada em cache sem cópias.
+ *
+ * Dias sem dados conhecidos têm lucro NaN e quantidade 0.
+ */
+public final class ItemProfitSeries {
+
+    private final long firstEpochDay;
+    private final double[] profit;
+    private final int[] quantity;
+
+    /**
+     * @param firstDay Primeiro dia da série
+     * @param profit   Lucro por dia (índice 0 = firstDay)
+     * @param quantity Quantidade vendida por dia
+     */
+    public ItemProfitSeries(LocalDate firstDay, double[] profit, int[] quantity) {
+        this(firstDay.toEpochDay(), profit.clone(), quantity.clone());
+        if (profit.length != quantity.length) {
+            throw new IllegalArgumentException("Lucro e quantidade com tamanhos diferentes");
+        }
+    }
+
+    private ItemProfitSeries(long firstEpochDay, double[] profit, int[] quantity) {
+        this.firstEpochDay = firstEpochDay;
+        this.profit = profit;
+        this.quantity = quantity;
+    }
+
+    public LocalDate getFirstDay() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * @return Último dia da série (antes do primeiro se estiver vazia)
+     */
+    public LocalDate getLastDay() {
+        return LocalDate.ofEpochDay(firstEpochDay + profit.length - 1);
+    }
+
+    public int getDays() {
+        return profit.length;
+    }
+
+    /**
+     * @return Lucro do dia ou NaN se não for conhecido
+     */
+    public double profitOn(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        return index >= 0 && index < profit.length ? profit[(int) index] : Double.NaN;
+    }
+
+    /**
+     * @return Quantidade vendida no dia (0 se não for conhecida)
+     */
+    public int quantityOn(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        return index >= 0 && index < quantity.length ? quantity[(int) index] : 0;
+    }
+
+    /**
+     * @return true se todos os dias do intervalo são conhecidos
+     */
+    public boolean covers(LocalDate start, LocalDate end) {
+        for (long day = start.toEpochDay(); day <= end.toEpochDay(); day++) {
+            long index = day - firstEpochDay;
+            if (index < 0 || index >= profit.length || Double.isNaN(profit[(int) index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Soma do lucro dos dias conhecidos
+     */
+    public double totalProfit() {
+        double total = 0;
+        for (double value : profit) {
+            if (!Double.isNaN(value)) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Soma das quantidades vendidas
+     */
+    public int totalQuantity() {
+        int total = 0;
+        for (int value : quantity) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Recorta a série ao intervalo; dias fora da série ficam desconhecidos
+     */
+    public ItemProfitSeries slice(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay();
+        int days = (int) Math.max(0, end.toEpochDay() - from + 1);
+        double[] slicedProfit = new double[days];
+        int[] slicedQuantity = new int[days];
+        Arrays.fill(slicedProfit, Double.NaN);
+        copyInto(from, slicedProfit, slicedQuantity);
+        return new ItemProfitSeries(from, slicedProfit, slicedQuantity);
+    }
+
+    /**
+     * Junta duas séries; nos dias conhecidos em ambas ganha a outra (mais
+     * recente). Dias entre as duas que nenhuma conhece ficam desconhecidos.
+     */
+    public ItemProfitSeries merge(ItemProfitSeries newer) {
+        if (profit.length == 0) {
+            return newer;
+        }
+        if (newer.profit.length == 0) {
+            return this;
+        }
+        long from = Math.min(firstEpochDay, newer.firstEpochDay);
+        long to = Math.max(firstEpochDay + profit.length, newer.firstEpochDay + newer.profit.length);
+        double[] mergedProfit = new double[(int) (to - from)];
+        int[] mergedQuantity = new int[mergedProfit.length];
+        Arrays.fill(mergedProfit, Double.NaN);
+        copyInto(from, mergedProfit, mergedQuantity);
+        newer.copyInto(from, mergedProfit, mergedQuantity);
+        return new ItemProfitSeries(from, mergedProfit, mergedQuantity);
+    }
+
+    /**
+     * Copia os dias conhecidos desta série para arrays que começam em
+     * targetEpochDay
+     */
+    private void copyInto(long targetEpochDay, double[] targetProfit, int[] targetQuantity) {
+        for (int i = 0; i < profit.length; i++) {
+            long index = firstEpochDay + i - targetEpochDay;
+            if (index >= 0 && index < targetProfit.length && !Double.isNaN(profit[i])) {
+                targetProfit[(int) index] = profit[i];
+                targetQuantity[(int) index] = quantity[i];
+            }
+        }
+    }
+}
@@ -1,115 +1,56 @@
 package com.EatEaseFrontend;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Simple utility class to parse JSON data into model objects.
- * In a production app, you'd use a library like Jackson or Gson instead.
+ * Converte as respostas JSON da API nos objetos do modelo.
+ *
+ * Usa a API de tokens do Jackson (streaming): cada resposta é lida uma única
+ * vez, do início ao fim, e os campos são escritos diretamente nos objetos,
+ * sem regex nem cópias de substrings. Objetos aninhados e campos
+ * desconhecidos são suportados (os desconhecidos são ignorados).
+ *
+ * Em caso de JSON inválido os métodos públicos lançam UncheckedIOException
+ * em vez de devolverem uma lista parcial: quem compara a lista com o que está
+ * apresentado (ex: PedidosView) não pode confundir um erro com objetos
+ * removidos. Resposta vazia continua a dar lista vazia.
  */
 public class JsonParser {
 
-    /**
-     * Parse JSON array of employees into a List of Employee objects
-     * 
-     * @param json The JSON string from the API
-     * @return List of Employee objects
-     */
-    public static List<Employee> parseEmployees(String json) {
-        List<Employee> employees = new ArrayList<>();
-
-        // Simple regex pattern to extract employee objects
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]*)\\}");
-        Matcher matcher = pattern.matcher(json);
-
-        while (matcher.find()) {
-            String employeeJson = matcher.group(0);
-            Employee employee = parseEmployee(employeeJson);
-            employees.add(employee);
-        }
-
-        return employees;
-    }
+    private static final JsonFactory factory = new JsonFactory();
 
     /**
-     * Parse a single employee JSON object
-     * 
-     * @param json The JSON string for one employee
-     * @return Employee object
+     * Lê um objeto JSON a partir da posição atual do parser
      */
-    private static Employee parseEmployee(String json) {
-        Employee employee = new Employee();
-
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            employee.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-
-        // Extract nome
-        employee.setNome(extractString(json, "nome"));
-
-        // Extract username
-        employee.setUsername(extractString(json, "username"));
-
-        // Extract password (would not normally include this)
-        employee.setPassword(extractString(json, "password"));
-
-        // Extract email
-        employee.setEmail(extractString(json, "email"));
-
-        // Extract telefone
-        employee.setTelefone(extractString(json, "telefone"));
-
-        // Extract cargoId
-        Pattern cargoPattern = Pattern.compile("\"cargoId\"\\s*:\\s*(\\d+)");
-        Matcher cargoMatcher = cargoPattern.matcher(json);
-        if (cargoMatcher.find()) {
-            employee.setCargoId(Integer.parseInt(cargoMatcher.group(1)));
-        }
-
-        return employee;
+    @FunctionalInterface
+    private interface ObjectDecoder<T> {
+        T decode(com.fasterxml.jackson.core.JsonParser p) throws IOException;
     }
 
     /**
-     * Extract a string value from JSON for a given field
-     * 
-     * @param json      The JSON string
-     * @param fieldName The field name to extract
-     * @return The extracted string value
+     * Parse JSON array of employees into a List of Employee objects
+     *
+     * @param json The JSON string from the API
+     * @return List of Employee objects
      */
-    private static String extractString(String json, String fieldName) {
-        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*\"([^\"]*)\"");
-        Matcher matcher = pattern.matcher(json);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        return "";
+    public static List<Employee> parseEmployees(String json) {
+        return parseArray(json, JsonParser::readEmployee, "funcionários");
     }
 
     /**
      * Parse JSON array of ingredients into a List of Ingredient objects
-     * 
+     *
      * @param json The JSON string from the API
      * @return List of Ingredient objects
      */
     public static List<Ingredient> parseIngredients(String json) {
-        List<Ingredient> ingredients = new ArrayList<>();
-
-        // Simple regex pattern to extract ingredient objects
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]*)\\}");
-        Matcher matcher = pattern.matcher(json);
-
-        while (matcher.find()) {
-            String ingredientJson = matcher.group(0);
-            Ingredient ingredient = parseIngredient(ingredientJson);
-            ingredients.add(ingredient);
-        }
-
-        return ingredients;
+        return parseArray(json, JsonParser::readIngredient, "ingredientes");
     }
 
     /**
@@ -119,156 +60,47 @@ public class JsonParser {
      * @return List of Menu objects
      */
     public static List<Menu> parseMenus(String json) {
-        List<Menu> menus = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]*)\\}");
-        Matcher matcher = pattern.matcher(json);
-        while (matcher.find()) {
-            String menuJson = matcher.group(0);
-            Menu menu = parseMenu(menuJson);
-            menus.add(menu);
-        }
-        return menus;
+        return parseArray(json, JsonParser::readMenu, "menus");
     }
 
     /**
-     * Parse JSON array of tipoMenu into a List of TipoMenu objects
+     * Parse JSON array of menu types into a List of TipoMenu objects
      *
      * @param json The JSON string from the API
      * @return List of TipoMenu objects
      */
     public static List<TipoMenu> parseTipoMenus(String json) {
-        List<TipoMenu> tipos = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]*)\\}");
-        Matcher matcher = pattern.matcher(json);
-        while (matcher.find()) {
-            String tipoJson = matcher.group(0);
-            TipoMenu tipo = parseTipoMenu(tipoJson);
-            tipos.add(tipo);
-        }
-        return tipos;
-    }
-
-    private static TipoMenu parseTipoMenu(String json) {
-        TipoMenu tipo = new TipoMenu();
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            tipo.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-        // Extract nome
-        tipo.setNome(extractString(json, "nome"));
-        return tipo;
-    }
-
-    private static Menu parseMenu(String json) {
-        Menu menu = new Menu();
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            menu.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-        // Extract nome
-        menu.setNome(extractString(json, "nome"));
-        // Extract descricao
-        menu.setDescricao(extractString(json, "descricao"));
-        // Extract tipoMenuId
-        Pattern tipoPattern = Pattern.compile("\"tipoMenu\"\\s*:\\s*(\\d+)");
-        Matcher tipoMatcher = tipoPattern.matcher(json);
-        if (tipoMatcher.find()) {
-            menu.setTipoMenuId(Integer.parseInt(tipoMatcher.group(1)));
-        }
-        return menu;
+        return parseArray(json, JsonParser::readTipoMenu, "tipos de menu");
     }
 
     /**
-     * Parse a single ingredient JSON object
-     * 
-     * @param json The JSON string for one ingredient
-     * @return Ingredient object
-     */
-    private static Ingredient parseIngredient(String json) {
-        Ingredient ingredient = new Ingredient();
-
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            ingredient.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-
-        // Extract nome
-        ingredient.setNome(extractString(json, "nome"));
-
-        // Extract stock
-        Pattern stockPattern = Pattern.compile("\"stock\"\\s*:\\s*(\\d+)");
-        Matcher stockMatcher = stockPattern.matcher(json);
-        if (stockMatcher.find()) {
-            ingredient.setStock(Integer.parseInt(stockMatcher.group(1)));
-        }
-
-        // Extract stock_min
-        Pattern stockMinPattern = Pattern.compile("\"stock_min\"\\s*:\\s*(\\d+)");
-        Matcher stockMinMatcher = stockMinPattern.matcher(json);
-        if (stockMinMatcher.find()) {
-            ingredient.setStock_min(Integer.parseInt(stockMinMatcher.group(1)));
-        }
-
-        // Extract unidade_id
-        Pattern unidadePattern = Pattern.compile("\"unidade_id\"\\s*:\\s*(\\d+)");
-        Matcher unidadeMatcher = unidadePattern.matcher(json);
-        if (unidadeMatcher.find()) {
-            ingredient.setUnidade_id(Integer.parseInt(unidadeMatcher.group(1)));
-        }
-
-        return ingredient;
-    }
-
-    /**
-     * Parse JSON array of menu item IDs
-     * 
+     * Parse JSON array of menu item IDs. Accepts either an array of numbers or
+     * an array of item objects, in which case the "id" of each one is used.
+     *
      * @param json The JSON string from the API containing menu item IDs
      * @return List of menu item IDs as integers
+     * @throws UncheckedIOException if the JSON is malformed
      */
     public static List<Integer> parseMenuItemIds(String json) {
         List<Integer> itemIds = new ArrayList<>();
 
-        System.out.println("Parsing menu item IDs from JSON: " + json);
-
-        // Remove any brackets, quotes and whitespace to get a clean list of numbers
-        if (json.startsWith("[") && json.endsWith("]")) {
-            // Clean the string by removing brackets
-            String cleaned = json.substring(1, json.length() - 1).trim();
-
-            // Split by comma if there's content
-            if (!cleaned.isEmpty()) {
-                String[] idStrings = cleaned.split(",");
-                for (String idStr : idStrings) {
-                    try {
-                        // Trim and parse each ID
-                        int itemId = Integer.parseInt(idStr.trim());
-                        itemIds.add(itemId);
-                        System.out.println("Added item ID: " + itemId);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Erro ao converter ID de item '" + idStr + "': " + e.getMessage());
-                    }
-                }
+        try (com.fasterxml.jackson.core.JsonParser p = factory.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                return itemIds;
             }
-        } else {
-            // Fallback to regex approach if the JSON is not a simple array
-            Pattern pattern = Pattern.compile("\\d+");
-            Matcher matcher = pattern.matcher(json);
-
-            while (matcher.find()) {
-                try {
-                    int itemId = Integer.parseInt(matcher.group());
-                    itemIds.add(itemId);
-                    System.out.println("Added item ID (regex): " + itemId);
-                } catch (NumberFormatException e) {
-                    System.err.println("Erro ao converter ID de item: " + e.getMessage());
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    itemIds.add(p.getIntValue());
+                } else if (token == JsonToken.START_OBJECT) {
+                    itemIds.add(readItem(p).getId());
+                } else {
+                    p.skipChildren();
                 }
             }
+        } catch (IOException e) {
+            System.err.println("Erro ao converter IDs de itens: " + e.getMessage());
+            throw new UncheckedIOException(e);
         }
 
         System.out.println("Total de " + itemIds.size() + " IDs de itens encontrados: " + itemIds);
@@ -282,55 +114,7 @@ public class JsonParser {
      * @return List of Mesa objects
      */
     public static List<Mesa> parseMesas(String json) {
-        List<Mesa> mesas = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]*)\\}");
-        Matcher matcher = pattern.matcher(json);
-        while (matcher.find()) {
-            String mesaJson = matcher.group(0);
-            Mesa mesa = parseMesa(mesaJson);
-            mesas.add(mesa);
-        }
-        return mesas;
-    }
-
-    /**
-     * Parse a single mesa JSON object
-     * 
-     * @param json The JSON string for one mesa
-     * @return Mesa object
-     */
-    private static Mesa parseMesa(String json) {
-        Mesa mesa = new Mesa();
-
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            mesa.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-
-        // Extract numero
-        Pattern numeroPattern = Pattern.compile("\"numero\"\\s*:\\s*(\\d+)");
-        Matcher numeroMatcher = numeroPattern.matcher(json);
-        if (numeroMatcher.find()) {
-            mesa.setNumero(Integer.parseInt(numeroMatcher.group(1)));
-        }
-
-        // Extract estadoLivre
-        Pattern estadoPattern = Pattern.compile("\"estadoLivre\"\\s*:\\s*(true|false)");
-        Matcher estadoMatcher = estadoPattern.matcher(json);
-        if (estadoMatcher.find()) {
-            mesa.setEstadoLivre(Boolean.parseBoolean(estadoMatcher.group(1)));
-        }
-
-        // Extract capacidade
-        Pattern capacidadePattern = Pattern.compile("\"capacidade\"\\s*:\\s*(\\d+)");
-        Matcher capacidadeMatcher = capacidadePattern.matcher(json);
-        if (capacidadeMatcher.find()) {
-            mesa.setCapacidade(Integer.parseInt(capacidadeMatcher.group(1)));
-        }
-
-        return mesa;
+        return parseArray(json, JsonParser::readMesa, "mesas");
     }
 
     /**
@@ -340,357 +124,329 @@ public class JsonParser {
      * @return List of Pedido objects
      */
     public static List<Pedido> parsePedidos(String json) {
-        List<Pedido> pedidos = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\\{([^\\{\\}]+)\\}");
-        Matcher matcher = pattern.matcher(json);
-
-        while (matcher.find()) {
-            String pedidoJson = matcher.group(0);
-            Pedido pedido = parsePedido(pedidoJson);
-            pedidos.add(pedido);
-        }
-
-        return pedidos;
+        return parseArray(json, JsonParser::readPedido, "pedidos");
     }
 
     /**
-     * Parse a single pedido JSON object
-     * 
-     * @param json The JSON string for one pedido
-     * @return Pedido object
+     * Parse JSON array of pedidos rapidos into a List of PedidoRapid objects,
+     * including the full items of each order
+     *
+     * @param json The JSON string from the API
+     * @return List of PedidoRapid objects
      */
-    private static Pedido parsePedido(String json) {
-        Pedido pedido = new Pedido();
-
-        // Extract id
-        Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-        Matcher idMatcher = idPattern.matcher(json);
-        if (idMatcher.find()) {
-            pedido.setId(Integer.parseInt(idMatcher.group(1)));
-        }
-
-        // Extract itensIds
-        Pattern itensPattern = Pattern.compile("\"itensIds\"\\s*:\\s*\\[(.*?)\\]");
-        Matcher itensMatcher = itensPattern.matcher(json);
-        if (itensMatcher.find()) {
-            String itensIdsString = itensMatcher.group(1);
-            List<Integer> itensIds = new ArrayList<>();
-
-            Pattern itemIdPattern = Pattern.compile("(\\d+)");
-            Matcher itemIdMatcher = itemIdPattern.matcher(itensIdsString);
-            while (itemIdMatcher.find()) {
-                itensIds.add(Integer.parseInt(itemIdMatcher.group(1)));
-            }
-
-            pedido.setItensIds(itensIds);
-        }
-
-        // Extract estadoPedido_id
-        Pattern estadoPattern = Pattern.compile("\"estadoPedido_id\"\\s*:\\s*(\\d+)");
-        Matcher estadoMatcher = estadoPattern.matcher(json);
-        if (estadoMatcher.find()) {
-            pedido.setEstadoPedido_id(Integer.parseInt(estadoMatcher.group(1)));
-        }
-
-        // Extract mesa_id
-        Pattern mesaPattern = Pattern.compile("\"mesa_id\"\\s*:\\s*(\\d+)");
-        Matcher mesaMatcher = mesaPattern.matcher(json);
-        if (mesaMatcher.find()) {
-            pedido.setMesa_id(Integer.parseInt(mesaMatcher.group(1)));
-        }
-
-        // Extract funcionario_id
-        Pattern funcPattern = Pattern.compile("\"funcionario_id\"\\s*:\\s*(\\d+)");
-        Matcher funcMatcher = funcPattern.matcher(json);
-        if (funcMatcher.find()) {
-            pedido.setFuncionario_id(Integer.parseInt(funcMatcher.group(1)));
-        }
-
-        // Extract dataHora
-        pedido.setDataHora(extractString(json, "dataHora"));
-
-        // Extract observacao
-        pedido.setObservacao(extractString(json, "observacao"));
-
-        // Extract ingredientesRemover
-        Pattern ingredRemoverPattern = Pattern.compile("\"ingredientesRemover\"\\s*:\\s*\\[(.*?)\\]");
-        Matcher ingredRemoverMatcher = ingredRemoverPattern.matcher(json);
-        if (ingredRemoverMatcher.find()) {
-            String ingredRemoverString = ingredRemoverMatcher.group(1);
-            List<Integer> ingredRemover = new ArrayList<>();
-
-            if (!ingredRemoverString.isEmpty()) {
-                Pattern ingredIdPattern = Pattern.compile("(\\d+)");
-                Matcher ingredIdMatcher = ingredIdPattern.matcher(ingredRemoverString);
-                while (ingredIdMatcher.find()) {
-                    ingredRemover.add(Integer.parseInt(ingredIdMatcher.group(1)));
-                }
-            }
-
-            pedido.setIngredientesRemover(ingredRemover);
-        }
-
-        return pedido;
+    public static List<PedidoRapid> parsePedidosRapid(String json) {
+        return parseArray(json, JsonParser::readPedidoRapid, "pedidos rápidos");
     }
 
     /**
-     * Parse JSON array of pedidos rapidos into a List of PedidoRapid objects
-     * Uses Jackson ObjectMapper for proper JSON deserialization
+     * Parse JSON array of items into a List of Item objects
      *
      * @param json The JSON string from the API
-     * @return List of PedidoRapid objects
+     * @return List of Item objects
      */
-    public static List<PedidoRapid> parsePedidosRapid(String json) {
-        List<PedidoRapid> pedidos = new ArrayList<>();
-
-        try {
-            // Use ItemJsonLoader's ObjectMapper to parse the complete response
-            pedidos = ItemJsonLoader.parsePedidosRapid(json);
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear pedidos rápidos com Jackson: " + e.getMessage());
-            e.printStackTrace();
-
-            // Fallback to manual parsing if Jackson fails
-            try {
-                pedidos = parsePedidosRapidManual(json);
-            } catch (Exception fallbackEx) {
-                System.err.println("Erro também no fallback manual: " + fallbackEx.getMessage());
-                fallbackEx.printStackTrace();
-            }
-        }
-
-        return pedidos;
+    public static List<Item> parseItems(String json) {
+        return parseArray(json, JsonParser::readItem, "itens");
     }
 
     /**
-     * Fallback manual parsing method
+     * Parse the ingredient list of a composite item (the "ingredientesJson"
+     * field, which the API sends as a JSON string). Some responses escape the
+     * quotes inside that string a second time; those are unescaped first.
+     *
+     * @param json The JSON array of {ingredienteId, quantidade}
+     * @return List of ItemIngrediente objects
+     * @throws IOException if the JSON is malformed
      */
-    private static List<PedidoRapid> parsePedidosRapidManual(String json) {
-        List<PedidoRapid> pedidos = new ArrayList<>();
-
-        try {
-            // Remove outer brackets and split by objects
-            String cleanJson = json.trim();
-            if (cleanJson.startsWith("[") && cleanJson.endsWith("]")) {
-                cleanJson = cleanJson.substring(1, cleanJson.length() - 1);
+    public static List<Item.ItemIngrediente> parseItemIngredientes(String json) throws IOException {
+        if (json.contains("\\\"")) {
+            json = json.replace("\\\"", "\"").replace("\\\\", "\\");
+        }
+        try (com.fasterxml.jackson.core.JsonParser p = factory.createParser(json)) {
+            List<Item.ItemIngrediente> ingredientes = new ArrayList<>();
+            if (p.nextToken() == JsonToken.START_ARRAY) {
+                readArrayInto(p, JsonParser::readItemIngrediente, ingredientes);
             }
+            return ingredientes;
+        }
+    }
 
-            // Find individual pedido objects using bracket counting
-            List<String> pedidoJsons = extractJsonObjects(cleanJson);
+    /* ---------- Leitura genérica ---------- */
 
-            for (String pedidoJson : pedidoJsons) {
-                PedidoRapid pedido = parsePedidoRapido(pedidoJson.trim());
-                if (pedido != null) {
-                    pedidos.add(pedido);
-                }
+    /**
+     * Lê um array de objetos (ou um único objeto) com o decoder indicado
+     *
+     * @throws UncheckedIOException se o JSON for inválido (nunca uma lista
+     *                              parcial)
+     */
+    private static <T> List<T> parseArray(String json, ObjectDecoder<T> decoder, String what) {
+        List<T> result = new ArrayList<>();
+        if (json == null || json.isBlank()) {
+            return result;
+        }
+
+        try (com.fasterxml.jackson.core.JsonParser p = factory.createParser(json)) {
+            JsonToken first = p.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                readArrayInto(p, decoder, result);
+            } else if (first == JsonToken.START_OBJECT) {
+                result.add(decoder.decode(p));
             }
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear pedidos rápidos manualmente: " + e.getMessage());
-            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("Erro ao converter " + what + ": " + e.getMessage());
+            throw new UncheckedIOException(e);
         }
 
-        return pedidos;
+        return result;
     }
 
     /**
-     * Extract individual JSON objects from a JSON array string
+     * Lê os objetos de um array; o parser deve estar no START_ARRAY e fica no
+     * END_ARRAY correspondente
      */
-    private static List<String> extractJsonObjects(String json) {
-        List<String> objects = new ArrayList<>();
-        int braceCount = 0;
-        int start = -1;
-
-        for (int i = 0; i < json.length(); i++) {
-            char c = json.charAt(i);
-
-            if (c == '{') {
-                if (braceCount == 0) {
-                    start = i;
-                }
-                braceCount++;
-            } else if (c == '}') {
-                braceCount--;
-                if (braceCount == 0 && start != -1) {
-                    objects.add(json.substring(start, i + 1));
-                    start = -1;
-                }
+    private static <T> void readArrayInto(com.fasterxml.jackson.core.JsonParser p, ObjectDecoder<T> decoder,
+            List<T> out) throws IOException {
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                out.add(decoder.decode(p));
+            } else {
+                p.skipChildren();
             }
         }
-
-        return objects;
     }
 
     /**
-     * Parse a single pedido rapido JSON object
+     * Lê um array de inteiros; o parser deve estar no valor do campo
      */
-    private static PedidoRapid parsePedidoRapido(String json) {
-        try {
-            PedidoRapid pedido = new PedidoRapid();
-
-            // Extract id
-            Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-            Matcher idMatcher = idPattern.matcher(json);
-            if (idMatcher.find()) {
-                pedido.setId(Integer.parseInt(idMatcher.group(1)));
-            }
-
-            // Extract estadoPedido_id
-            Pattern estadoPattern = Pattern.compile("\"estadoPedido_id\"\\s*:\\s*(\\d+)");
-            Matcher estadoMatcher = estadoPattern.matcher(json);
-            if (estadoMatcher.find()) {
-                pedido.setEstadoPedido_id(Integer.parseInt(estadoMatcher.group(1)));
+    private static List<Integer> readIntArray(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        List<Integer> values = new ArrayList<>();
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return values;
+        }
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                values.add(p.getIntValue());
+            } else {
+                p.skipChildren();
             }
+        }
+        return values;
+    }
 
-            // Extract mesa_number
-            Pattern mesaPattern = Pattern.compile("\"mesa_number\"\\s*:\\s*(\\d+)");
-            Matcher mesaMatcher = mesaPattern.matcher(json);
-            if (mesaMatcher.find()) {
-                pedido.setMesa_number(Integer.parseInt(mesaMatcher.group(1)));
-            }
-
-            // Extract funcionario
-            pedido.setFuncionario(extractString(json, "funcionario"));
-
-            // Extract dataHora
-            pedido.setDataHora(extractString(json, "dataHora"));
-
-            // Extract observacao
-            pedido.setObservacao(extractString(json, "observacao"));
-
-            // Extract ingredientesRemover
-            Pattern ingredRemoverPattern = Pattern.compile("\"ingredientesRemover\"\\s*:\\s*\\[(.*?)\\]");
-            Matcher ingredRemoverMatcher = ingredRemoverPattern.matcher(json);
-            if (ingredRemoverMatcher.find()) {
-                String ingredRemoverString = ingredRemoverMatcher.group(1);
-                List<Integer> ingredRemover = new ArrayList<>();
+    /**
+     * Lê um texto; valores null ou ausentes ficam como string vazia, como no
+     * parser antigo
+     */
+    private static String readText(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        String value = p.getValueAsString();
+        return value != null ? value : "";
+    }
 
-                if (!ingredRemoverString.trim().isEmpty()) {
-                    Pattern ingredIdPattern = Pattern.compile("(\\d+)");
-                    Matcher ingredIdMatcher = ingredIdPattern.matcher(ingredRemoverString);
-                    while (ingredIdMatcher.find()) {
-                        ingredRemover.add(Integer.parseInt(ingredIdMatcher.group(1)));
-                    }
-                }
+    /* ---------- Decoders por modelo ---------- */
 
-                pedido.setIngredientesRemover(ingredRemover);
+    private static Employee readEmployee(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Employee employee = new Employee();
+        employee.setNome("");
+        employee.setUsername("");
+        employee.setPassword("");
+        employee.setEmail("");
+        employee.setTelefone("");
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> employee.setId(p.getValueAsInt());
+                case "nome" -> employee.setNome(readText(p));
+                case "username" -> employee.setUsername(readText(p));
+                case "password" -> employee.setPassword(readText(p));
+                case "email" -> employee.setEmail(readText(p));
+                case "telefone" -> employee.setTelefone(readText(p));
+                case "cargoId" -> employee.setCargoId(p.getValueAsInt());
+                default -> p.skipChildren();
             }
+        }
+        return employee;
+    }
 
-            // Extract itensIds (complex nested objects)
-            Pattern itensPattern = Pattern
-                    .compile("\"itensIds\"\\s*:\\s*\\[(.*?)\\](?=\\s*,\\s*\"estadoPedido_id\"|\\s*}\\s*$)");
-            Matcher itensMatcher = itensPattern.matcher(json);
-            if (itensMatcher.find()) {
-                String itensString = itensMatcher.group(1);
-                List<Item> itens = parseItensFromString(itensString);
-                pedido.setItensIds(itens);
+    private static Ingredient readIngredient(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Ingredient ingredient = new Ingredient();
+        ingredient.setNome("");
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> ingredient.setId(p.getValueAsInt());
+                case "nome" -> ingredient.setNome(readText(p));
+                case "stock" -> ingredient.setStock(p.getValueAsInt());
+                case "stock_min" -> ingredient.setStock_min(p.getValueAsInt());
+                case "unidade_id" -> ingredient.setUnidade_id(p.getValueAsInt());
+                default -> p.skipChildren();
             }
-
-            return pedido;
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear pedido individual: " + e.getMessage());
-            e.printStackTrace();
-            return null;
         }
+        return ingredient;
     }
 
-    /**
-     * Parse items from the itensIds string
-     */
-    private static List<Item> parseItensFromString(String itensString) {
-        List<Item> itens = new ArrayList<>();
-
-        try {
-            // Extract individual item objects
-            List<String> itemJsons = extractJsonObjects(itensString);
-
-            for (String itemJson : itemJsons) {
-                Item item = parseItemFromJson(itemJson);
-                if (item != null) {
-                    itens.add(item);
-                }
+    private static Menu readMenu(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Menu menu = new Menu();
+        menu.setNome("");
+        menu.setDescricao("");
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> menu.setId(p.getValueAsInt());
+                case "nome" -> menu.setNome(readText(p));
+                case "descricao" -> menu.setDescricao(readText(p));
+                case "tipoMenu" -> menu.setTipoMenuId(p.getValueAsInt());
+                default -> p.skipChildren();
             }
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear itens: " + e.getMessage());
         }
-
-        return itens;
+        return menu;
     }
 
-    /**
-     * Parse a single item from JSON string
-     */
-    private static Item parseItemFromJson(String json) {
-        try {
-            Item item = new Item();
-
-            // Extract id
-            Pattern idPattern = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
-            Matcher idMatcher = idPattern.matcher(json);
-            if (idMatcher.find()) {
-                item.setId(Integer.parseInt(idMatcher.group(1)));
+    private static TipoMenu readTipoMenu(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        TipoMenu tipo = new TipoMenu();
+        tipo.setNome("");
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> tipo.setId(p.getValueAsInt());
+                case "nome" -> tipo.setNome(readText(p));
+                default -> p.skipChildren();
             }
+        }
+        return tipo;
+    }
 
-            // Extract nome
-            item.setNome(extractString(json, "nome"));
+    private static Mesa readMesa(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Mesa mesa = new Mesa();
 
-            // Extract tipoPrato_id
-            Pattern tipoPattern = Pattern.compile("\"tipoPrato_id\"\\s*:\\s*(\\d+)");
-            Matcher tipoMatcher = tipoPattern.matcher(json);
-            if (tipoMatcher.find()) {
-                item.setTipoPratoId(Integer.parseInt(tipoMatcher.group(1)));
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> mesa.setId(p.getValueAsInt());
+                case "numero" -> mesa.setNumero(p.getValueAsInt());
+                case "estadoLivre" -> mesa.setEstadoLivre(p.getValueAsBoolean());
+                case "capacidade" -> mesa.setCapacidade(p.getValueAsInt());
+                default -> p.skipChildren();
             }
+        }
+        return mesa;
+    }
 
-            // Extract preco
-            Pattern precoPattern = Pattern.compile("\"preco\"\\s*:\\s*([\\d.]+)");
-            Matcher precoMatcher = precoPattern.matcher(json);
-            if (precoMatcher.find()) {
-                item.setPreco(Double.parseDouble(precoMatcher.group(1)));
+    private static Pedido readPedido(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Pedido pedido = new Pedido();
+        pedido.setDataHora("");
+        pedido.setObservacao("");
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> pedido.setId(p.getValueAsInt());
+                case "itensIds" -> pedido.setItensIds(readIntArray(p));
+                case "estadoPedido_id" -> pedido.setEstadoPedido_id(p.getValueAsInt());
+                case "mesa_id" -> pedido.setMesa_id(p.getValueAsInt());
+                case "funcionario_id" -> pedido.setFuncionario_id(p.getValueAsInt());
+                case "dataHora" -> pedido.setDataHora(readText(p));
+                case "observacao" -> pedido.setObservacao(readText(p));
+                case "ingredientesRemover" -> pedido.setIngredientesRemover(readIntArray(p));
+                default -> p.skipChildren();
             }
+        }
+        return pedido;
+    }
 
-            // Extract ingredientesJson and parse it
-            Pattern ingredientesPattern = Pattern.compile("\"ingredientesJson\"\\s*:\\s*\"(.*?)\"(?=\\s*,|\\s*})");
-            Matcher ingredientesMatcher = ingredientesPattern.matcher(json);
-            if (ingredientesMatcher.find()) {
-                String ingredientesJson = ingredientesMatcher.group(1);
-                // Unescape the JSON string properly
-                ingredientesJson = ingredientesJson.replace("\\\"", "\"")
-                        .replace("\\\\", "\\");
-                // Use the Item's internal method to parse ingredients
-                try {
-                    java.lang.reflect.Method method = Item.class.getDeclaredMethod("unpackIngredientes", String.class);
-                    method.setAccessible(true);
-                    method.invoke(item, ingredientesJson);
-                } catch (Exception e) {
-                    System.err.println(
-                            "Erro ao processar ingredientes para item " + item.getNome() + ": " + e.getMessage());
-                    System.err.println("JSON original: " + ingredientesJson);
+    private static PedidoRapid readPedidoRapid(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        PedidoRapid pedido = new PedidoRapid();
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> pedido.setId(p.getValueAsInt());
+                case "itensIds" -> {
+                    List<Item> itens = new ArrayList<>();
+                    if (p.currentToken() == JsonToken.START_ARRAY) {
+                        readArrayInto(p, JsonParser::readItem, itens);
+                    } else {
+                        p.skipChildren();
+                    }
+                    pedido.setItensIds(itens);
                 }
+                case "estadoPedido_id" -> pedido.setEstadoPedido_id(p.getValueAsInt());
+                case "mesa_number" -> pedido.setMesa_number(p.getValueAsInt());
+                case "funcionario" -> pedido.setFuncionario(p.getValueAsString());
+                case "dataHora" -> pedido.setDataHora(p.getValueAsString());
+                case "observacao" -> pedido.setObservacao(p.getValueAsString());
+                case "ingredientesRemover" -> pedido.setIngredientesRemover(readIntArray(p));
+                default -> p.skipChildren();
             }
+        }
+        return pedido;
+    }
 
-            // Extract eComposto
-            Pattern compostoPattern = Pattern.compile("\"eComposto\"\\s*:\\s*(true|false)");
-            Matcher compostoMatcher = compostoPattern.matcher(json);
-            if (compostoMatcher.find()) {
-                item.setEComposto(Boolean.parseBoolean(compostoMatcher.group(1)));
-            }
-
-            // Extract stockAtual
-            Pattern stockPattern = Pattern.compile("\"stockAtual\"\\s*:\\s*(\\d+)");
-            Matcher stockMatcher = stockPattern.matcher(json);
-            if (stockMatcher.find()) {
-                item.setStockAtual(Integer.parseInt(stockMatcher.group(1)));
+    private static Item readItem(com.fasterxml.jackson.core.JsonParser p) throws IOException {
+        Item item = new Item();
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "id" -> item.setId(p.getValueAsInt());
+                case "nome" -> item.setNome(p.getValueAsString());
+                case "tipoPrato_id" -> item.setTipoPratoId(p.getValueAsInt());
+                case "preco" -> item.setPreco(p.getValueAsDouble());
+                case "eComposto" -> item.setEComposto(p.getValueAsBoolean());
+                case "stockAtual" -> item.setStockAtual(p.getValueAsInt());
+                case "foto" -> item.setFoto(p.getValueAsString());
+                case "ingredientes" -> {
+                    if (p.currentToken() == JsonToken.START_ARRAY) {
+                        List<Item.ItemIngrediente> ingredientes = new ArrayList<>();
+                        readArrayInto(p, JsonParser::readItemIngrediente, ingredientes);
+                        item.setIngredientes(ingredientes);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                case "ingredientesJson" -> {
+                    String raw = p.getValueAsString();
+                    if (raw != null && !raw.isBlank()) {
+                        try {
+                            item.setIngredientes(parseItemIngredientes(raw));
+                        } catch (IOException e) {
+                            System.err.println("Falha a ler ingredientes do item id " + item.getId() + ": "
+                                    + e.getMessage());
+                        }
+                    }
+                }
+                default -> p.skipChildren();
             }
+        }
+        return item;
+    }
 
-            // Extract foto
-            String foto = extractString(json, "foto");
-            if (!"null".equals(foto) && !foto.isEmpty()) {
-                item.setFoto(foto);
+    private static Item.ItemIngrediente readItemIngrediente(com.fasterxml.jackson.core.JsonParser p)
+            throws IOException {
+        Item.ItemIngrediente ingrediente = new Item.ItemIngrediente();
+
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            p.nextToken();
+            switch (field) {
+                case "ingredienteId" -> ingrediente.setIngredienteId(p.getValueAsInt());
+                case "quantidade" -> ingrediente.setQuantidade(p.getValueAsInt());
+                default -> p.skipChildren();
             }
-
-            return item;
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear item individual: " + e.getMessage());
-            return null;
         }
+        return ingrediente;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.EatEaseFrontend;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ligação única (Server-Sent Events) ao backend para receber alterações de
+ * pedidos, mesas e stock de produtos e ingredientes em tempo real. Os eventos são entregues às views que
+ * subscreveram o tópico; quando a ligação cai, volta a ligar com backoff e
+ * entretanto as views continuam a atualizar-se por polling (ver LiveRefresh).
+ * Se o servidor responder que não tem o endpoint (404, 405, 501) só volta a
+ * tentar passado UNSUPPORTED_RETRY_MILLIS: o polling fica a fazer o trabalho.
+ *
+ * Formato esperado (text/event-stream):
+ *
+ * <pre>
+ * event: pedido
+ * data: {"id": 12, "estadoPedido_id": 3}
+ * </pre>
+ *
+ * Os listeners são chamados na thread de leitura do stream; quem mexer na UI
+ * tem de usar Platform.runLater.
+ */
+public class LiveEventStream {
+
+    private static final long MIN_RECONNECT_MILLIS = 1_000;
+    private static final long MAX_RECONNECT_MILLIS = 60_000;
+    private static final long UNSUPPORTED_RETRY_MILLIS = 60 * 60_000;
+
+    /**
+     * Tópicos publicados pelo backend, identificados pelo nome do evento SSE
+     */
+    public enum Topic {
+        PEDIDOS("pedido"),
+        MESAS("mesa"),
+        ITENS("item"),
+        INGREDIENTES("ingrediente");
+
+        private final String eventName;
+
+        Topic(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        static Topic fromEventName(String name) {
+            for (Topic topic : values()) {
+                if (topic.eventName.equals(name)) {
+                    return topic;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final HttpClient http;
+    private final URI uri;
+    private final Map<Topic, List<Consumer<String>>> listeners = new EnumMap<>(Topic.class);
+
+    private volatile boolean running = false;
+    private volatile boolean connected = false;
+    private volatile Stream<String> currentStream;
+    private Thread readerThread;
+
+    /**
+     * @param http HttpClient partilhado (com os cookies da sessão)
+     * @param uri  Endpoint do stream de eventos
+     */
+    public LiveEventStream(HttpClient http, URI uri) {
+        this.http = http;
+        this.uri = uri;
+        for (Topic topic : Topic.values()) {
+            listeners.put(topic, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Regista um listener para um tópico
+     *
+     * @param topic    Tópico pretendido
+     * @param listener Recebe o campo data de cada evento
+     * @return Ação que cancela a subscrição
+     */
+    public Runnable subscribe(Topic topic, Consumer<String> listener) {
+        List<Consumer<String>> topicListeners = listeners.get(topic);
+        topicListeners.add(listener);
+        return () -> topicListeners.remove(listener);
+    }
+
+    /**
+     * Indica se o stream está ligado neste momento
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Abre a ligação numa thread própria. Não faz nada se já estiver a correr.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        readerThread = new Thread(this::runLoop, "eatease-live-events");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Fecha a ligação e para as tentativas de religar
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        connected = false;
+        Stream<String> stream = currentStream;
+        if (stream != null) {
+            stream.close();
+        }
+        if (readerThread != null) {
+            readerThread.interrupt();
+            readerThread = null;
+        }
+    }
+
+    private void runLoop() {
+        long backoff = MIN_RECONNECT_MILLIS;
+        while (running) {
+            boolean unsupported = false;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Accept", "text/event-stream")
+                        .header("Cache-Control", "no-cache")
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+
+                if (response.statusCode() == 200) {
+                    System.out.println("[EVENTOS] Ligado a " + uri);
+                    connected = true;
+                    backoff = MIN_RECONNECT_MILLIS;
+                    try (Stream<String> lines = response.body()) {
+                        currentStream = lines;
+                        readEvents(lines);
+                    }
+                } else if (isUnsupported(response.statusCode())) {
+                    System.err.println("[EVENTOS] Servidor sem stream de eventos (código " + response.statusCode()
+                            + "), a usar só polling");
+                    response.body().close();
+                    unsupported = true;
+                } else {
+                    System.err.println("[EVENTOS] Stream indisponível (código " + response.statusCode() + ")");
+                    response.body().close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                if (running) {
+                    System.err.println("[EVENTOS] Ligação perdida: " + e.getMessage());
+                }
+            } finally {
+                connected = false;
+                currentStream = null;
+            }
+
+            if (!running) {
+                break;
+            }
+            long base = unsupported ? UNSUPPORTED_RETRY_MILLIS : backoff;
+            long delay = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+            System.out.println("[EVENTOS] A religar em " + delay + "ms");
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff = Math.min(backoff * 2, MAX_RECONNECT_MILLIS);
+        }
+    }
+
+    /**
+     * Códigos com que o servidor diz que não tem o endpoint: insistir não
+     * adianta
+     */
+    private static boolean isUnsupported(int statusCode) {
+        return statusCode == 404 || statusCode == 405 || statusCode == 501;
+    }
+
+    /**
+     * Lê o stream linha a linha e despacha cada evento quando chega a linha em
+     * branco que o termina
+     */
+    private void readEvents(Stream<String> lines) {
+        String[] eventName = { null };
+        StringBuilder data = new StringBuilder();
+
+        lines.forEach(line -> {
+            if (!running) {
+                throw new IllegalStateException("Stream fechado");
+            }
+            if (line.isEmpty()) {
+                dispatch(eventName[0], data.toString());
+                eventName[0] = null;
+                data.setLength(0);
+            } else if (line.startsWith(":")) {
+                // comentário / heartbeat
+            } else if (line.startsWith("event:")) {
+                eventName[0] = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring(5).stripLeading());
+            }
+        });
+    }
+
+    private void dispatch(String eventName, String data) {
+        Topic topic = Topic.fromEventName(eventName);
+        if (topic == null) {
+            return;
+        }
+        for (Consumer<String> listener : listeners.get(topic)) {
+            try {
+                listener.accept(data);
+            } catch (Exception e) {
+                System.err.println("[EVENTOS] Erro num listener de " + topic + ": " + e.getMessage());
+            }
+        }
+    }
+}
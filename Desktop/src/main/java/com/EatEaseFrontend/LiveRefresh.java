@@ -0,0 +1,149 @@
+package com.EatEaseFrontend;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Mantém uma view atualizada: cada evento do LiveEventStream para o tópico
+ * dispara uma atualização e, enquanto o stream não estiver ligado, a view
+ * volta ao polling no intervalo normal. Com o stream ligado o polling passa
+ * a ser só uma verificação de segurança, muito mais espaçada.
+ *
+ * Eventos que chegam durante uma atualização são agrupados numa única
+ * atualização seguinte, e falhas seguidas aumentam o intervalo (backoff
+ * exponencial com jitter) para não insistir num backend em baixo.
+ */
+public class LiveRefresh {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "eatease-live-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LiveEventStream events;
+    private final LiveEventStream.Topic topic;
+    private final Duration pollInterval;
+    private final Duration connectedPollInterval;
+    private final Supplier<CompletableFuture<?>> refresh;
+
+    private final AtomicBoolean inFlight = new AtomicBoolean(false);
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+    private volatile boolean active = false;
+    private volatile int failures = 0;
+    private Runnable unsubscribe;
+    private ScheduledFuture<?> nextPoll;
+
+    /**
+     * @param events       Stream de eventos partilhado (pode ser null, fica
+     *                     só o polling)
+     * @param topic        Tópico que dispara a atualização
+     * @param pollInterval Intervalo de polling quando o stream não está ligado
+     * @param refresh      Atualização da view; o future indica se correu bem
+     */
+    public LiveRefresh(LiveEventStream events, LiveEventStream.Topic topic, Duration pollInterval,
+            Supplier<CompletableFuture<?>> refresh) {
+        this.events = events;
+        this.topic = topic;
+        this.pollInterval = pollInterval;
+        this.connectedPollInterval = Duration.ofSeconds(AppConfig.getLivePollConnectedSeconds());
+        this.refresh = refresh;
+    }
+
+    /**
+     * Subscreve o tópico e agenda o primeiro polling
+     */
+    public synchronized void start() {
+        stop();
+        active = true;
+        failures = 0;
+        if (events != null) {
+            unsubscribe = events.subscribe(topic, data -> trigger());
+        }
+        schedulePoll();
+    }
+
+    /**
+     * Cancela a subscrição e o polling
+     */
+    public synchronized void stop() {
+        active = false;
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+        if (nextPoll != null) {
+            nextPoll.cancel(false);
+            nextPoll = null;
+        }
+        pending.set(false);
+    }
+
+    /**
+     * Pede uma atualização. Se já houver uma em curso, fica marcada para
+     * correr logo a seguir (várias chamadas resultam numa só).
+     */
+    public void trigger() {
+        if (!active) {
+            return;
+        }
+        if (!inFlight.compareAndSet(false, true)) {
+            pending.set(true);
+            return;
+        }
+
+        CompletableFuture<?> future;
+        try {
+            future = refresh.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, error) -> {
+            failures = error == null ? 0 : failures + 1;
+            inFlight.set(false);
+            if (pending.getAndSet(false)) {
+                trigger();
+            }
+        });
+    }
+
+    private synchronized void schedulePoll() {
+        if (!active) {
+            return;
+        }
+        nextPoll = scheduler.schedule(() -> {
+            if (!active) {
+                return;
+            }
+            trigger();
+            schedulePoll();
+        }, nextDelayMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Intervalo até ao próximo polling: normal, espaçado se o stream estiver
+     * ligado, ou com backoff se as últimas atualizações falharam
+     */
+    private long nextDelayMillis() {
+        int failed = failures;
+        if (failed > 0) {
+            long base = pollInterval.toMillis() << Math.min(failed, MAX_BACKOFF_SHIFT);
+            long capped = Math.min(base, MAX_BACKOFF.toMillis());
+            return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+        }
+        if (events != null && events.isConnected()) {
+            return Math.max(pollInterval.toMillis(), connectedPollInterval.toMillis());
+        }
+        return pollInterval.toMillis();
+    }
+}
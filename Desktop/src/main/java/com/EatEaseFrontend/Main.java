@@ -37,6 +37,17 @@ public class Main extends Application {
     private final HttpClient http = HttpClient.newBuilder()
             .cookieHandler(cookieManager)
             .build();
+    // cliente da API partilhado pelas views
+    private final ApiClient api = new ApiClient(http);
+    // stream de eventos (pedidos/mesas), aberto após o login
+    private LiveEventStream liveEvents;
+    // produtos e ingredientes indexados pelo id, partilhados pelas views
+    private ItemCache itemCache;
+    private IngredientRepository ingredientRepository;
+    // índice de stock e alertas, partilhado pelas views
+    private StockAlertService stockAlerts;
+    // movimentos de stock por enviar (com diário em disco)
+    private StockMovementQueue stockMovements;
 
     // guardo a Stage para trocar de cena depois do login
     private Stage primaryStage;
@@ -126,16 +137,37 @@ public class Main extends Application {
         contentArea.getStyleClass().add("content-area");
         root.setCenter(contentArea);
 
+        // Abre o stream de eventos com os cookies da sessão
+        if (liveEvents != null) {
+            liveEvents.stop();
+        }
+        liveEvents = new LiveEventStream(http, URI.create(AppConfig.getEventsEndpoint()));
+        liveEvents.start();
+        itemCache = new ItemCache(api);
+        ingredientRepository = new IngredientRepository(api);
+        if (stockAlerts != null) {
+            stockAlerts.stop();
+        }
+        stockAlerts = new StockAlertService(api, liveEvents, itemCache, ingredientRepository);
+        stockAlerts.start();
+        if (stockMovements != null) {
+            stockMovements.stop();
+        }
+        stockMovements = new StockMovementQueue(api,
+                AppConfig.getUserCacheDirectory(username).resolve("stock-movements.bin"));
+        stockMovements.start();
+
         // Inicializa todas as views
-        dashboardView = new DashboardView(contentArea, http);
-        employeeView = new EmployeeView(contentArea, http);
-        ingredientsView = new IngredientsView(contentArea, http);
-        itemView = new ItemView(contentArea, http);
-        menuView = new MenuView(contentArea, http);
-        mesasView = new MesasView(contentArea, http);
-        pedidosView = new PedidosView(contentArea, http);
-        qrCodesView = new QRCodesView(contentArea, http);
-        relatoriosView = new RelatoriosView(contentArea, http);
+        dashboardView = new DashboardView(contentArea, api, stockAlerts);
+        employeeView = new EmployeeView(contentArea, api);
+        ingredientsView = new IngredientsView(contentArea, api, stockAlerts, stockMovements,
+                ingredientRepository);
+        itemView = new ItemView(contentArea, api, stockAlerts, itemCache, ingredientRepository);
+        menuView = new MenuView(contentArea, api, itemCache);
+        mesasView = new MesasView(contentArea, api, liveEvents);
+        pedidosView = new PedidosView(contentArea, api, liveEvents);
+        qrCodesView = new QRCodesView(contentArea, api);
+        relatoriosView = new RelatoriosView(contentArea, api, stockAlerts);
 
         // Cria a cena
         Scene dashboardScene = new Scene(root, 1024, 768);
@@ -373,6 +405,20 @@ public class Main extends Application {
     private void logout() {
         // Desativar todas as atualizações automáticas antes do logout
         disposeAllViews();
+        if (liveEvents != null) {
+            liveEvents.stop();
+            liveEvents = null;
+        }
+        if (stockAlerts != null) {
+            stockAlerts.stop();
+            stockAlerts = null;
+        }
+        itemCache = null;
+        ingredientRepository = null;
+        if (stockMovements != null) {
+            stockMovements.stop();
+            stockMovements = null;
+        }
 
         HttpRequest loginReq = HttpRequest.newBuilder()
                 .uri(URI.create(AppConfig.getApiEndpoint("/auth/logout")))
@@ -415,6 +461,10 @@ public class Main extends Application {
             dashboardView.dispose();
         }
 
+        if (relatoriosView != null) {
+            relatoriosView.dispose();
+        }
+
         // Adicione outras views aqui se elas tiverem um método dispose()
     }
 
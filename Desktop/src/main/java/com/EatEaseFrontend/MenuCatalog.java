@@ -0,0 +1,62 @@
+package com.EatEaseFrontend;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados da view de menus (menus, tipos de menu e produtos), montados de uma
+ * só vez pelo MenuDataLoader. É imutável: os cards e os diálogos leem sempre
+ * o mesmo conjunto, mesmo que entretanto comece outro carregamento.
+ */
+public final class MenuCatalog {
+
+    private final List<Menu> menus;
+    private final List<TipoMenu> tipos;
+    private final Map<Integer, String> tipoNames;
+    private final List<Item> items;
+    private final LocalDateTime loadedAt;
+
+    /**
+     * @param menus Menus, já na ordem de apresentação
+     * @param tipos Tipos de menu
+     * @param items Produtos que podem entrar nos menus, já ordenados
+     */
+    public MenuCatalog(List<Menu> menus, List<TipoMenu> tipos, List<Item> items) {
+        this.menus = List.copyOf(menus);
+        this.tipos = List.copyOf(tipos);
+        this.items = List.copyOf(items);
+
+        Map<Integer, String> names = new HashMap<>();
+        for (TipoMenu tipo : this.tipos) {
+            names.put(tipo.getId(), tipo.getNome());
+        }
+        this.tipoNames = Collections.unmodifiableMap(names);
+        this.loadedAt = LocalDateTime.now();
+    }
+
+    public List<Menu> getMenus() {
+        return menus;
+    }
+
+    public List<TipoMenu> getTipos() {
+        return tipos;
+    }
+
+    /**
+     * @return Nome de cada tipo de menu, por id
+     */
+    public Map<Integer, String> getTipoNames() {
+        return tipoNames;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,107 @@
+package com.EatEaseFrontend;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Composição dos menus: id do menu -&gt; ids dos produtos (int[]). O backend
+ * só devolve a composição menu a menu, e com os produtos completos; aqui só
+ * ficam os ids, e os detalhes de cada produto vêm da ItemCache.
+ *
+ * A composição de um menu só é pedida quando o diálogo de edição a precisa
+ * (load) e depois é mantida pela view quando cria, altera ou apaga menus.
+ *
+ * Outro terminal pode alterar um menu entretanto: cada composição só vale
+ * durante item.cache.max.age.seconds (a mesma validade da ItemCache) e
+ * depois é pedida de novo, para a composição gravada não partir de ids
+ * desatualizados.
+ */
+public class MenuCompositionIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Ids dos produtos de um menu e quando foram lidos ou gravados
+     */
+    private record Entry(int[] itemIds, long loadedAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt >= AppConfig.getItemCacheMaxAgeSeconds() * 1000L;
+        }
+    }
+
+    private final ApiClient apiClient;
+    private final IntConcurrentMap<Entry> itemsByMenu = new IntConcurrentMap<>();
+    private final IntConcurrentMap<CompletableFuture<int[]>> inFlight = new IntConcurrentMap<>();
+
+    public MenuCompositionIndex(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * @return Ids dos produtos do menu (cópia) ou null se ainda não foi
+     *         carregado ou já expirou
+     */
+    public int[] get(int menuId) {
+        Entry entry = itemsByMenu.get(menuId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            itemsByMenu.remove(menuId, entry);
+            return null;
+        }
+        return entry.itemIds().clone();
+    }
+
+    /**
+     * Composição de um menu, do índice ou do backend
+     *
+     * @return Future com os ids dos produtos (cópia)
+     */
+    public CompletableFuture<int[]> load(int menuId) {
+        int[] cached = get(menuId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        CompletableFuture<int[]> running = inFlight.putIfAbsent(menuId, future);
+        if (running != null) {
+            return running.thenApply(int[]::clone);
+        }
+
+        apiClient.getString("/menu/getMenuItens?id=" + menuId)
+                .thenApply(body -> toArray(JsonParser.parseMenuItemIds(body)))
+                .whenComplete((itemIds, e) -> {
+                    inFlight.remove(menuId, future);
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    // Uma alteração feita entretanto pela view é mais recente
+                    Entry loaded = new Entry(itemIds, System.currentTimeMillis());
+                    Entry current = itemsByMenu.putIfAbsent(menuId, loaded);
+                    future.complete((current != null ? current : loaded).itemIds());
+                });
+        return future.thenApply(int[]::clone);
+    }
+
+    /**
+     * Regista a composição de um menu criado ou alterado
+     */
+    public void put(int menuId, Collection<Integer> itemIds) {
+        itemsByMenu.put(menuId, new Entry(itemIds.isEmpty() ? EMPTY : toArray(itemIds), System.currentTimeMillis()));
+    }
+
+    public void remove(int menuId) {
+        itemsByMenu.remove(menuId);
+    }
+
+    private static int[] toArray(Collection<Integer> itemIds) {
+        int[] result = new int[itemIds.size()];
+        int i = 0;
+        for (Integer id : itemIds) {
+            result[i++] = id;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.EatEaseFrontend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Monta o MenuCatalog da view de menus. Menus, tipos de menu e produtos são
+ * pedidos em paralelo e convertidos nas threads do HttpClient; a UI thread só
+ * recebe o catálogo pronto. Se qualquer um dos pedidos falhar, o
+ * carregamento falha.
+ *
+ * Os produtos vêm da ItemCache partilhada. A composição dos menus não faz
+ * parte do catálogo: o MenuCompositionIndex pede-a menu a menu quando é
+ * precisa.
+ */
+public class MenuDataLoader {
+
+    private static final Comparator<Menu> MENU_ORDER = (m1, m2) -> m1.getNome().compareToIgnoreCase(m2.getNome());
+    private static final Comparator<Item> ITEM_ORDER = (i1, i2) -> i1.getNome().compareToIgnoreCase(i2.getNome());
+
+    private final ApiClient apiClient;
+    private final ItemCache itemCache;
+    private final MenuCompositionIndex compositions;
+
+    /**
+     * @param apiClient Cliente da API
+     * @param itemCache Produtos partilhados
+     */
+    public MenuDataLoader(ApiClient apiClient, ItemCache itemCache) {
+        this.apiClient = apiClient;
+        this.itemCache = itemCache;
+        this.compositions = new MenuCompositionIndex(apiClient);
+    }
+
+    /**
+     * @return Composição dos menus (menu -&gt; ids dos produtos)
+     */
+    public MenuCompositionIndex getCompositions() {
+        return compositions;
+    }
+
+    /**
+     * Carrega menus, tipos de menu e produtos
+     *
+     * @return Future com o catálogo (menus e produtos por ordem alfabética)
+     */
+    public CompletableFuture<MenuCatalog> load() {
+        CompletableFuture<List<Menu>> menus = apiClient.getString("/menu/getAll")
+                .thenApply(body -> sorted(JsonParser.parseMenus(body), MENU_ORDER));
+        CompletableFuture<List<TipoMenu>> tipos = apiClient.getString("/tipomenu/getAll")
+                .thenApply(JsonParser::parseTipoMenus);
+        CompletableFuture<List<Item>> items = itemCache.getAll(false).thenApply(list -> sorted(list, ITEM_ORDER));
+
+        return CompletableFuture.allOf(menus, tipos, items)
+                .thenApply(ignored -> new MenuCatalog(menus.join(), tipos.join(), items.join()));
+    }
+
+    private static <T> List<T> sorted(List<T> list, Comparator<T> order) {
+        List<T> copy = new ArrayList<>(list);
+        copy.sort(order);
+        return copy;
+    }
+}
@@ -0,0 +1,268 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carrega as posições das mesas (coordenadas relativas 0-1) para a planta da
+ * sala, através do FloorPlanCache partilhado:
+ * <ul>
+ * <li>a planta guardada fica disponível de imediato (cachedPositions);</li>
+ * <li>as mesas sem posição conhecida são sempre pedidas ao servidor;</li>
+ * <li>a planta inteira só é revalidada de tempos a tempos
+ * (mesa.positions.revalidate.seconds), com um único pedido em bloco e
+ * If-None-Match; se o servidor não tiver o endpoint em bloco, cai para um
+ * pedido por mesa através do ApiClient.</li>
+ * </ul>
+ */
+public class MesaPositionLoader {
+
+    private static final String BULK_PATH = "/mesa/getAllPositions";
+    private static final String SINGLE_PATH = "/mesa/getMesaPositionsById?mesaId=";
+
+    private static FloorPlanCache floorPlan;
+    private static Path floorPlanFile;
+    // Passa a false quando o servidor responde que não tem o endpoint em bloco
+    private static volatile boolean bulkSupported = true;
+
+    /**
+     * Devolve a planta partilhada do backend atual, carregando-a do disco na
+     * primeira utilização (ou quando o backend muda)
+     */
+    private static synchronized FloorPlanCache floorPlan() {
+        Path file = AppConfig.getBackendCacheDirectory().resolve("floorplan.bin");
+        if (floorPlan == null || !file.equals(floorPlanFile)) {
+            if (floorPlan != null) {
+                floorPlan.flush();
+            }
+            floorPlan = new FloorPlanCache(file);
+            floorPlanFile = file;
+        }
+        return floorPlan;
+    }
+
+    private final ApiClient apiClient;
+
+    public MesaPositionLoader(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * Indica se a planta em cache já conhece todas as mesas (mesmo as que
+     * não têm posição guardada no servidor)
+     */
+    public boolean hasFloorPlan(List<Mesa> mesas) {
+        FloorPlanCache plan = floorPlan();
+        for (Mesa mesa : mesas) {
+            if (plan.get(mesa.getId()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Posições em cache das mesas indicadas, sem ir ao servidor
+     *
+     * @return Mapa id -> {x, y}; mesas sem posição não aparecem
+     */
+    public Map<Integer, double[]> cachedPositions(List<Mesa> mesas) {
+        FloorPlanCache plan = floorPlan();
+        Map<Integer, double[]> result = new HashMap<>();
+        for (Mesa mesa : mesas) {
+            double[] pos = plan.get(mesa.getId());
+            if (pos != null && !Double.isNaN(pos[0])) {
+                result.put(mesa.getId(), pos);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Atualiza a planta com o servidor (só o necessário) e devolve as posições
+     * das mesas indicadas. Nunca termina com erro: se o servidor falhar,
+     * devolve o que estiver em cache.
+     *
+     * @param mesas Lista completa de mesas (as que não estiverem na lista são
+     *              removidas da planta)
+     */
+    public CompletableFuture<Map<Integer, double[]>> load(List<Mesa> mesas) {
+        FloorPlanCache plan = floorPlan();
+
+        Set<Integer> ids = new HashSet<>();
+        List<Mesa> missing = new ArrayList<>();
+        for (Mesa mesa : mesas) {
+            ids.add(mesa.getId());
+            if (plan.get(mesa.getId()) == null) {
+                missing.add(mesa);
+            }
+        }
+        plan.retain(ids);
+
+        long revalidateMillis = AppConfig.getMesaPositionsRevalidateSeconds() * 1000L;
+        boolean revalidate = System.currentTimeMillis() - plan.getValidatedAt() >= revalidateMillis;
+
+        CompletableFuture<Void> fetch;
+        if (!revalidate && missing.isEmpty()) {
+            fetch = CompletableFuture.completedFuture(null);
+        } else if (bulkSupported && (revalidate || missing.size() > 1)) {
+            fetch = loadBulk(plan, ids).thenCompose(ok -> ok
+                    ? CompletableFuture.<Void>completedFuture(null)
+                    : loadEach(plan, revalidate ? mesas : missing, revalidate));
+        } else {
+            fetch = loadEach(plan, revalidate ? mesas : missing, revalidate);
+        }
+
+        return fetch.handle((ignored, e) -> {
+            if (e != null) {
+                System.err.println("Erro ao carregar posições das mesas: " + e.getMessage());
+            }
+            plan.flush();
+            return cachedPositions(mesas);
+        });
+    }
+
+    /**
+     * Guarda na planta uma posição alterada localmente (ex: mesa arrastada)
+     */
+    public void remember(int mesaId, double relativeX, double relativeY) {
+        FloorPlanCache plan = floorPlan();
+        plan.put(mesaId, relativeX, relativeY);
+        plan.flush();
+    }
+
+    /**
+     * Lê todas as posições com um só pedido
+     *
+     * @param ids IDs das mesas atuais; as que não vierem na resposta ficam
+     *            registadas sem posição
+     * @return Future com true se a planta ficou validada, false se é preciso
+     *         recorrer aos pedidos por mesa
+     */
+    private CompletableFuture<Boolean> loadBulk(FloorPlanCache plan, Set<Integer> ids) {
+        HttpRequest.Builder builder = apiClient.request(BULK_PATH)
+                .header("Accept", "application/json")
+                .GET();
+        String etag = plan.getEtag();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+
+        return apiClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    int status = response.statusCode();
+                    if (status == 304) {
+                        for (int id : ids) {
+                            if (plan.get(id) == null) {
+                                plan.put(id, Double.NaN, Double.NaN);
+                            }
+                        }
+                        plan.markValidated(etag);
+                        return true;
+                    }
+                    if (status == 404 || status == 405 || status == 501) {
+                        System.out.println("Servidor sem " + BULK_PATH + ", a usar um pedido por mesa");
+                        bulkSupported = false;
+                        return false;
+                    }
+                    if (status != 200) {
+                        System.err.println("Erro ao buscar posições das mesas: " + status);
+                        return false;
+                    }
+
+                    try {
+                        JsonNode root = apiClient.getMapper().readTree(response.body());
+                        int changed = 0;
+                        Set<Integer> received = new HashSet<>();
+                        for (JsonNode node : root) {
+                            int id = node.has("mesaId") ? node.get("mesaId").asInt()
+                                    : node.has("mesa_id") ? node.get("mesa_id").asInt()
+                                            : node.path("id").asInt();
+                            received.add(id);
+                            if (node.hasNonNull("pos_x") && node.hasNonNull("pos_y")
+                                    && plan.put(id, node.get("pos_x").asDouble(), node.get("pos_y").asDouble())) {
+                                changed++;
+                            }
+                        }
+                        for (int id : ids) {
+                            if (!received.contains(id)) {
+                                plan.put(id, Double.NaN, Double.NaN);
+                            }
+                        }
+                        plan.markValidated(response.headers().firstValue("ETag").orElse(null));
+                        System.out.println("Planta das mesas validada (" + changed + " posição(ões) alterada(s))");
+                        return true;
+                    } catch (Exception e) {
+                        System.err.println("Erro ao parsear posições das mesas: " + e.getMessage());
+                        return false;
+                    }
+                })
+                .exceptionally(e -> {
+                    System.err.println("Exceção ao buscar posições das mesas: " + e.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * Pede a posição de cada mesa individualmente (o ApiClient limita quantos
+     * pedidos vão em simultâneo)
+     *
+     * @param revalidate Se a lista é a planta inteira; nesse caso, sem erros,
+     *                   a planta fica validada
+     */
+    private CompletableFuture<Void> loadEach(FloorPlanCache plan, List<Mesa> mesas, boolean revalidate) {
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<?>> requests = new ArrayList<>(mesas.size());
+
+        for (Mesa mesa : mesas) {
+            requests.add(apiClient.getString(SINGLE_PATH + mesa.getId())
+                    .thenAccept(body -> {
+                        double[] pos = parsePosition(body);
+                        if (pos != null) {
+                            plan.put(mesa.getId(), pos[0], pos[1]);
+                        } else {
+                            // Sem posição no servidor: fica registada para não voltar a pedir
+                            plan.put(mesa.getId(), Double.NaN, Double.NaN);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        failed.set(true);
+                        System.err.println("Exceção ao buscar posição da mesa " + mesa.getId() + ": " + e.getMessage());
+                        return null;
+                    }));
+        }
+
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
+                    if (revalidate && !failed.get()) {
+                        plan.markValidated(null);
+                    }
+                });
+    }
+
+    private double[] parsePosition(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = apiClient.getMapper().readTree(body);
+            if (node.hasNonNull("pos_x") && node.hasNonNull("pos_y")) {
+                return new double[] { node.get("pos_x").asDouble(), node.get("pos_y").asDouble() };
+            }
+        } catch (Exception e) {
+            System.err.println("Erro ao parsear posição: " + e.getMessage());
+        }
+        return null;
+    }
+}
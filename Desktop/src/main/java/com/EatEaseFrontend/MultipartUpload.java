@@ -0,0 +1,221 @@
+package com.EatEaseFrontend;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Corpo multipart/form-data com um único ficheiro, enviado em streaming: o
+ * ficheiro é lido por um FileChannel em blocos de CHUNK_SIZE à medida que o
+ * HttpClient os pede, por isso nunca está todo em memória.
+ *
+ * O tamanho total é conhecido à partida (Content-Length), o progresso é
+ * reportado a cada bloco e o envio pode ser cancelado a meio. O mesmo upload
+ * pode ser reenviado (nova tentativa): cada envio volta a ler o ficheiro
+ * desde o início.
+ */
+public class MultipartUpload {
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Recebe o progresso do envio (chamado na thread do HttpClient)
+     */
+    public interface ProgressListener {
+        void onProgress(long sentBytes, long totalBytes);
+    }
+
+    private final Path file;
+    private final String boundary;
+    private final byte[] head;
+    private final byte[] tail;
+    private final long contentLength;
+    private final ProgressListener listener;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param fieldName Nome do campo do formulário (ex: "file")
+     * @param file      Ficheiro a enviar
+     * @param filename  Nome do ficheiro indicado ao servidor
+     * @param mimeType  Tipo do ficheiro
+     * @param listener  Progresso do envio (pode ser null)
+     */
+    public MultipartUpload(String fieldName, Path file, String filename, String mimeType,
+            ProgressListener listener) throws IOException {
+        this.file = file;
+        this.listener = listener;
+        this.boundary = "----EatEaseBoundary" + System.currentTimeMillis();
+        this.head = ("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + fieldName + "\"; filename=\"" + filename + "\"\r\n" +
+                "Content-Type: " + mimeType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        this.tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        this.contentLength = head.length + Files.size(file) + tail.length;
+    }
+
+    /**
+     * @return Valor do header Content-Type do pedido
+     */
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * @return Publisher do corpo para usar em HttpRequest.Builder.POST
+     */
+    public HttpRequest.BodyPublisher bodyPublisher() {
+        return HttpRequest.BodyPublishers.fromPublisher(this::subscribe, contentLength);
+    }
+
+    /**
+     * Cancela o envio; o pedido em curso termina com CancellationException
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        ChunkSubscription subscription = new ChunkSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Entrega o cabeçalho, o ficheiro bloco a bloco e o fecho do multipart,
+     * respeitando a procura (request(n)) do HttpClient
+     */
+    private final class ChunkSubscription implements Flow.Subscription {
+        private static final int HEAD = 0;
+        private static final int BODY = 1;
+        private static final int TAIL = 2;
+        private static final int DONE = 3;
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private FileChannel channel;
+        private int stage = HEAD;
+        private long sent = 0;
+        private volatile boolean finished = false;
+
+        ChunkSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request(" + n + ")"));
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            finished = true;
+            drain(); // o canal é fechado pela thread que está a entregar
+        }
+
+        private void drain() {
+            // Só uma thread entrega de cada vez; pedidos feitos entretanto
+            // (incluindo dentro de onNext) são tratados no ciclo seguinte
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!finished && demand.get() > 0) {
+                    if (cancelled) {
+                        fail(new CancellationException("Upload cancelado"));
+                        return;
+                    }
+
+                    ByteBuffer chunk;
+                    try {
+                        chunk = nextChunk();
+                    } catch (IOException e) {
+                        fail(e);
+                        return;
+                    }
+                    if (chunk == null) {
+                        finished = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+
+                    demand.decrementAndGet();
+                    sent += chunk.remaining();
+                    subscriber.onNext(chunk);
+                    if (listener != null) {
+                        listener.onProgress(sent, contentLength);
+                    }
+                }
+                if (finished) {
+                    closeChannel();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private ByteBuffer nextChunk() throws IOException {
+            while (true) {
+                switch (stage) {
+                    case HEAD:
+                        channel = FileChannel.open(file, StandardOpenOption.READ);
+                        stage = BODY;
+                        return ByteBuffer.wrap(head);
+                    case BODY:
+                        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+                        int read = channel.read(buffer);
+                        if (read < 0) {
+                            closeChannel();
+                            stage = TAIL;
+                            continue;
+                        }
+                        buffer.flip();
+                        return buffer;
+                    case TAIL:
+                        stage = DONE;
+                        return ByteBuffer.wrap(tail);
+                    default:
+                        return null;
+                }
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            closeChannel();
+            subscriber.onError(error);
+        }
+
+        private void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    System.err.println("Erro ao fechar " + file + ": " + e.getMessage());
+                }
+                channel = null;
+            }
+        }
+    }
+}
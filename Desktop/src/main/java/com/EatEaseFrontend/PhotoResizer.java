@@ -0,0 +1,267 @@
+package com.EatEaseFrontend;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Prepara uma foto para upload: se a imagem for maior do que
+ * upload.photo.max.dimension (lado maior, em pixels), é reduzida e
+ * recomprimida para um ficheiro temporário antes de ser enviada. Fotos
+ * pequenas e GIFs (podem ser animados) seguem como estão.
+ *
+ * A leitura usa subamostragem do ImageReader, por isso uma foto de 12 MP não
+ * chega a ser descodificada em tamanho original.
+ *
+ * Fotos JPEG tiradas com o telemóvel de lado trazem a orientação só na tag
+ * EXIF Orientation, que o ficheiro recomprimido não leva (e o JavaFX ignora):
+ * a imagem é rodada antes de ser reduzida, e um JPEG pequeno mas rodado
+ * também é recomprimido.
+ */
+public class PhotoResizer {
+
+    /**
+     * Foto pronta a enviar
+     *
+     * @param file      Ficheiro a enviar (original ou temporário)
+     * @param filename  Nome a indicar ao servidor
+     * @param mimeType  Tipo do ficheiro
+     * @param temporary Se o ficheiro é temporário e deve ser apagado no fim
+     */
+    public record PreparedPhoto(Path file, String filename, String mimeType, boolean temporary) {
+
+        /**
+         * Apaga o ficheiro se for temporário
+         */
+        public void cleanup() {
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Erro ao apagar " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private PhotoResizer() {
+    }
+
+    /**
+     * Reduz a foto se for maior do que o limite configurado. Não deve ser
+     * chamado na UI thread.
+     *
+     * @param file Foto escolhida pelo utilizador
+     * @return Foto a enviar (a original se não for possível reduzir)
+     */
+    public static PreparedPhoto prepare(Path file) throws IOException {
+        String filename = file.getFileName().toString();
+        String mimeType = Files.probeContentType(file);
+        if (mimeType == null) {
+            mimeType = "application/octet-stream";
+        }
+        PreparedPhoto original = new PreparedPhoto(file, filename, mimeType, false);
+
+        int maxDimension = AppConfig.getUploadPhotoMaxDimension();
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return original;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return original;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                String format = reader.getFormatName().toLowerCase();
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int orientation = format.equals("jpeg") || format.equals("jpg") ? readExifOrientation(file) : 1;
+                if (format.equals("gif") || (Math.max(width, height) <= maxDimension && orientation == 1)) {
+                    return original;
+                }
+
+                // Subamostragem para não descodificar a foto inteira
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage source = reader.read(0, param);
+
+                boolean png = format.equals("png");
+                boolean alpha = png && source.getColorModel().hasAlpha();
+                BufferedImage scaled = scale(orient(source, orientation, alpha), maxDimension, alpha);
+                String baseName = filename.contains(".") ? filename.substring(0, filename.lastIndexOf('.'))
+                        : filename;
+
+                Path tmp = Files.createTempFile("eatease-upload-", png ? ".png" : ".jpg");
+                if (png) {
+                    ImageIO.write(scaled, "png", tmp.toFile());
+                } else {
+                    writeJpeg(scaled, tmp);
+                }
+                System.out.println("Foto reduzida de " + width + "x" + height + " para " + scaled.getWidth() + "x"
+                        + scaled.getHeight() + " (" + Files.size(tmp) / 1024 + " KB)");
+                return png ? new PreparedPhoto(tmp, baseName + ".png", "image/png", true)
+                        : new PreparedPhoto(tmp, baseName + ".jpg", "image/jpeg", true);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Formato que o ImageIO não consegue reduzir: segue o original
+            System.err.println("Não foi possível reduzir " + file + ": " + e.getMessage());
+            return original;
+        }
+    }
+
+    /**
+     * Lê a tag EXIF Orientation (0x0112) de um JPEG, percorrendo os segmentos
+     * até ao início dos dados da imagem
+     *
+     * @return Orientação (1 a 8); 1 se não houver EXIF ou for inválida
+     */
+    private static int readExifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    // Pode haver mais do que um APP1 (ex: XMP); só o Exif interessa
+                    int orientation = parseExifOrientation(in.readNBytes(length));
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * @param segment Conteúdo de um segmento APP1
+     * @return Orientação, 1 se o IFD0 não a tiver, 0 se não for um segmento
+     *         Exif
+     */
+    private static int parseExifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.getShort(0) == 0x4949) {
+            tiff.order(ByteOrder.LITTLE_ENDIAN); // "II"
+        } else if (tiff.getShort(0) != 0x4D4D) {
+            return 1; // nem "II" nem "MM"
+        }
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd > tiff.limit() - 2) {
+            return 1;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry > tiff.limit() - 12) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Aplica a orientação EXIF, para a imagem ficar direita sem a tag
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation, boolean alpha) {
+        double w = source.getWidth();
+        double h = source.getHeight();
+        // Matrizes (m00, m10, m01, m11, m02, m12) de cada orientação
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0); // espelho horizontal
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // 180º
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h); // espelho vertical
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // transposta
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0); // 90º no sentido horário
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // transversa
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w); // 90º no sentido anti-horário
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+
+        boolean swap = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swap ? source.getHeight() : source.getWidth(),
+                swap ? source.getWidth() : source.getHeight(),
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean alpha) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(AppConfig.getUploadPhotoJpegQuality() / 100f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
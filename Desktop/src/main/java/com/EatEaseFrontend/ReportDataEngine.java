@@ -0,0 +1,86 @@
+package com.EatEaseFrontend;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Monta o ReportSnapshot de um intervalo de datas. As vendas, os pedidos e os
+ * produtos são pedidos em paralelo; o lucro dos produtos é carregado a seguir
+ * pelo ItemProfitLoader. Os alertas de stock vêm do StockAlertService, para o
+ * relatório mostrar os mesmos alertas que o dashboard. O future só completa
+ * quando todas as fontes chegaram.
+ *
+ * Falhas em dias ou produtos isolados ficam registadas no snapshot (ver
+ * ReportSnapshot.isComplete()); se a lista de produtos falhar, o carregamento
+ * falha.
+ */
+public class ReportDataEngine {
+
+    private final ApiClient apiClient;
+    private final DailySeriesLoader seriesLoader;
+    private final ItemProfitLoader profitLoader;
+    private final StockAlertService stockAlerts;
+
+    /**
+     * @param apiClient   Cliente da API
+     * @param stockAlerts Índice de stock partilhado
+     */
+    public ReportDataEngine(ApiClient apiClient, StockAlertService stockAlerts) {
+        this.apiClient = apiClient;
+        this.stockAlerts = stockAlerts;
+        this.seriesLoader = new DailySeriesLoader(apiClient);
+        this.profitLoader = new ItemProfitLoader(apiClient);
+    }
+
+    /**
+     * Carrega todos os dados dos relatórios para o intervalo
+     *
+     * @param start Primeiro dia
+     * @param end   Último dia (inclusive)
+     * @return Future com o snapshot; cancelar o future pára os pedidos de
+     *         lucro que ainda não foram lançados
+     */
+    public CompletableFuture<ReportSnapshot> load(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Data final anterior à data inicial"));
+        }
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        CompletableFuture<ReportSnapshot> result = new CompletableFuture<>();
+
+        CompletableFuture<double[]> sales = seriesLoader.loadRange(DailySeriesLoader.Metric.VENDAS, start, days);
+        CompletableFuture<double[]> orders = seriesLoader.loadRange(DailySeriesLoader.Metric.PEDIDOS, start, days);
+        CompletableFuture<List<Item>> items = apiClient.getString("/item/getAll").thenApply(body -> {
+            try {
+                return ItemJsonLoader.parseItems(body);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        CompletableFuture<ItemProfitLoader.Result> profit = items
+                .thenCompose(list -> profitLoader.load(list, start, end, result));
+        CompletableFuture<StockAlertService.StockAlerts> alerts = stockAlerts.current();
+
+        CompletableFuture.allOf(sales, orders, profit, alerts).whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause()
+                        : e);
+                return;
+            }
+            ItemProfitLoader.Result profitResult = profit.join();
+            ReportSnapshot snapshot = new ReportSnapshot(start, end, sales.join(), orders.join(), items.join(),
+                    profitResult.byItem(), profitResult.missing(), alerts.join());
+            if (!snapshot.isComplete()) {
+                System.out.println("Relatório de " + start + " a " + end + " incompleto: "
+                        + snapshot.getMissingDays() + " dias e " + snapshot.getMissingProfitItems().size()
+                        + " produtos em falta");
+            }
+            result.complete(snapshot);
+        });
+        return result;
+    }
+}
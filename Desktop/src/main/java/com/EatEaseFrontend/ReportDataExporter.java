@@ -0,0 +1,534 @@
+package com.EatEaseFrontend;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Exporta os dados de um ReportSnapshot para análise externa, em CSV ou num
+ * formato binário colunar. Ao contrário do PDF, não há layout: as linhas são
+ * escritas diretamente num buffer de WRITE_BUFFER_BYTES que é despejado no
+ * FileChannel quando enche, e os números, datas e textos são codificados
+ * byte a byte (sem criar uma String por célula). Os nomes dos produtos são
+ * codificados uma vez e reutilizados em todas as linhas.
+ *
+ * São exportados três conjuntos de dados:
+ * <ul>
+ * <li>vendas_diarias: data, vendas, pedidos (um por dia do período);</li>
+ * <li>lucro_produtos: data, item_id, produto, lucro, quantidade (um por
+ * produto e dia com lucro conhecido). A tabela colunar não tem a coluna
+ * produto: o nome obtém-se pelo item_id na tabela produtos;</li>
+ * <li>produtos: item_id, nome, preco, stock_atual (no CSV a coluna nome
+ * chama-se produto).</li>
+ * </ul>
+ *
+ * Formato colunar (.eacol, big-endian):
+ *
+ * <pre>
+ * int    magic ("EACR")
+ * int    versão
+ * long   primeiro dia do período (epoch day)
+ * long   último dia do período (epoch day)
+ * int    número de tabelas
+ * por tabela:
+ *   texto  nome
+ *   int    linhas
+ *   int    colunas
+ *   por coluna: texto nome, byte tipo (1 int32, 2 float64, 3 data, 4 texto)
+ *   por coluna, os valores de todas as linhas seguidos:
+ *     int32 / data (epoch day em int32): 4 bytes por linha
+ *     float64: 8 bytes por linha, NaN quando não há dados
+ *     texto: int32 com o fim de cada valor (em bytes, acumulado) e depois
+ *            os bytes UTF-8 de todos os valores
+ * texto = int com o tamanho em bytes + bytes UTF-8
+ * </pre>
+ *
+ * Corre fora da UI thread e pára se a thread for interrompida (os ficheiros
+ * incompletos são apagados).
+ */
+public class ReportDataExporter {
+
+    public static final String CSV_EXTENSION = ".csv";
+    public static final String COLUMNAR_EXTENSION = ".eacol";
+
+    private static final int MAGIC = 0x45414352; // "EACR"
+    private static final int VERSION = 1;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final int PROGRESS_ROWS = 1024;
+
+    private static final byte TYPE_INT32 = 1;
+    private static final byte TYPE_FLOAT64 = 2;
+    private static final byte TYPE_DATE = 3;
+    private static final byte TYPE_TEXT = 4;
+
+    /**
+     * Recebe o progresso da exportação (chamado na thread da exportação)
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsWritten, long totalRows);
+    }
+
+    private final ReportSnapshot snapshot;
+    private final ProgressListener listener;
+    private final List<Item> items;
+    private final byte[][] itemNames; // UTF-8, pela ordem de items
+    private final long profitRows;
+
+    private long rowsWritten = 0;
+
+    /**
+     * @param snapshot Dados a exportar
+     * @param listener Progresso (pode ser null)
+     */
+    public ReportDataExporter(ReportSnapshot snapshot, ProgressListener listener) {
+        this.snapshot = snapshot;
+        this.listener = listener;
+        this.items = snapshot.getItems();
+        this.itemNames = new byte[items.size()][];
+        long rows = 0;
+        for (int i = 0; i < items.size(); i++) {
+            String name = items.get(i).getNome();
+            itemNames[i] = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+            ItemProfitSeries series = snapshot.getItemProfit(items.get(i).getId());
+            for (int day = 0; series != null && day < snapshot.getDays(); day++) {
+                if (!Double.isNaN(series.profitOn(snapshot.dateAt(day)))) {
+                    rows++;
+                }
+            }
+        }
+        this.profitRows = rows;
+    }
+
+    /**
+     * Escreve um CSV por conjunto de dados, ao lado do ficheiro indicado
+     * (nome_vendas.csv, nome_lucro.csv, nome_produtos.csv)
+     *
+     * @param file Ficheiro escolhido pelo utilizador
+     * @return Ficheiros escritos
+     * @throws CancellationException se a thread foi interrompida
+     */
+    public List<Path> writeCsv(Path file) throws IOException {
+        String baseName = file.getFileName().toString();
+        if (baseName.toLowerCase().endsWith(CSV_EXTENSION)) {
+            baseName = baseName.substring(0, baseName.length() - CSV_EXTENSION.length());
+        }
+        List<Path> files = List.of(
+                file.resolveSibling(baseName + "_vendas" + CSV_EXTENSION),
+                file.resolveSibling(baseName + "_lucro" + CSV_EXTENSION),
+                file.resolveSibling(baseName + "_produtos" + CSV_EXTENSION));
+
+        start();
+        List<Path> written = new ArrayList<>();
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                written.add(files.get(i));
+                try (Output out = new Output(files.get(i))) {
+                    switch (i) {
+                        case 0 -> writeSalesCsv(out);
+                        case 1 -> writeProfitCsv(out);
+                        default -> writeItemsCsv(out);
+                    }
+                }
+            }
+            finish();
+            return files;
+        } catch (IOException | RuntimeException e) {
+            deleteAll(written);
+            throw cancelledOr(e);
+        }
+    }
+
+    /**
+     * Escreve todos os conjuntos de dados num ficheiro colunar (.eacol)
+     *
+     * @param file Ficheiro de destino
+     * @throws CancellationException se a thread foi interrompida
+     */
+    public void writeColumnar(Path file) throws IOException {
+        start();
+        try (Output out = new Output(file)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putLong(snapshot.getStartDate().toEpochDay());
+            out.putLong(snapshot.getEndDate().toEpochDay());
+            out.putInt(3);
+            writeSalesColumns(out);
+            writeProfitColumns(out);
+            writeItemsColumns(out);
+        } catch (IOException | RuntimeException e) {
+            deleteAll(List.of(file));
+            throw cancelledOr(e);
+        }
+        finish();
+    }
+
+    // ---- CSV ----
+
+    private void writeSalesCsv(Output out) throws IOException {
+        out.putAscii("data,vendas,pedidos\r\n");
+        for (int day = 0; day < snapshot.getDays(); day++) {
+            out.putDate(snapshot.dateAt(day));
+            out.putByte(',');
+            out.putDecimal(snapshot.salesAt(day));
+            out.putByte(',');
+            double orders = snapshot.ordersAt(day);
+            if (!Double.isNaN(orders)) {
+                out.putDigits((long) orders);
+            }
+            out.putAscii("\r\n");
+            rowWritten();
+        }
+    }
+
+    private void writeProfitCsv(Output out) throws IOException {
+        out.putAscii("data,item_id,produto,lucro,quantidade\r\n");
+        for (int i = 0; i < items.size(); i++) {
+            int itemId = items.get(i).getId();
+            ItemProfitSeries series = snapshot.getItemProfit(itemId);
+            if (series == null) {
+                continue;
+            }
+            for (int day = 0; day < snapshot.getDays(); day++) {
+                LocalDate date = snapshot.dateAt(day);
+                double profit = series.profitOn(date);
+                if (Double.isNaN(profit)) {
+                    continue;
+                }
+                out.putDate(date);
+                out.putByte(',');
+                out.putDigits(itemId);
+                out.putByte(',');
+                out.putQuoted(itemNames[i]);
+                out.putByte(',');
+                out.putDecimal(profit);
+                out.putByte(',');
+                out.putDigits(series.quantityOn(date));
+                out.putAscii("\r\n");
+                rowWritten();
+            }
+        }
+    }
+
+    private void writeItemsCsv(Output out) throws IOException {
+        out.putAscii("item_id,produto,preco,stock_atual\r\n");
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            out.putDigits(item.getId());
+            out.putByte(',');
+            out.putQuoted(itemNames[i]);
+            out.putByte(',');
+            out.putDecimal(item.getPreco());
+            out.putByte(',');
+            out.putDigits(item.getStockAtual());
+            out.putAscii("\r\n");
+            rowWritten();
+        }
+    }
+
+    // ---- Colunar ----
+
+    private void writeSalesColumns(Output out) throws IOException {
+        int rows = snapshot.getDays();
+        writeTableHeader(out, "vendas_diarias", rows,
+                new String[] { "data", "vendas", "pedidos" },
+                new byte[] { TYPE_DATE, TYPE_FLOAT64, TYPE_FLOAT64 });
+
+        for (int day = 0; day < rows; day++) {
+            out.putInt((int) snapshot.dateAt(day).toEpochDay());
+        }
+        for (int day = 0; day < rows; day++) {
+            out.putDouble(snapshot.salesAt(day));
+        }
+        for (int day = 0; day < rows; day++) {
+            out.putDouble(snapshot.ordersAt(day));
+            rowWritten();
+        }
+    }
+
+    private void writeProfitColumns(Output out) throws IOException {
+        writeTableHeader(out, "lucro_produtos", (int) profitRows,
+                new String[] { "data", "item_id", "lucro", "quantidade" },
+                new byte[] { TYPE_DATE, TYPE_INT32, TYPE_FLOAT64, TYPE_INT32 });
+
+        // Uma passagem por coluna, sempre pela mesma ordem (produto, dia)
+        for (int column = 0; column < 4; column++) {
+            for (Item item : items) {
+                ItemProfitSeries series = snapshot.getItemProfit(item.getId());
+                if (series == null) {
+                    continue;
+                }
+                for (int day = 0; day < snapshot.getDays(); day++) {
+                    LocalDate date = snapshot.dateAt(day);
+                    double profit = series.profitOn(date);
+                    if (Double.isNaN(profit)) {
+                        continue;
+                    }
+                    switch (column) {
+                        case 0 -> out.putInt((int) date.toEpochDay());
+                        case 1 -> out.putInt(item.getId());
+                        case 2 -> out.putDouble(profit);
+                        default -> {
+                            out.putInt(series.quantityOn(date));
+                            rowWritten();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeItemsColumns(Output out) throws IOException {
+        writeTableHeader(out, "produtos", items.size(),
+                new String[] { "item_id", "nome", "preco", "stock_atual" },
+                new byte[] { TYPE_INT32, TYPE_TEXT, TYPE_FLOAT64, TYPE_INT32 });
+
+        for (Item item : items) {
+            out.putInt(item.getId());
+        }
+        int end = 0;
+        for (byte[] name : itemNames) {
+            end += name.length;
+            out.putInt(end);
+        }
+        for (byte[] name : itemNames) {
+            out.putBytes(name);
+        }
+        for (Item item : items) {
+            out.putDouble(item.getPreco());
+        }
+        for (Item item : items) {
+            out.putInt(item.getStockAtual());
+            rowWritten();
+        }
+    }
+
+    private static void writeTableHeader(Output out, String name, int rows, String[] columns, byte[] types)
+            throws IOException {
+        out.putText(name);
+        out.putInt(rows);
+        out.putInt(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            out.putText(columns[i]);
+            out.putByte(types[i]);
+        }
+    }
+
+    // ---- Progresso e cancelamento ----
+
+    private void start() {
+        rowsWritten = 0;
+        report();
+    }
+
+    private void finish() {
+        rowsWritten = totalRows();
+        report();
+    }
+
+    private long totalRows() {
+        return snapshot.getDays() + profitRows + items.size();
+    }
+
+    private void rowWritten() {
+        rowsWritten++;
+        if (rowsWritten % PROGRESS_ROWS == 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Exportação cancelada");
+            }
+            report();
+        }
+    }
+
+    private void report() {
+        if (listener != null) {
+            listener.onProgress(rowsWritten, totalRows());
+        }
+    }
+
+    /**
+     * Um FileChannel interrompido fecha-se com ClosedByInterruptException;
+     * para quem chama isso é um cancelamento
+     */
+    private static IOException cancelledOr(Exception e) {
+        if (e instanceof ClosedByInterruptException || e instanceof CancellationException) {
+            throw new CancellationException("Exportação cancelada");
+        }
+        if (e instanceof IOException io) {
+            return io;
+        }
+        throw (RuntimeException) e;
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Não foi possível apagar o ficheiro incompleto " + file);
+            }
+        }
+    }
+
+    /**
+     * Buffer de escrita sobre um FileChannel, com codificação direta de
+     * números, datas e texto
+     */
+    private static final class Output implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private final byte[] digits = new byte[20];
+
+        Output(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void putByte(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        /**
+         * Inteiro em texto decimal
+         */
+        void putDigits(long value) throws IOException {
+            if (value < 0) {
+                putByte('-');
+                value = -value;
+            }
+            int length = 0;
+            do {
+                digits[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            ensure(length);
+            while (length > 0) {
+                buffer.put(digits[--length]);
+            }
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void putText(String text) throws IOException {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putAscii(String text) throws IOException {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+
+        /**
+         * Valor com duas casas decimais (ex: 1234.50); NaN fica vazio
+         */
+        void putDecimal(double value) throws IOException {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            long cents = Math.round(value * 100);
+            if (cents < 0) {
+                putByte('-');
+                cents = -cents;
+            }
+            putDigits(cents / 100);
+            ensure(3);
+            buffer.put((byte) '.');
+            buffer.put((byte) ('0' + (cents % 100) / 10));
+            buffer.put((byte) ('0' + cents % 10));
+        }
+
+        /**
+         * Data em yyyy-MM-dd
+         */
+        void putDate(LocalDate date) throws IOException {
+            ensure(10);
+            int year = date.getYear();
+            buffer.put((byte) ('0' + year / 1000 % 10));
+            buffer.put((byte) ('0' + year / 100 % 10));
+            buffer.put((byte) ('0' + year / 10 % 10));
+            buffer.put((byte) ('0' + year % 10));
+            buffer.put((byte) '-');
+            buffer.put((byte) ('0' + date.getMonthValue() / 10));
+            buffer.put((byte) ('0' + date.getMonthValue() % 10));
+            buffer.put((byte) '-');
+            buffer.put((byte) ('0' + date.getDayOfMonth() / 10));
+            buffer.put((byte) ('0' + date.getDayOfMonth() % 10));
+        }
+
+        /**
+         * Campo de texto CSV entre aspas, com as aspas interiores duplicadas
+         */
+        void putQuoted(byte[] utf8) throws IOException {
+            putByte('"');
+            for (byte b : utf8) {
+                if (b == '"') {
+                    putByte('"');
+                }
+                putByte(b);
+            }
+            putByte('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (channel.isOpen()) {
+                    drain();
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.EatEaseFrontend;
+
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Escreve o PDF dos relatórios a partir de um ReportSnapshot. Corre fora da UI
+ * thread, reporta o progresso linha a linha e pára se a thread for
+ * interrompida (o ficheiro incompleto é apagado).
+ *
+ * As tabelas grandes usam o modo "large table" do iText: a tabela é
+ * adicionada ao documento logo de início e as linhas são escritas em blocos
+ * de FLUSH_ROWS com flush(), por isso um relatório de vários meses não fica
+ * com o layout inteiro em memória.
+ */
+public class ReportPdfWriter {
+
+    public static final String SALES_REPORT = "Relatório de Vendas";
+    public static final String PRODUCTS_REPORT = "Relatório de Produtos";
+    public static final String STOCK_REPORT = "Relatório de Stock";
+
+    private static final int FLUSH_ROWS = 50;
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Recebe o progresso da escrita (chamado na thread do writer)
+     */
+    public interface ProgressListener {
+        void onProgress(int rowsWritten, int totalRows);
+    }
+
+    private final ReportSnapshot snapshot;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Item> items;
+    private final ProgressListener listener;
+    private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.US);
+
+    private int rowsWritten = 0;
+    private int totalRows = 0;
+
+    /**
+     * @param snapshot Dados do período
+     * @param listener Progresso (pode ser null)
+     */
+    public ReportPdfWriter(ReportSnapshot snapshot, ProgressListener listener) {
+        this.snapshot = snapshot;
+        this.startDate = snapshot.getStartDate();
+        this.endDate = snapshot.getEndDate();
+        this.items = snapshot.getItems();
+        this.listener = listener;
+    }
+
+    /**
+     * Escreve o PDF com os relatórios escolhidos
+     *
+     * @param pdfFile         Ficheiro de destino
+     * @param selectedReports Títulos dos relatórios a incluir
+     * @throws CancellationException se a thread foi interrompida (o ficheiro é
+     *                               apagado)
+     */
+    public void write(File pdfFile, List<String> selectedReports) throws IOException {
+        List<Integer> salesDays = salesDaysLoaded();
+        List<StockAlertService.Entry> stockAlerts = snapshot.getStockAlerts();
+        totalRows = 0;
+        for (String reportType : selectedReports) {
+            switch (reportType) {
+                case SALES_REPORT -> totalRows += salesDays.size();
+                case PRODUCTS_REPORT -> totalRows += items.size();
+                case STOCK_REPORT -> totalRows += stockAlerts.size();
+                default -> {
+                }
+            }
+        }
+        rowsWritten = 0;
+        report();
+
+        boolean completed = false;
+        Document document = new Document(new PdfDocument(new PdfWriter(pdfFile)), PageSize.A4);
+        try {
+            createPdfContent(document, selectedReports, salesDays, stockAlerts);
+            completed = true;
+            rowsWritten = totalRows;
+            report();
+        } finally {
+            try {
+                document.close();
+            } catch (RuntimeException e) {
+                if (completed) {
+                    throw e;
+                }
+                // Documento cancelado a meio: o erro ao fechar não interessa
+            }
+            if (!completed && !pdfFile.delete()) {
+                System.err.println("Não foi possível apagar o PDF incompleto " + pdfFile);
+            }
+        }
+    }
+
+    private void createPdfContent(Document document, List<String> selectedReports, List<Integer> salesDays,
+            List<StockAlertService.Entry> stockAlerts) throws IOException {
+        // Define colors
+        DeviceRgb primaryColor = new DeviceRgb(0, 120, 215); // #0078D7
+
+        // Load fonts
+        PdfFont fontBold = PdfFontFactory.createFont("Helvetica-Bold");
+        PdfFont fontRegular = PdfFontFactory.createFont("Helvetica");
+
+        // Add document title
+        Paragraph title = new Paragraph("EatEase Restaurant - Relatório Completo")
+                .setFont(fontBold)
+                .setFontSize(20)
+                .setFontColor(primaryColor)
+                .setTextAlignment(TextAlignment.CENTER);
+        document.add(title);
+
+        // Add date range
+        String periodText = String.format("Período do Relatório: %s a %s",
+                startDate.format(DISPLAY_DATE), endDate.format(DISPLAY_DATE));
+
+        Paragraph datePeriod = new Paragraph(periodText)
+                .setFont(fontRegular)
+                .setFontSize(12)
+                .setTextAlignment(TextAlignment.CENTER);
+        document.add(datePeriod);
+
+        // Add generation datetime
+        String genDateTime = "Gerado em: " +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+
+        Paragraph genDateParagraph = new Paragraph(genDateTime)
+                .setFont(fontRegular)
+                .setFontSize(10)
+                .setTextAlignment(TextAlignment.RIGHT);
+        document.add(genDateParagraph);
+
+        document.add(new Paragraph("\n")); // Space
+
+        // Add selected report sections
+        for (String reportType : selectedReports) {
+            checkCancelled();
+            switch (reportType) {
+                case SALES_REPORT -> addHistoricalSalesReport(document, fontBold, fontRegular, primaryColor,
+                        salesDays);
+                case PRODUCTS_REPORT -> addProductsProfitReport(document, fontBold, fontRegular, primaryColor);
+                case STOCK_REPORT -> addStockAlertsReport(document, fontBold, fontRegular, primaryColor,
+                        stockAlerts);
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Add comprehensive sales report section to PDF
+     */
+    private void addHistoricalSalesReport(Document document, PdfFont fontBold, PdfFont fontRegular,
+            DeviceRgb primaryColor, List<Integer> salesDays) {
+        // Section title
+        Paragraph sectionTitle = new Paragraph("Relatório de Vendas e Pedidos - Timeline Completa")
+                .setFont(fontBold)
+                .setFontSize(16)
+                .setFontColor(primaryColor);
+        document.add(sectionTitle);
+
+        document.add(new Paragraph("\n")); // Space
+
+        if (!salesDays.isEmpty()) {
+            // Calculate totals
+            double totalSales = 0.0;
+            int totalOrders = 0;
+            int daysWithData = 0;
+
+            // Create detailed sales table (large table, written in blocks)
+            Table salesTable = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 2, 2 }), true)
+                    .useAllAvailableWidth();
+
+            // Header row
+            salesTable.addHeaderCell(new Cell().add(new Paragraph("Data")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            salesTable.addHeaderCell(new Cell().add(new Paragraph("Vendas (€)")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            salesTable.addHeaderCell(new Cell().add(new Paragraph("Nº Pedidos")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            salesTable.addHeaderCell(new Cell().add(new Paragraph("Ticket Médio (€)")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            document.add(salesTable);
+
+            for (int day : salesDays) {
+                double dayVendas = snapshot.salesAt(day);
+
+                // Days whose orders failed to load count as zero orders
+                double orders = snapshot.ordersAt(day);
+                int dayOrders = Double.isNaN(orders) ? 0 : (int) orders;
+
+                double dayTicket = dayOrders > 0 ? dayVendas / dayOrders : 0.0;
+
+                String displayDate = snapshot.dateAt(day).format(DISPLAY_DATE);
+                salesTable.addCell(new Cell().add(new Paragraph(displayDate).setFont(fontRegular)));
+
+                salesTable
+                        .addCell(new Cell().add(new Paragraph(currencyFormat.format(dayVendas)).setFont(fontRegular)));
+                salesTable.addCell(new Cell().add(new Paragraph(String.valueOf(dayOrders)).setFont(fontRegular)));
+                salesTable
+                        .addCell(new Cell().add(new Paragraph(currencyFormat.format(dayTicket)).setFont(fontRegular)));
+
+                // Update totals
+                totalSales += dayVendas;
+                totalOrders += dayOrders;
+                daysWithData++;
+                rowWritten(salesTable);
+            }
+
+            salesTable.complete();
+
+            // Add summary statistics
+            document.add(new Paragraph("\n"));
+
+            // Create dynamic period description
+            long daysBetween = snapshot.getDays();
+
+            String periodDescription;
+            if (daysBetween <= 7) {
+                periodDescription = String.format("Resumo dos Últimos %d Dias", daysBetween);
+            } else if (daysBetween <= 31) {
+                periodDescription = String.format("Resumo do Último Mês (%d dias)", daysBetween);
+            } else if (daysBetween <= 93) {
+                long months = daysBetween / 30;
+                periodDescription = String.format("Resumo dos Últimos %d Meses", months);
+            } else {
+                periodDescription = String.format("Resumo do Período (%s a %s)",
+                        startDate.format(DISPLAY_DATE), endDate.format(DISPLAY_DATE));
+            }
+
+            Paragraph summaryTitle = new Paragraph(periodDescription)
+                    .setFont(fontBold)
+                    .setFontSize(14)
+                    .setFontColor(primaryColor);
+            document.add(summaryTitle);
+
+            Table summaryTable = new Table(UnitValue.createPercentArray(2)).useAllAvailableWidth();
+
+            summaryTable.addCell(new Cell().add(new Paragraph("Total de Vendas").setFont(fontBold)));
+            summaryTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(totalSales)).setFont(fontRegular)));
+
+            summaryTable.addCell(new Cell().add(new Paragraph("Total de Pedidos").setFont(fontBold)));
+            summaryTable.addCell(new Cell().add(new Paragraph(String.valueOf(totalOrders)).setFont(fontRegular)));
+
+            if (daysWithData > 0) {
+                double avgDailySales = totalSales / daysWithData;
+                double avgDailyOrders = (double) totalOrders / daysWithData;
+                double avgTicket = totalOrders > 0 ? totalSales / totalOrders : 0;
+
+                summaryTable.addCell(new Cell().add(new Paragraph("Média Diária de Vendas").setFont(fontRegular)));
+                summaryTable.addCell(
+                        new Cell().add(new Paragraph(currencyFormat.format(avgDailySales)).setFont(fontRegular)));
+
+                summaryTable.addCell(new Cell().add(new Paragraph("Média Diária de Pedidos").setFont(fontRegular)));
+                summaryTable.addCell(
+                        new Cell().add(new Paragraph(String.format("%.1f", avgDailyOrders)).setFont(fontRegular)));
+
+                summaryTable.addCell(new Cell().add(new Paragraph("Ticket Médio Geral").setFont(fontBold)));
+                summaryTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(avgTicket)).setFont(fontBold)));
+            }
+
+            document.add(summaryTable);
+        } else {
+            document.add(
+                    new Paragraph("Dados de vendas não disponíveis para o período selecionado").setFont(fontRegular));
+        }
+
+        document.add(new Paragraph("\n\n")); // Space
+    }
+
+    /**
+     * Add products profit analysis report section to PDF
+     */
+    private void addProductsProfitReport(Document document, PdfFont fontBold, PdfFont fontRegular,
+            DeviceRgb primaryColor) {
+        // Section title
+        Paragraph sectionTitle = new Paragraph("Relatório de Análise de Produtos")
+                .setFont(fontBold)
+                .setFontSize(16)
+                .setFontColor(primaryColor);
+        document.add(sectionTitle);
+
+        document.add(new Paragraph("\n")); // Space
+
+        if (!items.isEmpty()) {
+            // Create products table (large table, written in blocks)
+            Table productsTable = new Table(UnitValue.createPercentArray(new float[] { 4, 2, 2 }), true)
+                    .useAllAvailableWidth();
+
+            // Header row
+            productsTable.addHeaderCell(new Cell().add(new Paragraph("Produto")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            productsTable.addHeaderCell(new Cell().add(new Paragraph("Preço (€)")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            productsTable.addHeaderCell(new Cell().add(new Paragraph("Stock Atual")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            document.add(productsTable);
+
+            // Add products data
+            for (Item item : items) {
+                // Add product name
+                productsTable.addCell(new Cell().add(new Paragraph(item.getNome())
+                        .setFont(fontRegular)));
+
+                // Add price
+                productsTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(item.getPreco()))
+                        .setFont(fontRegular)));
+
+                // Add stock level
+                int stock = item.getStockAtual();
+                String stockText = stock > 0 ? String.valueOf(stock) : "N/A";
+                productsTable.addCell(new Cell().add(new Paragraph(stockText).setFont(fontRegular)));
+                rowWritten(productsTable);
+            }
+
+            productsTable.complete();
+        } else {
+            document.add(new Paragraph("Dados de produtos não disponíveis").setFont(fontRegular));
+        }
+
+        document.add(new Paragraph("\n\n")); // Space
+    }
+
+    /**
+     * Add stock alerts report section to PDF
+     */
+    private void addStockAlertsReport(Document document, PdfFont fontBold, PdfFont fontRegular,
+            DeviceRgb primaryColor, List<StockAlertService.Entry> stockAlerts) {
+        // Section title
+        Paragraph sectionTitle = new Paragraph("Relatório de Alertas de Stock")
+                .setFont(fontBold)
+                .setFontSize(16)
+                .setFontColor(primaryColor);
+        document.add(sectionTitle);
+
+        document.add(new Paragraph("\n")); // Space
+
+        if (!stockAlerts.isEmpty()) {
+            // Stock alerts introduction
+            Paragraph stockIntro = new Paragraph("Produtos e ingredientes com stock baixo que requerem atenção:")
+                    .setFont(fontRegular)
+                    .setFontSize(12);
+            document.add(stockIntro);
+
+            document.add(new Paragraph("\n")); // Space
+
+            // Create stock alerts table (large table, written in blocks)
+            Table stockTable = new Table(UnitValue.createPercentArray(new float[] { 5, 2, 2, 3 }), true)
+                    .useAllAvailableWidth();
+
+            // Header row
+            stockTable.addHeaderCell(new Cell().add(new Paragraph("Nome")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            stockTable.addHeaderCell(new Cell().add(new Paragraph("Tipo")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            stockTable.addHeaderCell(new Cell().add(new Paragraph("Stock Atual")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            stockTable.addHeaderCell(new Cell().add(new Paragraph("Status")
+                    .setFont(fontBold).setFontColor(primaryColor)));
+            document.add(stockTable);
+
+            // Add stock alerts data
+            for (StockAlertService.Entry entry : stockAlerts) {
+                // Add name
+                stockTable.addCell(new Cell().add(new Paragraph(entry.name())
+                        .setFont(fontRegular)));
+
+                // Add kind
+                String kind = entry.kind() == StockAlertService.Kind.ITEM ? "Produto" : "Ingrediente";
+                stockTable.addCell(new Cell().add(new Paragraph(kind)
+                        .setFont(fontRegular)));
+
+                // Add current stock
+                stockTable.addCell(new Cell().add(new Paragraph((entry.stock() + " " + entry.unit()).trim())
+                        .setFont(fontRegular)));
+
+                // Add status
+                String status = entry.level() == StockThresholds.Level.CRITICAL ? "CRÍTICO" : "BAIXO";
+                Cell statusCell = new Cell().add(new Paragraph(status).setFont(fontBold));
+
+                // Set cell background color based on status
+                if (status.equals("CRÍTICO")) {
+                    statusCell.setBackgroundColor(new DeviceRgb(255, 200, 200)); // light red
+                } else {
+                    statusCell.setBackgroundColor(new DeviceRgb(255, 229, 153)); // light yellow
+                }
+
+                stockTable.addCell(statusCell);
+                rowWritten(stockTable);
+            }
+
+            stockTable.complete();
+        } else {
+            document.add(new Paragraph(
+                    "Não há alertas de stock no momento. Todos os produtos têm níveis adequados de estoque.")
+                    .setFont(fontRegular));
+        }
+
+        document.add(new Paragraph("\n\n")); // Space
+    }
+
+    /**
+     * Índices dos dias com vendas carregadas, por ordem
+     */
+    private List<Integer> salesDaysLoaded() {
+        List<Integer> days = new ArrayList<>();
+        for (int i = 0; i < snapshot.getDays(); i++) {
+            if (!Double.isNaN(snapshot.salesAt(i))) {
+                days.add(i);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Conta uma linha escrita; de FLUSH_ROWS em FLUSH_ROWS linhas passa o bloco
+     * da tabela para o documento e verifica se a escrita foi cancelada
+     */
+    private void rowWritten(Table table) {
+        rowsWritten++;
+        if (rowsWritten % FLUSH_ROWS == 0) {
+            table.flush();
+            checkCancelled();
+            report();
+        }
+    }
+
+    private void report() {
+        if (listener != null) {
+            listener.onProgress(rowsWritten, totalRows);
+        }
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Geração do PDF cancelada");
+        }
+    }
+}
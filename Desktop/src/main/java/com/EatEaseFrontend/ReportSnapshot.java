@@ -0,0 +1,191 @@
+package com.EatEaseFrontend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dados dos relatórios para um intervalo de datas, montados de uma só vez
+ * pelo ReportDataEngine. É imutável: o PDF e os cards da view leem sempre o
+ * mesmo conjunto de dados, mesmo que entretanto comece outro carregamento.
+ *
+ * Os dias que não foi possível carregar ficam a NaN nas séries e são
+ * contados em getMissingDays(); os produtos sem lucro carregado ficam em
+ * getMissingProfitItems().
+ */
+public final class ReportSnapshot {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final double[] sales;
+    private final double[] orders;
+    private final List<Item> items;
+    private final Map<Integer, ItemProfitSeries> itemProfit;
+    private final Set<Integer> missingProfitItems;
+    private final List<StockAlertService.Entry> stockAlerts;
+    private final LocalDateTime loadedAt;
+
+    /**
+     * @param startDate          Primeiro dia do intervalo
+     * @param endDate            Último dia do intervalo
+     * @param sales              Vendas por dia (índice 0 = startDate)
+     * @param orders             Pedidos por dia (índice 0 = startDate)
+     * @param items              Produtos
+     * @param itemProfit         Lucro por produto (recortado ao intervalo)
+     * @param missingProfitItems Produtos cujo lucro falhou
+     * @param stockAlerts        Alertas de stock do StockAlertService
+     */
+    public ReportSnapshot(LocalDate startDate, LocalDate endDate, double[] sales, double[] orders, List<Item> items,
+            IntConcurrentMap<ItemProfitSeries> itemProfit, Set<Integer> missingProfitItems,
+            StockAlertService.StockAlerts stockAlerts) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (sales.length != days || orders.length != days) {
+            throw new IllegalArgumentException("Séries com " + sales.length + "/" + orders.length
+                    + " dias para um intervalo de " + days);
+        }
+
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.sales = sales.clone();
+        this.orders = orders.clone();
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+
+        // As séries são imutáveis; basta copiar o índice
+        Map<Integer, ItemProfitSeries> profitCopy = new HashMap<>();
+        for (Item item : this.items) {
+            ItemProfitSeries series = itemProfit.get(item.getId());
+            if (series != null) {
+                profitCopy.put(item.getId(), series);
+            }
+        }
+        this.itemProfit = Collections.unmodifiableMap(profitCopy);
+        this.missingProfitItems = Set.copyOf(missingProfitItems);
+        List<StockAlertService.Entry> alerts = new ArrayList<>(stockAlerts.critical());
+        alerts.addAll(stockAlerts.low());
+        this.stockAlerts = List.copyOf(alerts);
+        this.loadedAt = LocalDateTime.now();
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return Número de dias do intervalo
+     */
+    public int getDays() {
+        return sales.length;
+    }
+
+    public LocalDate dateAt(int index) {
+        return startDate.plusDays(index);
+    }
+
+    /**
+     * @return Vendas do dia (NaN se não foi possível carregar)
+     */
+    public double salesAt(int index) {
+        return sales[index];
+    }
+
+    /**
+     * @return Pedidos do dia (NaN se não foi possível carregar)
+     */
+    public double ordersAt(int index) {
+        return orders[index];
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Lucro por dia de um produto (null se não foi carregado)
+     */
+    public ItemProfitSeries getItemProfit(int itemId) {
+        return itemProfit.get(itemId);
+    }
+
+    /**
+     * @return Lucro de todos os produtos nos dias conhecidos
+     */
+    public double getTotalProfit() {
+        double total = 0;
+        for (ItemProfitSeries series : itemProfit.values()) {
+            total += series.totalProfit();
+        }
+        return total;
+    }
+
+    public Set<Integer> getMissingProfitItems() {
+        return missingProfitItems;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return Dias em que as vendas ou os pedidos não foram carregados
+     */
+    public int getMissingDays() {
+        int missing = 0;
+        for (int i = 0; i < sales.length; i++) {
+            if (Double.isNaN(sales[i]) || Double.isNaN(orders[i])) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * @return true se todas as fontes chegaram sem falhas
+     */
+    public boolean isComplete() {
+        return getMissingDays() == 0 && missingProfitItems.isEmpty();
+    }
+
+    /**
+     * @return Soma das vendas dos dias carregados
+     */
+    public double getTotalSales() {
+        double total = 0;
+        for (double value : sales) {
+            if (!Double.isNaN(value)) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Soma dos pedidos dos dias carregados
+     */
+    public int getTotalOrders() {
+        int total = 0;
+        for (double value : orders) {
+            if (!Double.isNaN(value)) {
+                total += (int) value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Produtos e ingredientes com alerta de stock, os críticos
+     *         primeiro e depois do stock mais baixo para o mais alto
+     */
+    public List<StockAlertService.Entry> getStockAlerts() {
+        return stockAlerts;
+    }
+}
@@ -0,0 +1,86 @@
+package com.EatEaseFrontend;
+
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Liga uma barra de pesquisa a um SearchIndex: a pesquisa só corre depois de
+ * o utilizador parar de escrever (search.debounce.millis), numa thread
+ * própria, e o resultado é entregue na UI thread. Resultados de pesquisas
+ * que entretanto foram substituídas por outra são descartados.
+ *
+ * @param <T> Tipo das entidades pesquisadas
+ */
+public class SearchDebouncer<T> {
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "eatease-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SearchIndex<T> index;
+    private final Consumer<List<T>> onResults;
+    private final long delayMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param index     Índice a pesquisar
+     * @param onResults Recebe os resultados na UI thread
+     */
+    public SearchDebouncer(SearchIndex<T> index, Consumer<List<T>> onResults) {
+        this.index = index;
+        this.onResults = onResults;
+        this.delayMillis = AppConfig.getSearchDebounceMillis();
+    }
+
+    /**
+     * Agenda uma pesquisa, substituindo a que estiver pendente. Uma pesquisa
+     * vazia (mostrar tudo) corre logo.
+     *
+     * @param query Texto da barra de pesquisa
+     */
+    public synchronized void search(String query) {
+        long current = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        long delay = query == null || query.isBlank() ? 0 : delayMillis;
+        pending = scheduler.schedule(() -> run(current, query), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela a pesquisa pendente (ex: ao sair da view)
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private void run(long current, String query) {
+        if (current != generation.get()) {
+            return;
+        }
+        try {
+            List<T> results = index.search(query);
+            Platform.runLater(() -> {
+                if (current == generation.get()) {
+                    onResults.accept(results);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Erro na pesquisa \"" + query + "\": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.EatEaseFrontend;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de pesquisa em memória sobre o nome (ou outro texto) de uma lista de
+ * entidades, para as barras de pesquisa das views.
+ *
+ * O texto é normalizado sem acentos e em minúsculas ("Açúcar" -> "acucar"),
+ * e cada palavra é indexada pelos seus prefixos de 1 e 2 letras e pelos seus
+ * trigramas. Termos de pesquisa com menos de 3 letras procuram palavras que
+ * comecem por eles; termos maiores procuram o texto em qualquer posição.
+ * Com vários termos, todos têm de aparecer.
+ *
+ * Os resultados vêm sempre pela ordem do comparador indicado, sem voltar a
+ * ordenar a lista inteira. As views voltam a chamar setAll com a lista
+ * completa depois de cada alteração, e só as entidades novas ou cujo texto
+ * mudou são reindexadas.
+ *
+ * @param <T> Tipo das entidades indexadas
+ */
+public class SearchIndex<T> {
+
+    private static final int GRAM = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ToIntFunction<T> idOf;
+    private final Function<T, String> textOf;
+    private final Comparator<? super T> order;
+
+    private final Map<Integer, Entry<T>> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final List<Entry<T>> ordered = new ArrayList<>();
+
+    /**
+     * @param idOf   ID único de cada entidade
+     * @param textOf Texto pesquisável (ex: nome, ou nome e descrição)
+     * @param order  Ordem dos resultados
+     */
+    public SearchIndex(ToIntFunction<T> idOf, Function<T, String> textOf, Comparator<? super T> order) {
+        this.idOf = idOf;
+        this.textOf = textOf;
+        this.order = order;
+    }
+
+    /**
+     * Substitui o conteúdo do índice pela lista indicada, reindexando apenas
+     * o que mudou em relação ao conteúdo anterior
+     *
+     * @param elements Lista completa de entidades
+     */
+    public synchronized void setAll(Collection<T> elements) {
+        Set<Integer> present = new HashSet<>();
+        for (T element : elements) {
+            present.add(idOf.applyAsInt(element));
+            upsert(element);
+        }
+        entries.keySet().removeIf(id -> {
+            if (present.contains(id)) {
+                return false;
+            }
+            unindex(entries.get(id));
+            return true;
+        });
+        reorder();
+    }
+
+    /**
+     * @return Todas as entidades, pela ordem do índice
+     */
+    public synchronized List<T> all() {
+        List<T> result = new ArrayList<>(ordered.size());
+        for (Entry<T> entry : ordered) {
+            result.add(entry.element);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return ordered.size();
+    }
+
+    /**
+     * Pesquisa as entidades cujo texto contém todos os termos da pesquisa
+     *
+     * @param query Texto escrito pelo utilizador (vazio devolve tudo)
+     * @return Entidades encontradas, pela ordem do índice
+     */
+    public synchronized List<T> search(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return all();
+        }
+
+        String[] terms = normalized.split(" ");
+        Set<Integer> candidates = null;
+        for (String term : terms) {
+            Set<Integer> matches = candidatesFor(term);
+            if (candidates == null) {
+                candidates = new HashSet<>(matches);
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<Entry<T>> found = new ArrayList<>(candidates.size());
+        for (int id : candidates) {
+            Entry<T> entry = entries.get(id);
+            if (containsAll(entry.text, terms)) {
+                found.add(entry);
+            }
+        }
+        found.sort(Comparator.comparingInt(entry -> entry.position));
+
+        List<T> result = new ArrayList<>(found.size());
+        for (Entry<T> entry : found) {
+            result.add(entry.element);
+        }
+        return result;
+    }
+
+    /**
+     * Normaliza um texto para pesquisa: sem acentos, em minúsculas e com as
+     * palavras separadas por um único espaço
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private Set<Integer> candidatesFor(String term) {
+        if (term.length() < GRAM) {
+            return postings.getOrDefault("^" + term, Set.of());
+        }
+
+        // Interseção dos trigramas, começando pela lista mais curta
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Integer> list = postings.get(gram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (term.length() < GRAM ? !hasWordStartingWith(text, term) : !text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(String text, String prefix) {
+        for (String word : text.split(" ")) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void upsert(T element) {
+        int id = idOf.applyAsInt(element);
+        String text = normalize(textOf.apply(element));
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            entry = new Entry<>(id, element, text);
+            entries.put(id, entry);
+            index(entry);
+        } else if (!entry.text.equals(text)) {
+            unindex(entry);
+            entry.text = text;
+            entry.element = element;
+            index(entry);
+        } else {
+            entry.element = element;
+        }
+    }
+
+    private void index(Entry<T> entry) {
+        for (String key : keys(entry.text)) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(entry.id);
+        }
+    }
+
+    private void unindex(Entry<T> entry) {
+        for (String key : keys(entry.text)) {
+            Set<Integer> list = postings.get(key);
+            if (list != null) {
+                list.remove(entry.id);
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chaves de um texto normalizado: prefixos de 1 e 2 letras de cada palavra
+     * (marcados com "^") e trigramas de cada palavra
+     */
+    private static Set<String> keys(String text) {
+        Set<String> keys = new HashSet<>();
+        if (text.isEmpty()) {
+            return keys;
+        }
+        for (String word : text.split(" ")) {
+            for (int len = 1; len < GRAM && len <= word.length(); len++) {
+                keys.add("^" + word.substring(0, len));
+            }
+            keys.addAll(grams(word));
+        }
+        return keys;
+    }
+
+    private static List<String> grams(String word) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void reorder() {
+        ordered.clear();
+        ordered.addAll(entries.values());
+        ordered.sort((a, b) -> order.compare(a.element, b.element));
+        renumber();
+    }
+
+    private void renumber() {
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).position = i;
+        }
+    }
+
+    private static final class Entry<T> {
+        final int id;
+        T element;
+        String text;
+        int position;
+
+        Entry(int id, T element, String text) {
+            this.id = id;
+            this.element = element;
+            this.text = text;
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
+import com.EatEaseFrontend.BestItemsLoader;
+import com.EatEaseFrontend.DailySeriesLoader;
+import com.EatEaseFrontend.StockAlertService;
+import com.EatEaseFrontend.StockThresholds;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import javafx.application.Platform;
@@ -22,7 +27,6 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.text.NumberFormat;
@@ -38,7 +42,7 @@ import java.util.Locale;
  */
 public class DashboardView {
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
     private VBox mainContainer;
     private GridPane metricsGrid;
     private Label lastUpdatedLabel;
@@ -51,8 +55,9 @@ public class DashboardView {
     private static final int MAX_RETRY_ATTEMPTS = 3;
     private GridPane itemsGrid;
 
-    // Controle de tentativas de carregamento para cada posição
-    private final int[] retryAttempts = new int[TOP_ITEMS_COUNT];
+    // Carregamento do ranking em curso (cancelado ao sair do dashboard)
+    private final BestItemsLoader bestItemsLoader;
+    private BestItemsLoader.Batch topItemsBatch;
 
     // Array para manter referência aos cards atuais em cada posição
     private final VBox[] currentItemCards = new VBox[TOP_ITEMS_COUNT];
@@ -66,6 +71,9 @@ public class DashboardView {
     private DatePicker customStartDate;
     private DatePicker customEndDate;
     private int currentPeriodDays = 30;
+    private final DailySeriesLoader seriesLoader;
+    // Incrementado a cada pedido de gráficos para descartar respostas antigas
+    private int chartLoadGeneration = 0;
 
     // Componentes do gráfico de pedidos
     private LineChart<Number, Number> ordersChart;
@@ -76,10 +84,15 @@ public class DashboardView {
     private GridPane stockAlertsGrid;
     private VBox criticalStockCard;
     private VBox lowStockCard;
+    private final StockAlertService stockAlerts;
+    private Runnable stockAlertsSubscription;
 
-    public DashboardView(StackPane contentArea, HttpClient httpClient) {
+    public DashboardView(StackPane contentArea, ApiClient apiClient, StockAlertService stockAlerts) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
+        this.stockAlerts = stockAlerts;
+        this.seriesLoader = new DailySeriesLoader(apiClient);
+        this.bestItemsLoader = new BestItemsLoader(apiClient, DEFAULT_DAYS, MAX_RETRY_ATTEMPTS);
     }
 
     /**
@@ -137,8 +150,8 @@ public class DashboardView {
         // Load dashboard data
         loadDashboardMetrics();
 
-        // Load stock alerts data
-        loadStockAlerts();
+        // Subscribe to the shared stock alerts
+        subscribeStockAlerts();
 
         // Load top items data
         loadTopItems();
@@ -174,6 +187,7 @@ public class DashboardView {
         refreshButton.setOnAction(e -> {
             loadDashboardMetrics();
             loadTopItems();
+            stockAlerts.refresh();
         });
 
         headerSection.getChildren().addAll(titleText, subtitleLabel, refreshButton);
@@ -501,7 +515,7 @@ public class DashboardView {
                 .GET()
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(response -> {
                     if (response.statusCode() == 200) {
                         Platform.runLater(() -> {
@@ -681,177 +695,47 @@ public class DashboardView {
     }
 
     /**
-     * Carrega os itens mais vendidos da API
+     * Carrega os itens mais vendidos da API. Todas as posições (e o lucro de
+     * cada item) são carregadas em paralelo pelo BestItemsLoader, que repete
+     * as falhas com espera exponencial; um carregamento anterior ainda em
+     * curso é cancelado.
      */
     private void loadTopItems() {
-        // Reiniciar contadores de tentativas
-        for (int i = 0; i < TOP_ITEMS_COUNT; i++) {
-            retryAttempts[i] = 0;
+        if (topItemsBatch != null) {
+            topItemsBatch.cancel();
         }
 
         // Resetar placeholders para todos os itens
-        Platform.runLater(() -> {
-            for (int i = 0; i < TOP_ITEMS_COUNT; i++) {
-                VBox placeholder = createTopItemPlaceholder(i + 1);
-                replaceCardAtPosition(i, placeholder);
-            }
-        });
-
-        // Carregar itens
-        for (int position = 0; position < TOP_ITEMS_COUNT; position++) {
-            final int pos = position;
-            loadBestItemAtPosition(pos);
+        for (int i = 0; i < TOP_ITEMS_COUNT; i++) {
+            VBox placeholder = createTopItemPlaceholder(i + 1);
+            replaceCardAtPosition(i, placeholder);
         }
-    }
-
-    /**
-     * Carrega um item específico por posição no ranking com sistema de retry
-     */
-    private void loadBestItemAtPosition(int position) {
-        retryAttempts[position]++;
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig
-                        .getApiEndpoint("/dashboard/bestItem?lastDays=" + DEFAULT_DAYS + "&position=" + position)))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(response -> {
-                    if (response.statusCode() == 200) {
-                        // Processar o item e então carregar seu lucro
-                        try {
-                            com.EatEaseFrontend.Item item = objectMapper.readValue(response.body(),
-                                    com.EatEaseFrontend.Item.class);
-                            loadItemProfit(item, position);
-                        } catch (Exception e) {
-                            System.err.println("Erro ao processar item mais vendido (tentativa "
-                                    + retryAttempts[position] + "): " + e.getMessage());
-                            handleItemLoadFailure(position);
-                        }
-                    } else {
-                        System.err.println("Erro HTTP ao carregar item posição " + position + " (tentativa "
-                                + retryAttempts[position] + "): Status " + response.statusCode());
-                        handleItemLoadFailure(position);
-                    }
-                })
-                .exceptionally(ex -> {
-                    System.err.println("Exceção ao carregar item posição " + position + " (tentativa "
-                            + retryAttempts[position] + "): " + ex.getMessage());
-                    handleItemLoadFailure(position);
-                    return null;
-                });
-    }
-
-    /**
-     * Carrega o lucro para um item específico com sistema de retry
-     */
-    private void loadItemProfit(com.EatEaseFrontend.Item item, int position) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint(
-                        "/dashboard/lucroByItemId?itemId=" + item.getId() + "&lastDays=" + DEFAULT_DAYS)))
-                .GET()
-                .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(response -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            JsonNode profitData = objectMapper.readTree(response.body());
-                            int quantity = profitData.has("quantidade") ? profitData.get("quantidade").asInt() : 0;
-                            double profit = profitData.has("lucro") ? profitData.get("lucro").asDouble() : 0.0;
-
-                            Platform.runLater(() -> {
-                                updateTopItemCard(item, quantity, profit, position);
-                            });
-                        } catch (Exception e) {
-                            System.err.println("Erro ao processar lucro do item (tentativa " + retryAttempts[position]
-                                    + "): " + e.getMessage());
-                            handleProfitLoadFailure(item, position);
-                        }
-                    } else {
-                        System.err.println("Erro HTTP ao carregar lucro do item posição " + position + " (tentativa "
-                                + retryAttempts[position] + "): Status " + response.statusCode());
-                        handleProfitLoadFailure(item, position);
-                    }
-                })
-                .exceptionally(ex -> {
-                    System.err.println("Exceção ao carregar lucro do item posição " + position + " (tentativa "
-                            + retryAttempts[position] + "): " + ex.getMessage());
-                    handleProfitLoadFailure(item, position);
-                    return null;
-                });
-    }
+        // Carregar itens
+        topItemsBatch = bestItemsLoader.load(TOP_ITEMS_COUNT, new BestItemsLoader.Listener() {
+            @Override
+            public void onRetry(int position, int nextAttempt) {
+                showRetryIndicator(position, nextAttempt);
+            }
 
-    /**
-     * Gerencia falhas no carregamento de itens com sistema de retry
-     */
-    private void handleItemLoadFailure(int position) {
-        System.out.println("DEBUG: Falha no carregamento do item posição " + position + ", tentativa "
-                + retryAttempts[position] + "/" + MAX_RETRY_ATTEMPTS);
-
-        if (retryAttempts[position] < MAX_RETRY_ATTEMPTS) {
-            // Tentar novamente após um pequeno delay
-            Platform.runLater(() -> {
-                // Mostrar indicador de retry no card
-                showRetryIndicator(position);
-
-                // Esperar um pouco antes de tentar novamente (progressivamente mais tempo)
-                new Thread(() -> {
-                    try {
-                        long delay = 1000 * retryAttempts[position]; // 1s, 2s, 3s
-                        System.out.println(
-                                "DEBUG: Aguardando " + delay + "ms antes de tentar novamente posição " + position);
-                        Thread.sleep(delay);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                    System.out.println("DEBUG: Tentando novamente carregar item posição " + position);
-                    loadBestItemAtPosition(position);
-                }).start();
-            });
-        } else {
-            // Máximo de tentativas atingido, mostrar erro
-            System.out.println("DEBUG: Máximo de tentativas atingido para posição " + position + ", mostrando erro");
-            displayItemError(position);
-        }
-    }
+            @Override
+            public void onLoaded(BestItemsLoader.BestItem bestItem) {
+                updateTopItemCard(bestItem.item(), bestItem.quantity(), bestItem.profit(), bestItem.position());
+            }
 
-    /**
-     * Gerencia falhas no carregamento de lucro com sistema de retry
-     */
-    private void handleProfitLoadFailure(com.EatEaseFrontend.Item item, int position) {
-        System.out.println("DEBUG: Falha no carregamento do lucro do item " + item.getNome() + " posição " + position
-                + ", tentativa " + retryAttempts[position] + "/" + MAX_RETRY_ATTEMPTS);
-
-        if (retryAttempts[position] < MAX_RETRY_ATTEMPTS) {
-            // Tentar novamente após um pequeno delay
-            Platform.runLater(() -> {
-                new Thread(() -> {
-                    try {
-                        long delay = 1000 * retryAttempts[position]; // 1s, 2s, 3s
-                        System.out.println("DEBUG: Aguardando " + delay
-                                + "ms antes de tentar carregar lucro novamente para posição " + position);
-                        Thread.sleep(delay);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                    System.out.println("DEBUG: Tentando novamente carregar lucro do item posição " + position);
-                    loadItemProfit(item, position);
-                }).start();
-            });
-        } else {
-            // Máximo de tentativas atingido, mostrar erro
-            System.out.println(
-                    "DEBUG: Máximo de tentativas atingido para lucro posição " + position + ", mostrando erro");
-            displayItemError(position);
-        }
+            @Override
+            public void onFailed(int position, int attempts, Throwable error) {
+                System.err.println("Erro ao carregar item posição " + position + " após " + attempts
+                        + " tentativas: " + error.getMessage());
+                displayItemError(position, attempts);
+            }
+        });
     }
 
     /**
      * Mostra um indicador visual de que está tentando novamente
      */
-    private void showRetryIndicator(int position) {
+    private void showRetryIndicator(int position, int nextAttempt) {
         if (position < TOP_ITEMS_COUNT) {
             VBox card = new VBox(10);
             card.getStyleClass().add("dashboard-card");
@@ -867,7 +751,7 @@ public class DashboardView {
             retryLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
             retryLabel.setTextFill(Color.valueOf("#FF9800"));
 
-            Label attemptLabel = new Label("Tentativa " + (retryAttempts[position] + 1) + "/" + MAX_RETRY_ATTEMPTS);
+            Label attemptLabel = new Label("Tentativa " + nextAttempt + "/" + MAX_RETRY_ATTEMPTS);
             attemptLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
             attemptLabel.setTextFill(Color.valueOf("#666666"));
 
@@ -970,45 +854,43 @@ public class DashboardView {
     /**
      * Exibe um erro no card de item com informações sobre tentativas
      */
-    private void displayItemError(int position) {
-        Platform.runLater(() -> {
-            if (position < TOP_ITEMS_COUNT) {
-                VBox card = new VBox(15);
-                card.getStyleClass().add("dashboard-card");
-                card.setAlignment(Pos.CENTER);
-                card.setPrefWidth(250);
-                card.setPrefHeight(200);
-
-                // Posição como medalha (mesmo estilo dos itens válidos)
-                StackPane medalPane = createPositionMedal(position + 1);
-
-                FontIcon errorIcon = new FontIcon(MaterialDesign.MDI_ALERT_CIRCLE);
-                errorIcon.setIconColor(Color.valueOf("#F44336"));
-                errorIcon.setIconSize(24);
-
-                Label errorLabel = new Label("Falha ao carregar");
-                errorLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-                errorLabel.setTextFill(Color.valueOf("#F44336"));
-
-                // Mostrar informações sobre as tentativas
-                Label attemptsLabel = new Label("Tentativas: " + retryAttempts[position] + "/" + MAX_RETRY_ATTEMPTS);
-                attemptsLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
-                attemptsLabel.setTextFill(Color.valueOf("#666666"));
-
-                Button retryButton = new Button("Tentar novamente");
-                retryButton.getStyleClass().add("login-button");
-                retryButton.setOnAction(e -> {
-                    // Resetar contador de tentativas para retry manual
-                    retryAttempts[position] = 0;
-                    loadBestItemAtPosition(position);
-                });
+    private void displayItemError(int position, int attempts) {
+        if (position < TOP_ITEMS_COUNT) {
+            VBox card = new VBox(15);
+            card.getStyleClass().add("dashboard-card");
+            card.setAlignment(Pos.CENTER);
+            card.setPrefWidth(250);
+            card.setPrefHeight(200);
 
-                card.getChildren().addAll(medalPane, errorIcon, errorLabel, attemptsLabel, retryButton);
+            // Posição como medalha (mesmo estilo dos itens válidos)
+            StackPane medalPane = createPositionMedal(position + 1);
 
-                // Substitui o placeholder pelo card de erro
-                replaceCardAtPosition(position, card);
-            }
-        });
+            FontIcon errorIcon = new FontIcon(MaterialDesign.MDI_ALERT_CIRCLE);
+            errorIcon.setIconColor(Color.valueOf("#F44336"));
+            errorIcon.setIconSize(24);
+
+            Label errorLabel = new Label("Falha ao carregar");
+            errorLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+            errorLabel.setTextFill(Color.valueOf("#F44336"));
+
+            // Mostrar informações sobre as tentativas
+            Label attemptsLabel = new Label("Tentativas: " + attempts + "/" + MAX_RETRY_ATTEMPTS);
+            attemptsLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
+            attemptsLabel.setTextFill(Color.valueOf("#666666"));
+
+            Button retryButton = new Button("Tentar novamente");
+            retryButton.getStyleClass().add("login-button");
+            retryButton.setOnAction(e -> {
+                // Retry manual: a posição volta a ter todas as tentativas
+                replaceCardAtPosition(position, createTopItemPlaceholder(position + 1));
+                topItemsBatch.reload(position);
+            });
+
+            card.getChildren().addAll(medalPane, errorIcon, errorLabel, attemptsLabel, retryButton);
+
+            // Substitui o placeholder pelo card de erro
+            replaceCardAtPosition(position, card);
+        }
     }
 
     /**
@@ -1134,6 +1016,7 @@ public class DashboardView {
      * Loads both sales and orders chart data for the specified number of days
      */
     private void loadChartsData(int days) {
+        chartLoadGeneration++;
         loadSalesChartData(days);
         loadOrdersChartData(days);
     }
@@ -1166,11 +1049,8 @@ public class DashboardView {
             salesXAxis.setLabel("Dias atrás");
         }
 
-        // Load data for each day
-        for (int i = 0; i < days; i++) {
-            LocalDate currentDate = startDate.plusDays(i);
-            loadDailySalesData(currentDate, series, i + 1);
-        }
+        // Load the whole period and publish it at once
+        loadSeriesData(DailySeriesLoader.Metric.VENDAS, startDate, days, series);
 
         // Add series to chart
         salesChart.getData().add(series);
@@ -1204,120 +1084,42 @@ public class DashboardView {
             ordersXAxis.setLabel("Dias atrás");
         }
 
-        // Load data for each day
-        for (int i = 0; i < days; i++) {
-            LocalDate currentDate = startDate.plusDays(i);
-            loadDailyOrdersData(currentDate, series, i + 1);
-        }
+        // Load the whole period and publish it at once
+        loadSeriesData(DailySeriesLoader.Metric.PEDIDOS, startDate, days, series);
 
         // Add series to chart
         ordersChart.getData().add(series);
     }
 
     /**
-     * Loads sales data for a specific date
+     * Loads a daily metric for the whole period and fills the series in a
+     * single update once every day has arrived. The chart points are built
+     * off the FX thread; results from an older period selection are ignored.
      */
-    private void loadDailySalesData(LocalDate date, XYChart.Series<Number, Number> series, int dayNumber) {
-        String dateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String endpoint = AppConfig.getApiEndpoint("/dashboard/vendas-dia?data=" + dateStr);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(endpoint))
-                .header("Accept", "application/json")
-                .GET()
-                .build();
-
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(response -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            String responseBody = response.body().trim();
-                            double salesValue = 0.0;
-
-                            // Try to parse as direct number first
-                            try {
-                                salesValue = Double.parseDouble(responseBody);
-                            } catch (NumberFormatException e1) {
-                                // If that fails, try to parse as JSON
-                                try {
-                                    JsonNode jsonNode = objectMapper.readTree(responseBody);
-                                    salesValue = jsonNode.path("vendas").asDouble(0.0);
-                                } catch (Exception e2) {
-                                    System.err.println("Erro ao processar resposta: " + responseBody);
-                                    salesValue = 0.0;
-                                }
-                            }
-
-                            final double finalSalesValue = salesValue;
-                            Platform.runLater(() -> {
-                                series.getData().add(new XYChart.Data<>(dayNumber, finalSalesValue));
-                            });
-                        } catch (Exception e) {
-                            System.err.println(
-                                    "Erro ao processar dados de vendas para " + dateStr + ": " + e.getMessage());
-                            Platform.runLater(() -> {
-                                series.getData().add(new XYChart.Data<>(dayNumber, 0.0));
-                            });
-                        }
-                    } else {
-                        System.err.println("Erro na API de vendas diárias: " + response.statusCode());
-                        Platform.runLater(() -> {
-                            series.getData().add(new XYChart.Data<>(dayNumber, 0.0));
-                        });
+    private void loadSeriesData(DailySeriesLoader.Metric metric, LocalDate startDate, int days,
+            XYChart.Series<Number, Number> series) {
+        final int generation = chartLoadGeneration;
+
+        seriesLoader.loadRange(metric, startDate, days)
+                .thenApply(values -> {
+                    List<XYChart.Data<Number, Number>> points = new ArrayList<>(values.length);
+                    for (int i = 0; i < values.length; i++) {
+                        // Days that failed to load are shown as zero
+                        double dayValue = Double.isNaN(values[i]) ? 0.0 : values[i];
+                        Number value = metric == DailySeriesLoader.Metric.PEDIDOS
+                                ? (Number) (int) dayValue
+                                : (Number) dayValue;
+                        points.add(new XYChart.Data<>(i + 1, value));
                     }
+                    return points;
                 })
-                .exceptionally(throwable -> {
-                    System.err.println("Erro na requisição de vendas para " + dateStr + ": " + throwable.getMessage());
-                    Platform.runLater(() -> {
-                        series.getData().add(new XYChart.Data<>(dayNumber, 0.0));
-                    });
-                    return null;
-                });
-    }
-
-    /**
-     * Loads orders data for a specific date
-     */
-    private void loadDailyOrdersData(LocalDate date, XYChart.Series<Number, Number> series, int dayNumber) {
-        String dateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String endpoint = AppConfig.getApiEndpoint("/dashboard/pedidos-dia?data=" + dateStr);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(endpoint))
-                .header("Accept", "application/json")
-                .GET()
-                .build();
-
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(response -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            // Parse response as plain number (integer)
-                            String responseBody = response.body().trim();
-                            int ordersValue = Integer.parseInt(responseBody);
-
-                            Platform.runLater(() -> {
-                                series.getData().add(new XYChart.Data<>(dayNumber, ordersValue));
-                            });
-                        } catch (Exception e) {
-                            System.err.println(
-                                    "Erro ao processar dados de pedidos para " + dateStr + ": " + e.getMessage());
-                            Platform.runLater(() -> {
-                                series.getData().add(new XYChart.Data<>(dayNumber, 0));
-                            });
-                        }
-                    } else {
-                        System.err.println("Erro na API de pedidos diários: " + response.statusCode());
-                        Platform.runLater(() -> {
-                            series.getData().add(new XYChart.Data<>(dayNumber, 0));
-                        });
+                .thenAccept(points -> Platform.runLater(() -> {
+                    if (generation == chartLoadGeneration) {
+                        series.getData().setAll(points);
                     }
-                })
+                }))
                 .exceptionally(throwable -> {
-                    System.err.println("Erro na requisição de pedidos para " + dateStr + ": " + throwable.getMessage());
-                    Platform.runLater(() -> {
-                        series.getData().add(new XYChart.Data<>(dayNumber, 0));
-                    });
+                    System.err.println("Erro ao carregar série " + metric.getPath() + ": " + throwable.getMessage());
                     return null;
                 });
     }
@@ -1380,12 +1182,10 @@ public class DashboardView {
         ordersXAxis.setTickUnit(daysBetween <= 7 ? 1 : (daysBetween <= 30 ? 5 : 10));
         ordersXAxis.setLabel("Dia do Período");
 
-        // Load data for each day in range
-        for (int i = 0; i < daysBetween; i++) {
-            LocalDate currentDate = startDate.plusDays(i);
-            loadDailySalesData(currentDate, salesSeries, i + 1);
-            loadDailyOrdersData(currentDate, ordersSeries, i + 1);
-        }
+        // Load the whole range for both metrics
+        chartLoadGeneration++;
+        loadSeriesData(DailySeriesLoader.Metric.VENDAS, startDate, (int) daysBetween, salesSeries);
+        loadSeriesData(DailySeriesLoader.Metric.PEDIDOS, startDate, (int) daysBetween, ordersSeries);
 
         // Add series to charts
         salesChart.getData().add(salesSeries);
@@ -1405,7 +1205,16 @@ public class DashboardView {
      * Dispose method to clean up resources when switching views
      */
     public void dispose() {
-        // Clean up any background tasks or resources if needed
+        // Stop the best items load and any retries still scheduled
+        if (topItemsBatch != null) {
+            topItemsBatch.cancel();
+            topItemsBatch = null;
+        }
+        if (stockAlertsSubscription != null) {
+            stockAlertsSubscription.run();
+            stockAlertsSubscription = null;
+        }
+
         if (contentArea != null) {
             contentArea.getChildren().clear();
         }
@@ -1470,8 +1279,8 @@ public class DashboardView {
         countLabel.setTextFill(color);
 
         // Description text
-        String description = level.equals("Crítico") ? "Itens com stock ≤ 5 unidades"
-                : "Itens com stock entre 6 e 10 unidades";
+        String description = level.equals("Crítico") ? "Produtos e ingredientes no limite crítico"
+                : "Produtos e ingredientes com stock baixo";
 
         Label descLabel = new Label(description);
         descLabel.setFont(Font.font("System", FontWeight.NORMAL, 14));
@@ -1505,67 +1314,26 @@ public class DashboardView {
     }
 
     /**
-     * Loads and displays items with critical and low stock levels
-     */
-    private void loadStockAlerts() {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/item/getAll")))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(response -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            // Parse items from response
-                            JsonNode itemsNode = objectMapper.readTree(response.body());
-                            if (itemsNode.isArray()) {
-                                // Process items and update UI
-                                Platform.runLater(() -> processStockItems(itemsNode));
-                            }
-                        } catch (Exception e) {
-                            Platform.runLater(() -> showStockAlertError("Erro ao processar dados: " + e.getMessage()));
-                        }
-                    } else {
-                        Platform.runLater(() -> showStockAlertError("Erro na API: " + response.statusCode()));
-                    }
-                })
-                .exceptionally(ex -> {
-                    Platform.runLater(() -> showStockAlertError("Erro de conexão: " + ex.getMessage()));
-                    return null;
-                });
-    }
-
-    /**
-     * Process items from API and update the stock alert cards
-     *
-     * @param itemsNode JsonNode array of items
+     * Subscribes to the shared stock index. The catalogue is only downloaded
+     * when the index is empty or stale; afterwards the cards follow the
+     * changes pushed by StockAlertService.
      */
-    private void processStockItems(JsonNode itemsNode) {
-        // Lists to store items with critical and low stock
-        List<com.EatEaseFrontend.Item> criticalItems = new ArrayList<>();
-        List<com.EatEaseFrontend.Item> lowStockItems = new ArrayList<>();
-
-        // Parse each item and categorize it
-        try {
-            for (JsonNode node : itemsNode) {
-                com.EatEaseFrontend.Item item = objectMapper.treeToValue(node, com.EatEaseFrontend.Item.class);
-
-                // Check stock level
-                if (item.getStockAtual() <= 5) {
-                    criticalItems.add(item);
-                } else if (item.getStockAtual() <= 10) {
-                    lowStockItems.add(item);
-                }
+    private void subscribeStockAlerts() {
+        if (stockAlertsSubscription != null) {
+            stockAlertsSubscription.run();
+        }
+        stockAlertsSubscription = stockAlerts.subscribe(new StockAlertService.Listener() {
+            @Override
+            public void onAlerts(StockAlertService.StockAlerts alerts) {
+                updateStockAlertCard(criticalStockCard, alerts.critical());
+                updateStockAlertCard(lowStockCard, alerts.low());
             }
 
-            // Update UI with the results
-            updateStockAlertCard(criticalStockCard, criticalItems);
-            updateStockAlertCard(lowStockCard, lowStockItems);
-
-        } catch (Exception e) {
-            showStockAlertError("Erro ao processar itens: " + e.getMessage());
-        }
+            @Override
+            public void onError(Throwable error) {
+                showStockAlertError("Erro ao carregar stock: " + error.getMessage());
+            }
+        });
     }
 
     /**
@@ -1574,7 +1342,7 @@ public class DashboardView {
      * @param card  The card to update
      * @param items List of items to display
      */
-    private void updateStockAlertCard(VBox card, List<com.EatEaseFrontend.Item> items) {
+    private void updateStockAlertCard(VBox card, List<StockAlertService.Entry> items) {
         // Get references to the components we need to update
         VBox itemsList = (VBox) card.getProperties().get("itemsList");
         Label countLabel = (Label) card.getProperties().get("countLabel");
@@ -1593,12 +1361,12 @@ public class DashboardView {
             itemsList.getChildren().add(emptyLabel);
         } else {
             // Add each item to the list
-            for (com.EatEaseFrontend.Item item : items) {
-                HBox itemRow = createStockItemRow(item);
+            for (int i = 0; i < items.size(); i++) {
+                HBox itemRow = createStockItemRow(items.get(i));
                 itemsList.getChildren().add(itemRow);
 
                 // Add separator between items
-                if (items.indexOf(item) < items.size() - 1) {
+                if (i < items.size() - 1) {
                     Separator separator = new Separator();
                     separator.setPadding(new Insets(2, 0, 2, 0));
                     itemsList.getChildren().add(separator);
@@ -1608,29 +1376,31 @@ public class DashboardView {
     }
 
     /**
-     * Creates a row displaying an item's stock information
+     * Creates a row displaying an item's or ingredient's stock information
      *
-     * @param item The item to display
+     * @param item The stock entry to display
      * @return HBox containing the item info row
      */
-    private HBox createStockItemRow(com.EatEaseFrontend.Item item) {
+    private HBox createStockItemRow(StockAlertService.Entry item) {
         HBox row = new HBox(10);
         row.setAlignment(Pos.CENTER_LEFT);
         row.setPadding(new Insets(5));
 
         // Stock indicator circle
         Circle stockCircle = new Circle(6);
-        Color indicatorColor = item.getStockAtual() <= 5 ? Color.RED : Color.ORANGE;
+        Color indicatorColor = item.level() == StockThresholds.Level.CRITICAL ? Color.RED : Color.ORANGE;
         stockCircle.setFill(indicatorColor);
 
         // Item name
-        Label nameLabel = new Label(item.getNome());
+        Label nameLabel = new Label(item.kind() == StockAlertService.Kind.INGREDIENTE
+                ? item.name() + " (ingrediente)"
+                : item.name());
         nameLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
         nameLabel.setTextFill(Color.valueOf("#333333"));
         HBox.setHgrow(nameLabel, Priority.ALWAYS);
 
         // Stock quantity
-        Label stockLabel = new Label(item.getStockAtual() + " un.");
+        Label stockLabel = new Label(item.stock() + " " + item.unit());
         stockLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
         stockLabel.setTextFill(indicatorColor);
 
@@ -1657,7 +1427,7 @@ public class DashboardView {
 
         Button retryButton = new Button("Tentar Novamente");
         retryButton.getStyleClass().add("login-button");
-        retryButton.setOnAction(e -> loadStockAlerts());
+        retryButton.setOnAction(e -> stockAlerts.refresh());
 
         VBox errorBox = new VBox(10, errorLabel, retryButton);
         errorBox.setAlignment(Pos.CENTER);
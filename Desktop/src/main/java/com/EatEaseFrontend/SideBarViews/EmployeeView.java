@@ -1,5 +1,6 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.Cargo;
 import com.EatEaseFrontend.Employee;
@@ -20,7 +21,6 @@ import javafx.stage.Stage;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.List;
@@ -31,17 +31,17 @@ import java.util.List;
 public class EmployeeView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
 
     /**
      * Construtor da view de funcionários
      * 
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
      */
-    public EmployeeView(StackPane contentArea, HttpClient httpClient) {
+    public EmployeeView(StackPane contentArea, ApiClient apiClient) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
     }
 
     /**
@@ -65,7 +65,7 @@ public class EmployeeView {
                 .GET()
                 .build();
 
-        httpClient.sendAsync(getFuncReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(getFuncReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200) {
                         System.out.println("Funcionários -> " + resp.body());
@@ -448,7 +448,7 @@ public class EmployeeView {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Register response status: " + response.statusCode());
                     System.out.println("Register response body: " + response.body());
@@ -635,7 +635,7 @@ public class EmployeeView {
                 .PUT(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Update response status: " + response.statusCode());
                     System.out.println("Update response body: " + response.body());
@@ -672,7 +672,7 @@ public class EmployeeView {
                 .DELETE()
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Delete response status: " + response.statusCode());
                     System.out.println("Delete response body: " + response.body());
@@ -1,9 +1,16 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.Ingredient;
+import com.EatEaseFrontend.IngredientRepository;
 import com.EatEaseFrontend.JsonParser;
+import com.EatEaseFrontend.SearchDebouncer;
+import com.EatEaseFrontend.SearchIndex;
 import com.EatEaseFrontend.StageManager;
+import com.EatEaseFrontend.StockAlertService;
+import com.EatEaseFrontend.StockMovementQueue;
+import com.EatEaseFrontend.StockThresholds;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Insets;
@@ -21,14 +28,12 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * View para gerenciar e exibir ingredientes
@@ -36,9 +41,20 @@ import java.util.stream.Collectors;
 public class IngredientsView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
+    private final StockAlertService stockAlerts; // Índice de stock partilhado (alertas)
+    private final StockMovementQueue stockMovements; // Movimentos de stock por enviar
+    private final IngredientRepository ingredientRepository; // Ingredientes partilhados com as outras views
     private List<Ingredient> allIngredients; // Store all ingredients for filtering
+    // Ingredientes carregados e card de cada um (para atualizar só o card que mudou)
+    private Map<Integer, Ingredient> ingredientsById = new HashMap<>();
+    private final Map<Integer, VBox> cardsById = new HashMap<>();
     private TextField searchField; // Search field reference
+    // Índice de pesquisa por nome (ordem alfabética) e pesquisa com debounce
+    private final SearchIndex<Ingredient> ingredientIndex = new SearchIndex<>(Ingredient::getId,
+            Ingredient::getNome, (i1, i2) -> i1.getNome().compareToIgnoreCase(i2.getNome()));
+    private final SearchDebouncer<Ingredient> ingredientSearch = new SearchDebouncer<>(ingredientIndex,
+            this::displayFilteredIngredients);
 
     // Map to store unit IDs and their corresponding names
     private static final Map<Integer, String> UNIDADE_MAP = new HashMap<>();
@@ -56,11 +72,57 @@ public class IngredientsView {
      * Construtor da view de ingredientes
      *
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
+     * @param stockAlerts    Índice de stock, atualizado com os ingredientes
+     *                       carregados e os movimentos de stock
+     * @param stockMovements Fila onde os movimentos de stock são entregues
+     * @param ingredientRepository Ingredientes partilhados, atualizados com o
+     *                             que esta view carrega e altera
      */
-    public IngredientsView(StackPane contentArea, HttpClient httpClient) {
+    public IngredientsView(StackPane contentArea, ApiClient apiClient, StockAlertService stockAlerts,
+            StockMovementQueue stockMovements, IngredientRepository ingredientRepository) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
+        this.stockAlerts = stockAlerts;
+        this.stockMovements = stockMovements;
+        this.ingredientRepository = ingredientRepository;
+        stockMovements.subscribe(new StockMovementQueue.Listener() {
+            @Override
+            public void onDelivered(int ingredientId, int quantidade) {
+                System.out.println("Stock movimentado com sucesso: ingrediente " + ingredientId + " ("
+                        + quantidade + ")");
+            }
+
+            @Override
+            public void onRolledBack(int ingredientId, int quantidade, String reason) {
+                // Desfaz a alteração local
+                applyStockDelta(ingredientId, -quantidade);
+                PopUp.showPopupDialog(Alert.AlertType.ERROR, "Erro", "Falha ao movimentar stock",
+                        reason);
+            }
+
+            @Override
+            public void onUncertain(int ingredientId, int quantidade, int serverStock) {
+                // Passa a mostrar o stock do servidor (mais o que ainda está na fila)
+                Ingredient ingredient = ingredientsById.get(ingredientId);
+                if (ingredient != null) {
+                    int expected = serverStock + stockMovements.pendingDelta(ingredientId);
+                    applyStockDelta(ingredientId, expected - ingredient.getStock());
+                }
+                String nome = ingredient != null ? ingredient.getNome() : "ingrediente " + ingredientId;
+                PopUp.showPopupDialog(Alert.AlertType.WARNING, "Aviso", "Movimento de stock por confirmar",
+                        "Não foi possível confirmar o movimento de " + quantidade + " em " + nome
+                                + ". O stock no servidor é agora " + serverStock
+                                + "; verifique e repita o movimento se necessário.");
+            }
+
+            @Override
+            public void onSuspended(String reason) {
+                PopUp.showPopupDialog(Alert.AlertType.WARNING, "Aviso", "Sessão recusada pelo servidor",
+                        "Os movimentos de stock ficam guardados e são enviados depois de voltar a entrar.\n"
+                                + reason);
+            }
+        });
 
         // Initialize the unit mapping
         for (int i = 1; i < UNIDADE_NAMES.size(); i++) {
@@ -99,14 +161,27 @@ public class IngredientsView {
                 .GET()
                 .build();
 
-        httpClient.sendAsync(getIngredientsReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(getIngredientsReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200) {
                         System.out.println("Ingredientes -> " + resp.body());
-                        List<Ingredient> ingredients = JsonParser.parseIngredients(resp.body());
+                        List<Ingredient> loaded = JsonParser.parseIngredients(resp.body());
+                        // Movimentos ainda na fila não estão no stock do servidor
+                        Map<Integer, Ingredient> byId = new HashMap<>();
+                        for (Ingredient ingredient : loaded) {
+                            int queued = stockMovements.pendingDelta(ingredient.getId());
+                            ingredient.setStock(ingredient.getStock() + queued);
+                            byId.put(ingredient.getId(), ingredient);
+                        }
+                        // Indexar e ordenar fora da UI thread (só o que mudou é reindexado)
+                        ingredientIndex.setAll(loaded);
+                        List<Ingredient> ingredients = ingredientIndex.all();
                         allIngredients = ingredients; // Store all ingredients
+                        stockAlerts.replaceIngredients(ingredients);
+                        ingredientRepository.replaceAll(ingredients);
 
                         Platform.runLater(() -> {
+                            ingredientsById = byId;
                             displayIngredientsAsCards(ingredients);
                         });
                     } else {
@@ -131,6 +206,7 @@ public class IngredientsView {
      */
     private void displayIngredientsAsCards(List<Ingredient> ingredients) {
         contentArea.getChildren().clear();
+        cardsById.clear();
 
         // Create scroll pane for ingredient cards
         ScrollPane scrollPane = new ScrollPane();
@@ -188,13 +264,10 @@ public class IngredientsView {
             noIngredientsLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
             contentBox.getChildren().add(noIngredientsLabel);
         } else {
-            // Sort ingredients alphabetically by name
-            List<Ingredient> sortedIngredients = ingredients.stream()
-                    .sorted((i1, i2) -> i1.getNome().compareToIgnoreCase(i2.getNome()))
-                    .collect(Collectors.toList());
-
-            for (Ingredient ingredient : sortedIngredients) {
+            // Already sorted alphabetically by the search index
+            for (Ingredient ingredient : ingredients) {
                 VBox card = createIngredientCard(ingredient);
+                cardsById.put(ingredient.getId(), card);
                 ingredientCards.getChildren().add(card);
             }
             contentBox.getChildren().add(ingredientCards);
@@ -214,21 +287,9 @@ public class IngredientsView {
             return;
         }
 
-        List<Ingredient> filteredIngredients;
-
-        if (searchQuery == null || searchQuery.trim().isEmpty()) {
-            // Show all ingredients if search is empty
-            filteredIngredients = allIngredients;
-        } else {
-            // Filter ingredients that contain the search query (case insensitive)
-            String lowerCaseQuery = searchQuery.toLowerCase().trim();
-            filteredIngredients = allIngredients.stream()
-                    .filter(ingredient -> ingredient.getNome().toLowerCase().contains(lowerCaseQuery))
-                    .collect(Collectors.toList());
-        }
-
-        // Update the display with filtered ingredients
-        displayFilteredIngredients(filteredIngredients);
+        // The index ignores accents and case and keeps the alphabetical order;
+        // the query runs off the UI thread once the user stops typing
+        ingredientSearch.search(searchQuery);
     }
 
     /**
@@ -237,6 +298,11 @@ public class IngredientsView {
      * @param ingredients List of filtered ingredients to display
      */
     private void displayFilteredIngredients(List<Ingredient> ingredients) {
+        // Results may arrive after the user has left this view
+        if (searchField == null || searchField.getScene() == null) {
+            return;
+        }
+
         // Find the content box and update only the ingredient cards part
         ScrollPane scrollPane = (ScrollPane) contentArea.getChildren().get(0);
         VBox contentBox = (VBox) scrollPane.getContent();
@@ -245,6 +311,7 @@ public class IngredientsView {
         if (contentBox.getChildren().size() > 2) {
             contentBox.getChildren().remove(2, contentBox.getChildren().size());
         }
+        cardsById.clear();
 
         // Create new FlowPane for ingredient cards
         FlowPane ingredientCards = new FlowPane();
@@ -258,13 +325,10 @@ public class IngredientsView {
             noIngredientsLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
             contentBox.getChildren().add(noIngredientsLabel);
         } else {
-            // Sort ingredients alphabetically by name
-            List<Ingredient> sortedIngredients = ingredients.stream()
-                    .sorted((i1, i2) -> i1.getNome().compareToIgnoreCase(i2.getNome()))
-                    .collect(Collectors.toList());
-
-            for (Ingredient ingredient : sortedIngredients) {
+            // Already sorted alphabetically by the search index
+            for (Ingredient ingredient : ingredients) {
                 VBox card = createIngredientCard(ingredient);
+                cardsById.put(ingredient.getId(), card);
                 ingredientCards.getChildren().add(card);
             }
             contentBox.getChildren().add(ingredientCards);
@@ -304,12 +368,13 @@ public class IngredientsView {
         stockIndicator.setPrefWidth(15);
         stockIndicator.setPrefHeight(15);
 
-        // Set color based on stock level
+        // Set color based on stock level (same thresholds as the stock alerts)
         Color indicatorColor;
-        if (ingredient.getStock() <= ingredient.getStock_min() * 0.5) {
+        StockThresholds.Level stockLevel = StockThresholds.ofIngredient(ingredient);
+        if (stockLevel == StockThresholds.Level.CRITICAL) {
             // Critical - Red
             indicatorColor = Color.RED;
-        } else if (ingredient.getStock() <= ingredient.getStock_min()) {
+        } else if (stockLevel == StockThresholds.Level.LOW) {
             // Low - Orange
             indicatorColor = Color.ORANGE;
         } else {
@@ -712,10 +777,11 @@ public class IngredientsView {
                 .build();
 
         // Enviar a requisição de forma assíncrona
-        httpClient.sendAsync(createIngredientReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(createIngredientReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200 || resp.statusCode() == 201) {
                         System.out.println("Ingrediente criado com sucesso: " + resp.body());
+                        ingredientRepository.invalidate();
 
                         // Recarregar a lista de ingredientes
                         Platform.runLater(() -> {
@@ -1078,10 +1144,11 @@ public class IngredientsView {
                 .build();
 
         // Enviar a requisição de forma assíncrona
-        httpClient.sendAsync(updateIngredientReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(updateIngredientReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200 || resp.statusCode() == 204) {
                         System.out.println("Ingrediente atualizado com sucesso: " + resp.body());
+                        ingredientRepository.invalidate();
 
                         // Recarregar a lista de ingredientes
                         Platform.runLater(() -> {
@@ -1134,10 +1201,12 @@ public class IngredientsView {
                 .build();
 
         // Enviar a requisição de forma assíncrona
-        httpClient.sendAsync(deleteIngredientReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(deleteIngredientReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200 || resp.statusCode() == 204) {
                         System.out.println("Ingrediente excluído com sucesso: " + resp.body());
+                        stockAlerts.removeIngredient(id);
+                        ingredientRepository.remove(id);
 
                         // Recarregar a lista de ingredientes
                         Platform.runLater(() -> {
@@ -1436,66 +1505,41 @@ public class IngredientsView {
     }
 
     /**
-     * Envia uma requisição para a API para movimentar o stock de um ingrediente
+     * Movimenta o stock de um ingrediente. A alteração é aplicada logo ao
+     * ingrediente e ao seu card, e o movimento segue pela StockMovementQueue
+     * (junto com outros do mesmo ingrediente); se o servidor o rejeitar é
+     * desfeito.
      * 
      * @param ingredientId ID do ingrediente
      * @param quantidade   Quantidade a ser movimentada (positiva para adicionar,
      *                     negativa para remover)
      */
     private void moveStock(int ingredientId, int quantidade) {
-        // Criar JSON para a requisição
-        String jsonBody = String.format("{\"quantidade\":%d}", quantidade);
-
-        System.out.println("Enviando requisição para movimentar stock: " + jsonBody);
-
-        // Criar a requisição HTTP
-        HttpRequest moveStockReq = HttpRequest.newBuilder()
-                .uri(URI.create(
-                        AppConfig.getApiEndpoint("/movimentosIngredientes/movStock?id_ingrediente=" + ingredientId)))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        // Enviar a requisição de forma assíncrona
-        httpClient.sendAsync(moveStockReq, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(resp -> {
-                    if (resp.statusCode() == 200 || resp.statusCode() == 201) {
-                        System.out.println("Stock movimentado com sucesso: " + resp.body());
-
-                        // Recarregar a lista de ingredientes
-                        Platform.runLater(() -> {
-                            show(); // Reload all ingredients
-                            // Clear search field to show all ingredients
-                            if (searchField != null) {
-                                searchField.clear();
-                            }
-                        });
-
-                        // Mostrar mensagem de sucesso
-                        Platform.runLater(() -> {
-                            String message = quantidade > 0 ? "Stock adicionado com sucesso!"
-                                    : "Stock removido com sucesso!";
-                            PopUp.showPopupDialog(Alert.AlertType.INFORMATION, "Sucesso", "Stock atualizado", message);
-                        });
-                    } else {
-                        System.err.println("Erro ao movimentar stock: " + resp.statusCode() + " - " + resp.body());
-
-                        // Mostrar mensagem de erro
-                        Platform.runLater(() -> {
-                            PopUp.showPopupDialog(Alert.AlertType.ERROR, "Erro", "Falha ao movimentar stock",
-                                    "Status code: " + resp.statusCode() + "\nResposta: " + resp.body());
-                        });
-                    }
-                })
-                .exceptionally(ex -> {
-                    ex.printStackTrace();
+        System.out.println("Movimento de stock em fila: ingrediente " + ingredientId + " (" + quantidade + ")");
+        applyStockDelta(ingredientId, quantidade);
+        stockMovements.submit(ingredientId, quantidade);
+    }
 
-                    // Mostrar mensagem de erro
-                    Platform.runLater(() -> {
-                        PopUp.showPopupDialog(Alert.AlertType.ERROR, "Erro", "Falha ao movimentar stock",
-                                "Erro: " + ex.getMessage());
-                    });
-                    return null;
-                });
+    /**
+     * Aplica uma variação de stock ao modelo local: ingrediente, card, alertas
+     * e IngredientRepository. Corre na UI thread.
+     */
+    private void applyStockDelta(int ingredientId, int quantidade) {
+        stockAlerts.applyIngredientDelta(ingredientId, quantidade);
+        Ingredient ingredient = ingredientsById.get(ingredientId);
+        if (ingredient == null) {
+            ingredientRepository.invalidate();
+            return;
+        }
+        ingredient.setStock(ingredient.getStock() + quantidade);
+        ingredientRepository.put(ingredient);
+
+        // Só o card deste ingrediente é recriado
+        VBox card = cardsById.get(ingredientId);
+        if (card != null && card.getParent() instanceof Pane parent) {
+            VBox updated = createIngredientCard(ingredient);
+            parent.getChildren().set(parent.getChildren().indexOf(card), updated);
+            cardsById.put(ingredientId, updated);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,23 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
+import com.EatEaseFrontend.AsyncOperationManager;
 import com.EatEaseFrontend.Ingredient;
+import com.EatEaseFrontend.IngredientRepository;
 import com.EatEaseFrontend.Item;
+import com.EatEaseFrontend.ItemCache;
+import com.EatEaseFrontend.ItemImageCache;
 import com.EatEaseFrontend.ItemJsonLoader;
 import com.EatEaseFrontend.JsonParser;
+import com.EatEaseFrontend.MultipartUpload;
+import com.EatEaseFrontend.PhotoResizer;
+import com.EatEaseFrontend.SearchDebouncer;
+import com.EatEaseFrontend.SearchIndex;
 import com.EatEaseFrontend.StageManager;
+import com.EatEaseFrontend.StockAlertService;
+import com.EatEaseFrontend.StockThresholds;
+import com.EatEaseFrontend.VirtualCardGrid;
 import java.util.Comparator;
 import java.util.stream.Collectors;
 import javafx.application.Platform;
@@ -18,7 +30,6 @@ import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -36,20 +47,26 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.text.NumberFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import javafx.collections.ObservableList;
 
 /**
@@ -58,10 +75,27 @@ import javafx.collections.ObservableList;
 public class ItemView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
     private final NumberFormat currencyFormatter;
-    private List<Item> allItems; // Store all items for filtering
+    private List<Item> allItems; // Store all items for filtering (sorted by name)
     private TextField searchField; // Search field reference
+    // Índice de pesquisa por nome (ordem alfabética) e pesquisa com debounce
+    private final SearchIndex<Item> itemIndex = new SearchIndex<>(Item::getId, Item::getNome,
+            Comparator.comparing(Item::getNome, String.CASE_INSENSITIVE_ORDER));
+    private final SearchDebouncer<Item> itemSearch = new SearchDebouncer<>(itemIndex, this::displayFilteredItems);
+    private final ItemImageCache imageCache; // Fotos e miniaturas em cache (memória e disco)
+    private final StockAlertService stockAlerts; // Índice de stock partilhado (alertas)
+    private final AsyncOperationManager asyncManager; // Trabalho bloqueante (ex: reduzir fotos)
+    private static final int CARD_THUMBNAIL_SIZE = 48;
+    private static final int UPLOAD_RETRIES = 2;
+    // Grelha virtualizada dos cards e label mostrado quando não há itens
+    private VirtualCardGrid<Item> itemGrid;
+    private Label noItemsLabel;
+    // Produtos e ingredientes partilhados (índice por id), usados nos cards e diálogos
+    private final ItemCache itemCache;
+    private final IngredientRepository ingredientRepository;
+    private boolean ingredientsLoaded = false;
+    private boolean ingredientsLoadFailed = false;
 
     // Map to store unit IDs and their corresponding names (same as IngredientsView)
     private static final List<String> UNIDADE_NAMES = Arrays.asList(
@@ -91,12 +125,22 @@ public class ItemView {
      * Construtor da view de itens
      * 
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
+     * @param stockAlerts Índice de stock, atualizado com os itens carregados
+     * @param itemCache   Produtos partilhados, atualizados com os itens
+     *                    carregados e apagados
+     * @param ingredientRepository Ingredientes partilhados
      */
-    public ItemView(StackPane contentArea, HttpClient httpClient) {
+    public ItemView(StackPane contentArea, ApiClient apiClient, StockAlertService stockAlerts, ItemCache itemCache,
+            IngredientRepository ingredientRepository) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
+        this.stockAlerts = stockAlerts;
+        this.itemCache = itemCache;
+        this.ingredientRepository = ingredientRepository;
         this.currencyFormatter = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("pt-PT"));
+        this.imageCache = new ItemImageCache(apiClient);
+        this.asyncManager = new AsyncOperationManager();
     }
 
     /**
@@ -114,19 +158,25 @@ public class ItemView {
         loadingBox.setAlignment(Pos.CENTER);
         contentArea.getChildren().add(loadingBox);
 
+        // Ingredientes usados nos cards (um só pedido para todos)
+        loadIngredientsForCards();
+
         // Make API request to get items
         HttpRequest getItemsReq = HttpRequest.newBuilder()
                 .uri(URI.create(AppConfig.getApiEndpoint("/item/getAll")))
                 .GET()
                 .build();
 
-        httpClient.sendAsync(getItemsReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(getItemsReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
                     if (resp.statusCode() == 200) {
                         System.out.println("Itens -> " + resp.body());
                         List<Item> items = new ArrayList<>();
                         try {
                             items = ItemJsonLoader.parseItems(resp.body());
+                            // A lista acabada de chegar atualiza os alertas de stock e a cache partilhada
+                            stockAlerts.replaceItems(items);
+                            itemCache.replaceAll(items);
                             // Debug: print each item and its composition status
                             for (Item item : items) {
                                 System.out.println("DEBUG: Loaded item - " + item.getNome() +
@@ -137,8 +187,11 @@ public class ItemView {
                         } catch (Exception e) {
                             e.printStackTrace();
                         }
-                        allItems = items; // Store all items for filtering
-                        List<Item> finalItems = items;
+                        // Indexar e ordenar fora da UI thread (só o que mudou é
+                        // reindexado); a pesquisa mantém esta ordem
+                        itemIndex.setAll(items);
+                        allItems = itemIndex.all(); // Store all items for filtering
+                        List<Item> finalItems = allItems;
                         Platform.runLater(() -> {
                             displayItemsAsCards(finalItems);
                         });
@@ -159,26 +212,101 @@ public class ItemView {
     }
 
     /**
-     * Exibe os itens como cards em um FlowPane
+     * Garante que o IngredientRepository está atual para todos os cards (só há
+     * pedido se algo mudou); quando fica pronto, os cards visíveis são
+     * recriados com os nomes
+     */
+    private void loadIngredientsForCards() {
+        ingredientsLoaded = ingredientRepository.isCurrent();
+        ingredientsLoadFailed = false;
+
+        ingredientRepository.getAll(false)
+                .thenAccept(ingredients -> {
+                    Platform.runLater(() -> {
+                        ingredientsLoaded = true;
+                        if (itemGrid != null) {
+                            itemGrid.refreshCards();
+                        }
+                    });
+                })
+                .exceptionally(ex -> {
+                    System.err.println("Erro ao carregar ingredientes: " + ex.getMessage());
+                    Platform.runLater(() -> {
+                        ingredientsLoadFailed = true;
+                        if (itemGrid != null) {
+                            itemGrid.refreshCards();
+                        }
+                    });
+                    return null;
+                });
+    }
+
+    /**
+     * Carrega os ingredientes de um diálogo de produto a partir do
+     * IngredientRepository, ordenados por nome
      * 
-     * @param items Lista de itens a serem exibidos
+     * @param loadBtn      Botão de carregar/recarregar do diálogo
+     * @param forceRefresh Descarregar a lista mesmo que nada tenha mudado
+     * @param onLoaded     Recebe a lista ordenada na UI thread
      */
-    private void displayItemsAsCards(List<Item> items) {
-        contentArea.getChildren().clear();
+    private void loadDialogIngredients(Button loadBtn, boolean forceRefresh,
+            Consumer<List<Ingredient>> onLoaded) {
+        loadBtn.setDisable(true);
+        loadBtn.setText("Carregando...");
+        ingredientRepository.getAll(forceRefresh)
+                .thenAccept(ingredients -> {
+                    // Ordenar os ingredientes por nome em ordem alfabética
+                    List<Ingredient> list = new ArrayList<>(ingredients);
+                    list.sort(Comparator.comparing(Ingredient::getNome));
 
-        // Create scroll pane for item cards
-        ScrollPane scrollPane = new ScrollPane();
-        scrollPane.setFitToWidth(true);
-        scrollPane.setPadding(new Insets(20));
+                    Platform.runLater(() -> {
+                        onLoaded.accept(list);
+                        loadBtn.setText("Recarregar");
+                        loadBtn.setDisable(false);
+                    });
+                })
+                .exceptionally(ex -> {
+                    System.err.println("Erro ao carregar ingredientes: " + ex.getMessage());
+                    Platform.runLater(() -> {
+                        loadBtn.setText("Falha ao Carregar");
+                        loadBtn.setDisable(false);
+                    });
+                    return null;
+                });
+    }
+
+    /**
+     * Pré-carrega na tabela do diálogo de edição os ingredientes do item, com
+     * nome e unidade vindos do IngredientRepository
+     */
+    private void fillItemIngredients(Item item, TableView<IngredientRowData> table) {
+        if (item.getIngredientes() == null) {
+            return;
+        }
+        table.getItems().clear();
+        for (Item.ItemIngrediente ii : item.getIngredientes()) {
+            Ingredient ing = ingredientRepository.get(ii.getIngredienteId());
+
+            String nome = ing != null ? ing.getNome() : "ID:" + ii.getIngredienteId();
+            String unitName = ing != null ? getUnidadeName(ing.getUnidade_id()) : "Desconhecido";
 
-        // Use FlowPane for responsive cards layout
-        FlowPane itemCards = new FlowPane();
-        itemCards.setHgap(20);
-        itemCards.setVgap(20);
-        itemCards.setPadding(new Insets(20));
+            table.getItems().add(
+                    new IngredientRowData(ii.getIngredienteId(), nome, unitName, ii.getQuantidade()));
+        }
+    }
+
+    /**
+     * Exibe os itens como cards numa grelha virtualizada (só as linhas
+     * visíveis são criadas)
+     * 
+     * @param items Lista de itens a serem exibidos, já ordenada
+     */
+    private void displayItemsAsCards(List<Item> items) {
+        contentArea.getChildren().clear();
 
         // Add section header
         VBox contentBox = new VBox(20);
+        contentBox.setPadding(new Insets(20));
         HBox headerBox = new HBox();
         headerBox.setPadding(new Insets(0, 0, 20, 0));
 
@@ -214,28 +342,17 @@ public class ItemView {
         HBox.setHgrow(spacer, Priority.ALWAYS);
         headerBox.getChildren().addAll(spacer, addButton);
 
-        contentBox.getChildren().addAll(headerBox, searchBox);
+        // Grelha de cards (ListView de linhas) e label para lista vazia
+        itemGrid = new VirtualCardGrid<>(this::createItemCard, 300, 20);
+        VBox.setVgrow(itemGrid, Priority.ALWAYS);
 
-        // Add item cards
-        if (items.isEmpty()) {
-            Label noItemsLabel = new Label("Nenhum item encontrado");
-            noItemsLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
-            contentBox.getChildren().add(noItemsLabel);
-        } else {
-            // Sort items alphabetically by name
-            List<Item> sortedItems = items.stream()
-                    .sorted(Comparator.comparing(Item::getNome, String.CASE_INSENSITIVE_ORDER))
-                    .collect(Collectors.toList());
-
-            for (Item item : sortedItems) {
-                VBox card = createItemCard(item);
-                itemCards.getChildren().add(card);
-            }
-            contentBox.getChildren().add(itemCards);
-        }
+        noItemsLabel = new Label("Nenhum item encontrado");
+        noItemsLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
+
+        contentBox.getChildren().addAll(headerBox, searchBox, itemGrid);
+        contentArea.getChildren().add(contentBox);
 
-        scrollPane.setContent(contentBox);
-        contentArea.getChildren().add(scrollPane);
+        displayFilteredItems(items);
     }
 
     /**
@@ -248,65 +365,32 @@ public class ItemView {
             return;
         }
 
-        List<Item> filteredItems;
-
-        if (searchQuery == null || searchQuery.trim().isEmpty()) {
-            // Show all items if search is empty
-            filteredItems = allItems;
-        } else {
-            // Filter items that contain the search query (case insensitive)
-            String lowerCaseQuery = searchQuery.toLowerCase().trim();
-            filteredItems = allItems.stream()
-                    .filter(item -> item.getNome().toLowerCase().contains(lowerCaseQuery))
-                    .collect(Collectors.toList());
-        }
-
-        // Sort filtered items alphabetically by name
-        filteredItems = filteredItems.stream()
-                .sorted(Comparator.comparing(Item::getNome, String.CASE_INSENSITIVE_ORDER))
-                .collect(Collectors.toList());
-
-        // Update the display with filtered items
-        displayFilteredItems(filteredItems);
+        // The index ignores accents and case and keeps the alphabetical order;
+        // the query runs off the UI thread once the user stops typing
+        itemSearch.search(searchQuery);
     }
 
     /**
-     * Displays the filtered items without affecting the search bar
+     * Displays the filtered items without affecting the search bar. Only the
+     * grid contents change; cards are built for the visible rows only.
      * 
      * @param items List of filtered items to display
      */
     private void displayFilteredItems(List<Item> items) {
-        // Find the content box and update only the item cards part
-        ScrollPane scrollPane = (ScrollPane) contentArea.getChildren().get(0);
-        VBox contentBox = (VBox) scrollPane.getContent();
-
-        // Remove existing item cards (keep header and search bar)
-        if (contentBox.getChildren().size() > 2) {
-            contentBox.getChildren().remove(2, contentBox.getChildren().size());
+        if (itemGrid == null) {
+            return;
         }
 
-        // Create new FlowPane for item cards
-        FlowPane itemCards = new FlowPane();
-        itemCards.setHgap(20);
-        itemCards.setVgap(20);
-        itemCards.setPadding(new Insets(20));
+        VBox contentBox = (VBox) itemGrid.getParent();
+        itemGrid.setElements(items);
 
-        // Add item cards
-        if (items.isEmpty()) {
-            Label noItemsLabel = new Label("Nenhum item encontrado");
-            noItemsLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
+        boolean empty = items.isEmpty();
+        itemGrid.setVisible(!empty);
+        itemGrid.setManaged(!empty);
+        if (empty && !contentBox.getChildren().contains(noItemsLabel)) {
             contentBox.getChildren().add(noItemsLabel);
-        } else {
-            // Sort items alphabetically by name
-            List<Item> sortedItems = items.stream()
-                    .sorted(Comparator.comparing(Item::getNome, String.CASE_INSENSITIVE_ORDER))
-                    .collect(Collectors.toList());
-
-            for (Item item : sortedItems) {
-                VBox card = createItemCard(item);
-                itemCards.getChildren().add(card);
-            }
-            contentBox.getChildren().add(itemCards);
+        } else if (!empty) {
+            contentBox.getChildren().remove(noItemsLabel);
         }
     }
 
@@ -320,73 +404,136 @@ public class ItemView {
         if (file == null)
             return; // utilizador cancelou
 
-        try {
-            // 2. Prepara multipart body
-            String boundary = "----EatEaseBoundary" + System.currentTimeMillis();
-            Path path = file.toPath();
-            String mimeType = Files.probeContentType(path);
-            if (mimeType == null)
-                mimeType = "application/octet-stream";
-
-            List<byte[]> byteArrays = new ArrayList<>();
-            String partHeader = "--" + boundary + "\r\n" +
-                    "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getName() + "\"\r\n" +
-                    "Content-Type: " + mimeType + "\r\n\r\n";
-            byteArrays.add(partHeader.getBytes());
-            byteArrays.add(Files.readAllBytes(path));
-            byteArrays.add(("\r\n--" + boundary + "--\r\n").getBytes());
-
-            var bodyPublisher = HttpRequest.BodyPublishers.ofByteArrays(byteArrays);
-
-            // 3. Cria e envia a request
-            String url = AppConfig.getApiEndpoint("/item/setFoto?itemId=" + item.getId());
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
-                    .POST(bodyPublisher)
-                    .build();
-
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        Platform.runLater(() -> {
-                            if (resp.statusCode() == 200) {
-                                PopUp.showPopupDialog(
-                                        Alert.AlertType.INFORMATION,
-                                        "Sucesso", "Foto Carregada",
-                                        "A foto foi enviada com sucesso para o item “" + item.getNome() + "”.");
-                                show(); // recarrega a lista ou detalhe
-                            } else {
-                                PopUp.showPopupDialog(
-                                        Alert.AlertType.ERROR,
-                                        "Erro", "Falha no Upload",
-                                        "Status: " + resp.statusCode() +
-                                                "\nResposta: " + resp.body());
-                            }
-                        });
-                    })
-                    .exceptionally(ex -> {
-                        Platform.runLater(() -> {
-                            PopUp.showPopupDialog(
-                                    Alert.AlertType.ERROR,
-                                    "Erro", "Exceção no Upload",
-                                    ex.getMessage());
-                        });
-                        return null;
-                    });
-
-        } catch (Exception e) {
-            Platform.runLater(() -> {
+        // 2. Janela de progresso com botão para cancelar
+        ProgressBar progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        progressBar.setPrefWidth(320);
+        Label statusLabel = new Label("A preparar a foto...");
+        Button cancelButton = new Button("Cancelar");
+        cancelButton.getStyleClass().add("popup-button");
+
+        VBox progressBox = new VBox(15, new Label("Foto de " + item.getNome()), progressBar, statusLabel,
+                cancelButton);
+        progressBox.setAlignment(Pos.CENTER);
+        progressBox.setPadding(new Insets(25));
+        progressBox.getStyleClass().add("popup-container");
+
+        Stage progressStage = new Stage();
+        progressStage.setTitle("Carregar Foto");
+        StageManager.setupStage(progressStage);
+        progressStage.setScene(new Scene(progressBox));
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        AtomicReference<MultipartUpload> currentUpload = new AtomicReference<>();
+        cancelButton.setOnAction(e -> {
+            cancelled.set(true);
+            MultipartUpload upload = currentUpload.get();
+            if (upload != null) {
+                upload.cancel();
+            }
+            progressStage.close();
+        });
+        progressStage.setOnCloseRequest(e -> cancelButton.fire());
+        progressStage.show();
+
+        // 3. Reduz a foto (se for grande) no executor bloqueante e envia em streaming
+        asyncManager.executeOperation(() -> {
+            try {
+                return PhotoResizer.prepare(file.toPath());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, null, null).thenCompose(photo -> {
+            if (cancelled.get()) {
+                photo.cleanup();
+                return CompletableFuture.failedFuture(new CancellationException("Upload cancelado"));
+            }
+            MultipartUpload upload;
+            try {
+                upload = new MultipartUpload("file", photo.file(), photo.filename(), photo.mimeType(),
+                        uploadProgress(progressBar, statusLabel));
+            } catch (IOException e) {
+                photo.cleanup();
+                return CompletableFuture.failedFuture(e);
+            }
+            currentUpload.set(upload);
+            return sendUpload(item, upload, UPLOAD_RETRIES)
+                    .whenComplete((resp, ex) -> photo.cleanup());
+        }).whenComplete((resp, ex) -> Platform.runLater(() -> {
+            progressStage.close();
+            if (cancelled.get()) {
+                System.out.println("Upload da foto do item " + item.getId() + " cancelado");
+                return;
+            }
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
                 PopUp.showPopupDialog(
                         Alert.AlertType.ERROR,
-                        "Erro", "Não foi possível ler o ficheiro",
-                        e.getMessage());
-            });
-        }
+                        "Erro", "Exceção no Upload",
+                        cause.getMessage());
+            } else if (resp.statusCode() == 200) {
+                PopUp.showPopupDialog(
+                        Alert.AlertType.INFORMATION,
+                        "Sucesso", "Foto Carregada",
+                        "A foto foi enviada com sucesso para o item “" + item.getNome() + "”.");
+                if (item.getFoto() != null && !item.getFoto().isEmpty()) {
+                    imageCache.invalidate(item.getFoto()); // a foto antiga deixa de valer
+                }
+                show(); // recarrega a lista ou detalhe
+            } else {
+                PopUp.showPopupDialog(
+                        Alert.AlertType.ERROR,
+                        "Erro", "Falha no Upload",
+                        "Status: " + resp.statusCode() +
+                                "\nResposta: " + resp.body());
+            }
+        }));
+    }
+
+    /**
+     * Envia o upload, voltando a tentar (com o ficheiro desde o início) se a
+     * ligação falhar a meio
+     *
+     * @param attemptsLeft Novas tentativas ainda permitidas
+     */
+    private CompletableFuture<HttpResponse<String>> sendUpload(Item item, MultipartUpload upload, int attemptsLeft) {
+        HttpRequest request = apiClient.request("/item/setFoto?itemId=" + item.getId())
+                .timeout(Duration.ofSeconds(AppConfig.getUploadTimeoutSeconds()))
+                .header("Content-Type", upload.getContentType())
+                .POST(upload.bodyPublisher())
+                .build();
+
+        return apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .exceptionallyCompose(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (upload.isCancelled() || attemptsLeft <= 0 || !(cause instanceof IOException)) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    long delay = 1000L << (UPLOAD_RETRIES - attemptsLeft);
+                    System.err.println("Upload falhou (" + cause.getMessage() + "), nova tentativa em " + delay + " ms");
+                    return CompletableFuture.supplyAsync(() -> null,
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> sendUpload(item, upload, attemptsLeft - 1));
+                });
+    }
+
+    /**
+     * Atualiza a barra de progresso do upload (só quando a percentagem muda)
+     */
+    private MultipartUpload.ProgressListener uploadProgress(ProgressBar progressBar, Label statusLabel) {
+        AtomicInteger lastPercent = new AtomicInteger(-1);
+        return (sent, total) -> {
+            int percent = (int) (sent * 100 / Math.max(1, total));
+            if (lastPercent.getAndSet(percent) != percent) {
+                Platform.runLater(() -> {
+                    progressBar.setProgress(percent / 100.0);
+                    statusLabel.setText("A enviar... " + percent + "% de " + (total / 1024) + " KB");
+                });
+            }
+        };
     }
 
     private void seeUploadedFoto(Item item) {
         String filename = item.getFoto();
-        String url = AppConfig.getApiEndpoint("/uploads/items/" + filename);
 
         Platform.runLater(() -> {
             // 1. Pega no primaryStage para posicionar o popup ao centro
@@ -410,9 +557,11 @@ public class ItemView {
             popup.setAutoHide(true);
 
             // 5. Preparar ImageView com tamanhos responsivos
-            Image img = new Image(url, true);
-            ImageView iv = new ImageView(img);
+            // A foto vem da cache (memória/disco) e só é descarregada na
+            // primeira vez ou quando mudou no servidor
+            ImageView iv = new ImageView();
             iv.setPreserveRatio(true);
+            imageCache.load(filename, iv::setImage);
 
             // Tamanho da imagem será 90% do popup menos padding
             double maxImageWidth = popupWidth * 0.9 - 40; // 40 para padding total
@@ -476,6 +625,20 @@ public class ItemView {
         nameLabel.setFont(Font.font("System", FontWeight.BOLD, 18));
         nameLabel.getStyleClass().add("card-title");
 
+        // Title row with the photo thumbnail (downscaled, from the image cache)
+        HBox titleBox = new HBox(10, nameLabel);
+        titleBox.setAlignment(Pos.CENTER_LEFT);
+        if (item.getFoto() != null && !item.getFoto().isEmpty()) {
+            ImageView thumbnail = new ImageView();
+            thumbnail.setFitWidth(CARD_THUMBNAIL_SIZE);
+            thumbnail.setFitHeight(CARD_THUMBNAIL_SIZE);
+            thumbnail.setPreserveRatio(true);
+            Region titleSpacer = new Region();
+            HBox.setHgrow(titleSpacer, Priority.ALWAYS);
+            titleBox.getChildren().addAll(titleSpacer, thumbnail);
+            imageCache.loadThumbnail(item.getFoto(), CARD_THUMBNAIL_SIZE, thumbnail::setImage);
+        }
+
         // Item information
         Label idLabel = new Label("ID: " + item.getId());
         Label tipoLabel = new Label("Tipo: " + item.getTipoPratoName());
@@ -493,12 +656,13 @@ public class ItemView {
         stockIndicator.setPrefHeight(15);
 
         // STOCK COLOR
-        // Set color based on stock level (assume below 5 is critical)
+        // Set color based on stock level (same thresholds as the stock alerts)
         Color indicatorColor;
-        if (item.getStockAtual() <= 5) {
+        StockThresholds.Level stockLevel = StockThresholds.ofItem(item);
+        if (stockLevel == StockThresholds.Level.CRITICAL) {
             // Critical - Red
             indicatorColor = Color.RED;
-        } else if (item.getStockAtual() <= 10) {
+        } else if (stockLevel == StockThresholds.Level.LOW) {
             // Low - Orange
             indicatorColor = Color.ORANGE;
         } else {
@@ -593,7 +757,7 @@ public class ItemView {
         buttonsBox.getChildren().addAll(editButton, deleteButton, uploadFotoButton);
 
         // Add all elements to card
-        card.getChildren().addAll(nameLabel, idLabel, tipoLabel, precoLabel, stockBox, mainIngredientsContainer,
+        card.getChildren().addAll(titleBox, idLabel, tipoLabel, precoLabel, stockBox, mainIngredientsContainer,
                 buttonsBox);
 
         if (item.getFoto() != null && !item.getFoto().isEmpty()) {
@@ -757,63 +921,20 @@ public class ItemView {
             }
         });
 
-        // Carrega ingredientes automaticamente ao abrir o diálogo
-        loadBtn.setDisable(true);
-        loadBtn.setText("Carregando...");
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                .GET().build();
-        httpClient.sendAsync(req, BodyHandlers.ofString())
-                .thenAccept(resp -> {
-                    List<Ingredient> list = JsonParser.parseIngredients(resp.body());
-                    // Ordenar os ingredientes por nome em ordem alfabética
-                    list.sort(Comparator.comparing(Ingredient::getNome));
-
-                    Platform.runLater(() -> {
-                        originalList.clear();
-                        originalList.addAll(list); // Guardar lista original para filtro
-                        ingCombo.getItems().setAll(list);
-                        loadBtn.setText("Recarregar");
-                        loadBtn.setDisable(false);
-                    });
-                })
-                .exceptionally(ex -> {
-                    Platform.runLater(() -> {
-                        loadBtn.setText("Falha ao Carregar");
-                        loadBtn.setDisable(false);
-                    });
-                    return null;
-                });
+        // Carrega ingredientes automaticamente ao abrir o diálogo (do
+        // IngredientRepository, sem pedido se nada mudou)
+        loadDialogIngredients(loadBtn, false, list -> {
+            originalList.clear();
+            originalList.addAll(list); // Guardar lista original para filtro
+            ingCombo.getItems().setAll(list);
+        });
 
         // Ação do botão para recarregar quando necessário
-        loadBtn.setOnAction(e -> {
-            loadBtn.setDisable(true);
-            loadBtn.setText("Carregando...");
-            HttpRequest reqReload = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                    .GET().build();
-            httpClient.sendAsync(reqReload, BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        List<Ingredient> list = JsonParser.parseIngredients(resp.body());
-                        // Ordenar os ingredientes por nome em ordem alfabética
-                        list.sort(Comparator.comparing(Ingredient::getNome));
-
-                        Platform.runLater(() -> {
-                            originalList.clear();
-                            originalList.addAll(list); // Atualizar lista original para filtro
-                            ingCombo.getItems().setAll(list);
-                            loadBtn.setText("Recarregar");
-                            loadBtn.setDisable(false);
-                        });
-                    })
-                    .exceptionally(ex -> {
-                        Platform.runLater(() -> {
-                            loadBtn.setText("Falha ao Carregar");
-                            loadBtn.setDisable(false);
-                        });
-                        return null;
-                    });
-        });
+        loadBtn.setOnAction(e -> loadDialogIngredients(loadBtn, true, list -> {
+            originalList.clear();
+            originalList.addAll(list); // Atualizar lista original para filtro
+            ingCombo.getItems().setAll(list);
+        }));
 
         // 4) Botões principais
         Button submit = new Button("Adicionar");
@@ -1114,7 +1235,7 @@ public class ItemView {
                     .build();
 
             // Enviar a requisição de forma assíncrona
-            httpClient.sendAsync(createItemReq, HttpResponse.BodyHandlers.ofString())
+            apiClient.sendAsync(createItemReq, HttpResponse.BodyHandlers.ofString())
                     .thenAccept(resp -> {
 
                         Platform.runLater(() -> {
@@ -1441,100 +1562,22 @@ public class ItemView {
             }
         });
 
-        // Carrega ingredientes automaticamente ao abrir o diálogo
-        loadBtn.setDisable(true);
-        loadBtn.setText("Carregando...");
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                .GET().build();
-        httpClient.sendAsync(req, BodyHandlers.ofString())
-                .thenAccept(resp -> {
-                    List<Ingredient> list = JsonParser.parseIngredients(resp.body());
-                    // Ordenar os ingredientes por nome em ordem alfabética
-                    list.sort(Comparator.comparing(Ingredient::getNome));
-
-                    Platform.runLater(() -> {
-                        originalList.clear();
-                        originalList.addAll(list); // Guardar lista original para filtro
-                        ingCombo.getItems().setAll(list);
-
-                        // pré-carrega os existentes do item
-                        if (item.getIngredientes() != null) {
-                            table.getItems().clear();
-                            for (Item.ItemIngrediente ii : item.getIngredientes()) {
-                                Ingredient ing = list.stream()
-                                        .filter(x -> x.getId() == ii.getIngredienteId())
-                                        .findFirst()
-                                        .orElse(null);
-
-                                String nome = ing != null ? ing.getNome() : "ID:" + ii.getIngredienteId();
-                                String unitName = ing != null ? getUnidadeName(ing.getUnidade_id()) : "Desconhecido";
-
-                                table.getItems().add(
-                                        new IngredientRowData(ii.getIngredienteId(), nome, unitName,
-                                                ii.getQuantidade()));
-                            }
-                        }
-                        loadBtn.setText("Recarregar");
-                        loadBtn.setDisable(false);
-                    });
-                })
-                .exceptionally(ex -> {
-                    Platform.runLater(() -> {
-                        loadBtn.setText("Falha ao Carregar");
-                        loadBtn.setDisable(false);
-                    });
-                    return null;
-                });
+        // Carrega ingredientes automaticamente ao abrir o diálogo (do
+        // IngredientRepository, sem pedido se nada mudou)
+        loadDialogIngredients(loadBtn, false, list -> {
+            originalList.clear();
+            originalList.addAll(list); // Guardar lista original para filtro
+            ingCombo.getItems().setAll(list);
+            fillItemIngredients(item, table);
+        });
 
         // Ação do botão para recarregar quando necessário
-        loadBtn.setOnAction(e -> {
-            loadBtn.setDisable(true);
-            loadBtn.setText("Carregando...");
-            HttpRequest reqReload = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                    .GET().build();
-            httpClient.sendAsync(reqReload, BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        List<Ingredient> list = JsonParser.parseIngredients(resp.body());
-                        // Ordenar os ingredientes por nome em ordem alfabética
-                        list.sort(Comparator.comparing(Ingredient::getNome));
-
-                        Platform.runLater(() -> {
-                            originalList.clear();
-                            originalList.addAll(list); // Atualizar lista original para filtro
-                            ingCombo.getItems().setAll(list);
-
-                            // pré-carrega os existentes do item
-                            if (item.getIngredientes() != null) {
-                                table.getItems().clear();
-                                for (Item.ItemIngrediente ii : item.getIngredientes()) {
-                                    Ingredient ing = list.stream()
-                                            .filter(x -> x.getId() == ii.getIngredienteId())
-                                            .findFirst()
-                                            .orElse(null);
-
-                                    String nome = ing != null ? ing.getNome() : "ID:" + ii.getIngredienteId();
-                                    String unitName = ing != null ? getUnidadeName(ing.getUnidade_id())
-                                            : "Desconhecido";
-
-                                    table.getItems().add(
-                                            new IngredientRowData(ii.getIngredienteId(), nome, unitName,
-                                                    ii.getQuantidade()));
-                                }
-                            }
-                            loadBtn.setText("Recarregar");
-                            loadBtn.setDisable(false);
-                        });
-                    })
-                    .exceptionally(ex -> {
-                        Platform.runLater(() -> {
-                            loadBtn.setText("Falha ao Carregar");
-                            loadBtn.setDisable(false);
-                        });
-                        return null;
-                    });
-        });
+        loadBtn.setOnAction(e -> loadDialogIngredients(loadBtn, true, list -> {
+            originalList.clear();
+            originalList.addAll(list); // Atualizar lista original para filtro
+            ingCombo.getItems().setAll(list);
+            fillItemIngredients(item, table);
+        }));
 
         // 7) Botões Guardar e Cancelar
         Button saveBtn = new Button("Guardar Alterações");
@@ -1739,7 +1782,7 @@ public class ItemView {
                     .build();
 
             // Enviar a requisição de forma assíncrona
-            httpClient.sendAsync(updateItemReq, HttpResponse.BodyHandlers.ofString())
+            apiClient.sendAsync(updateItemReq, HttpResponse.BodyHandlers.ofString())
                     .thenAccept(resp -> {
 
                         Platform.runLater(() -> {
@@ -1804,11 +1847,13 @@ public class ItemView {
                 .build();
 
         // Enviar a requisição de forma assíncrona
-        httpClient.sendAsync(deleteItemReq, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(deleteItemReq, HttpResponse.BodyHandlers.ofString())
                 .thenAccept(resp -> {
 
                     Platform.runLater(() -> {
                         if (resp.statusCode() == 200 || resp.statusCode() == 204) {
+                            stockAlerts.removeItem(id);
+                            itemCache.remove(id);
                             // Sucesso
                             PopUp.showPopupDialog(Alert.AlertType.INFORMATION, "Sucesso", "Item Excluído",
                                     "O item foi excluído com sucesso!");
@@ -1960,55 +2005,36 @@ public class ItemView {
         // Mostrar indicador de carregamento
         parentDialog.setHeaderText("Carregando ingredientes de " + item.getNome() + "...");
 
-        // Fazer requisição à API para obter todos os ingredientes
-        HttpRequest getIngredientsReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                .GET()
-                .build();
+        // Ingredientes do IngredientRepository (sem pedido se nada mudou)
+        ingredientRepository.getAll(false)
+                .thenAccept(ingredients -> {
+                    StringBuilder info = new StringBuilder();
+                    info.append("Ingredientes encontrados:\n\n");
 
-        httpClient.sendAsync(getIngredientsReq, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(resp -> {
-                    if (resp.statusCode() == 200) {
-                        List<Ingredient> allIngredients = JsonParser.parseIngredients(resp.body());
-
-                        // Criar mapeamento de IDs para nomes de ingredientes
-                        StringBuilder info = new StringBuilder();
-                        info.append("Ingredientes encontrados:\n\n");
+                    for (Item.ItemIngrediente itemIngrediente : item.getIngredientes()) {
+                        int id = itemIngrediente.getIngredienteId();
+                        int quantidade = itemIngrediente.getQuantidade();
 
-                        for (Item.ItemIngrediente itemIngrediente : item.getIngredientes()) {
-                            int id = itemIngrediente.getIngredienteId();
-                            int quantidade = itemIngrediente.getQuantidade();
+                        // Procurar ingrediente pelo ID
+                        Ingredient ingredient = ingredientRepository.get(id);
+                        String nome = ingredient != null ? ingredient.getNome() : "Desconhecido";
 
-                            // Procurar ingrediente pelo ID
-                            String nome = allIngredients.stream()
-                                    .filter(ing -> ing.getId() == id)
-                                    .map(Ingredient::getNome)
-                                    .findFirst()
-                                    .orElse("Desconhecido");
+                        info.append(nome).append(" (ID: ").append(id).append("): ")
+                                .append(quantidade).append(" unidades\n");
+                    }
 
-                            info.append(nome).append(" (ID: ").append(id).append("): ")
-                                    .append(quantidade).append(" unidades\n");
-                        }
+                    // Atualizar diálogo com as informações
+                    Platform.runLater(() -> {
+                        TextArea textArea = new TextArea(info.toString());
+                        textArea.setEditable(false);
+                        textArea.setWrapText(true);
+                        textArea.setPrefWidth(400);
+                        textArea.setPrefHeight(300);
 
-                        // Atualizar diálogo com as informações
-                        Platform.runLater(() -> {
-                            TextArea textArea = new TextArea(info.toString());
-                            textArea.setEditable(false);
-                            textArea.setWrapText(true);
-                            textArea.setPrefWidth(400);
-                            textArea.setPrefHeight(300);
-
-                            parentDialog.setHeaderText("Ingredientes de " + item.getNome());
-                            showCustomContentPopup(Alert.AlertType.INFORMATION, "Ingredientes Completos",
-                                    "Ingredientes de " + item.getNome(), textArea);
-                        });
-                    } else {
-                        Platform.runLater(() -> {
-                            parentDialog.setHeaderText("Ingredientes de " + item.getNome());
-                            PopUp.showPopupDialog(Alert.AlertType.ERROR, "Erro", "Falha ao carregar ingredientes",
-                                    "Status code: " + resp.statusCode());
-                        });
-                    }
+                        parentDialog.setHeaderText("Ingredientes de " + item.getNome());
+                        showCustomContentPopup(Alert.AlertType.INFORMATION, "Ingredientes Completos",
+                                "Ingredientes de " + item.getNome(), textArea);
+                    });
                 })
                 .exceptionally(ex -> {
                     ex.printStackTrace();
@@ -2027,6 +2053,13 @@ public class ItemView {
      * @param ingredientId ID do ingrediente
      */
     private void fetchAndShowIngredientDetails(int ingredientId) {
+        // Se o IngredientRepository está atual não é preciso pedir o ingrediente
+        Ingredient known = ingredientRepository.isCurrent() ? ingredientRepository.get(ingredientId) : null;
+        if (known != null) {
+            showIngredientDetails(known);
+            return;
+        }
+
         // Show loading popup
         Stage primaryStage = StageManager.getPrimaryStage();
         double centerX = primaryStage.getX() + primaryStage.getWidth() / 2;
@@ -2057,7 +2090,7 @@ public class ItemView {
                     .GET()
                     .build();
 
-            httpClient.sendAsync(getIngredientReq, HttpResponse.BodyHandlers.ofString())
+            apiClient.sendAsync(getIngredientReq, HttpResponse.BodyHandlers.ofString())
                     .thenAccept(resp -> {
                         loadingPopup.hide();
 
@@ -2077,6 +2110,7 @@ public class ItemView {
 
                                 if (!ingredients.isEmpty()) {
                                     Ingredient ingredient = ingredients.get(0);
+                                    ingredientRepository.put(ingredient);
                                     Platform.runLater(() -> {
                                         showIngredientDetails(ingredient);
                                     });
@@ -2143,111 +2177,77 @@ public class ItemView {
     }
 
     /**
-     * Busca os detalhes dos ingredientes de um item e os exibe em uma lista
+     * Mostra os ingredientes de um item (nome e quantidade) a partir da lista
+     * de ingredientes partilhada (IngredientRepository)
      * 
      * @param item      Item cujos ingredientes serão exibidos
      * @param container Container onde a lista de ingredientes será exibida
      */
     private void fetchAndShowIngredientsList(Item item, VBox container) {
-        // Adicionar um label de carregamento temporário
-        Label loadingLabel = new Label("Carregando ingredientes...");
-        loadingLabel.setStyle("-fx-font-style: italic; -fx-text-fill: gray;");
-        container.getChildren().add(loadingLabel);
-
-        // Fazer requisição à API para obter todos os ingredientes
-        HttpRequest getIngredientsReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/ingredientes/getAll")))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(getIngredientsReq, HttpResponse.BodyHandlers.ofString())
-                .thenAccept(resp -> {
-                    if (resp.statusCode() == 200) {
-                        List<Ingredient> allIngredients = JsonParser.parseIngredients(resp.body());
+        if (ingredientsLoadFailed) {
+            Label errorLabel = new Label("Erro ao carregar ingredientes");
+            errorLabel.setStyle("-fx-text-fill: red; -fx-font-style: italic;");
+            container.getChildren().add(errorLabel);
+            return;
+        }
+        if (!ingredientsLoaded) {
+            // Ainda a carregar; o card é recriado quando os ingredientes chegarem
+            Label loadingLabel = new Label("Carregando ingredientes...");
+            loadingLabel.setStyle("-fx-font-style: italic; -fx-text-fill: gray;");
+            container.getChildren().add(loadingLabel);
+            return;
+        }
 
-                        Platform.runLater(() -> {
-                            // Remover o label de carregamento
-                            container.getChildren().remove(loadingLabel);
-
-                            // Para cada ingrediente do item, criar uma linha com nome e quantidade
-                            for (Item.ItemIngrediente itemIngrediente : item.getIngredientes()) {
-                                int id = itemIngrediente.getIngredienteId();
-                                int quantidade = itemIngrediente.getQuantidade();
-
-                                // Procurar ingrediente pelo ID
-                                String nome = allIngredients.stream()
-                                        .filter(ing -> ing.getId() == id)
-                                        .map(Ingredient::getNome)
-                                        .findFirst()
-                                        .orElse("Desconhecido");
-
-                                // Obter unidade do ingrediente para formatar corretamente
-                                Ingredient foundIngredient = allIngredients.stream()
-                                        .filter(ing -> ing.getId() == id)
-                                        .findFirst()
-                                        .orElse(null);
-
-                                String formattedQuantity;
-                                if (foundIngredient != null) {
-                                    int unidadeId = foundIngredient.getUnidade_id();
-                                    switch (unidadeId) {
-                                        case 1: // quilos
-                                            formattedQuantity = quantidade + " kg";
-                                            break;
-                                        case 2: // gramas
-                                            formattedQuantity = quantidade + " g";
-                                            break;
-                                        case 3: // litros
-                                            formattedQuantity = quantidade + " L";
-                                            break;
-                                        case 4: // mililitros
-                                            formattedQuantity = quantidade + " ml";
-                                            break;
-                                        case 5: // unidades
-                                            formattedQuantity = quantidade + " un";
-                                            break;
-                                        case 6: // doses
-                                            formattedQuantity = quantidade + " dose" + (quantidade > 1 ? "s" : "");
-                                            break;
-                                        case 7: // caixas
-                                            formattedQuantity = quantidade + " caixa" + (quantidade > 1 ? "s" : "");
-                                            break;
-                                        default:
-                                            formattedQuantity = quantidade + " un";
-                                    }
-                                } else {
-                                    formattedQuantity = quantidade + " un";
-                                }
+        // Para cada ingrediente do item, criar uma linha com nome e quantidade
+        for (Item.ItemIngrediente itemIngrediente : item.getIngredientes()) {
+            int id = itemIngrediente.getIngredienteId();
+            int quantidade = itemIngrediente.getQuantidade();
+
+            // Procurar ingrediente pelo ID
+            Ingredient foundIngredient = ingredientRepository.get(id);
+            String nome = foundIngredient != null ? foundIngredient.getNome() : "Desconhecido";
+
+            // Obter unidade do ingrediente para formatar corretamente
+
+            String formattedQuantity;
+            if (foundIngredient != null) {
+                int unidadeId = foundIngredient.getUnidade_id();
+                switch (unidadeId) {
+                    case 1: // quilos
+                        formattedQuantity = quantidade + " kg";
+                        break;
+                    case 2: // gramas
+                        formattedQuantity = quantidade + " g";
+                        break;
+                    case 3: // litros
+                        formattedQuantity = quantidade + " L";
+                        break;
+                    case 4: // mililitros
+                        formattedQuantity = quantidade + " ml";
+                        break;
+                    case 5: // unidades
+                        formattedQuantity = quantidade + " un";
+                        break;
+                    case 6: // doses
+                        formattedQuantity = quantidade + " dose" + (quantidade > 1 ? "s" : "");
+                        break;
+                    case 7: // caixas
+                        formattedQuantity = quantidade + " caixa" + (quantidade > 1 ? "s" : "");
+                        break;
+                    default:
+                        formattedQuantity = quantidade + " un";
+                }
+            } else {
+                formattedQuantity = quantidade + " un";
+            }
 
-                                // Criar linha para o ingrediente
-                                HBox ingredientRow = new HBox(5);
-                                Label ingredientLabel = new Label("• " + nome + ": " + formattedQuantity);
-                                ingredientLabel.setStyle("-fx-font-size: 11px;");
-                                ingredientRow.getChildren().add(ingredientLabel);
-                                container.getChildren().add(ingredientRow);
-                            }
-                        });
-                    } else {
-                        Platform.runLater(() -> {
-                            // Em caso de erro, mostrar mensagem adequada
-                            container.getChildren().remove(loadingLabel);
-                            Label errorLabel = new Label("Erro ao carregar ingredientes");
-                            errorLabel.setStyle("-fx-text-fill: red; -fx-font-style: italic;");
-                            container.getChildren().add(errorLabel);
-                        });
-                    }
-                })
-                .exceptionally(ex -> {
-                    ex.printStackTrace();
-                    Platform.runLater(() -> {
-                        // Em caso de erro, mostrar mensagem adequada
-                        container.getChildren().remove(loadingLabel);
-                        Label errorLabel = new Label("Erro ao carregar ingredientes");
-                        errorLabel.setStyle("-fx-text-fill: red; -fx-font-style: italic;");
-                        container.getChildren().add(errorLabel);
-                    });
-                    return null;
-                });
+            // Criar linha para o ingrediente
+            HBox ingredientRow = new HBox(5);
+            Label ingredientLabel = new Label("• " + nome + ": " + formattedQuantity);
+            ingredientLabel.setStyle("-fx-font-size: 11px;");
+            ingredientRow.getChildren().add(ingredientLabel);
+            container.getChildren().add(ingredientRow);
+        }
     }
 
     /**
@@ -1,10 +1,14 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.Item;
-import com.EatEaseFrontend.ItemJsonLoader;
-import com.EatEaseFrontend.JsonParser;
+import com.EatEaseFrontend.ItemCache;
 import com.EatEaseFrontend.Menu;
+import com.EatEaseFrontend.MenuCatalog;
+import com.EatEaseFrontend.MenuDataLoader;
+import com.EatEaseFrontend.SearchDebouncer;
+import com.EatEaseFrontend.SearchIndex;
 import com.EatEaseFrontend.StageManager;
 import com.EatEaseFrontend.TipoMenu;
 import javafx.application.Platform;
@@ -22,12 +26,14 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -36,21 +42,38 @@ import java.util.stream.Collectors;
 public class MenuView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
     private List<Menu> allMenus; // Store all menus for filtering
     private List<TipoMenu> allTipos; // Store all tipos for reference
     private TextField searchField; // Search field reference
+    // Índice de pesquisa por nome e descrição (ordem alfabética) e pesquisa com debounce
+    private final SearchIndex<Menu> menuIndex = new SearchIndex<>(Menu::getId,
+            menu -> menu.getNome() + " " + (menu.getDescricao() == null ? "" : menu.getDescricao()),
+            (m1, m2) -> m1.getNome().compareToIgnoreCase(m2.getNome()));
+    private final SearchDebouncer<Menu> menuSearch = new SearchDebouncer<>(menuIndex, this::displayFilteredMenus);
+    // Menus, tipos e produtos carregados em paralelo, publicados de uma vez
+    private final MenuDataLoader menuLoader;
+    private MenuCatalog catalog;
+    private CompletableFuture<MenuCatalog> currentLoad;
 
-    public MenuView(StackPane contentArea, HttpClient httpClient) {
+    /**
+     * @param contentArea Área de conteúdo onde a view será exibida
+     * @param apiClient   Cliente da API partilhado
+     * @param itemCache   Produtos partilhados
+     */
+    public MenuView(StackPane contentArea, ApiClient apiClient, ItemCache itemCache) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
+        this.menuLoader = new MenuDataLoader(apiClient, itemCache);
     }
 
     /**
-     * Carrega e exibe a lista de menus (SÍNCRONO)
+     * Carrega e exibe a lista de menus. Menus, tipos de menu e produtos são
+     * pedidos em paralelo fora da UI thread; a view só é atualizada quando o
+     * catálogo completo chega.
      */
     public void show() {
-        System.out.println("[MENU] Iniciando carregamento SÍNCRONO de menus...");
+        System.out.println("[MENU] Iniciando carregamento de menus, tipos e itens...");
 
         contentArea.getChildren().clear();
         ProgressIndicator progress = new ProgressIndicator();
@@ -60,53 +83,38 @@ public class MenuView {
         loader.setAlignment(Pos.CENTER);
         contentArea.getChildren().add(loader);
 
-        HttpRequest reqMenus = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/menu/getAll")))
-                .GET()
-                .build();
-        HttpRequest reqTipos = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/tipomenu/getAll")))
-                .GET()
-                .build();
-
-        try {
-            // Requisições SÍNCRONAS - aguarda resposta antes de continuar
-            System.out.println("[MENU] Fazendo requisição síncrona para carregar menus...");
-            HttpResponse<String> respMenus = httpClient.send(reqMenus, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta de menus recebida - Status: " + respMenus.statusCode());
-            if (respMenus.statusCode() == 200) {
-                List<Menu> menus = JsonParser.parseMenus(respMenus.body());
-                System.out.println("[MENU] Menus parseados com sucesso. Total: " + menus.size());
-
-                System.out.println("[MENU] Fazendo requisição síncrona para carregar tipos de menu...");
-                HttpResponse<String> respTipos = httpClient.send(reqTipos, HttpResponse.BodyHandlers.ofString());
-
-                System.out.println("[MENU] Resposta de tipos recebida - Status: " + respTipos.statusCode());
-                if (respTipos.statusCode() == 200) {
-                    List<TipoMenu> tipos = JsonParser.parseTipoMenus(respTipos.body());
-                    System.out.println("[MENU] Tipos de menu parseados com sucesso. Total: " + tipos.size());
+        // Um carregamento anterior ainda em curso deixa de interessar
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
+        }
+        CompletableFuture<MenuCatalog> load = menuLoader.load().thenApply(loaded -> {
+            // Indexar para a pesquisa fora da UI thread (só o que mudou é reindexado)
+            menuIndex.setAll(loaded.getMenus());
+            return loaded;
+        });
+        currentLoad = load;
 
-                    Platform.runLater(() -> {
-                        System.out.println("[MENU] Atualizando UI com dados carregados sincronamente");
-                        // Store data for filtering
-                        allMenus = menus;
-                        allTipos = tipos;
-                        displayMenusAsCards(menus, tipos);
-                    });
-                } else {
-                    System.err.println("[MENU] Erro HTTP ao carregar tipos de menu. Status: " + respTipos.statusCode());
-                    showError("Falha ao carregar tipos de menu", respTipos.statusCode());
+        load.whenComplete((loaded, ex) -> Platform.runLater(() -> {
+            if (load != currentLoad) {
+                return; // substituído por um carregamento mais recente
+            }
+            if (ex != null) {
+                if (ex instanceof CancellationException) {
+                    return;
                 }
-            } else {
-                System.err.println("[MENU] Erro HTTP ao carregar menus. Status: " + respMenus.statusCode());
-                showError("Falha ao carregar menus", respMenus.statusCode());
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                System.err.println("[MENU] Erro ao carregar menus: " + cause.getMessage());
+                showError("Falha ao carregar menus", cause.getMessage());
+                return;
             }
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA no show(): " + ex.getMessage());
-            ex.printStackTrace();
-            showError("Falha ao carregar menus", ex.getMessage());
-        }
+            System.out.println("[MENU] Carregados " + loaded.getMenus().size() + " menus, "
+                    + loaded.getTipos().size() + " tipos e " + loaded.getItems().size() + " itens");
+            catalog = loaded;
+            // Store data for filtering
+            allMenus = loaded.getMenus();
+            allTipos = loaded.getTipos();
+            displayMenusAsCards(allMenus, allTipos);
+        }));
     }
 
     private void showError(String header, int status) {
@@ -185,15 +193,10 @@ public class MenuView {
             noMenusLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
             contentBox.getChildren().add(noMenusLabel);
         } else {
-            Map<Integer, String> mapa = tipos.stream()
-                    .collect(Collectors.toMap(TipoMenu::getId, TipoMenu::getNome));
-
-            // Sort menus alphabetically by name
-            List<Menu> sortedMenus = menus.stream()
-                    .sorted((m1, m2) -> m1.getNome().compareToIgnoreCase(m2.getNome()))
-                    .collect(Collectors.toList());
+            Map<Integer, String> mapa = catalog.getTipoNames();
 
-            for (Menu m : sortedMenus) {
+            // Already sorted alphabetically by the search index
+            for (Menu m : menus) {
                 VBox card = createMenuCard(m, mapa, tipos);
                 menuCards.getChildren().add(card);
             }
@@ -403,129 +406,82 @@ public class MenuView {
     }
 
     /**
-     * Carrega os itens disponíveis da API e exibe para seleção (SÍNCRONO)
+     * Exibe os itens disponíveis para seleção. Os itens já vêm no catálogo
+     * carregado pelo show(), por isso não há pedido à API.
      * 
      * @param container        Container onde os itens serão exibidos
      * @param selectedItemsIds Lista observável para armazenar os IDs dos itens
      *                         selecionados
      */
     private void loadItems(VBox container, ObservableList<Integer> selectedItemsIds) {
-        System.out.println("[MENU] Iniciando carregamento SÍNCRONO de itens disponíveis...");
         System.out.println("[MENU] IDs já selecionados: " + selectedItemsIds);
+        List<Item> items = catalog != null ? catalog.getItems() : List.of();
 
-        HttpRequest getItemsReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/item/getAll")))
-                .GET()
-                .build();
-
-        try {
-            // Requisição SÍNCRONA - aguarda resposta antes de continuar
-            HttpResponse<String> resp = httpClient.send(getItemsReq, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta SÍNCRONA da API para itens - Status: " + resp.statusCode());
-            if (resp.statusCode() == 200) {
-                try {
-                    System.out.println("[MENU] Resposta do servidor: " + resp.body());
-                    List<Item> items = ItemJsonLoader.parseItems(resp.body());
-                    System.out.println("[MENU] Itens parseados com sucesso. Total: " + items.size());
+        container.getChildren().clear();
 
-                    Platform.runLater(() -> {
-                        container.getChildren().clear();
-
-                        if (items.isEmpty()) {
-                            Label noItems = new Label("Nenhum item disponível");
-                            container.getChildren().add(noItems);
-                            System.out.println("[MENU] Nenhum item disponível");
-                            return;
-                        }
-
-                        Label headerLabel = new Label("Selecione os itens para incluir no menu:");
-                        headerLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-                        headerLabel.getStyleClass().add("popup-label");
-                        headerLabel.setStyle("-fx-text-fill: #444444; -fx-padding: 0 0 10 0;");
+        if (items.isEmpty()) {
+            Label noItems = new Label("Nenhum item disponível");
+            container.getChildren().add(noItems);
+            System.out.println("[MENU] Nenhum item disponível");
+            return;
+        }
 
-                        // Adicionar search bar para itens
-                        HBox itemSearchBox = new HBox(10);
-                        itemSearchBox.setPadding(new Insets(0, 0, 10, 0));
-                        itemSearchBox.setAlignment(Pos.CENTER_LEFT);
+        Label headerLabel = new Label("Selecione os itens para incluir no menu:");
+        headerLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+        headerLabel.getStyleClass().add("popup-label");
+        headerLabel.setStyle("-fx-text-fill: #444444; -fx-padding: 0 0 10 0;");
 
-                        Label itemSearchLabel = new Label("Buscar:");
-                        itemSearchLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
+        // Adicionar search bar para itens
+        HBox itemSearchBox = new HBox(10);
+        itemSearchBox.setPadding(new Insets(0, 0, 10, 0));
+        itemSearchBox.setAlignment(Pos.CENTER_LEFT);
 
-                        TextField itemSearchField = new TextField();
-                        itemSearchField.setPromptText("Digite o nome do item...");
-                        itemSearchField.setPrefWidth(250);
+        Label itemSearchLabel = new Label("Buscar:");
+        itemSearchLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
 
-                        itemSearchBox.getChildren().addAll(itemSearchLabel, itemSearchField);
+        TextField itemSearchField = new TextField();
+        itemSearchField.setPromptText("Digite o nome do item...");
+        itemSearchField.setPrefWidth(250);
 
-                        // Criar lista de checkboxes para os itens
-                        VBox checkBoxContainer = new VBox(8);
-                        checkBoxContainer.setPadding(new Insets(5));
-                        ScrollPane scrollPane = new ScrollPane(checkBoxContainer);
-                        scrollPane.setFitToWidth(true);
-                        scrollPane.setPrefHeight(250);
-                        scrollPane.getStyleClass().add("popup-scroll-pane");
+        itemSearchBox.getChildren().addAll(itemSearchLabel, itemSearchField);
 
-                        // Store all items for filtering
-                        List<Item> allItems = new ArrayList<>(items);
+        // Criar lista de checkboxes para os itens
+        VBox checkBoxContainer = new VBox(8);
+        checkBoxContainer.setPadding(new Insets(5));
+        ScrollPane scrollPane = new ScrollPane(checkBoxContainer);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setPrefHeight(250);
+        scrollPane.getStyleClass().add("popup-scroll-pane");
 
-                        // Add search functionality
-                        itemSearchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                            filterItemCheckboxes(allItems, checkBoxContainer, selectedItemsIds, newValue);
-                        });
+        // Store all items for filtering
+        List<Item> allItems = new ArrayList<>(items);
 
-                        // Initially populate with all items
-                        populateItemCheckboxes(allItems, checkBoxContainer, selectedItemsIds);
+        // Add search functionality
+        itemSearchField.textProperty().addListener((observable, oldValue, newValue) -> {
+            filterItemCheckboxes(allItems, checkBoxContainer, selectedItemsIds, newValue);
+        });
 
-                        // Display selected count
-                        Label selectionLabel = new Label(selectedItemsIds.size() + " item(s) selecionado(s)");
+        // Initially populate with all items
+        populateItemCheckboxes(allItems, checkBoxContainer, selectedItemsIds);
 
-                        // Update selection counter when list changes
-                        selectedItemsIds.addListener(
-                                (javafx.collections.ListChangeListener.Change<? extends Integer> c) -> {
-                                    selectionLabel.setText(selectedItemsIds.size() + " item(s) selecionado(s)");
-                                    System.out.println("[MENU] Contador atualizado: " + selectedItemsIds.size()
-                                            + " item(s) selecionado(s)");
-                                });
+        // Display selected count
+        Label selectionLabel = new Label(selectedItemsIds.size() + " item(s) selecionado(s)");
 
-                        // Layout
-                        container.getChildren().addAll(headerLabel, itemSearchBox, scrollPane, selectionLabel);
-                        System.out.println("[MENU] Interface de seleção de itens criada com sucesso");
-                    });
-                } catch (Exception ex) {
-                    System.err.println("[MENU] Erro ao processar resposta dos itens: " + ex.getMessage());
-                    ex.printStackTrace();
-                    Platform.runLater(() -> {
-                        container.getChildren().clear();
-                        Label errorLabel = new Label("Erro ao carregar itens: " + ex.getMessage());
-                        errorLabel.setTextFill(javafx.scene.paint.Color.RED);
-                        container.getChildren().add(errorLabel);
-                    });
-                }
-            } else {
-                System.err.println("[MENU] Erro HTTP ao carregar itens. Status: " + resp.statusCode()
-                        + ", Body: " + resp.body());
-                Platform.runLater(() -> {
-                    container.getChildren().clear();
-                    Label errorLabel = new Label("Erro ao carregar itens. Status: " + resp.statusCode());
-                    errorLabel.setTextFill(javafx.scene.paint.Color.RED);
-                    container.getChildren().add(errorLabel);
+        // Update selection counter when list changes
+        selectedItemsIds.addListener(
+                (javafx.collections.ListChangeListener.Change<? extends Integer> c) -> {
+                    selectionLabel.setText(selectedItemsIds.size() + " item(s) selecionado(s)");
+                    System.out.println("[MENU] Contador atualizado: " + selectedItemsIds.size()
+                            + " item(s) selecionado(s)");
                 });
-            }
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA ao carregar itens: " + ex.getMessage());
-            ex.printStackTrace();
-            Platform.runLater(() -> {
-                container.getChildren().clear();
-                Label errorLabel = new Label("Erro ao carregar itens: " + ex.getMessage());
-                errorLabel.setTextFill(javafx.scene.paint.Color.RED);
-                container.getChildren().add(errorLabel);
-            });
-        }
+
+        // Layout
+        container.getChildren().addAll(headerLabel, itemSearchBox, scrollPane, selectionLabel);
+        System.out.println("[MENU] Interface de seleção de itens criada com sucesso");
     }
 
     /**
-     * Envia uma requisição para a API para criar um novo menu (SÍNCRONO)
+     * Envia uma requisição para a API para criar um novo menu
      *
      * @param tipoMenuId ID do tipo de menu
      * @param nome       Nome do menu
@@ -538,6 +494,7 @@ public class MenuView {
         System.out.println("[MENU] - Nome: " + nome);
         System.out.println("[MENU] - Descrição: " + descricao);
         System.out.println("[MENU] - IDs dos itens: " + itemsIds);
+        List<Integer> sentItemIds = new ArrayList<>(itemsIds);
 
         // Construir o JSON para o corpo da requisição com formatação mais robusta
         StringBuilder itemsArray = new StringBuilder("[");
@@ -566,38 +523,56 @@ public class MenuView {
 
         System.out.println("[MENU] Enviando requisição para: " + AppConfig.getApiEndpoint("/menu/create"));
 
-        try {
-            // Requisição SÍNCRONA - aguarda resposta antes de continuar
-            HttpResponse<String> resp = httpClient.send(createMenuReq, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta SÍNCRONA da criação do menu - Status: " + resp.statusCode());
-            System.out.println("[MENU] Resposta SÍNCRONA da criação do menu - Body: " + resp.body());
-            if (resp.statusCode() == 200 || resp.statusCode() == 201) {
-                Platform.runLater(() -> {
-                    System.out.println("[MENU] Menu criado com sucesso!");
-                    PopUp.showMenuCreateSuccess();
+        apiClient.sendAsync(createMenuReq, HttpResponse.BodyHandlers.ofString())
+                .thenAccept(resp -> {
+                    System.out.println("[MENU] Resposta da criação do menu - Status: " + resp.statusCode());
+                    System.out.println("[MENU] Resposta da criação do menu - Body: " + resp.body());
+                    if (resp.statusCode() == 200 || resp.statusCode() == 201) {
+                        // Se a resposta trouxer o id do menu novo, a composição já fica no índice;
+                        // senão é carregada no próximo show()
+                        int createdId = readCreatedId(resp.body());
+                        if (createdId > 0) {
+                            menuLoader.getCompositions().put(createdId, sentItemIds);
+                        }
+                        Platform.runLater(() -> {
+                            System.out.println("[MENU] Menu criado com sucesso!");
+                            PopUp.showMenuCreateSuccess();
 
-                    // Recarregar a view após criar o menu
-                    show();
+                            // Recarregar a view após criar o menu
+                            show();
+                        });
+                    } else {
+                        System.err.println("[MENU] Falha ao criar menu. Status: " + resp.statusCode());
+                        showError("Falha ao criar menu", resp.statusCode());
+                    }
+                })
+                .exceptionally(ex -> {
+                    System.err.println("[MENU] Exceção ao criar menu: " + ex.getMessage());
+                    ex.printStackTrace();
+                    showError("Falha ao criar menu", ex.getMessage());
+                    return null;
                 });
-            } else {
-                System.err.println("[MENU] Falha ao criar menu. Status: " + resp.statusCode());
-                showError("Falha ao criar menu", resp.statusCode());
-            }
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA ao criar menu: " + ex.getMessage());
-            ex.printStackTrace();
-            showError("Falha ao criar menu", ex.getMessage());
+    }
+
+    /**
+     * @return Id do menu devolvido pela criação, ou 0 se a resposta não o
+     *         tiver
+     */
+    private int readCreatedId(String body) {
+        try {
+            return apiClient.getMapper().readTree(body).path("id").asInt(0);
+        } catch (Exception e) {
+            return 0;
         }
     }
 
     /**
-     * Exclui um menu (SÍNCRONO)
+     * Exclui um menu
      * 
      * @param id ID do menu a ser excluído
      */
     private void deleteMenu(int id) {
-        System.out.println("[MENU] Iniciando exclusão SÍNCRONA do menu ID: " + id);
+        System.out.println("[MENU] Iniciando exclusão do menu ID: " + id);
 
         // Criar a requisição HTTP
         HttpRequest deleteMenuReq = HttpRequest.newBuilder()
@@ -605,33 +580,34 @@ public class MenuView {
                 .DELETE()
                 .build();
 
-        try {
-            // Requisição SÍNCRONA - aguarda resposta antes de continuar
-            HttpResponse<String> resp = httpClient.send(deleteMenuReq, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta SÍNCRONA da exclusão - Status: " + resp.statusCode());
-            Platform.runLater(() -> {
-                if (resp.statusCode() == 200 || resp.statusCode() == 204) {
-                    // Sucesso
-                    System.out.println("[MENU] Menu excluído com sucesso!");
-                    PopUp.showMenuDeleteSuccess();
-
-                    // Recarregar a lista de menus
-                    show();
-                } else {
-                    // Erro
-                    System.err.println("[MENU] Falha ao excluir menu. Status: " + resp.statusCode());
-                    PopUp.showMenuDeleteError(resp.statusCode());
-                }
-            });
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA ao excluir menu: " + ex.getMessage());
-            ex.printStackTrace();
+        apiClient.sendAsync(deleteMenuReq, HttpResponse.BodyHandlers.ofString())
+                .thenAccept(resp -> {
+                    System.out.println("[MENU] Resposta da exclusão - Status: " + resp.statusCode());
+                    Platform.runLater(() -> {
+                        if (resp.statusCode() == 200 || resp.statusCode() == 204) {
+                            // Sucesso
+                            menuLoader.getCompositions().remove(id);
+                            System.out.println("[MENU] Menu excluído com sucesso!");
+                            PopUp.showMenuDeleteSuccess();
+
+                            // Recarregar a lista de menus
+                            show();
+                        } else {
+                            // Erro
+                            System.err.println("[MENU] Falha ao excluir menu. Status: " + resp.statusCode());
+                            PopUp.showMenuDeleteError(resp.statusCode());
+                        }
+                    });
+                })
+                .exceptionally(ex -> {
+                    System.err.println("[MENU] Exceção ao excluir menu: " + ex.getMessage());
+                    ex.printStackTrace();
 
-            Platform.runLater(() -> {
-                PopUp.showMenuDeleteError(ex.getMessage());
-            });
-        }
+                    Platform.runLater(() -> {
+                        PopUp.showMenuDeleteError(ex.getMessage());
+                    });
+                    return null;
+                });
     }
 
     /**
@@ -855,95 +831,36 @@ public class MenuView {
     }
 
     /**
-     * Carrega os IDs dos itens de um menu existente (SÍNCRONO)
+     * Carrega os IDs dos itens de um menu existente. Normalmente já estão no
+     * índice de composição dos menus e não há pedido à API.
      * 
      * @param menuId           ID do menu
      * @param selectedItemsIds Lista observável para armazenar os IDs dos itens
      *                         selecionados
-     * @param onComplete       Callback executado quando o carregamento termina
+     * @param onComplete       Callback executado na UI thread quando o
+     *                         carregamento termina (mesmo com erro)
      */
     private void loadMenuItems(int menuId, ObservableList<Integer> selectedItemsIds, Runnable onComplete) {
-        System.out.println("[MENU] Iniciando carregamento SÍNCRONO dos itens do menu ID: " + menuId);
-        System.out.println("[MENU] Lista de IDs atual antes do carregamento: " + selectedItemsIds);
-
-        HttpRequest getItemsReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/menu/getMenuItens?id=" + menuId)))
-                .GET()
-                .build();
-
-        try {
-            // Requisição SÍNCRONA - aguarda resposta antes de continuar
-            HttpResponse<String> resp = httpClient.send(getItemsReq, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta SÍNCRONA do loadMenuItems - Status: " + resp.statusCode());
-            if (resp.statusCode() == 200) {
-                try {
-                    System.out.println("[MENU] Resposta recebida do loadMenuItems: " + resp.body());
-                    List<Integer> itemIds = new ArrayList<Integer>();
-                    List<Item> items = new ArrayList<>();
-                    try {
-                        items = ItemJsonLoader.parseItems(resp.body());
-                        System.out.println("[MENU] Itens parseados no loadMenuItems. Total: " + items.size());
-                    } catch (Exception e) {
-                        System.err.println("[MENU] Erro ao parsear itens no loadMenuItems: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                    for (Item item : items) {
-                        itemIds.add(item.getId());
-                        System.out.println(
-                                "[MENU] Item adicionado à lista: " + item.getId() + " - " + item.getNome());
-                    }
-
-                    System.out.println("[MENU] IDs dos itens obtidos: " + itemIds);
-                    Platform.runLater(() -> {
-                        selectedItemsIds.clear(); // Limpar a lista antes de adicionar
-                        selectedItemsIds.addAll(itemIds); // Usar addAll em vez de setAll
-                        System.out.println(
-                                "[MENU] IDs dos itens adicionados à lista observável: " + selectedItemsIds);
-
-                        // Executar callback quando terminar
-                        if (onComplete != null) {
-                            System.out.println("[MENU] Executando callback onComplete");
-                            onComplete.run();
-                        } else {
-                            System.out.println("[MENU] Callback onComplete é null");
+        menuLoader.getCompositions().load(menuId)
+                .whenComplete((itemIds, ex) -> Platform.runLater(() -> {
+                    if (ex != null) {
+                        System.err.println("[MENU] Erro ao carregar itens do menu " + menuId + ": " + ex.getMessage());
+                    } else {
+                        List<Integer> ids = new ArrayList<>(itemIds.length);
+                        for (int itemId : itemIds) {
+                            ids.add(itemId);
                         }
-                    });
-                } catch (Exception ex) {
-                    System.err.println("[MENU] Erro ao carregar itens do menu: " + ex.getMessage());
-                    ex.printStackTrace();
-                    // Se houver erro, ainda executar o callback
-                    Platform.runLater(() -> {
-                        if (onComplete != null) {
-                            System.out.println("[MENU] Executando callback onComplete após erro");
-                            onComplete.run();
-                        }
-                    });
-                }
-            } else {
-                System.err.println("[MENU] Erro HTTP no loadMenuItems. Status: " + resp.statusCode()
-                        + ", Body: " + resp.body());
-                Platform.runLater(() -> {
+                        System.out.println("[MENU] IDs dos itens do menu " + menuId + ": " + ids);
+                        selectedItemsIds.setAll(ids);
+                    }
                     if (onComplete != null) {
-                        System.out.println("[MENU] Executando callback onComplete após erro HTTP");
                         onComplete.run();
                     }
-                });
-            }
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA no loadMenuItems: " + ex.getMessage());
-            ex.printStackTrace();
-            Platform.runLater(() -> {
-                if (onComplete != null) {
-                    System.out.println("[MENU] Executando callback onComplete após exceção");
-                    onComplete.run();
-                }
-            });
-        }
+                }));
     }
 
     /**
-     * Atualiza um menu existente (SÍNCRONO)
+     * Atualiza um menu existente
      * 
      * @param id         ID do menu a ser atualizado
      * @param tipoMenuId ID do tipo de menu
@@ -958,6 +875,7 @@ public class MenuView {
         System.out.println("[MENU] - Nome: " + nome);
         System.out.println("[MENU] - Descrição: " + descricao);
         System.out.println("[MENU] - IDs dos itens: " + itemsIds);
+        List<Integer> sentItemIds = new ArrayList<>(itemsIds);
 
         // Construir o JSON para o corpo da requisição
         String jsonBody = String.format(
@@ -979,29 +897,30 @@ public class MenuView {
         System.out.println(
                 "[MENU] Enviando requisição de atualização para: " + AppConfig.getApiEndpoint("/menu/update?id=" + id));
 
-        try {
-            // Requisição SÍNCRONA - aguarda resposta antes de continuar
-            HttpResponse<String> resp = httpClient.send(updateMenuReq, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("[MENU] Resposta SÍNCRONA da atualização do menu - Status: " + resp.statusCode());
-            System.out.println("[MENU] Resposta SÍNCRONA da atualização do menu - Body: " + resp.body());
-            if (resp.statusCode() == 200) {
-                Platform.runLater(() -> {
-                    System.out.println("[MENU] Menu atualizado com sucesso!");
-                    PopUp.showMenuUpdateSuccess();
-
-                    // Recarregar a view após atualizar o menu
-                    show();
+        apiClient.sendAsync(updateMenuReq, HttpResponse.BodyHandlers.ofString())
+                .thenAccept(resp -> {
+                    System.out.println("[MENU] Resposta da atualização do menu - Status: " + resp.statusCode());
+                    System.out.println("[MENU] Resposta da atualização do menu - Body: " + resp.body());
+                    if (resp.statusCode() == 200) {
+                        menuLoader.getCompositions().put(id, sentItemIds);
+                        Platform.runLater(() -> {
+                            System.out.println("[MENU] Menu atualizado com sucesso!");
+                            PopUp.showMenuUpdateSuccess();
+
+                            // Recarregar a view após atualizar o menu
+                            show();
+                        });
+                    } else {
+                        System.err.println("[MENU] Falha ao atualizar menu. Status: " + resp.statusCode());
+                        showError("Falha ao atualizar menu", resp.statusCode());
+                    }
+                })
+                .exceptionally(ex -> {
+                    System.err.println("[MENU] Exceção ao atualizar menu: " + ex.getMessage());
+                    ex.printStackTrace();
+                    showError("Falha ao atualizar menu", ex.getMessage());
+                    return null;
                 });
-            } else {
-                System.err.println("[MENU] Falha ao atualizar menu. Status: " + resp.statusCode());
-                showError("Falha ao atualizar menu", resp.statusCode());
-            }
-        } catch (Exception ex) {
-            System.err.println("[MENU] Exceção SÍNCRONA ao atualizar menu: " + ex.getMessage());
-            ex.printStackTrace();
-            showError("Falha ao atualizar menu", ex.getMessage());
-        }
     }
 
     /**
@@ -1014,27 +933,9 @@ public class MenuView {
             return;
         }
 
-        List<Menu> filteredMenus;
-
-        if (searchQuery == null || searchQuery.trim().isEmpty()) {
-            // Show all menus if search is empty
-            filteredMenus = allMenus;
-        } else {
-            // Filter menus that contain the search query (case insensitive)
-            String lowerCaseQuery = searchQuery.toLowerCase().trim();
-            filteredMenus = allMenus.stream()
-                    .filter(menu -> menu.getNome().toLowerCase().contains(lowerCaseQuery) ||
-                            menu.getDescricao().toLowerCase().contains(lowerCaseQuery))
-                    .collect(Collectors.toList());
-        }
-
-        // Sort filtered menus alphabetically by name
-        filteredMenus = filteredMenus.stream()
-                .sorted((m1, m2) -> m1.getNome().compareToIgnoreCase(m2.getNome()))
-                .collect(Collectors.toList());
-
-        // Update the display with filtered menus
-        displayFilteredMenus(filteredMenus);
+        // The index ignores accents and case and keeps the alphabetical order;
+        // the query runs off the UI thread once the user stops typing
+        menuSearch.search(searchQuery);
     }
 
     /**
@@ -1043,6 +944,11 @@ public class MenuView {
      * @param menus List of filtered menus to display
      */
     private void displayFilteredMenus(List<Menu> menus) {
+        // Results may arrive after the user has left this view
+        if (searchField == null || searchField.getScene() == null) {
+            return;
+        }
+
         // Find the content box and update only the menu cards part
         ScrollPane scrollPane = (ScrollPane) contentArea.getChildren().get(0);
         VBox contentBox = (VBox) scrollPane.getContent();
@@ -1064,15 +970,10 @@ public class MenuView {
             noMenusLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
             contentBox.getChildren().add(noMenusLabel);
         } else {
-            Map<Integer, String> mapa = allTipos.stream()
-                    .collect(Collectors.toMap(TipoMenu::getId, TipoMenu::getNome));
-
-            // Sort menus alphabetically by name
-            List<Menu> sortedMenus = menus.stream()
-                    .sorted((m1, m2) -> m1.getNome().compareToIgnoreCase(m2.getNome()))
-                    .collect(Collectors.toList());
+            Map<Integer, String> mapa = catalog.getTipoNames();
 
-            for (Menu menu : sortedMenus) {
+            // Already sorted alphabetically by the search index
+            for (Menu menu : menus) {
                 VBox card = createMenuCard(menu, mapa, allTipos);
                 menuCards.getChildren().add(card);
             }
@@ -0,0 +1,163 @@
+package com.EatEaseFrontend.SideBarViews;
+
+import com.EatEaseFrontend.Mesa;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.function.Consumer;
+
+/**
+ * Card de uma mesa na MesasView e o seu estado (número, livre/ocupada,
+ * capacidade) como propriedades observáveis. Os nós do card estão ligados às
+ * propriedades, por isso update() só mexe no que mudou e a view nunca tem de
+ * procurar a mesa no scene graph.
+ */
+final class MesaNode {
+
+    private static final Color LIVRE_COLOR = Color.valueOf("#4CAF50");
+    private static final Color OCUPADA_COLOR = Color.valueOf("#F44336");
+
+    private final int id;
+    private final IntegerProperty numero = new SimpleIntegerProperty();
+    private final BooleanProperty livre = new SimpleBooleanProperty();
+    private final IntegerProperty capacidade = new SimpleIntegerProperty();
+    private final StackPane box;
+
+    /**
+     * @param mesa      Estado inicial da mesa
+     * @param onOcupar  Ação do botão "Ocupar"
+     * @param onLiberar Ação do botão "Desocupar"
+     */
+    MesaNode(Mesa mesa, Consumer<MesaNode> onOcupar, Consumer<MesaNode> onLiberar) {
+        this.id = mesa.getId();
+        update(mesa);
+        this.box = createBox(onOcupar, onLiberar);
+    }
+
+    /**
+     * Aplica o estado vindo do servidor; só as propriedades que mudaram
+     * notificam os nós
+     */
+    void update(Mesa mesa) {
+        numero.set(mesa.getNumero());
+        livre.set(mesa.isEstadoLivre());
+        capacidade.set(mesa.getCapacidade());
+    }
+
+    void setLivre(boolean value) {
+        livre.set(value);
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getNumero() {
+        return numero.get();
+    }
+
+    ReadOnlyIntegerProperty numeroProperty() {
+        return numero;
+    }
+
+    boolean isLivre() {
+        return livre.get();
+    }
+
+    ReadOnlyBooleanProperty livreProperty() {
+        return livre;
+    }
+
+    ReadOnlyIntegerProperty capacidadeProperty() {
+        return capacidade;
+    }
+
+    /**
+     * @return Card da mesa (posicionado pela view)
+     */
+    StackPane getBox() {
+        return box;
+    }
+
+    private StackPane createBox(Consumer<MesaNode> onOcupar, Consumer<MesaNode> onLiberar) {
+        StackPane mesaBox = new StackPane();
+        mesaBox.setPrefSize(200, 200);
+        mesaBox.getStyleClass().add("dashboard-card");
+
+        // Mesa table visual (rectangle with rounded corners), color based on state
+        Rectangle mesaRect = new Rectangle(160, 120);
+        mesaRect.fillProperty().bind(livre.map(isLivre -> isLivre ? LIVRE_COLOR : OCUPADA_COLOR));
+        mesaRect.setArcWidth(20);
+        mesaRect.setArcHeight(20);
+        mesaRect.setStroke(Color.valueOf("#37474F"));
+        mesaRect.setStrokeWidth(2);
+
+        // Mesa information
+        Text idText = new Text("ID: " + id);
+        idText.setFill(Color.WHITE);
+        idText.setFont(Font.font("System", FontWeight.NORMAL, 14));
+
+        Text mesaNumber = new Text();
+        mesaNumber.textProperty().bind(numero.asString("Mesa %d"));
+        mesaNumber.setFill(Color.WHITE);
+        mesaNumber.setFont(Font.font("System", FontWeight.BOLD, 20));
+
+        Text statusText = new Text();
+        statusText.textProperty().bind(livre.map(isLivre -> isLivre ? "Livre" : "Ocupada"));
+        statusText.setFill(Color.WHITE);
+        statusText.setFont(Font.font("System", 14));
+
+        Text capacidadeText = new Text();
+        capacidadeText.textProperty().bind(capacidade.asString("Capacidade: %d"));
+        capacidadeText.setFill(Color.WHITE);
+        capacidadeText.setFont(Font.font("System", FontWeight.NORMAL, 12));
+
+        // Stack information on top of rectangle
+        StackPane stackedInfo = new StackPane();
+        stackedInfo.getChildren().add(mesaRect);
+
+        VBox infoBox = new VBox(5);
+        infoBox.setAlignment(Pos.CENTER);
+        infoBox.getChildren().addAll(idText, mesaNumber, statusText, capacidadeText);
+        stackedInfo.getChildren().add(infoBox);
+
+        // Só o botão que corresponde ao estado fica visível
+        Button ocuparButton = new Button("Ocupar");
+        ocuparButton.getStyleClass().add("red-button");
+        ocuparButton.setOnAction(e -> onOcupar.accept(this));
+        ocuparButton.visibleProperty().bind(livre);
+        ocuparButton.managedProperty().bind(livre);
+
+        Button liberarButton = new Button("Desocupar");
+        liberarButton.getStyleClass().add("green-button");
+        liberarButton.setOnAction(e -> onLiberar.accept(this));
+        liberarButton.visibleProperty().bind(livre.not());
+        liberarButton.managedProperty().bind(livre.not());
+
+        HBox buttonContainer = new HBox(10);
+        buttonContainer.setAlignment(Pos.CENTER);
+        buttonContainer.getChildren().addAll(ocuparButton, liberarButton);
+
+        // Arrange elements vertically
+        VBox layout = new VBox(15);
+        layout.setAlignment(Pos.CENTER);
+        layout.getChildren().addAll(stackedInfo, buttonContainer);
+
+        mesaBox.getChildren().add(layout);
+        return mesaBox;
+    }
+}
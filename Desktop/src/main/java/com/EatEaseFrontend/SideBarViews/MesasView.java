@@ -1,10 +1,12 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.AsyncOperationManager;
+import com.EatEaseFrontend.LiveEventStream;
+import com.EatEaseFrontend.LiveRefresh;
 import com.EatEaseFrontend.Mesa;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.EatEaseFrontend.MesaPositionLoader;
 import com.EatEaseFrontend.JsonParser;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -12,7 +14,6 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
@@ -21,9 +22,9 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -31,8 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -41,21 +41,26 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class MesasView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
     private final AsyncOperationManager asyncManager;
+    private final MesaPositionLoader positionLoader;
     private final AtomicBoolean isTimerOperationRunning = new AtomicBoolean(false);
 
     // Map to store mesa positions persistently
     private final Map<Integer, Double[]> mesaPositions = new HashMap<>();
+    // Mesas cuja posição mudou desde a última atualização dos cards
+    private final Set<Integer> movedMesaIds = new HashSet<>();
+    // Card e estado observável de cada mesa exibida, por id
+    private final Map<Integer, MesaNode> mesaNodes = new HashMap<>();
 
     // Responsive layout variables
     private Pane currentMesasGrid;
     private double lastContainerWidth = 0;
     private double lastContainerHeight = 0;
 
-    // Temporizador para atualizações automáticas
-    private Timer autoUpdateTimer;
-    // Intervalo de atualização em segundos (facilmente ajustável)
+    // Atualizações automáticas (eventos do servidor, com polling de recurso)
+    private final LiveRefresh liveRefresh;
+    // Intervalo de polling em segundos quando não há stream de eventos
     private static final int UPDATE_INTERVAL_SECONDS = 5; // Configuração global do intervalo de atualização
     // Flag para controlar se a view está ativa
     private boolean isViewActive = false;
@@ -64,12 +69,16 @@ public class MesasView {
      * Construtor da view de mesas
      * 
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
+     * @param liveEvents  Stream de eventos partilhado (pode ser null)
      */
-    public MesasView(StackPane contentArea, HttpClient httpClient) {
+    public MesasView(StackPane contentArea, ApiClient apiClient, LiveEventStream liveEvents) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
         this.asyncManager = new AsyncOperationManager();
+        this.positionLoader = new MesaPositionLoader(apiClient);
+        this.liveRefresh = new LiveRefresh(liveEvents, LiveEventStream.Topic.MESAS,
+                Duration.ofSeconds(UPDATE_INTERVAL_SECONDS), this::silentlyUpdateMesas);
     }
 
     /**
@@ -121,11 +130,11 @@ public class MesasView {
                 .build();
 
         // Usar AsyncOperationManager para controlar a operação
-        asyncManager.executeSimpleOperation(
+        asyncManager.executeSimpleOperation("loadMesas",
                 () -> {
                     try {
                         System.out.println("[MESAS] Enviando requisição síncrona para carregar mesas...");
-                        HttpResponse<String> response = httpClient.send(getMesasReq,
+                        HttpResponse<String> response = apiClient.send(getMesasReq,
                                 HttpResponse.BodyHandlers.ofString());
 
                         System.out.println("[MESAS] Response status: " + response.statusCode());
@@ -153,7 +162,17 @@ public class MesasView {
                     if (mesas != null) {
                         // Para operações manuais (show()), carregar posições e exibir
                         // Para operações do timer, só atualizar estados
-                        if (!isTimerOperation) {
+                        if (!isTimerOperation && positionLoader.hasFloorPlan(mesas)) {
+                            // Planta em cache: desenhar já e trazer do servidor só o que mudou
+                            Map<Integer, double[]> cached = positionLoader.cachedPositions(mesas);
+                            Platform.runLater(() -> {
+                                applyPositions(cached);
+                                displayMesasAsGrid(mesas);
+                            });
+                            loadMesaPositionsFromServer(mesas, () -> {
+                                Platform.runLater(() -> updateMesaStatesOnly(mesas));
+                            });
+                        } else if (!isTimerOperation) {
                             // Load positions from server first, then display mesas
                             loadMesaPositionsFromServer(mesas, () -> {
                                 Platform.runLater(() -> displayMesasAsGrid(mesas));
@@ -166,7 +185,7 @@ public class MesasView {
                 }).exceptionally(e -> {
                     System.err.println("[MESAS] Erro no carregamento assíncrono: " + e.getMessage());
                     Platform.runLater(() -> {
-                        if (!isTimerOperation) { // Só mostrar erro para operações manuais
+                        if (!isTimerOperation && isViewActive) { // Só mostrar erro para operações manuais
                             Alert alert = new Alert(Alert.AlertType.ERROR);
                             alert.setTitle("Erro");
                             alert.setHeaderText("Falha ao carregar mesas");
@@ -179,62 +198,32 @@ public class MesasView {
     }
 
     /**
-     * Inicia o temporizador para atualização automática das mesas (CORRIGIDO)
+     * Inicia as atualizações automáticas das mesas: eventos do servidor
+     * quando o stream está ligado, polling com backoff caso contrário
      */
     private void startAutoUpdateTimer() {
-        // Cancelar qualquer temporizador existente
-        stopAutoUpdateTimer();
-
         System.out.println(
-                "[MESAS] Iniciando timer de atualização automática (intervalo: " + UPDATE_INTERVAL_SECONDS + "s)");
-
-        // Criar um novo temporizador
-        autoUpdateTimer = new Timer();
-        autoUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                // Verificar se a view ainda está ativa antes de atualizar
-                if (isViewActive) {
-                    System.out.println("[MESAS] Executando atualização automática...");
-                    // Carregar as mesas silenciosamente (sem mostrar indicador de carregamento)
-                    silentlyUpdateMesas();
-                } else {
-                    System.out.println("[MESAS] View inativa, cancelando timer...");
-                    this.cancel();
-                }
-            }
-        }, UPDATE_INTERVAL_SECONDS * 1000, UPDATE_INTERVAL_SECONDS * 1000);
+                "[MESAS] Iniciando atualização automática (polling de recurso: " + UPDATE_INTERVAL_SECONDS + "s)");
+        liveRefresh.start();
     }
 
     /**
-     * Para o temporizador de atualização automática
+     * Para as atualizações automáticas
      */
     private void stopAutoUpdateTimer() {
-        if (autoUpdateTimer != null) {
-            autoUpdateTimer.cancel();
-            autoUpdateTimer = null;
-        }
+        liveRefresh.stop();
     }
 
     /**
      * Atualiza as mesas silenciosamente (sem mostrar indicador de carregamento)
      * Atualiza os estados E as posições das mesas durante o intervalo automático
      */
-    private void silentlyUpdateMesas() {
+    private CompletableFuture<Void> silentlyUpdateMesas() {
+        if (!isViewActive) {
+            return CompletableFuture.completedFuture(null);
+        }
         System.out.println("Realizando atualização automática das mesas (estados e posições)...");
-        HttpRequest getMesasReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/mesa/getAll")))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(getMesasReq, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        return JsonParser.parseMesas(response.body());
-                    } else {
-                        throw new RuntimeException("Failed to update mesas: " + response.statusCode());
-                    }
-                })
+        return apiClient.getList("/mesa/getAll", Mesa.class)
                 .thenAccept(mesas -> {
                     // Só atualizar a UI se a view estiver ativa
                     if (isViewActive) {
@@ -245,96 +234,40 @@ public class MesasView {
                         });
                     }
                 })
-                .exceptionally(e -> {
+                .whenComplete((ignored, e) -> {
                     // Falhas silenciosas, apenas log para console
-                    System.err.println("Erro na atualização automática: " + e.getMessage());
-                    e.printStackTrace();
-                    return null;
+                    if (e != null) {
+                        System.err.println("Erro na atualização automática: " + e.getMessage());
+                    }
                 });
     }
 
     /**
-     * Busca as posições relativas das mesas do servidor (coordenadas 0-1)
+     * Busca as posições relativas das mesas (coordenadas 0-1). A planta fica
+     * em cache; só vão ao servidor as mesas sem posição conhecida ou a planta
+     * inteira quando precisa de ser revalidada.
      */
     private void loadMesaPositionsFromServer(List<Mesa> mesas, Runnable onComplete) {
-        System.out.println("Carregando posições das mesas do servidor...");
+        System.out.println("Carregando posições das mesas...");
 
-        // Use a counter to track completed requests
-        final int[] completedRequests = { 0 };
-        final int totalRequests = mesas.size();
-
-        if (totalRequests == 0) {
+        positionLoader.load(mesas).thenAccept(positions -> Platform.runLater(() -> {
+            applyPositions(positions);
             if (onComplete != null) {
                 onComplete.run();
             }
-            return; // No mesas to load positions for
-        }
-
-        for (Mesa mesa : mesas) {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/mesa/getMesaPositionsById?mesaId=" + mesa.getId())))
-                    .GET()
-                    .build();
+        }));
+    }
 
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApply(response -> {
-                        if (response.statusCode() == 200) {
-                            return response.body();
-                        } else {
-                            System.err.println(
-                                    "Erro ao buscar posição da mesa " + mesa.getId() + ": " + response.statusCode());
-                            return null;
-                        }
-                    })
-                    .thenAccept(responseBody -> {
-                        synchronized (this) {
-                            if (responseBody != null && !responseBody.trim().isEmpty()) {
-                                try {
-                                    ObjectMapper mapper = new ObjectMapper();
-                                    Map<String, Double> coords = mapper.readValue(responseBody,
-                                            new TypeReference<>() {
-                                            });
-                                    double relativeX = coords.get("pos_x");
-                                    double relativeY = coords.get("pos_y");
-
-                                    // Store relative coordinates directly from server (0-1 scale)
-                                    Double[] relativePos = new Double[] { relativeX, relativeY };
-                                    mesaPositions.put(mesa.getId(), relativePos);
-
-                                    System.out.println("Mesa " + mesa.getNumero() + " (ID: " + mesa.getId() +
-                                            ") - Posição relativa carregada do servidor: (" +
-                                            String.format("%.3f", relativeX) + ", " + String.format("%.3f", relativeY) +
-                                            ") [0-1 scale]");
-
-                                } catch (Exception e) {
-                                    System.err.println(
-                                            "Erro ao parsear posição da mesa " + mesa.getId() + ": " + e.getMessage());
-                                }
-                            }
-
-                            completedRequests[0]++;
-                            if (completedRequests[0] == totalRequests) {
-                                System.out.println("Todas as posições das mesas foram carregadas do servidor");
-                                if (onComplete != null) {
-                                    onComplete.run();
-                                }
-                            }
-                        }
-                    })
-                    .exceptionally(e -> {
-                        synchronized (this) {
-                            System.err.println(
-                                    "Exceção ao buscar posição da mesa " + mesa.getId() + ": " + e.getMessage());
-                            completedRequests[0]++;
-                            if (completedRequests[0] == totalRequests) {
-                                System.out.println("Carregamento de posições finalizado (com alguns erros)");
-                                if (onComplete != null) {
-                                    onComplete.run();
-                                }
-                            }
-                        }
-                        return null;
-                    });
+    /**
+     * Copia as posições carregadas para o mapa usado pelo layout (UI thread)
+     */
+    private void applyPositions(Map<Integer, double[]> positions) {
+        for (Map.Entry<Integer, double[]> entry : positions.entrySet()) {
+            double[] pos = entry.getValue();
+            Double[] previous = mesaPositions.put(entry.getKey(), new Double[] { pos[0], pos[1] });
+            if (previous == null || previous[0] != pos[0] || previous[1] != pos[1]) {
+                movedMesaIds.add(entry.getKey());
+            }
         }
     }
 
@@ -351,7 +284,7 @@ public class MesasView {
                 .PUT(HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     if (response.statusCode() == 200) {
                         System.out.println("Posição relativa da mesa " + mesaId + " guardada com sucesso no servidor");
@@ -370,145 +303,77 @@ public class MesasView {
     /**
      * Atualiza apenas o estado das mesas sem recriar o layout (preserva posições)
      * Inclui detecção e adição de mesas novas vindas do servidor
+     *
+     * Cada mesa é encontrada pelo id em mesaNodes e só as propriedades que
+     * mudaram atualizam o card; só as mesas com posição nova são movidas.
      */
     private void updateMesaStatesOnly(List<Mesa> mesas) {
-        if (currentMesasGrid == null || currentMesasGrid.getChildren().isEmpty()) {
+        if (currentMesasGrid == null || mesaNodes.isEmpty()) {
             // Se não há layout existente, criar um novo
             displayMesasAsGrid(mesas);
             return;
         }
 
-        // Criar um mapa para lookup rápido das mesas por ID
-        Map<Integer, Mesa> mesaMap = new HashMap<>();
-        for (Mesa mesa : mesas) {
-            mesaMap.put(mesa.getId(), mesa);
-        }
-
         System.out.println("Atualizando estados das mesas vindos do servidor (preservando posições)...");
 
-        // Coletar IDs das mesas atualmente exibidas
-        Set<Integer> existingMesaIds = new HashSet<>();
-        List<javafx.scene.Node> nodesToUpdate = new ArrayList<>(currentMesasGrid.getChildren());
-
-        // Atualizar apenas o estado visual das mesas existentes
-        for (javafx.scene.Node node : nodesToUpdate) {
-            if (node instanceof StackPane) {
-                StackPane mesaBox = (StackPane) node;
-                try {
-                    // Extrair o número da mesa do texto
-                    VBox layout = (VBox) mesaBox.getChildren().get(0);
-                    VBox infoContainer = (VBox) ((StackPane) layout.getChildren().get(0)).getChildren().get(1);
-                    Text mesaNumberText = (Text) infoContainer.getChildren().get(1);
-                    String text = mesaNumberText.getText(); // "Mesa X"
-                    int mesaNumber = Integer.parseInt(text.split(" ")[1]);
-
-                    Mesa updatedMesa = mesaMap.get(mesaNumber);
-                    if (updatedMesa != null) {
-                        existingMesaIds.add(updatedMesa.getId());
-
-                        // Atualizar apenas a cor baseada no estado
-                        StackPane tableContainer = (StackPane) layout.getChildren().get(0);
-                        Rectangle mesaRect = (Rectangle) tableContainer.getChildren().get(0);
-
-                        Color mesaColor = updatedMesa.isEstadoLivre() ? Color.valueOf("#4CAF50")
-                                : Color.valueOf("#F44336");
-                        mesaRect.setFill(mesaColor);
-
-                        // Atualizar texto do status se existir
-                        if (infoContainer.getChildren().size() > 2) {
-                            Text statusText = (Text) infoContainer.getChildren().get(2);
-                            statusText.setText(updatedMesa.isEstadoLivre() ? "Livre" : "Ocupada");
-                        }
-
-                        // Atualizar texto da capacidade se existir
-                        if (infoContainer.getChildren().size() > 3) {
-                            Text capacidadeText = (Text) infoContainer.getChildren().get(3);
-                            capacidadeText.setText("Capacidade: " + updatedMesa.getCapacidade());
-                        }
-
-                        // CORREÇÃO: Atualizar também os botões baseados no novo estado
-                        HBox buttonContainer = (HBox) layout.getChildren().get(1);
-
-                        // Clear existing buttons and add the appropriate one
-                        buttonContainer.getChildren().clear();
-
-                        if (updatedMesa.isEstadoLivre()) {
-                            // Mesa is free - show only "Ocupar" button
-                            Button ocuparButton = new Button("Ocupar");
-                            ocuparButton.getStyleClass().add("red-button");
-                            ocuparButton.setOnAction(e -> {
-                                PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Ocupar Mesa", "",
-                                        "Tem certeza que deseja marcar a Mesa " + updatedMesa.getNumero()
-                                                + " como ocupada?",
-                                        () -> {
-                                            ocuparMesa(updatedMesa.getId());
-                                        });
-                            });
-                            buttonContainer.getChildren().add(ocuparButton);
-                        } else {
-                            // Mesa is occupied - show only "Desocupar" button
-                            Button liberarButton = new Button("Desocupar");
-                            liberarButton.getStyleClass().add("green-button");
-                            liberarButton.setOnAction(e -> {
-                                PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Liberar Mesa", "",
-                                        "Tem certeza que deseja desocupar a Mesa " + updatedMesa.getNumero() + "?",
-                                        () -> {
-                                            liberarMesa(updatedMesa.getId());
-                                        });
-                            });
-                            buttonContainer.getChildren().add(liberarButton);
-                        }
-
-                        // NOVA CORREÇÃO: Atualizar posição da mesa se houver nova posição do servidor
-                        Double[] updatedPosition = mesaPositions.get(updatedMesa.getId());
-                        if (updatedPosition != null && isRelativePosition(updatedPosition)) {
-                            Double[] absolutePos = convertToAbsolutePosition(updatedPosition[0], updatedPosition[1]);
-                            double newX = absolutePos[0];
-                            double newY = absolutePos[1];
-
-                            // Verificar se a posição mudou significativamente antes de atualizar
-                            double currentX = mesaBox.getLayoutX();
-                            double currentY = mesaBox.getLayoutY();
-                            double threshold = 5.0; // pixels
-
-                            if (Math.abs(newX - currentX) > threshold || Math.abs(newY - currentY) > threshold) {
-                                mesaBox.setLayoutX(newX);
-                                mesaBox.setLayoutY(newY);
-                                System.out.println("Mesa " + mesaNumber + " - Posição atualizada: (" +
-                                        String.format("%.2f", currentX) + ", " + String.format("%.2f", currentY) +
-                                        ") -> (" + String.format("%.2f", newX) + ", " + String.format("%.2f", newY)
-                                        + ")");
-                            }
-                        }
-
-                        System.out.println("Mesa " + mesaNumber + " - Estado atualizado: " +
-                                (updatedMesa.isEstadoLivre() ? "Livre" : "Ocupada") +
-                                " (posição e botões atualizados)");
-                    } else {
-                        // Mesa não existe mais no servidor, remover da UI
-                        currentMesasGrid.getChildren().remove(mesaBox);
-                        System.out.println("Mesa " + mesaNumber + " removida (não existe mais no servidor)");
-                    }
-                } catch (Exception e) {
-                    System.err.println("Erro ao atualizar estado da mesa: " + e.getMessage());
-                }
-            }
-        }
-
-        // Detectar e adicionar mesas novas vindas do servidor
+        Set<Integer> serverMesaIds = new HashSet<>();
         List<Mesa> newMesas = new ArrayList<>();
         for (Mesa mesa : mesas) {
-            if (!existingMesaIds.contains(mesa.getId())) {
+            serverMesaIds.add(mesa.getId());
+            MesaNode node = mesaNodes.get(mesa.getId());
+            if (node == null) {
                 newMesas.add(mesa);
+            } else {
+                node.update(mesa);
             }
         }
 
+        // Mesas que já não existem no servidor
+        mesaNodes.values().removeIf(node -> {
+            if (serverMesaIds.contains(node.getId())) {
+                return false;
+            }
+            currentMesasGrid.getChildren().remove(node.getBox());
+            System.out.println("Mesa " + node.getNumero() + " removida (não existe mais no servidor)");
+            return true;
+        });
+
+        // Posições que mudaram no servidor
+        for (Integer mesaId : movedMesaIds) {
+            MesaNode node = mesaNodes.get(mesaId);
+            Double[] updatedPosition = mesaPositions.get(mesaId);
+            if (node == null || updatedPosition == null || !isRelativePosition(updatedPosition)) {
+                continue;
+            }
+            StackPane mesaBox = node.getBox();
+            Double[] absolutePos = convertToAbsolutePosition(updatedPosition[0], updatedPosition[1]);
+            double newX = absolutePos[0];
+            double newY = absolutePos[1];
+
+            // Verificar se a posição mudou significativamente antes de atualizar
+            double currentX = mesaBox.getLayoutX();
+            double currentY = mesaBox.getLayoutY();
+            double threshold = 5.0; // pixels
+
+            if (Math.abs(newX - currentX) > threshold || Math.abs(newY - currentY) > threshold) {
+                mesaBox.setLayoutX(newX);
+                mesaBox.setLayoutY(newY);
+                System.out.println("Mesa " + node.getNumero() + " - Posição atualizada: (" +
+                        String.format("%.2f", currentX) + ", " + String.format("%.2f", currentY) +
+                        ") -> (" + String.format("%.2f", newX) + ", " + String.format("%.2f", newY)
+                        + ")");
+            }
+        }
+        movedMesaIds.clear();
+
+        // Detectar e adicionar mesas novas vindas do servidor
         if (!newMesas.isEmpty()) {
             System.out.println("Detectadas " + newMesas.size() + " mesa(s) nova(s) do servidor, adicionando à UI...");
 
             // Adicionar as mesas novas ao layout
             for (Mesa newMesa : newMesas) {
-                StackPane mesaBox = createMesaBox(newMesa);
+                MesaNode node = createMesaNode(newMesa);
+                StackPane mesaBox = node.getBox();
 
                 // Verificar se temos posição armazenada para esta mesa
                 Double[] storedPosition = mesaPositions.get(newMesa.getId());
@@ -546,10 +411,11 @@ public class MesasView {
                 // Definir posição e tornar arrastável
                 mesaBox.setLayoutX(x);
                 mesaBox.setLayoutY(y);
-                makeMesaDraggable(mesaBox, newMesa);
+                makeMesaDraggable(node);
 
                 // Adicionar ao grid
                 currentMesasGrid.getChildren().add(mesaBox);
+                mesaNodes.put(newMesa.getId(), node);
 
                 System.out.println(
                         "Mesa " + newMesa.getNumero() + " (ID: " + newMesa.getId() + ") adicionada com sucesso");
@@ -604,6 +470,8 @@ public class MesasView {
         Pane mesasGrid = new Pane();
         mesasGrid.setPadding(new Insets(10)); // Minimal padding to maximize usable space
         currentMesasGrid = mesasGrid; // Store reference for responsive updates
+        mesaNodes.clear();
+        movedMesaIds.clear();
 
         // Make the pane responsive
         mesasGrid.widthProperty().addListener((obs, oldWidth, newWidth) -> {
@@ -626,7 +494,8 @@ public class MesasView {
         // Add mesa cards to grid with persistent positions
         for (int i = 0; i < mesas.size(); i++) {
             Mesa mesa = mesas.get(i);
-            StackPane mesaBox = createMesaBox(mesa);
+            MesaNode node = createMesaNode(mesa);
+            StackPane mesaBox = node.getBox();
 
             // Check if we have a stored position for this mesa
             Double[] storedPosition = mesaPositions.get(mesa.getId());
@@ -671,9 +540,10 @@ public class MesasView {
             mesaBox.setLayoutY(y);
 
             // Make mesa draggable
-            makeMesaDraggable(mesaBox, mesa);
+            makeMesaDraggable(node);
 
             mesasGrid.getChildren().add(mesaBox);
+            mesaNodes.put(mesa.getId(), node);
         }
 
         // After adding all children, update positions once the container is properly
@@ -707,93 +577,32 @@ public class MesasView {
     }
 
     /**
-     * Cria uma representação visual da mesa
+     * Cria o card da mesa (MesaNode), com as confirmações de ocupar e liberar
      * 
      * @param mesa Mesa a ser representada
-     * @return StackPane contendo a representação visual da mesa
+     * @return Card e estado observável da mesa
      */
-    private StackPane createMesaBox(Mesa mesa) {
-        // Create the mesa box
-        StackPane mesaBox = new StackPane();
-        mesaBox.setPrefSize(200, 200);
-        mesaBox.getStyleClass().add("dashboard-card");
-
-        // Background color based on state
-        Color mesaColor = mesa.isEstadoLivre() ? Color.valueOf("#4CAF50") : Color.valueOf("#F44336");
-
-        // Mesa table visual (rectangle with rounded corners)
-        Rectangle mesaRect = new Rectangle(160, 120);
-        mesaRect.setFill(mesaColor);
-        mesaRect.setArcWidth(20);
-        mesaRect.setArcHeight(20);
-        mesaRect.setStroke(Color.valueOf("#37474F"));
-        mesaRect.setStrokeWidth(2);
-
-        // Mesa information
-        Text idText = new Text("ID: " + mesa.getId());
-        idText.setFill(Color.WHITE);
-        idText.setFont(Font.font("System", FontWeight.NORMAL, 14));
-
-        Text mesaNumber = new Text("Mesa " + mesa.getNumero());
-        mesaNumber.setFill(Color.WHITE);
-        mesaNumber.setFont(Font.font("System", FontWeight.BOLD, 20));
-
-        // Mesa status
-        Text statusText = new Text(mesa.isEstadoLivre() ? "Livre" : "Ocupada");
-        statusText.setFill(Color.WHITE);
-        statusText.setFont(Font.font("System", 14));
-
-        // Mesa capacity
-        Text capacidadeText = new Text("Capacidade: " + mesa.getCapacidade());
-        capacidadeText.setFill(Color.WHITE);
-        capacidadeText.setFont(Font.font("System", FontWeight.NORMAL, 12));
-
-        // Stack information on top of rectangle
-        StackPane stackedInfo = new StackPane();
-        stackedInfo.getChildren().add(mesaRect);
-
-        VBox infoBox = new VBox(5);
-        infoBox.setAlignment(Pos.CENTER);
-        infoBox.getChildren().addAll(idText, mesaNumber, statusText, capacidadeText);
-        stackedInfo.getChildren().add(infoBox);
-
-        // Button Container
-        HBox buttonContainer = new HBox(10);
-        buttonContainer.setAlignment(Pos.CENTER);
-
-        // Show only the appropriate button based on mesa state
-        if (mesa.isEstadoLivre()) {
-            // Mesa is free - show only "Ocupar" button
-            Button ocuparButton = new Button("Ocupar");
-            ocuparButton.getStyleClass().add("red-button");
-            ocuparButton.setOnAction(e -> {
-                PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Ocupar Mesa", "",
-                        "Tem certeza que deseja marcar a Mesa " + mesa.getNumero() + " como ocupada?", () -> {
-                            ocuparMesa(mesa.getId());
-                        });
-            });
-            buttonContainer.getChildren().add(ocuparButton);
+    private MesaNode createMesaNode(Mesa mesa) {
+        return new MesaNode(mesa,
+                node -> PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Ocupar Mesa", "",
+                        "Tem certeza que deseja marcar a Mesa " + node.getNumero() + " como ocupada?",
+                        () -> ocuparMesa(node.getId())),
+                node -> PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Liberar Mesa", "",
+                        "Tem certeza que deseja desocupar a Mesa " + node.getNumero() + "?",
+                        () -> liberarMesa(node.getId())));
+    }
+
+    /**
+     * Atualiza o estado de uma mesa depois de uma ação bem-sucedida, sem
+     * recarregar as outras
+     */
+    private void setMesaLivre(int mesaId, boolean livre) {
+        MesaNode node = mesaNodes.get(mesaId);
+        if (node != null) {
+            node.setLivre(livre);
         } else {
-            // Mesa is occupied - show only "Desocupar" button
-            Button liberarButton = new Button("Desocupar");
-            liberarButton.getStyleClass().add("green-button");
-            liberarButton.setOnAction(e -> {
-                PopUp.showConfirmationPopup(Alert.AlertType.CONFIRMATION, "Liberar Mesa", "",
-                        "Tem certeza que deseja desocupar a Mesa " + mesa.getNumero() + "?",
-                        () -> {
-                            liberarMesa(mesa.getId());
-                        });
-            });
-            buttonContainer.getChildren().add(liberarButton);
+            show();
         }
-
-        // Arrange elements vertically
-        VBox layout = new VBox(15);
-        layout.setAlignment(Pos.CENTER);
-        layout.getChildren().addAll(stackedInfo, buttonContainer);
-
-        mesaBox.getChildren().add(layout);
-        return mesaBox;
     }
 
     /**
@@ -807,7 +616,7 @@ public class MesasView {
                 .PUT(HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Response status: " + response.statusCode());
                     if (response.statusCode() == 200) {
@@ -818,8 +627,7 @@ public class MesasView {
                 })
                 .thenAccept(success -> {
                     Platform.runLater(() -> {
-                        // Reload mesas after action
-                        show();
+                        setMesaLivre(mesaId, true);
                         showAlert("Mesa liberada com sucesso!", Alert.AlertType.INFORMATION);
                     });
                 })
@@ -843,7 +651,7 @@ public class MesasView {
                 .PUT(HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Response status: " + response.statusCode());
                     if (response.statusCode() == 200) {
@@ -854,8 +662,7 @@ public class MesasView {
                 })
                 .thenAccept(success -> {
                     Platform.runLater(() -> {
-                        // Reload mesas after action
-                        show();
+                        setMesaLivre(mesaId, false);
                         showAlert("Mesa ocupada com sucesso!", Alert.AlertType.INFORMATION);
                     });
                 })
@@ -1002,7 +809,7 @@ public class MesasView {
                 .POST(HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     System.out.println("Response status: " + response.statusCode());
                     if (response.statusCode() == 200 || response.statusCode() == 201) {
@@ -1037,6 +844,7 @@ public class MesasView {
             System.out.println("Desativando atualização automática das mesas");
             isViewActive = false;
             stopAutoUpdateTimer();
+            asyncManager.cancelAll();
         }
     }
 
@@ -1065,64 +873,35 @@ public class MesasView {
      * Atualiza o layout de forma responsiva quando o tamanho da janela muda
      */
     private void updateResponsiveLayout() {
-        if (currentMesasGrid == null || currentMesasGrid.getChildren().isEmpty()) {
+        if (currentMesasGrid == null || mesaNodes.isEmpty()) {
             return;
         }
 
         // Update all mesa positions from relative to absolute coordinates based on new
         // container size
-        for (javafx.scene.Node node : currentMesasGrid.getChildren()) {
-            if (node instanceof StackPane) {
-                StackPane mesaBox = (StackPane) node;
-
-                // Find the mesa associated with this box
-                Mesa mesa = findMesaForBox(mesaBox);
-                if (mesa != null) {
-                    Double[] relativePos = mesaPositions.get(mesa.getId());
-                    if (relativePos != null && isRelativePosition(relativePos)) {
-                        // Convert relative position to new absolute position
-                        Double[] absolutePos = convertToAbsolutePosition(relativePos[0], relativePos[1]);
-                        mesaBox.setLayoutX(absolutePos[0]);
-                        mesaBox.setLayoutY(absolutePos[1]);
-
-                        System.out.println("Mesa " + mesa.getNumero() + " - Responsive update: (" +
-                                String.format("%.3f", relativePos[0]) + ", " + String.format("%.3f", relativePos[1]) +
-                                ") [relative] = (" + String.format("%.2f", absolutePos[0]) + ", " +
-                                String.format("%.2f", absolutePos[1]) + ") [absolute]");
-                    }
-                }
+        for (MesaNode node : mesaNodes.values()) {
+            Double[] relativePos = mesaPositions.get(node.getId());
+            if (relativePos != null && isRelativePosition(relativePos)) {
+                // Convert relative position to new absolute position
+                Double[] absolutePos = convertToAbsolutePosition(relativePos[0], relativePos[1]);
+                node.getBox().setLayoutX(absolutePos[0]);
+                node.getBox().setLayoutY(absolutePos[1]);
+
+                System.out.println("Mesa " + node.getNumero() + " - Responsive update: (" +
+                        String.format("%.3f", relativePos[0]) + ", " + String.format("%.3f", relativePos[1]) +
+                        ") [relative] = (" + String.format("%.2f", absolutePos[0]) + ", " +
+                        String.format("%.2f", absolutePos[1]) + ") [absolute]");
             }
         }
     }
 
-    /**
-     * Encontra a mesa associada a um StackPane
-     */
-    private Mesa findMesaForBox(StackPane mesaBox) {
-        try {
-            VBox layout = (VBox) mesaBox.getChildren().get(0);
-            VBox infoContainer = (VBox) ((StackPane) layout.getChildren().get(0)).getChildren().get(1);
-            Text mesaNumberText = (Text) infoContainer.getChildren().get(1);
-            String text = mesaNumberText.getText(); // "Mesa X"
-            int mesaNumber = Integer.parseInt(text.split(" ")[1]);
-
-            // This is a simplified approach - in a real implementation you'd want to store
-            // mesa references properly
-            // For now, we assume mesa ID matches mesa number
-            return new Mesa(mesaNumber, mesaNumber, true, 4); // Dummy mesa for ID lookup with default capacity
-        } catch (Exception e) {
-            System.err.println("Error finding mesa for box: " + e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Torna uma mesa arrastável e salva posições relativas
      * 
-     * @param mesaBox O StackPane da mesa a ser tornada arrastável
-     * @param mesa    A mesa associada ao StackPane
+     * @param mesa Card da mesa a ser tornada arrastável
      */
-    private void makeMesaDraggable(StackPane mesaBox, Mesa mesa) {
+    private void makeMesaDraggable(MesaNode mesa) {
+        StackPane mesaBox = mesa.getBox();
         // Variables to store initial mouse position
         final double[] mouseX = new double[1];
         final double[] mouseY = new double[1];
@@ -1183,6 +962,7 @@ public class MesasView {
 
             // Save relative position to server (0-1 scale for responsiveness)
             saveMesaPositionToServer(mesa.getId(), relativePos[0], relativePos[1]);
+            positionLoader.remember(mesa.getId(), relativePos[0], relativePos[1]);
 
             System.out.println("Mesa " + mesa.getNumero() + " - Final position: (" +
                     String.format("%.2f", finalX) + ", " + String.format("%.2f", finalY) +
@@ -1349,7 +1129,7 @@ public class MesasView {
      * Método chamado depois que o container tem suas dimensões finais
      */
     private void updateStoredRelativePositions() {
-        if (currentMesasGrid == null || currentMesasGrid.getChildren().isEmpty()) {
+        if (currentMesasGrid == null || mesaNodes.isEmpty()) {
             return;
         }
 
@@ -1360,26 +1140,19 @@ public class MesasView {
                 String.format("%.0fx%.0f", contentArea.getWidth(), contentArea.getHeight()));
 
         // Re-convert all positions using the actual container dimensions
-        for (javafx.scene.Node node : currentMesasGrid.getChildren()) {
-            if (node instanceof StackPane) {
-                StackPane mesaBox = (StackPane) node;
-                Mesa mesa = findMesaForBox(mesaBox);
-
-                if (mesa != null) {
-                    Double[] storedPosition = mesaPositions.get(mesa.getId());
-                    if (storedPosition != null && isRelativePosition(storedPosition)) {
-                        // Re-convert using actual container size
-                        Double[] newAbsolutePos = convertToAbsolutePosition(storedPosition[0], storedPosition[1]);
-                        mesaBox.setLayoutX(newAbsolutePos[0]);
-                        mesaBox.setLayoutY(newAbsolutePos[1]);
-
-                        System.out.println("Mesa " + mesa.getNumero() + " - Posição atualizada: (" +
-                                String.format("%.3f", storedPosition[0]) + ", "
-                                + String.format("%.3f", storedPosition[1]) +
-                                ") [relative] -> (" + String.format("%.2f", newAbsolutePos[0]) + ", " +
-                                String.format("%.2f", newAbsolutePos[1]) + ") [absolute]");
-                    }
-                }
+        for (MesaNode mesa : mesaNodes.values()) {
+            Double[] storedPosition = mesaPositions.get(mesa.getId());
+            if (storedPosition != null && isRelativePosition(storedPosition)) {
+                // Re-convert using actual container size
+                Double[] newAbsolutePos = convertToAbsolutePosition(storedPosition[0], storedPosition[1]);
+                mesa.getBox().setLayoutX(newAbsolutePos[0]);
+                mesa.getBox().setLayoutY(newAbsolutePos[1]);
+
+                System.out.println("Mesa " + mesa.getNumero() + " - Posição atualizada: (" +
+                        String.format("%.3f", storedPosition[0]) + ", "
+                        + String.format("%.3f", storedPosition[1]) +
+                        ") [relative] -> (" + String.format("%.2f", newAbsolutePos[0]) + ", " +
+                        String.format("%.2f", newAbsolutePos[1]) + ") [absolute]");
             }
         }
     }
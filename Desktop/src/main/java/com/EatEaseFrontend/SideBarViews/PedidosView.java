@@ -1,14 +1,16 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.Item;
 import com.EatEaseFrontend.JsonParser;
+import com.EatEaseFrontend.LiveEventStream;
+import com.EatEaseFrontend.LiveRefresh;
 import com.EatEaseFrontend.PedidoRapid;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -19,13 +21,17 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * View para gerenciar e exibir pedidos do restaurante
@@ -33,24 +39,35 @@ import java.util.TimerTask;
 public class PedidosView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
 
-    // Temporizador para atualizações automáticas
-    private Timer autoUpdateTimer;
-    // Intervalo de atualização em segundos
+    // Atualizações automáticas (eventos do servidor, com polling de recurso)
+    private final LiveRefresh liveRefresh;
+    // Intervalo de polling em segundos quando não há stream de eventos
     private final int updateIntervalSeconds = 15;
     // Flag para controlar se a view está ativa
     private boolean isViewActive = false;
 
+    // Estado apresentado, usado para aplicar apenas as diferenças em cada
+    // atualização (só acedido na UI thread)
+    private VBox pedidosContainer;
+    private final Map<Integer, PedidoRapid> displayedPedidos = new HashMap<>();
+    private final Map<Integer, VBox> cardsById = new HashMap<>();
+    // IDs pela ordem em que os cards aparecem (decrescente)
+    private final List<Integer> displayedIds = new ArrayList<>();
+
     /**
      * Construtor da view de pedidos
      * 
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
+     * @param liveEvents  Stream de eventos partilhado (pode ser null)
      */
-    public PedidosView(StackPane contentArea, HttpClient httpClient) {
+    public PedidosView(StackPane contentArea, ApiClient apiClient, LiveEventStream liveEvents) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
+        this.liveRefresh = new LiveRefresh(liveEvents, LiveEventStream.Topic.PEDIDOS,
+                Duration.ofSeconds(updateIntervalSeconds), this::silentlyUpdatePedidos);
     }
 
     /**
@@ -74,32 +91,16 @@ public class PedidosView {
         // Make API request to get pedidos
         loadPedidos();
 
-        // Iniciar o temporizador de atualização automática se ainda não estiver ativo
-        startAutoUpdateTimer();
+        // Iniciar as atualizações automáticas
+        liveRefresh.start();
     }
 
     /**
      * Carrega os pedidos do servidor usando o endpoint rápido
      */
     private void loadPedidos() {
-        HttpRequest getPedidosReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/pedido/getAllRapid")))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(getPedidosReq, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        System.out.println("Pedidos rápidos recebidos: " + response.body());
-                        return JsonParser.parsePedidosRapid(response.body());
-                    } else {
-                        Platform.runLater(() -> {
-                            PopUp.showPopupDialog(Alert.AlertType.ERROR, "Erro", "Falha ao carregar pedidos",
-                                    "Erro: Código " + response.statusCode());
-                        });
-                        return List.<PedidoRapid>of();
-                    }
-                })
+        apiClient.getString("/pedido/getAllRapid")
+                .thenApply(JsonParser::parsePedidosRapid)
                 .thenAccept(pedidos -> {
                     if (!isViewActive) {
                         return; // Se a view não está mais ativa, não atualize a UI
@@ -116,111 +117,131 @@ public class PedidosView {
                 });
     }
 
-    /**
-     * Inicia o temporizador para atualização automática dos pedidos
-     */
-    private void startAutoUpdateTimer() {
-        // Cancelar qualquer temporizador existente
-        stopAutoUpdateTimer();
-
-        // Criar um novo temporizador
-        autoUpdateTimer = new Timer();
-        autoUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (isViewActive) {
-                    silentlyUpdatePedidos();
-                }
-            }
-        }, updateIntervalSeconds * 1000, updateIntervalSeconds * 1000);
-    }
-
-    /**
-     * Para o temporizador de atualização automática
-     */
-    private void stopAutoUpdateTimer() {
-        if (autoUpdateTimer != null) {
-            autoUpdateTimer.cancel();
-            autoUpdateTimer = null;
-        }
-    }
-
     /**
      * Atualiza os pedidos silenciosamente (sem mostrar indicador de carregamento)
      */
-    private void silentlyUpdatePedidos() {
+    private CompletableFuture<Void> silentlyUpdatePedidos() {
         // Verificar se a view está ativa antes de iniciar a atualização
         if (!isViewActive) {
             System.out.println("View de pedidos não está ativa, ignorando atualização automática");
-            stopAutoUpdateTimer(); // Garantir que o timer seja parado se a view não está ativa
-            return;
+            liveRefresh.stop(); // Garantir que as atualizações param se a view não está ativa
+            return CompletableFuture.completedFuture(null);
         }
 
         System.out.println("Realizando atualização automática dos pedidos...");
-        HttpRequest getPedidosReq = HttpRequest.newBuilder()
-                .uri(URI.create(AppConfig.getApiEndpoint("/pedido/getAllRapid")))
-                .GET()
-                .build();
-
-        httpClient.sendAsync(getPedidosReq, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        return JsonParser.parsePedidosRapid(response.body());
-                    } else {
-                        System.err.println("Erro ao atualizar pedidos: " + response.statusCode());
-                        return List.<PedidoRapid>of();
-                    }
+        return apiClient.getString("/pedido/getAllRapid")
+                .thenApply(body -> {
+                    List<PedidoRapid> pedidos = JsonParser.parsePedidosRapid(body);
+                    // Ordenar fora da UI thread (mais novos primeiro)
+                    pedidos.sort(Comparator.comparing(PedidoRapid::getId).reversed());
+                    return pedidos;
                 })
                 .thenAccept(pedidos -> {
                     if (!isViewActive) {
-                        stopAutoUpdateTimer(); // Parar o timer se a view não está ativa
+                        liveRefresh.stop(); // Parar as atualizações se a view não está ativa
                         return;
                     }
-                    if (!pedidos.isEmpty()) {
-                        Platform.runLater(() -> {
-                            // Preservar a posição de rolagem atual antes da atualização
-                            double scrollPosition = 0;
-                            for (Node node : contentArea.getChildren()) {
-                                if (node instanceof VBox) {
-                                    VBox mainLayout = (VBox) node;
-                                    for (Node child : mainLayout.getChildren()) {
-                                        if (child instanceof ScrollPane) {
-                                            scrollPosition = ((ScrollPane) child).getVvalue();
-                                            break;
-                                        }
-                                    }
-                                    break;
-                                }
-                            }
-
-                            // Atualizar os cards sem rolar para o topo
-                            displayPedidosAsCards(pedidos);
-
-                            // Restaurar a posição de rolagem após a atualização
-                            final double finalScrollPos = scrollPosition;
-                            Platform.runLater(() -> {
-                                for (Node node : contentArea.getChildren()) {
-                                    if (node instanceof VBox) {
-                                        VBox mainLayout = (VBox) node;
-                                        for (Node child : mainLayout.getChildren()) {
-                                            if (child instanceof ScrollPane) {
-                                                ((ScrollPane) child).setVvalue(finalScrollPos);
-                                                break;
-                                            }
-                                        }
-                                        break;
-                                    }
-                                }
-                            });
-                        });
-                    }
+                    Platform.runLater(() -> applyPedidosDelta(pedidos));
                 })
-                .exceptionally(e -> {
-                    System.err.println("Exceção ao atualizar pedidos: " + e.getMessage());
-                    return null;
+                .whenComplete((ignored, e) -> {
+                    // Resposta que não se consegue converter não chega ao
+                    // applyPedidosDelta: os cards apresentados ficam como estão
+                    if (e != null) {
+                        System.err.println("Exceção ao atualizar pedidos (lista mantida): " + e.getMessage());
+                    }
                 });
     }
 
+    /**
+     * Compara a nova lista com a que está apresentada (por ID e estado) e
+     * altera apenas os cards de pedidos novos, alterados ou removidos. O
+     * cabeçalho e o ScrollPane mantêm-se, por isso a posição de rolagem também.
+     *
+     * @param pedidos Lista atual de pedidos, ordenada por ID decrescente
+     */
+    private void applyPedidosDelta(List<PedidoRapid> pedidos) {
+        if (!isViewActive) {
+            return;
+        }
+        if (pedidosContainer == null || pedidosContainer.getScene() == null) {
+            // Ainda não há lista apresentada, desenhar tudo
+            displayPedidosAsCards(pedidos);
+            return;
+        }
+
+        Map<Integer, PedidoRapid> incoming = new HashMap<>();
+        for (PedidoRapid pedido : pedidos) {
+            incoming.put(pedido.getId(), pedido);
+        }
+
+        // Pedidos que desapareceram
+        int removed = 0;
+        for (Iterator<Integer> it = displayedIds.iterator(); it.hasNext();) {
+            Integer id = it.next();
+            if (!incoming.containsKey(id)) {
+                pedidosContainer.getChildren().remove(cardsById.remove(id));
+                displayedPedidos.remove(id);
+                it.remove();
+                removed++;
+            }
+        }
+
+        // Pedidos novos ou com estado diferente
+        int added = 0;
+        int changed = 0;
+        for (PedidoRapid pedido : pedidos) {
+            PedidoRapid current = displayedPedidos.get(pedido.getId());
+            if (current == null) {
+                insertPedidoCard(pedido);
+                added++;
+            } else if (current.getEstadoPedido_id() != pedido.getEstadoPedido_id()) {
+                VBox oldCard = cardsById.get(pedido.getId());
+                VBox newCard = createPedidoCard(pedido);
+                pedidosContainer.getChildren().set(pedidosContainer.getChildren().indexOf(oldCard), newCard);
+                cardsById.put(pedido.getId(), newCard);
+                displayedPedidos.put(pedido.getId(), pedido);
+                changed++;
+            }
+        }
+
+        updateEmptyPlaceholder();
+
+        if (added + changed + removed > 0) {
+            System.out.println("Pedidos atualizados: " + added + " novos, " + changed + " alterados, " + removed
+                    + " removidos");
+        }
+    }
+
+    /**
+     * Insere o card de um pedido novo na posição certa (IDs decrescentes)
+     */
+    private void insertPedidoCard(PedidoRapid pedido) {
+        int index = Collections.binarySearch(displayedIds, pedido.getId(), Comparator.reverseOrder());
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        VBox card = createPedidoCard(pedido);
+        displayedIds.add(index, pedido.getId());
+        cardsById.put(pedido.getId(), card);
+        displayedPedidos.put(pedido.getId(), pedido);
+
+        // O placeholder de lista vazia, se existir, fica sempre no fim
+        pedidosContainer.getChildren().add(index, card);
+    }
+
+    /**
+     * Mostra ou esconde a mensagem de lista vazia
+     */
+    private void updateEmptyPlaceholder() {
+        pedidosContainer.getChildren().removeIf(node -> node instanceof Text);
+        if (displayedIds.isEmpty()) {
+            Text noPedidosText = new Text("Não há pedidos disponíveis");
+            noPedidosText.getStyleClass().add("welcome-text");
+            pedidosContainer.getChildren().add(noPedidosText);
+        }
+    }
+
     /**
      * Exibe os pedidos como cards em um ScrollPane
      * 
@@ -253,8 +274,11 @@ public class PedidosView {
         header.getChildren().addAll(title, spacer, refreshButton);
 
         // Container para os cards de pedidos
-        VBox pedidosContainer = new VBox(20);
+        pedidosContainer = new VBox(20);
         pedidosContainer.setPadding(new Insets(20));
+        displayedPedidos.clear();
+        cardsById.clear();
+        displayedIds.clear();
 
         if (pedidos.isEmpty()) {
             Text noPedidosText = new Text("Não há pedidos disponíveis");
@@ -266,7 +290,11 @@ public class PedidosView {
 
             // Adicione cada pedido como um card
             for (PedidoRapid pedido : pedidos) {
-                pedidosContainer.getChildren().add(createPedidoCard(pedido));
+                VBox card = createPedidoCard(pedido);
+                pedidosContainer.getChildren().add(card);
+                displayedPedidos.put(pedido.getId(), pedido);
+                cardsById.put(pedido.getId(), card);
+                displayedIds.add(pedido.getId());
             }
         }
 
@@ -308,12 +336,12 @@ public class PedidosView {
                 .PUT(HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        httpClient.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+        apiClient.sendAsync(req, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
                     if (response.statusCode() == 200) {
                         System.out.println("Estado do pedido #" + pedidoId + " atualizado para " + estadoPedidoId);
-                        // Recarregar pedidos após atualização bem-sucedida
-                        Platform.runLater(this::show);
+                        // Atualizar apenas os cards que mudaram
+                        liveRefresh.trigger();
                         return true;
                     } else {
                         System.err.println("Erro ao atualizar estado do pedido: " + response.statusCode());
@@ -576,7 +604,11 @@ public class PedidosView {
      */
     public void dispose() {
         isViewActive = false;
-        stopAutoUpdateTimer();
+        liveRefresh.stop();
+        pedidosContainer = null;
+        displayedPedidos.clear();
+        cardsById.clear();
+        displayedIds.clear();
         System.out.println("Limpeza de recursos da view de pedidos");
     }
 }
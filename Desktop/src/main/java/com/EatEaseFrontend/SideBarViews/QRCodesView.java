@@ -1,8 +1,8 @@
 package com.EatEaseFrontend.SideBarViews;
 
+import com.EatEaseFrontend.ApiClient;
 import com.EatEaseFrontend.AppConfig;
 import com.EatEaseFrontend.AsyncOperationManager;
-import com.EatEaseFrontend.LoadingStateManager;
 import com.EatEaseFrontend.Mesa;
 import com.EatEaseFrontend.JsonParser;
 import javafx.application.Platform;
@@ -18,7 +18,6 @@ import javafx.scene.text.Text;
 
 import java.io.ByteArrayInputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Comparator;
@@ -30,22 +29,20 @@ import java.util.List;
 public class QRCodesView {
 
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
     private final AsyncOperationManager asyncManager;
-    private final LoadingStateManager loadingManager;
     private List<Mesa> mesas;
 
     /**
      * Construtor da view de QR Codes
      * 
      * @param contentArea Área de conteúdo onde a view será exibida
-     * @param httpClient  Cliente HTTP para fazer requisições à API
+     * @param apiClient   Cliente da API partilhado
      */
-    public QRCodesView(StackPane contentArea, HttpClient httpClient) {
+    public QRCodesView(StackPane contentArea, ApiClient apiClient) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
+        this.apiClient = apiClient;
         this.asyncManager = new AsyncOperationManager();
-        this.loadingManager = new LoadingStateManager();
     }
 
     /**
@@ -73,11 +70,6 @@ public class QRCodesView {
     private void loadMesas() {
         System.out.println("[QRCODES] Iniciando carregamento de mesas...");
         
-        if (!loadingManager.startLoading("loadMesas")) {
-            System.out.println("[QRCODES] Carregamento de mesas já em execução");
-            return;
-        }
-
         // Criar requisição
         HttpRequest getMesasReq = HttpRequest.newBuilder()
                 .uri(URI.create(AppConfig.getApiEndpoint("/mesa/getAll")))
@@ -85,11 +77,11 @@ public class QRCodesView {
                 .build();
 
         // Usar AsyncOperationManager para controlar a operação
-        asyncManager.executeOperation(
+        asyncManager.executeOperation("loadMesas",
                 () -> {
                     try {
                         System.out.println("[QRCODES] Enviando requisição síncrona para carregar mesas...");
-                        HttpResponse<String> response = httpClient.send(getMesasReq, HttpResponse.BodyHandlers.ofString());
+                        HttpResponse<String> response = apiClient.send(getMesasReq, HttpResponse.BodyHandlers.ofString());
                         
                         if (response.statusCode() == 200) {
                             System.out.println("[QRCODES] Mesas recebidas com sucesso");
@@ -107,7 +99,6 @@ public class QRCodesView {
                     // onSuccess - executado na UI thread
                     System.out.println("[QRCODES] Mesas carregadas com sucesso, atualizando UI");
                     this.displayQRCodeInterface();
-                    loadingManager.stopLoading("loadMesas");
                 },
                 () -> {
                     // onError - executado na UI thread
@@ -117,7 +108,6 @@ public class QRCodesView {
                     alert.setHeaderText("Falha ao carregar mesas");
                     alert.setContentText("Não foi possível carregar a lista de mesas. Tente novamente.");
                     alert.showAndWait();
-                    loadingManager.stopLoading("loadMesas");
                 }
         ).thenAccept(mesasCarregadas -> {
             if (mesasCarregadas != null) {
@@ -237,7 +227,7 @@ public class QRCodesView {
         System.out.println("[QRCODES] Iniciando geração de QR Code para mesa ID: " + mesaId);
         
         String operationId = "generateQR_" + mesaId;
-        if (!loadingManager.startLoading(operationId, button)) {
+        if (asyncManager.isLoading(operationId)) {
             System.out.println("[QRCODES] Geração de QR Code já em execução para mesa: " + mesaId);
             return;
         }
@@ -255,11 +245,11 @@ public class QRCodesView {
                 .build();
 
         // Usar AsyncOperationManager para controlar a operação
-        asyncManager.executeOperation(
+        asyncManager.executeOperation(operationId,
                 () -> {
                     try {
                         System.out.println("[QRCODES] Enviando requisição síncrona para gerar QR Code...");
-                        HttpResponse<byte[]> response = httpClient.send(getQRRequest, HttpResponse.BodyHandlers.ofByteArray());
+                        HttpResponse<byte[]> response = apiClient.send(getQRRequest, HttpResponse.BodyHandlers.ofByteArray());
                         
                         if (response.statusCode() == 200) {
                             System.out.println("[QRCODES] QR Code gerado com sucesso");
@@ -276,7 +266,6 @@ public class QRCodesView {
                 () -> {
                     // onSuccess - executado na UI thread
                     System.out.println("[QRCODES] QR Code processado com sucesso");
-                    loadingManager.stopLoading(operationId);
                 },
                 () -> {
                     // onError - executado na UI thread
@@ -287,8 +276,8 @@ public class QRCodesView {
                     alert.setContentText("Não foi possível gerar o QR Code. Tente novamente.");
                     alert.showAndWait();
                     infoLabel.setText("Erro ao gerar QR Code para Mesa #" + mesaId);
-                    loadingManager.stopLoading(operationId);
-                }
+                },
+                button
         ).thenAccept(bytes -> {
             if (bytes != null) {
                 Platform.runLater(() -> {
@@ -343,6 +332,7 @@ public class QRCodesView {
      * Método para limpar recursos quando a view não está mais visível
      */
     public void dispose() {
-        // Nada a limpar por enquanto
+        // Cancelar pedidos em curso (a UI já não vai ser atualizada)
+        asyncManager.cancelAll();
     }
 }
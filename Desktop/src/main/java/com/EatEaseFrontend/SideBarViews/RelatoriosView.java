@@ -1,23 +1,13 @@
 package com.EatEaseFrontend.SideBarViews;
 
-import com.EatEaseFrontend.AppConfig;
+import com.EatEaseFrontend.ApiClient;
+import com.EatEaseFrontend.AsyncOperationManager;
 import com.EatEaseFrontend.DialogHelper;
-import com.EatEaseFrontend.Item;
-import com.EatEaseFrontend.ItemJsonLoader;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itextpdf.kernel.colors.DeviceRgb;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
-import com.itextpdf.kernel.geom.PageSize;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
+import com.EatEaseFrontend.ReportDataEngine;
+import com.EatEaseFrontend.ReportDataExporter;
+import com.EatEaseFrontend.ReportPdfWriter;
+import com.EatEaseFrontend.ReportSnapshot;
+import com.EatEaseFrontend.StockAlertService;
 import javafx.application.Platform;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
@@ -29,51 +19,55 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.materialdesign.MaterialDesign;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.text.NumberFormat;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * View for generating and exporting restaurant reports to PDF
  */
 public class RelatoriosView {
     private final StackPane contentArea;
-    private final HttpClient httpClient;
+    private final ApiClient apiClient;
+    private final ReportDataEngine reportEngine;
     private VBox mainContainer;
     private GridPane reportsGrid;
     private Label lastUpdatedLabel;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.US);
-
-    // Data containers
-    private Map<String, JsonNode> dailySalesData;
-    private Map<String, JsonNode> dailyOrdersData;
-    private Map<Integer, Map<String, JsonNode>> itemProfitData; // itemId -> date -> profit data
-    private List<Item> allItems;
+    private Button exportPdfButton;
+    private Button exportDataButton;
+    private HBox exportProgressBox;
+    private ProgressBar exportProgressBar;
+    private Label exportStatusLabel;
+    private final AsyncOperationManager asyncManager = new AsyncOperationManager();
+    private static final String PDF_OPERATION = "exportPdf";
+    private static final String DATA_OPERATION = "exportData";
+
+    // Report data: the last complete snapshot and the load in progress (UI thread only)
+    private ReportSnapshot snapshot;
+    private CompletableFuture<ReportSnapshot> currentLoad;
+    private final Map<String, Label> reportSummaryLabels = new HashMap<>();
 
     // Date range controls
     private DatePicker startDate;
     private DatePicker endDate;
 
-    public RelatoriosView(StackPane contentArea, HttpClient httpClient) {
+    public RelatoriosView(StackPane contentArea, ApiClient apiClient, StockAlertService stockAlerts) {
         this.contentArea = contentArea;
-        this.httpClient = httpClient;
-        this.dailySalesData = new HashMap<>();
-        this.dailyOrdersData = new HashMap<>();
-        this.itemProfitData = new HashMap<>();
-        this.allItems = new ArrayList<>();
+        this.apiClient = apiClient;
+        this.reportEngine = new ReportDataEngine(apiClient, stockAlerts);
     }
 
     /**
@@ -100,11 +94,15 @@ public class RelatoriosView {
         // Create last updated label
         createLastUpdatedLabel();
 
-        // Create PDF export button
-        Button exportPdfButton = createPdfExportButton();
+        // Create PDF and data export buttons
+        exportPdfButton = createPdfExportButton();
+        exportDataButton = createDataExportButton();
+        HBox exportButtons = new HBox(20, exportPdfButton, exportDataButton);
+        exportButtons.setAlignment(Pos.CENTER);
 
-        // Create a container for the export button
-        HBox exportButtonContainer = new HBox(exportPdfButton);
+        // Create a container for the export buttons and the export progress
+        createExportProgressBox();
+        VBox exportButtonContainer = new VBox(10, exportButtons, exportProgressBox);
         exportButtonContainer.setAlignment(Pos.CENTER);
         exportButtonContainer.setPadding(new Insets(20, 0, 0, 0));
 
@@ -233,8 +231,8 @@ public class RelatoriosView {
 
         // Create report option cards
         String[] reportTitles = {
-                "Relatório de Vendas",
-                "Relatório de Produtos", "Relatório de Stock"
+                ReportPdfWriter.SALES_REPORT,
+                ReportPdfWriter.PRODUCTS_REPORT, ReportPdfWriter.STOCK_REPORT
         };
 
         String[] reportDescriptions = {
@@ -292,11 +290,19 @@ public class RelatoriosView {
         descLabel.setWrapText(true);
         descLabel.setAlignment(Pos.CENTER);
 
+        // Summary of the loaded data for this report
+        Label summaryLabel = new Label("A carregar dados...");
+        summaryLabel.setFont(Font.font("System", FontWeight.BOLD, 13));
+        summaryLabel.setTextFill(Color.valueOf("#0078d7"));
+        summaryLabel.setWrapText(true);
+        summaryLabel.setAlignment(Pos.CENTER);
+        reportSummaryLabels.put(title, summaryLabel);
+
         // Select checkbox
         CheckBox selectCheckBox = new CheckBox("Incluir no PDF");
         selectCheckBox.setSelected(true);
 
-        card.getChildren().addAll(cardIcon, titleLabel, descLabel, selectCheckBox);
+        card.getChildren().addAll(cardIcon, titleLabel, descLabel, summaryLabel, selectCheckBox);
         return card;
     }
 
@@ -336,338 +342,123 @@ public class RelatoriosView {
     }
 
     /**
-     * Creates the last updated timestamp label
+     * Creates the button that exports the raw report data (CSV or columnar)
      */
-    private void createLastUpdatedLabel() {
-        lastUpdatedLabel = new Label();
-        lastUpdatedLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
-        lastUpdatedLabel.setTextFill(Color.valueOf("#999999"));
-        lastUpdatedLabel.setAlignment(Pos.CENTER);
-        updateLastUpdatedTime();
-    }
+    private Button createDataExportButton() {
+        Button exportButton = new Button("Exportar Dados");
+        exportButton.getStyleClass().add("login-button");
+        exportButton.setPrefWidth(200);
+        exportButton.setPrefHeight(40);
 
-    /**
-     * Updates the last updated timestamp
-     */
-    private void updateLastUpdatedTime() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-        Platform.runLater(() -> lastUpdatedLabel.setText("Dados atualizados em: " + timestamp));
-    }
+        FontIcon dataIcon = new FontIcon(MaterialDesign.MDI_FILE_DELIMITED);
+        dataIcon.setIconColor(Color.WHITE);
+        dataIcon.setIconSize(18);
+        exportButton.setGraphic(dataIcon);
 
-    /**
-     * Loads initial data for reports
-     */
-    private void loadInitialData() {
-        loadHistoricalSalesData();
-        loadHistoricalOrdersData();
-        loadAllItemsData();
-        loadItemProfitData();
-    }
+        exportButton.setOnAction(e -> exportData());
 
-    /**
-     * Loads historical sales data for multiple days using the correct API
-     */
-    private void loadHistoricalSalesData() {
-        dailySalesData.clear();
-        LocalDate endDate = this.endDate.getValue();
-        LocalDate startDate = this.startDate.getValue();
-
-        // Load data for each day in the range
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            loadSalesDataForDate(date);
-        }
+        return exportButton;
     }
 
     /**
-     * Loads sales data for a specific date
+     * Creates the progress bar and cancel button shown while a PDF or a data
+     * export is being generated
      */
-    private void loadSalesDataForDate(LocalDate date) {
-        try {
-            String dateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/dashboard/vendas-dia?data=" + dateStr)))
-                    .GET()
-                    .build();
-
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        if (resp.statusCode() == 200) {
-                            try {
-                                String responseBody = resp.body().trim();
-                                if (responseBody.startsWith("<")) {
-                                    System.out.println("Sales API returned HTML error page for date: " + dateStr);
-                                    return;
-                                }
-
-                                // Parse response similar to DashboardView pattern
-                                JsonNode salesNode;
-                                try {
-                                    // Try to parse as direct number first
-                                    double salesValue = Double.parseDouble(responseBody);
-                                    // Create a JSON node with the expected structure
-                                    salesNode = objectMapper.createObjectNode()
-                                            .put("vendasDia", salesValue)
-                                            .put("numeroPedidos", 0) // Default value
-                                            .put("ticketMedio", 0.0); // Default value
-                                } catch (NumberFormatException e1) {
-                                    // If that fails, try to parse as JSON
-                                    try {
-                                        salesNode = objectMapper.readTree(responseBody);
-                                    } catch (Exception e2) {
-                                        System.err.println("Erro ao processar resposta de vendas: " + responseBody);
-                                        return;
-                                    }
-                                }
+    private void createExportProgressBox() {
+        exportProgressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        exportProgressBar.setPrefWidth(250);
+
+        exportStatusLabel = new Label();
+        exportStatusLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
+        exportStatusLabel.setTextFill(Color.valueOf("#666666"));
+
+        Button cancelButton = new Button("Cancelar");
+        cancelButton.setOnAction(e -> {
+            asyncManager.cancel(PDF_OPERATION);
+            asyncManager.cancel(DATA_OPERATION);
+        });
 
-                                dailySalesData.put(dateStr, salesNode);
-                                Platform.runLater(() -> updateLastUpdatedTime());
-                            } catch (Exception e) {
-                                System.out.println(
-                                        "Error parsing sales data for date " + dateStr + ": " + e.getMessage());
-                                Platform.runLater(() -> {
-                                    showErrorMessage("Erro ao processar dados de vendas para " + dateStr + ": "
-                                            + e.getMessage());
-                                });
-                                e.printStackTrace();
-                            }
-                        } else {
-                            System.out.println(
-                                    "Failed to load sales data for date " + dateStr + ". Status: " + resp.statusCode());
-                            Platform.runLater(() -> {
-                                showErrorMessage(
-                                        "Erro ao carregar vendas para " + dateStr + ". Status: " + resp.statusCode());
-                            });
-                        }
-                    })
-                    .exceptionally(e -> {
-                        System.out.println("Failed to load sales data for date: " + dateStr);
-                        Platform.runLater(() -> {
-                            showErrorMessage(
-                                    "Erro ao carregar dados de vendas para " + dateStr + ": " + e.getMessage());
-                        });
-                        e.printStackTrace();
-                        return null;
-                    });
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        exportProgressBox = new HBox(10, exportProgressBar, exportStatusLabel, cancelButton);
+        exportProgressBox.setAlignment(Pos.CENTER);
+        exportProgressBox.setVisible(false);
+        exportProgressBox.setManaged(false);
     }
 
     /**
-     * Loads historical orders data for multiple days
+     * Creates the last updated timestamp label
      */
-    private void loadHistoricalOrdersData() {
-        dailyOrdersData.clear();
-        LocalDate endDate = this.endDate.getValue();
-        LocalDate startDate = this.startDate.getValue();
-
-        // Load data for each day in the range
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            loadOrdersDataForDate(date);
-        }
+    private void createLastUpdatedLabel() {
+        lastUpdatedLabel = new Label();
+        lastUpdatedLabel.setFont(Font.font("System", FontWeight.NORMAL, 12));
+        lastUpdatedLabel.setTextFill(Color.valueOf("#999999"));
+        lastUpdatedLabel.setAlignment(Pos.CENTER);
     }
 
     /**
-     * Loads orders data for a specific date
+     * Updates the last updated timestamp
      */
-    private void loadOrdersDataForDate(LocalDate date) {
-        try {
-            String dateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/dashboard/pedidos-dia?data=" + dateStr)))
-                    .header("Accept", "application/json")
-                    .GET()
-                    .build();
-
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        if (resp.statusCode() == 200) {
-                            try {
-                                String responseBody = resp.body().trim();
-                                if (responseBody.startsWith("<")) {
-                                    System.out.println("Orders API returned HTML error page for date: " + dateStr);
-                                    return;
-                                }
-
-                                JsonNode ordersNode;
-                                try {
-                                    // Try parsing as direct number first
-                                    int ordersValue = Integer.parseInt(responseBody);
-                                    ordersNode = objectMapper.createObjectNode().put("value", ordersValue);
-                                } catch (NumberFormatException e) {
-                                    // Fall back to JSON parsing
-                                    ordersNode = objectMapper.readTree(responseBody);
-                                }
-
-                                dailyOrdersData.put(dateStr, ordersNode);
-                                Platform.runLater(() -> updateLastUpdatedTime());
-                            } catch (Exception e) {
-                                System.out.println(
-                                        "Error parsing orders data for date " + dateStr + ": " + e.getMessage());
-                                Platform.runLater(() -> {
-                                    showErrorMessage("Erro ao processar dados de pedidos para " + dateStr + ": "
-                                            + e.getMessage());
-                                });
-                                e.printStackTrace();
-                            }
-                        } else {
-                            System.out.println("Failed to load orders data for date " + dateStr + ". Status: "
-                                    + resp.statusCode());
-                            Platform.runLater(() -> {
-                                showErrorMessage(
-                                        "Erro ao carregar pedidos para " + dateStr + ". Status: " + resp.statusCode());
-                            });
-                        }
-                    })
-                    .exceptionally(e -> {
-                        System.out.println("Failed to load orders data for date: " + dateStr + ": " + e.getMessage());
-                        Platform.runLater(() -> {
-                            showErrorMessage(
-                                    "Erro ao carregar dados de pedidos para " + dateStr + ": " + e.getMessage());
-                        });
-                        e.printStackTrace();
-                        return null;
-                    });
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private void updateLastUpdatedTime(LocalDateTime loadedAt) {
+        String timestamp = loadedAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+        lastUpdatedLabel.setText("Dados atualizados em: " + timestamp);
     }
 
     /**
-     * Loads all items data to get item IDs for profit analysis
+     * Loads the report snapshot for the selected range. A new load replaces
+     * the one in progress; the cards and the PDF only ever see a snapshot
+     * where every source has arrived.
      */
-    private void loadAllItemsData() {
-        try {
-            // Make API request to get items
-            HttpRequest getItemsReq = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint("/item/getAll")))
-                    .GET()
-                    .build();
-
-            httpClient.sendAsync(getItemsReq, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        if (resp.statusCode() == 200) {
-                            try {
-                                String responseBody = resp.body();
-                                if (responseBody.trim().startsWith("<")) {
-                                    Platform.runLater(() -> {
-                                        showErrorMessage(
-                                                "Erro no servidor: resposta HTML recebida em vez de dados JSON");
-                                    });
-                                    return;
-                                }
-
-                                allItems.clear();
-                                allItems.addAll(ItemJsonLoader.parseItems(responseBody));
-                                // After loading items, load profit data for each item
-                                loadItemProfitData();
-                                Platform.runLater(() -> updateLastUpdatedTime());
-                            } catch (Exception e) {
-                                System.out.println("Error parsing items data: " + e.getMessage());
-                                Platform.runLater(() -> {
-                                    showErrorMessage("Erro ao processar dados dos produtos: " + e.getMessage());
-                                });
-                                e.printStackTrace();
-                            }
-                        } else {
-                            Platform.runLater(() -> {
-                                showErrorMessage("Erro ao carregar produtos. Status: " + resp.statusCode());
-                            });
-                        }
-                    })
-                    .exceptionally(e -> {
-                        System.out.println("Failed to load items data: " + e.getMessage());
-                        Platform.runLater(() -> {
-                            showErrorMessage("Erro ao carregar dados dos produtos: " + e.getMessage());
-                        });
-                        e.printStackTrace();
-                        return null;
-                    });
-        } catch (Exception e) {
-            Platform.runLater(() -> {
-                showErrorMessage("Erro ao carregar dados dos produtos: " + e.getMessage());
-            });
-            e.printStackTrace();
+    private void loadInitialData() {
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
         }
-    }
-
-    /**
-     * Loads profit data for all items over the last 10 days
-     */
-    private void loadItemProfitData() {
-        for (Item item : allItems) {
-            loadItemProfitForLastDays(item.getId(), 10);
+        LocalDate start = startDate.getValue();
+        LocalDate end = endDate.getValue();
+        if (start == null || end == null) {
+            return;
         }
+
+        reportSummaryLabels.values().forEach(label -> label.setText("A carregar dados..."));
+        CompletableFuture<ReportSnapshot> load = reportEngine.load(start, end);
+        currentLoad = load;
+
+        load.whenComplete((loaded, e) -> Platform.runLater(() -> {
+            if (load != currentLoad) {
+                return; // Superseded by a newer range, or the view was disposed
+            }
+            if (e != null) {
+                if (e instanceof CancellationException) {
+                    return;
+                }
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                System.out.println("Failed to load report data: " + cause.getMessage());
+                reportSummaryLabels.values().forEach(label -> label.setText("Dados indisponíveis"));
+                showErrorMessage("Erro ao carregar dados dos relatórios: " + cause.getMessage());
+                return;
+            }
+            snapshot = loaded;
+            updateReportSummaries(loaded);
+            updateLastUpdatedTime(loaded.getLoadedAt());
+        }));
     }
 
     /**
-     * Loads profit data for a specific item over the last N days
+     * Shows on each report card what the PDF will contain
      */
-    private void loadItemProfitForLastDays(int itemId, int lastDays) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(AppConfig.getApiEndpoint(
-                            "/dashboard/lucroByItemId?itemId=" + itemId + "&lastDays=" + lastDays)))
-                    .GET()
-                    .build();
-
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(resp -> {
-                        if (resp.statusCode() == 200) {
-                            try {
-                                String responseBody = resp.body();
-                                if (responseBody.trim().startsWith("<")) {
-                                    System.out.println("Profit API returned HTML error page for item: " + itemId);
-                                    return;
-                                }
-
-                                JsonNode profitNode = objectMapper.readTree(responseBody);
-
-                                // Store profit data by item ID
-                                if (!itemProfitData.containsKey(itemId)) {
-                                    itemProfitData.put(itemId, new HashMap<>());
-                                }
-
-                                // Process daily profit data
-                                if (profitNode.isArray()) {
-                                    for (JsonNode dayData : profitNode) {
-                                        if (dayData.has("data")) {
-                                            String dateStr = dayData.get("data").asText();
-                                            itemProfitData.get(itemId).put(dateStr, dayData);
-                                        }
-                                    }
-                                }
+    private void updateReportSummaries(ReportSnapshot data) {
+        String missing = data.getMissingDays() > 0 ? " (" + data.getMissingDays() + " dias em falta)" : "";
+        setSummary(ReportPdfWriter.SALES_REPORT, String.format("%.2f € em %d pedidos%s",
+                data.getTotalSales(), data.getTotalOrders(), missing));
+        setSummary(ReportPdfWriter.PRODUCTS_REPORT, String.format("%d produtos, %.2f € de lucro",
+                data.getItems().size(), data.getTotalProfit()));
+        int lowStock = data.getStockAlerts().size();
+        setSummary(ReportPdfWriter.STOCK_REPORT,
+                lowStock == 0 ? "Sem alertas de stock" : lowStock + " alertas de stock");
+    }
 
-                                Platform.runLater(() -> updateLastUpdatedTime());
-                            } catch (Exception e) {
-                                System.out.println(
-                                        "Error parsing profit data for item " + itemId + ": " + e.getMessage());
-                                Platform.runLater(() -> {
-                                    showErrorMessage("Erro ao processar dados de lucro para item " + itemId + ": "
-                                            + e.getMessage());
-                                });
-                                e.printStackTrace();
-                            }
-                        } else {
-                            System.out.println(
-                                    "Failed to load profit data for item " + itemId + ". Status: " + resp.statusCode());
-                            Platform.runLater(() -> {
-                                showErrorMessage("Erro ao carregar lucro para item " + itemId + ". Status: "
-                                        + resp.statusCode());
-                            });
-                        }
-                    })
-                    .exceptionally(e -> {
-                        System.out.println("Failed to load profit data for item " + itemId + ": " + e.getMessage());
-                        Platform.runLater(() -> {
-                            showErrorMessage(
-                                    "Erro ao carregar dados de lucro para item " + itemId + ": " + e.getMessage());
-                        });
-                        e.printStackTrace();
-                        return null;
-                    });
-        } catch (Exception e) {
-            e.printStackTrace();
+    private void setSummary(String report, String text) {
+        Label label = reportSummaryLabels.get(report);
+        if (label != null) {
+            label.setText(text);
         }
     }
 
@@ -691,11 +482,12 @@ public class RelatoriosView {
             return;
         }
 
-        // Debug information
-        System.out.println("Selected reports: " + selectedReports);
-        System.out.println("Sales data size: " + dailySalesData.size());
-        System.out.println("Orders data size: " + dailyOrdersData.size());
-        System.out.println("Items size: " + allItems.size());
+        CompletableFuture<ReportSnapshot> load = currentLoad;
+        if (load == null || load.isCompletedExceptionally()) {
+            DialogHelper.showErrorAlert("Dados indisponíveis",
+                    "Os dados dos relatórios não foram carregados. Use \"Atualizar Dados\" e tente novamente.");
+            return;
+        }
 
         // Show confirmation popup before proceeding with PDF generation
         String reportsList = String.join(", ", selectedReports);
@@ -704,6 +496,13 @@ public class RelatoriosView {
                 reportsList,
                 startDate.getValue().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
                 endDate.getValue().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        if (!load.isDone()) {
+            confirmationMessage += "\n\nOs dados ainda estão a carregar; o PDF será gerado quando estiverem completos.";
+        } else if (snapshot != null && !snapshot.isComplete()) {
+            confirmationMessage += String.format(
+                    "\n\nAtenção: não foi possível carregar %d dias e o lucro de %d produtos.",
+                    snapshot.getMissingDays(), snapshot.getMissingProfitItems().size());
+        }
 
         PopUp.showConfirmationPopup(
                 Alert.AlertType.INFORMATION,
@@ -712,14 +511,17 @@ public class RelatoriosView {
                 confirmationMessage,
                 () -> {
                     // User confirmed, proceed with PDF generation
-                    generatePdfFile(selectedReports);
+                    generatePdfFile(selectedReports, load);
                 });
     }
 
     /**
-     * Generates the actual PDF file after user confirmation
+     * Generates the actual PDF file after user confirmation. The document is
+     * written on a background thread from the report snapshot (waiting for it
+     * if it is still loading), with progress shown under the export button
+     * and a cancel option.
      */
-    private void generatePdfFile(List<String> selectedReports) {
+    private void generatePdfFile(List<String> selectedReports, CompletableFuture<ReportSnapshot> load) {
         // Choose the directory to save the PDF
         DirectoryChooser directoryChooser = new DirectoryChooser();
         directoryChooser.setTitle("Guardar Relatório PDF");
@@ -735,42 +537,149 @@ public class RelatoriosView {
 
         File pdfFile = new File(directory, filename);
 
-        try {
-            // Create PDF document
-            PdfWriter writer = new PdfWriter(pdfFile);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc, PageSize.A4);
-
-            // Add content to the PDF
-            createPdfContent(document, selectedReports);
-
-            // Close the document
-            document.close();
-
-            // Show success message using popup
-            Platform.runLater(() -> {
+        exportProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        exportStatusLabel.setText(load.isDone() ? "A gerar PDF..." : "A aguardar dados...");
+        exportProgressBox.setVisible(true);
+        exportProgressBox.setManaged(true);
+
+        asyncManager.<Void>executeOperation(PDF_OPERATION, () -> {
+            ReportSnapshot data = awaitSnapshot(load);
+            ReportPdfWriter pdfWriter = new ReportPdfWriter(data,
+                    (rowsWritten, totalRows) -> Platform.runLater(() -> {
+                        exportProgressBar.setProgress(totalRows > 0 ? (double) rowsWritten / totalRows : -1);
+                        exportStatusLabel.setText("A gerar PDF... " + rowsWritten + " de " + totalRows + " linhas");
+                    }));
+            try {
+                pdfWriter.write(pdfFile, selectedReports);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        }, null, null, exportPdfButton, exportDataButton).whenComplete((ignored, e) -> Platform.runLater(() -> {
+            exportProgressBox.setVisible(false);
+            exportProgressBox.setManaged(false);
+
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause == null) {
+                // Show success message using popup
                 PopUp.showPopupDialog(
                         Alert.AlertType.INFORMATION,
                         "PDF Criado com Sucesso",
                         "Relatório Gerado",
                         "O relatório foi salvo como:\n" + pdfFile.getAbsolutePath());
-            });
-
-        } catch (FileNotFoundException e) {
-            PopUp.showPopupDialog(
-                    Alert.AlertType.ERROR,
-                    "Erro ao Guardar Arquivo",
-                    "Falha na Criação do PDF",
-                    "Não foi possível guardar o arquivo. O arquivo está aberto em outro programa?");
-            e.printStackTrace();
-        } catch (Exception e) {
-            PopUp.showPopupDialog(
-                    Alert.AlertType.ERROR,
-                    "Erro ao Gerar PDF",
-                    "Falha na Geração do Relatório",
-                    "Ocorreu um erro ao gerar o relatório: " + e.getMessage());
-            e.printStackTrace();
+            } else if (cause instanceof CancellationException) {
+                System.out.println("Geração do PDF cancelada");
+            } else if (cause instanceof FileNotFoundException) {
+                PopUp.showPopupDialog(
+                        Alert.AlertType.ERROR,
+                        "Erro ao Guardar Arquivo",
+                        "Falha na Criação do PDF",
+                        "Não foi possível guardar o arquivo. O arquivo está aberto em outro programa?");
+                cause.printStackTrace();
+            } else {
+                PopUp.showPopupDialog(
+                        Alert.AlertType.ERROR,
+                        "Erro ao Gerar PDF",
+                        "Falha na Geração do Relatório",
+                        "Ocorreu um erro ao gerar o relatório: " + cause.getMessage());
+                cause.printStackTrace();
+            }
+        }));
+    }
+
+    /**
+     * Waits, on the export thread, for the report snapshot to finish loading
+     */
+    private static ReportSnapshot awaitSnapshot(CompletableFuture<ReportSnapshot> load) {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            throw new CancellationException("Exportação cancelada");
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Exports the report data for the selected period to CSV files or to a
+     * columnar binary file, for analysis in external tools. Rows are streamed
+     * straight to the file on a background thread.
+     */
+    private void exportData() {
+        CompletableFuture<ReportSnapshot> load = currentLoad;
+        if (load == null || load.isCompletedExceptionally()) {
+            DialogHelper.showErrorAlert("Dados indisponíveis",
+                    "Os dados dos relatórios não foram carregados. Use \"Atualizar Dados\" e tente novamente.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Exportar Dados dos Relatórios");
+        FileChooser.ExtensionFilter csvFilter = new FileChooser.ExtensionFilter(
+                "CSV (um ficheiro por tabela)", "*" + ReportDataExporter.CSV_EXTENSION);
+        FileChooser.ExtensionFilter columnarFilter = new FileChooser.ExtensionFilter(
+                "Dados colunares EatEase", "*" + ReportDataExporter.COLUMNAR_EXTENSION);
+        fileChooser.getExtensionFilters().addAll(csvFilter, columnarFilter);
+        fileChooser.setInitialFileName(String.format("Dados_EatEase_%s",
+                LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
+        File chosen = fileChooser.showSaveDialog(null);
+
+        if (chosen == null) {
+            return; // User canceled the operation
         }
+
+        boolean columnar = fileChooser.getSelectedExtensionFilter() == columnarFilter
+                || chosen.getName().toLowerCase().endsWith(ReportDataExporter.COLUMNAR_EXTENSION);
+        File target = columnar && !chosen.getName().toLowerCase().endsWith(ReportDataExporter.COLUMNAR_EXTENSION)
+                ? new File(chosen.getParentFile(), chosen.getName() + ReportDataExporter.COLUMNAR_EXTENSION)
+                : chosen;
+
+        exportProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        exportStatusLabel.setText(load.isDone() ? "A exportar dados..." : "A aguardar dados...");
+        exportProgressBox.setVisible(true);
+        exportProgressBox.setManaged(true);
+
+        asyncManager.<List<Path>>executeOperation(DATA_OPERATION, () -> {
+            ReportSnapshot data = awaitSnapshot(load);
+            ReportDataExporter exporter = new ReportDataExporter(data,
+                    (rowsWritten, totalRows) -> Platform.runLater(() -> {
+                        exportProgressBar.setProgress(totalRows > 0 ? (double) rowsWritten / totalRows : -1);
+                        exportStatusLabel.setText("A exportar dados... " + rowsWritten + " de " + totalRows
+                                + " linhas");
+                    }));
+            try {
+                if (columnar) {
+                    exporter.writeColumnar(target.toPath());
+                    return List.of(target.toPath());
+                }
+                return exporter.writeCsv(target.toPath());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, null, null, exportPdfButton, exportDataButton).whenComplete((files, e) -> Platform.runLater(() -> {
+            exportProgressBox.setVisible(false);
+            exportProgressBox.setManaged(false);
+
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause == null) {
+                StringBuilder written = new StringBuilder();
+                files.forEach(file -> written.append("\n").append(file.toAbsolutePath()));
+                PopUp.showPopupDialog(
+                        Alert.AlertType.INFORMATION,
+                        "Dados Exportados com Sucesso",
+                        "Exportação Concluída",
+                        "Os dados foram guardados em:" + written);
+            } else if (cause instanceof CancellationException) {
+                System.out.println("Exportação de dados cancelada");
+            } else {
+                PopUp.showPopupDialog(
+                        Alert.AlertType.ERROR,
+                        "Erro ao Exportar Dados",
+                        "Falha na Exportação",
+                        "Ocorreu um erro ao exportar os dados: " + cause.getMessage());
+                cause.printStackTrace();
+            }
+        }));
     }
 
     /**
@@ -806,412 +715,20 @@ public class RelatoriosView {
         return selectedReports;
     }
 
-    /**
-     * Create the content for the PDF document
-     */
-    private void createPdfContent(Document document, List<String> selectedReports) throws IOException {
-        // Define colors
-        DeviceRgb primaryColor = new DeviceRgb(0, 120, 215); // #0078D7
-        DeviceRgb lightGray = new DeviceRgb(237, 237, 237); // #EDEDED
-
-        // Load fonts
-        PdfFont fontBold = PdfFontFactory.createFont("Helvetica-Bold");
-        PdfFont fontRegular = PdfFontFactory.createFont("Helvetica");
-
-        // Add document title
-        Paragraph title = new Paragraph("EatEase Restaurant - Relatório Completo")
-                .setFont(fontBold)
-                .setFontSize(20)
-                .setFontColor(primaryColor)
-                .setTextAlignment(TextAlignment.CENTER);
-        document.add(title);
-
-        // Add date range
-        String periodText = String.format("Período do Relatório: %s a %s",
-                startDate.getValue().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                endDate.getValue().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-
-        Paragraph datePeriod = new Paragraph(periodText)
-                .setFont(fontRegular)
-                .setFontSize(12)
-                .setTextAlignment(TextAlignment.CENTER);
-        document.add(datePeriod);
-
-        // Add generation datetime
-        String genDateTime = "Gerado em: " +
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-
-        Paragraph genDateParagraph = new Paragraph(genDateTime)
-                .setFont(fontRegular)
-                .setFontSize(10)
-                .setTextAlignment(TextAlignment.RIGHT);
-        document.add(genDateParagraph);
-
-        document.add(new Paragraph("\n")); // Space
-
-        // Add selected report sections
-        for (String reportType : selectedReports) {
-            switch (reportType) {
-                case "Relatório de Vendas":
-                    addHistoricalSalesReport(document, fontBold, fontRegular, primaryColor, lightGray);
-                    break;
-                case "Relatório de Produtos":
-                    addProductsProfitReport(document, fontBold, fontRegular, primaryColor, lightGray);
-                    break;
-                case "Relatório de Stock":
-                    addStockAlertsReport(document, fontBold, fontRegular, primaryColor, lightGray);
-                    break;
-            }
-        }
-    }
-
-    /**
-     * Filters data by the selected date range
-     */
-    private boolean isDateInRange(String dateStr) {
-        try {
-            LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            LocalDate start = startDate.getValue();
-            LocalDate end = endDate.getValue();
-
-            return !date.isBefore(start) && !date.isAfter(end);
-        } catch (Exception e) {
-            System.out.println("Error parsing date: " + dateStr);
-            return false;
-        }
-    }
-
-    /**
-     * Gets filtered sales data within the selected date range
-     */
-    private Map<String, JsonNode> getFilteredSalesData() {
-        Map<String, JsonNode> filteredData = new HashMap<>();
-        for (Map.Entry<String, JsonNode> entry : dailySalesData.entrySet()) {
-            if (isDateInRange(entry.getKey())) {
-                filteredData.put(entry.getKey(), entry.getValue());
-            }
-        }
-        return filteredData;
-    }
-
-    /**
-     * Gets filtered orders data within the selected date range
-     */
-    private Map<String, JsonNode> getFilteredOrdersData() {
-        Map<String, JsonNode> filteredData = new HashMap<>();
-        for (Map.Entry<String, JsonNode> entry : dailyOrdersData.entrySet()) {
-            if (isDateInRange(entry.getKey())) {
-                filteredData.put(entry.getKey(), entry.getValue());
-            }
-        }
-        return filteredData;
-    }
-
-    /**
-     * Add comprehensive sales report section to PDF
-     */
-    private void addHistoricalSalesReport(Document document, PdfFont fontBold, PdfFont fontRegular,
-            DeviceRgb primaryColor, DeviceRgb lightGray) {
-        // Section title
-        Paragraph sectionTitle = new Paragraph("Relatório de Vendas e Pedidos - Timeline Completa")
-                .setFont(fontBold)
-                .setFontSize(16)
-                .setFontColor(primaryColor);
-        document.add(sectionTitle);
-
-        document.add(new Paragraph("\n")); // Space
-
-        // Get filtered data for the selected date range
-        Map<String, JsonNode> filteredSalesData = getFilteredSalesData();
-        Map<String, JsonNode> filteredOrdersData = getFilteredOrdersData();
-
-        if (!filteredSalesData.isEmpty()) {
-            // Calculate totals
-            double totalSales = 0.0;
-            int totalOrders = 0;
-            int daysWithData = 0;
-
-            // Create detailed sales table
-            Table salesTable = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 2, 2 }))
-                    .useAllAvailableWidth();
-
-            // Header row
-            salesTable.addHeaderCell(new Cell().add(new Paragraph("Data")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            salesTable.addHeaderCell(new Cell().add(new Paragraph("Vendas (€)")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            salesTable.addHeaderCell(new Cell().add(new Paragraph("Nº Pedidos")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            salesTable.addHeaderCell(new Cell().add(new Paragraph("Ticket Médio (€)")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-
-            // Sort dates and add data
-            List<String> sortedDates = new ArrayList<>(filteredSalesData.keySet());
-            Collections.sort(sortedDates);
-
-            for (String dateStr : sortedDates) {
-                JsonNode salesData = filteredSalesData.get(dateStr);
-                JsonNode ordersData = filteredOrdersData.get(dateStr);
-
-                double dayVendas = salesData.has("vendasDia") ? salesData.get("vendasDia").asDouble() : 0.0;
-
-                // Get orders count from orders data if available, otherwise from sales data
-                int dayOrders = 0;
-                if (ordersData != null) {
-                    dayOrders = ordersData.has("value") ? ordersData.get("value").asInt()
-                            : ordersData.has("totalPedidos") ? ordersData.get("totalPedidos").asInt() : 0;
-                } else if (salesData.has("numeroPedidos")) {
-                    dayOrders = salesData.get("numeroPedidos").asInt();
-                }
-
-                double dayTicket = dayOrders > 0 ? dayVendas / dayOrders : 0.0;
-
-                // Format date for display
-                try {
-                    LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                    String displayDate = date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-                    salesTable.addCell(new Cell().add(new Paragraph(displayDate).setFont(fontRegular)));
-                } catch (Exception e) {
-                    salesTable.addCell(new Cell().add(new Paragraph(dateStr).setFont(fontRegular)));
-                }
-
-                salesTable
-                        .addCell(new Cell().add(new Paragraph(currencyFormat.format(dayVendas)).setFont(fontRegular)));
-                salesTable.addCell(new Cell().add(new Paragraph(String.valueOf(dayOrders)).setFont(fontRegular)));
-                salesTable
-                        .addCell(new Cell().add(new Paragraph(currencyFormat.format(dayTicket)).setFont(fontRegular)));
-
-                // Update totals
-                totalSales += dayVendas;
-                totalOrders += dayOrders;
-                daysWithData++;
-            }
-
-            document.add(salesTable);
-
-            // Add summary statistics
-            document.add(new Paragraph("\n"));
-
-            // Create dynamic period description
-            LocalDate startDateValue = startDate.getValue();
-            LocalDate endDateValue = endDate.getValue();
-            long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(startDateValue, endDateValue) + 1;
-
-            String periodDescription;
-            if (daysBetween <= 7) {
-                periodDescription = String.format("Resumo dos Últimos %d Dias", daysBetween);
-            } else if (daysBetween <= 31) {
-                periodDescription = String.format("Resumo do Último Mês (%d dias)", daysBetween);
-            } else if (daysBetween <= 93) {
-                long months = daysBetween / 30;
-                periodDescription = String.format("Resumo dos Últimos %d Meses", months);
-            } else {
-                periodDescription = String.format("Resumo do Período (%s a %s)",
-                        startDateValue.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                        endDateValue.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-            }
-
-            Paragraph summaryTitle = new Paragraph(periodDescription)
-                    .setFont(fontBold)
-                    .setFontSize(14)
-                    .setFontColor(primaryColor);
-            document.add(summaryTitle);
-
-            Table summaryTable = new Table(UnitValue.createPercentArray(2)).useAllAvailableWidth();
-
-            summaryTable.addCell(new Cell().add(new Paragraph("Total de Vendas").setFont(fontBold)));
-            summaryTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(totalSales)).setFont(fontRegular)));
-
-            summaryTable.addCell(new Cell().add(new Paragraph("Total de Pedidos").setFont(fontBold)));
-            summaryTable.addCell(new Cell().add(new Paragraph(String.valueOf(totalOrders)).setFont(fontRegular)));
-
-            if (daysWithData > 0) {
-                double avgDailySales = totalSales / daysWithData;
-                double avgDailyOrders = (double) totalOrders / daysWithData;
-                double avgTicket = totalOrders > 0 ? totalSales / totalOrders : 0;
-
-                summaryTable.addCell(new Cell().add(new Paragraph("Média Diária de Vendas").setFont(fontRegular)));
-                summaryTable.addCell(
-                        new Cell().add(new Paragraph(currencyFormat.format(avgDailySales)).setFont(fontRegular)));
-
-                summaryTable.addCell(new Cell().add(new Paragraph("Média Diária de Pedidos").setFont(fontRegular)));
-                summaryTable.addCell(
-                        new Cell().add(new Paragraph(String.format("%.1f", avgDailyOrders)).setFont(fontRegular)));
-
-                summaryTable.addCell(new Cell().add(new Paragraph("Ticket Médio Geral").setFont(fontBold)));
-                summaryTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(avgTicket)).setFont(fontBold)));
-            }
-
-            document.add(summaryTable);
-        } else {
-            document.add(
-                    new Paragraph("Dados de vendas não disponíveis para o período selecionado").setFont(fontRegular));
-        }
-
-        document.add(new Paragraph("\n\n")); // Space
-    }
-
-    /**
-     * Add products profit analysis report section to PDF
-     */
-    private void addProductsProfitReport(Document document, PdfFont fontBold, PdfFont fontRegular,
-            DeviceRgb primaryColor, DeviceRgb lightGray) {
-        // Section title
-        Paragraph sectionTitle = new Paragraph("Relatório de Análise de Produtos")
-                .setFont(fontBold)
-                .setFontSize(16)
-                .setFontColor(primaryColor);
-        document.add(sectionTitle);
-
-        document.add(new Paragraph("\n")); // Space
-
-        if (!allItems.isEmpty()) {
-            // Create products table
-            Table productsTable = new Table(UnitValue.createPercentArray(new float[] { 4, 2, 2 }))
-                    .useAllAvailableWidth();
-
-            // Header row
-            productsTable.addHeaderCell(new Cell().add(new Paragraph("Produto")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            productsTable.addHeaderCell(new Cell().add(new Paragraph("Preço (€)")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            productsTable.addHeaderCell(new Cell().add(new Paragraph("Stock Atual")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-
-            // Add products data
-            for (Item item : allItems) {
-                // Add product name
-                productsTable.addCell(new Cell().add(new Paragraph(item.getNome())
-                        .setFont(fontRegular)));
-
-                // Add price
-                productsTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(item.getPreco()))
-                        .setFont(fontRegular)));
-
-                // Add stock level
-                int stock = item.getStockAtual();
-                String stockText = stock > 0 ? String.valueOf(stock) : "N/A";
-                productsTable.addCell(new Cell().add(new Paragraph(stockText).setFont(fontRegular)));
-            }
-
-            document.add(productsTable);
-        } else {
-            document.add(new Paragraph("Dados de produtos não disponíveis").setFont(fontRegular));
-        }
-
-        document.add(new Paragraph("\n\n")); // Space
-    }
-
-    /**
-     * Add stock alerts report section to PDF
-     */
-    private void addStockAlertsReport(Document document, PdfFont fontBold, PdfFont fontRegular,
-            DeviceRgb primaryColor, DeviceRgb lightGray) {
-        // Section title
-        Paragraph sectionTitle = new Paragraph("Relatório de Alertas de Stock")
-                .setFont(fontBold)
-                .setFontSize(16)
-                .setFontColor(primaryColor);
-        document.add(sectionTitle);
-
-        document.add(new Paragraph("\n")); // Space
-
-        // Get items with low stock
-        List<Item> lowStockItems = allItems.stream()
-                .filter(item -> item.getStockAtual() > 0 && item.getStockAtual() <= 10)
-                .sorted((a, b) -> Integer.compare(a.getStockAtual(), b.getStockAtual()))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
-
-        if (!lowStockItems.isEmpty()) {
-            // Stock alerts introduction
-            Paragraph stockIntro = new Paragraph("Items com níveis de estoque baixo que requerem atenção:")
-                    .setFont(fontRegular)
-                    .setFontSize(12);
-            document.add(stockIntro);
-
-            document.add(new Paragraph("\n")); // Space
-
-            // Create stock alerts table
-            Table stockTable = new Table(UnitValue.createPercentArray(new float[] { 5, 2, 2, 3 }))
-                    .useAllAvailableWidth();
-
-            // Header row
-            stockTable.addHeaderCell(new Cell().add(new Paragraph("Produto")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            stockTable.addHeaderCell(new Cell().add(new Paragraph("Stock Atual")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            stockTable.addHeaderCell(new Cell().add(new Paragraph("Preço")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-            stockTable.addHeaderCell(new Cell().add(new Paragraph("Status")
-                    .setFont(fontBold).setFontColor(primaryColor)));
-
-            // Add stock alerts data
-            for (Item item : lowStockItems) {
-                // Add product name
-                stockTable.addCell(new Cell().add(new Paragraph(item.getNome())
-                        .setFont(fontRegular)));
-
-                // Add current stock
-                stockTable.addCell(new Cell().add(new Paragraph(String.valueOf(item.getStockAtual()))
-                        .setFont(fontRegular)));
-
-                // Add price
-                stockTable.addCell(new Cell().add(new Paragraph(currencyFormat.format(item.getPreco()))
-                        .setFont(fontRegular)));
-
-                // Add status
-                String status = item.getStockAtual() <= 3 ? "CRÍTICO" : "BAIXO";
-                Cell statusCell = new Cell().add(new Paragraph(status).setFont(fontBold));
-
-                // Set cell background color based on status
-                if (status.equals("CRÍTICO")) {
-                    statusCell.setBackgroundColor(new DeviceRgb(255, 200, 200)); // light red
-                } else {
-                    statusCell.setBackgroundColor(new DeviceRgb(255, 229, 153)); // light yellow
-                }
-
-                stockTable.addCell(statusCell);
-            }
-
-            document.add(stockTable);
-        } else {
-            document.add(new Paragraph(
-                    "Não há alertas de stock no momento. Todos os produtos têm níveis adequados de estoque.")
-                    .setFont(fontRegular));
-        }
-
-        document.add(new Paragraph("\n\n")); // Space
-    }
-
     /**
      * Dispose method to clean up resources when switching views
      */
     public void dispose() {
-        // Clear data containers to help with memory management
-        if (dailySalesData != null) {
-            dailySalesData.clear();
-        }
-        if (dailyOrdersData != null) {
-            dailyOrdersData.clear();
-        }
-        if (itemProfitData != null) {
-            itemProfitData.clear();
-        }
-        if (allItems != null) {
-            allItems.clear();
+        // Stop a PDF that is still being generated and the data load
+        asyncManager.cancelAll();
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
+            currentLoad = null;
         }
 
-        // Set data references to null
-        dailySalesData = null;
-        dailyOrdersData = null;
-        itemProfitData = null;
-        allItems = null;
-
-        // Clear UI components
-        if (contentArea != null) {
-            Platform.runLater(() -> contentArea.getChildren().clear());
-        }
+        // Release the report data
+        snapshot = null;
+        reportSummaryLabels.clear();
 
         System.out.println("Limpeza de recursos da view de relatórios");
     }
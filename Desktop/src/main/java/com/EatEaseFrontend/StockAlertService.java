@@ -0,0 +1,446 @@
+package com.EatEaseFrontend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import javafx.application.Platform;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice de stock de produtos e ingredientes partilhado pelas views, com os
+ * alertas (crítico / baixo, ver StockThresholds) sempre calculados.
+ *
+ * O catálogo completo só é descarregado na primeira subscrição, ou numa
+ * subscrição depois de passar stock.resync.seconds desde a última
+ * sincronização (o backend não envia eventos para todas as alterações de
+ * stock, mesmo com o stream ligado). Entretanto o índice é mantido por:
+ * <ul>
+ * <li>eventos "item" e "ingrediente" do LiveEventStream (com o stock novo, ou
+ * só o id, e nesse caso o registo é pedido de novo);</li>
+ * <li>alterações feitas nas próprias views (listas carregadas, movimentos de
+ * stock, remoções).</li>
+ * </ul>
+ * Cada alteração só mexe no registo afetado e as views subscritas recebem a
+ * lista de alertas nova na UI thread (várias alterações seguidas resultam
+ * numa só notificação).
+ */
+public class StockAlertService {
+
+    /**
+     * Tipo de registo no índice
+     */
+    public enum Kind {
+        ITEM,
+        INGREDIENTE
+    }
+
+    /**
+     * Stock de um produto ou ingrediente
+     *
+     * @param kind     Produto ou ingrediente
+     * @param id       Id no backend
+     * @param name     Nome
+     * @param stock    Stock atual
+     * @param stockMin Stock mínimo (só ingredientes)
+     * @param unit     Unidade do stock (ex: "un.")
+     * @param level    Nível de stock
+     */
+    public record Entry(Kind kind, int id, String name, int stock, int stockMin, String unit,
+            StockThresholds.Level level) {
+    }
+
+    /**
+     * Alertas de stock num dado momento, do stock mais baixo para o mais alto
+     */
+    public record StockAlerts(List<Entry> critical, List<Entry> low, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Recebe os alertas, sempre na UI thread
+     */
+    public interface Listener {
+        void onAlerts(StockAlerts alerts);
+
+        /**
+         * A sincronização do catálogo falhou (os alertas anteriores, se os
+         * houver, mantêm-se)
+         */
+        void onError(Throwable error);
+    }
+
+    private static final String ITEM_UNIT = "un.";
+    private static final Comparator<Entry> ALERT_ORDER = Comparator.comparingInt(Entry::stock)
+            .thenComparing(Entry::kind)
+            .thenComparingInt(Entry::id);
+
+    private final ApiClient apiClient;
+    private final LiveEventStream events;
+    private final ItemCache itemCache;
+    private final IngredientRepository ingredientRepository;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean(false);
+
+    // Guardados por this
+    private final Map<Integer, Entry> items = new HashMap<>();
+    private final Map<Integer, Entry> ingredients = new HashMap<>();
+    private final TreeSet<Entry> alerts = new TreeSet<>(ALERT_ORDER);
+    private long itemsSyncedAt = 0;
+    private long ingredientsSyncedAt = 0;
+    private CompletableFuture<Void> sync;
+    private LocalDateTime updatedAt;
+    private final List<Runnable> unsubscribes = new ArrayList<>();
+
+    /**
+     * @param apiClient            Cliente da API
+     * @param events               Stream de eventos (pode ser null)
+     * @param itemCache            Produtos partilhados
+     * @param ingredientRepository Ingredientes partilhados
+     */
+    public StockAlertService(ApiClient apiClient, LiveEventStream events, ItemCache itemCache,
+            IngredientRepository ingredientRepository) {
+        this.apiClient = apiClient;
+        this.events = events;
+        this.itemCache = itemCache;
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    /**
+     * Subscreve os eventos de stock
+     */
+    public synchronized void start() {
+        stop();
+        if (events != null) {
+            unsubscribes.add(events.subscribe(LiveEventStream.Topic.ITENS, this::onItemEvent));
+            unsubscribes.add(events.subscribe(LiveEventStream.Topic.INGREDIENTES, this::onIngredientEvent));
+        }
+    }
+
+    public synchronized void stop() {
+        unsubscribes.forEach(Runnable::run);
+        unsubscribes.clear();
+    }
+
+    /**
+     * Regista uma view. Recebe logo os alertas atuais, se já houver, e o
+     * catálogo é sincronizado se ainda não foi ou estiver desatualizado.
+     *
+     * @return Ação que cancela a subscrição
+     */
+    public Runnable subscribe(Listener listener) {
+        listeners.add(listener);
+        StockAlerts current = null;
+        synchronized (this) {
+            if (updatedAt != null) {
+                current = snapshot();
+            }
+        }
+        if (current != null) {
+            StockAlerts alertsNow = current;
+            Platform.runLater(() -> listener.onAlerts(alertsNow));
+        }
+        if (isStale()) {
+            refresh();
+        }
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Descarrega de novo produtos e ingredientes (ex: botão "Tentar
+     * novamente"). Se já houver uma sincronização em curso, é partilhada.
+     */
+    public synchronized CompletableFuture<Void> refresh() {
+        if (sync != null && !sync.isDone()) {
+            return sync;
+        }
+        CompletableFuture<List<Item>> itemList = itemCache.getAll(true);
+        CompletableFuture<List<Ingredient>> ingredientList = ingredientRepository.getAll(true);
+
+        sync = itemList.thenAcceptBoth(ingredientList, (loadedItems, loadedIngredients) -> {
+            replaceItems(loadedItems);
+            replaceIngredients(loadedIngredients);
+        });
+        sync.whenComplete((ignored, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                System.err.println("Erro ao sincronizar stock: " + cause.getMessage());
+                Platform.runLater(() -> listeners.forEach(listener -> listener.onError(cause)));
+            }
+        });
+        return sync;
+    }
+
+    /**
+     * Substitui todos os produtos (ex: a lista que a ItemView acabou de
+     * carregar)
+     */
+    public void replaceItems(Collection<Item> loaded) {
+        synchronized (this) {
+            for (Entry entry : items.values()) {
+                alerts.remove(entry);
+            }
+            items.clear();
+            for (Item item : loaded) {
+                putEntry(items, itemEntry(item.getId(), item.getNome(), item.getStockAtual()));
+            }
+            itemsSyncedAt = System.currentTimeMillis();
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    /**
+     * Substitui todos os ingredientes (ex: a lista que a IngredientsView
+     * acabou de carregar)
+     */
+    public void replaceIngredients(Collection<Ingredient> loaded) {
+        synchronized (this) {
+            for (Entry entry : ingredients.values()) {
+                alerts.remove(entry);
+            }
+            ingredients.clear();
+            for (Ingredient ingredient : loaded) {
+                putEntry(ingredients, ingredientEntry(ingredient.getId(), ingredient.getNome(),
+                        ingredient.getStock(), ingredient.getStock_min(), ingredient.getUnidadeName()));
+            }
+            ingredientsSyncedAt = System.currentTimeMillis();
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    /**
+     * Atualiza um produto criado ou alterado
+     */
+    public void applyItem(Item item) {
+        synchronized (this) {
+            putEntry(items, itemEntry(item.getId(), item.getNome(), item.getStockAtual()));
+        }
+        publish();
+    }
+
+    /**
+     * Atualiza um ingrediente criado ou alterado
+     */
+    public void applyIngredient(Ingredient ingredient) {
+        synchronized (this) {
+            putEntry(ingredients, ingredientEntry(ingredient.getId(), ingredient.getNome(), ingredient.getStock(),
+                    ingredient.getStock_min(), ingredient.getUnidadeName()));
+        }
+        publish();
+    }
+
+    /**
+     * Aplica um movimento de stock a um ingrediente já conhecido
+     *
+     * @param delta Quantidade movimentada (negativa para remover)
+     */
+    public void applyIngredientDelta(int ingredientId, int delta) {
+        synchronized (this) {
+            Entry entry = ingredients.get(ingredientId);
+            if (entry == null) {
+                return;
+            }
+            putEntry(ingredients, ingredientEntry(ingredientId, entry.name(), entry.stock() + delta,
+                    entry.stockMin(), entry.unit()));
+        }
+        publish();
+    }
+
+    public void removeItem(int itemId) {
+        synchronized (this) {
+            removeEntry(items, itemId);
+        }
+        publish();
+    }
+
+    public void removeIngredient(int ingredientId) {
+        synchronized (this) {
+            removeEntry(ingredients, ingredientId);
+        }
+        publish();
+    }
+
+    /**
+     * Define limites próprios para um produto ou ingrediente e recalcula só
+     * esse registo
+     */
+    public void setThresholds(Kind kind, int id, int critical, int low) {
+        StockThresholds.set(kind == Kind.ITEM ? StockThresholds.ITEM_SCOPE : StockThresholds.INGREDIENT_SCOPE, id,
+                critical, low);
+        synchronized (this) {
+            Map<Integer, Entry> index = kind == Kind.ITEM ? items : ingredients;
+            Entry entry = index.get(id);
+            if (entry == null) {
+                return;
+            }
+            putEntry(index, kind == Kind.ITEM
+                    ? itemEntry(id, entry.name(), entry.stock())
+                    : ingredientEntry(id, entry.name(), entry.stock(), entry.stockMin(), entry.unit()));
+        }
+        publish();
+    }
+
+    /**
+     * Alertas atuais, sincronizando antes o catálogo se ainda não foi ou
+     * estiver desatualizado (ex: relatórios)
+     *
+     * @return Future com os alertas
+     */
+    public CompletableFuture<StockAlerts> current() {
+        if (!isStale()) {
+            return CompletableFuture.completedFuture(snapshot());
+        }
+        return refresh().thenApply(ignored -> snapshot());
+    }
+
+    /**
+     * @return Alertas atuais
+     */
+    public synchronized StockAlerts snapshot() {
+        List<Entry> critical = new ArrayList<>();
+        List<Entry> low = new ArrayList<>();
+        for (Entry entry : alerts) {
+            (entry.level() == StockThresholds.Level.CRITICAL ? critical : low).add(entry);
+        }
+        return new StockAlerts(List.copyOf(critical), List.copyOf(low), updatedAt);
+    }
+
+    private void onItemEvent(String data) {
+        JsonNode node = readEvent(data);
+        if (node == null) {
+            return;
+        }
+        int id = node.path("id").asInt();
+        if (node.path("removido").asBoolean(false)) {
+            removeItem(id);
+            return;
+        }
+        JsonNode stock = node.has("stockAtual") ? node.get("stockAtual") : node.get("stock");
+        if (stock == null) {
+            // Evento só com o id: não há pedido por produto, volta a sincronizar
+            refresh();
+            return;
+        }
+        synchronized (this) {
+            Entry entry = items.get(id);
+            String name = node.path("nome").asText(entry != null ? entry.name() : "Produto " + id);
+            putEntry(items, itemEntry(id, name, stock.asInt()));
+        }
+        publish();
+    }
+
+    private void onIngredientEvent(String data) {
+        JsonNode node = readEvent(data);
+        if (node == null) {
+            return;
+        }
+        int id = node.path("id").asInt();
+        // Os diálogos dos produtos voltam a pedir a lista na próxima abertura
+        ingredientRepository.invalidate();
+        if (node.path("removido").asBoolean(false)) {
+            removeIngredient(id);
+            return;
+        }
+        if (!node.has("stock")) {
+            // Evento só com o id: pede o ingrediente
+            apiClient.getString("/ingredientes/get?id=" + id)
+                    .thenAccept(body -> {
+                        String json = body.trim().startsWith("[") ? body : "[" + body + "]";
+                        JsonParser.parseIngredients(json).forEach(this::applyIngredient);
+                    })
+                    .exceptionally(e -> {
+                        System.err.println("Erro ao carregar ingrediente " + id + ": " + e.getMessage());
+                        return null;
+                    });
+            return;
+        }
+        synchronized (this) {
+            Entry entry = ingredients.get(id);
+            String name = node.path("nome").asText(entry != null ? entry.name() : "Ingrediente " + id);
+            int stockMin = node.path("stock_min").asInt(entry != null ? entry.stockMin() : 0);
+            String unit = entry != null ? entry.unit() : "";
+            if (node.has("unidade_id")) {
+                Ingredient ingredient = new Ingredient();
+                ingredient.setUnidade_id(node.get("unidade_id").asInt());
+                unit = ingredient.getUnidadeName();
+            }
+            putEntry(ingredients, ingredientEntry(id, name, node.get("stock").asInt(), stockMin, unit));
+        }
+        publish();
+    }
+
+    private JsonNode readEvent(String data) {
+        try {
+            JsonNode node = apiClient.getMapper().readTree(data);
+            return node != null && node.has("id") ? node : null;
+        } catch (Exception e) {
+            System.err.println("Evento de stock inválido: " + data);
+            return null;
+        }
+    }
+
+    private synchronized boolean isStale() {
+        if (itemsSyncedAt == 0 || ingredientsSyncedAt == 0) {
+            return true;
+        }
+        long maxAge = AppConfig.getStockResyncSeconds() * 1000L;
+        return System.currentTimeMillis() - Math.min(itemsSyncedAt, ingredientsSyncedAt) > maxAge;
+    }
+
+    private static Entry itemEntry(int id, String name, int stock) {
+        return new Entry(Kind.ITEM, id, name, stock, 0, ITEM_UNIT, StockThresholds.ofItem(id, stock));
+    }
+
+    private static Entry ingredientEntry(int id, String name, int stock, int stockMin, String unit) {
+        return new Entry(Kind.INGREDIENTE, id, name, stock, stockMin, unit,
+                StockThresholds.ofIngredient(id, stock, stockMin));
+    }
+
+    /**
+     * Substitui o registo e mantém o conjunto de alertas (só o registo
+     * alterado sai e volta a entrar)
+     */
+    private void putEntry(Map<Integer, Entry> index, Entry entry) {
+        Entry previous = index.put(entry.id(), entry);
+        if (previous != null) {
+            alerts.remove(previous);
+        }
+        if (entry.level() != StockThresholds.Level.OK) {
+            alerts.add(entry);
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    private void removeEntry(Map<Integer, Entry> index, int id) {
+        Entry previous = index.remove(id);
+        if (previous != null) {
+            alerts.remove(previous);
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Notifica as views na UI thread; alterações que cheguem antes da
+     * notificação correr vão todas na mesma
+     */
+    private void publish() {
+        if (listeners.isEmpty() || !publishScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Platform.runLater(() -> {
+            publishScheduled.set(false);
+            StockAlerts current = snapshot();
+            listeners.forEach(listener -> listener.onAlerts(current));
+        });
+    }
+}
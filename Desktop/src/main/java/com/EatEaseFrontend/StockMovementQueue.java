@@ -0,0 +1,606 @@
+package com.EatEaseFrontend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+/**
+ * Fila de movimentos de stock dos ingredientes. A view aplica o movimento
+ * logo no seu modelo e entrega-o aqui; a fila junta os movimentos seguidos do
+ * mesmo ingrediente (+5, +3, -2 -&gt; +6) e envia-os ao servidor de
+ * stock.movements.flush.millis em stock.movements.flush.millis, um pedido
+ * /movimentosIngredientes/movStock por ingrediente (o backend não aceita
+ * vários ingredientes no mesmo pedido).
+ *
+ * O movimento é relativo, por isso nunca é reenviado às cegas. Cada
+ * movimento tem um id, enviado como Idempotency-Key, e antes do primeiro
+ * envio é lido o stock do ingrediente no servidor. Conforme a resposta:
+ * <ul>
+ * <li>aceite: os listeners recebem onDelivered;</li>
+ * <li>rejeitado: recebem onRolledBack para desfazer a alteração local;</li>
+ * <li>não processado (408, 429, 503): volta para a fila e segue mais tarde,
+ * com espera crescente;</li>
+ * <li>sessão recusada (401, 403): a fila deixa de enviar até ao próximo
+ * login e os listeners recebem onSuspended;</li>
+ * <li>resultado desconhecido (falha de rede, 502, 504): o stock é lido de
+ * novo. Se mostrar o movimento aplicado conta como entregue, se estiver igual
+ * ao de antes é reenviado, e se mudou de outra forma (outro terminal) os
+ * listeners recebem onUncertain com o stock do servidor.</li>
+ * </ul>
+ *
+ * Enquanto um movimento de um ingrediente está a ser enviado, os novos desse
+ * ingrediente ficam à espera do envio seguinte (no máximo um pedido por
+ * ingrediente de cada vez).
+ *
+ * Os movimentos ficam num diário em disco, reescrito a cada alteração, e são
+ * carregados de novo ao arrancar. Por enviar e enviados sem confirmação são
+ * registos separados, e um registo só sai do diário quando o resultado é
+ * conhecido; um enviado sem confirmação é verificado pelo stock antes de
+ * qualquer reenvio. O diário é de um utilizador de um backend (ver
+ * AppConfig.getUserCacheDirectory).
+ *
+ * Formato do diário (DataOutputStream):
+ *
+ * <pre>
+ * int    magic
+ * int    versão do formato
+ * int    número de movimentos
+ * por movimento:
+ *   byte  estado (0 = por enviar, 1 = enviado sem confirmação)
+ *   UTF   id do movimento
+ *   int   id do ingrediente
+ *   int   quantidade
+ *   int   stock no servidor antes do envio (só no estado 1)
+ * </pre>
+ */
+public class StockMovementQueue {
+
+    /**
+     * Resultado dos envios, sempre na UI thread
+     */
+    public interface Listener {
+        /**
+         * O servidor aceitou o movimento
+         */
+        void onDelivered(int ingredientId, int quantidade);
+
+        /**
+         * O servidor rejeitou o movimento; a alteração local deve ser desfeita
+         */
+        void onRolledBack(int ingredientId, int quantidade, String reason);
+
+        /**
+         * Não foi possível saber se o movimento foi aplicado (o stock do
+         * servidor mudou entretanto por outra via). O movimento sai da fila;
+         * o stock local deve passar a ser o do servidor.
+         *
+         * @param serverStock Stock atual do ingrediente no servidor
+         */
+        void onUncertain(int ingredientId, int quantidade, int serverStock);
+
+        /**
+         * O servidor recusou a sessão; os movimentos ficam no diário e só são
+         * enviados depois de um novo login
+         */
+        void onSuspended(String reason);
+    }
+
+    private static final String MOVE_STOCK_PATH = "/movimentosIngredientes/movStock?id_ingrediente=";
+    private static final String GET_INGREDIENT_PATH = "/ingredientes/get?id=";
+    private static final int MAGIC = 0x45414D51; // "EAMQ"
+    private static final int FORMAT_VERSION = 2;
+    private static final byte STATE_PENDING = 0;
+    private static final byte STATE_SENT = 1;
+    private static final long RETRY_BASE_MILLIS = 2_000;
+    private static final long RETRY_MAX_MILLIS = 60_000;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "eatease-stock-movements");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Movimento de um ingrediente. Guardado pelo lock da fila.
+     */
+    private static final class Movement {
+        final String id;
+        final int ingredientId;
+        int quantidade;
+        // Stock no servidor antes do primeiro envio; null enquanto não foi enviado
+        Integer baseStock;
+        // Pedido (leitura de stock ou envio) em curso
+        boolean busy;
+
+        Movement(String id, int ingredientId, int quantidade) {
+            this.id = id;
+            this.ingredientId = ingredientId;
+            this.quantidade = quantidade;
+        }
+    }
+
+    private final ApiClient apiClient;
+    private final Path journal;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guardados por this
+    private final Map<Integer, Movement> pending = new LinkedHashMap<>();
+    private final Map<Integer, Movement> inFlight = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private long retryDelay = RETRY_BASE_MILLIS;
+    private boolean running = false;
+    private boolean suspended = false;
+
+    /**
+     * @param apiClient Cliente da API
+     * @param journal   Ficheiro do diário (os movimentos que lá estiverem são
+     *                  carregados já)
+     */
+    public StockMovementQueue(ApiClient apiClient, Path journal) {
+        this.apiClient = apiClient;
+        this.journal = journal;
+        load();
+    }
+
+    /**
+     * Começa a enviar; movimentos recuperados do diário seguem logo (os
+     * enviados sem confirmação são verificados primeiro)
+     */
+    public synchronized void start() {
+        running = true;
+        suspended = false;
+        if (!pending.isEmpty() || !inFlight.isEmpty()) {
+            System.out.println("[STOCK] " + (pending.size() + inFlight.size())
+                    + " movimentos recuperados do diário");
+            schedule(0);
+        }
+    }
+
+    /**
+     * Deixa de enviar. O que ainda não foi confirmado fica no diário para a
+     * próxima sessão.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Regista um listener
+     *
+     * @return Ação que cancela a subscrição
+     */
+    public Runnable subscribe(Listener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Junta um movimento à fila. Fica no diário antes de o método terminar.
+     *
+     * @param ingredientId ID do ingrediente
+     * @param quantidade   Quantidade (positiva para adicionar, negativa para
+     *                     remover)
+     */
+    public synchronized void submit(int ingredientId, int quantidade) {
+        if (quantidade == 0) {
+            return;
+        }
+        addPending(ingredientId, quantidade);
+        writeJournal();
+        scheduleIfIdle(AppConfig.getStockMovementsFlushMillis());
+    }
+
+    /**
+     * @return Soma dos movimentos do ingrediente que ainda não chegaram a ser
+     *         enviados (para aplicar por cima do stock lido do servidor)
+     */
+    public synchronized int pendingDelta(int ingredientId) {
+        int delta = 0;
+        Movement queued = pending.get(ingredientId);
+        if (queued != null) {
+            delta += queued.quantidade;
+        }
+        Movement sending = inFlight.get(ingredientId);
+        if (sending != null && sending.baseStock == null) {
+            delta += sending.quantidade;
+        }
+        return delta;
+    }
+
+    /**
+     * Junta a quantidade ao movimento por enviar do ingrediente. Movimentos
+     * que se anulam deixam de ter de ser enviados.
+     */
+    private void addPending(int ingredientId, int quantidade) {
+        Movement queued = pending.get(ingredientId);
+        if (queued == null) {
+            pending.put(ingredientId, new Movement(UUID.randomUUID().toString(), ingredientId, quantidade));
+        } else if (queued.quantidade + quantidade == 0) {
+            pending.remove(ingredientId);
+        } else {
+            queued.quantidade += quantidade;
+        }
+    }
+
+    private void schedule(long delayMillis) {
+        scheduledFlush = scheduler.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleIfIdle(long delayMillis) {
+        if (scheduledFlush == null && running && !suspended) {
+            schedule(delayMillis);
+        }
+    }
+
+    /**
+     * Tenta de novo mais tarde, com espera crescente
+     */
+    private void scheduleRetry() {
+        if (scheduledFlush == null && running && !suspended) {
+            schedule(retryDelay);
+            retryDelay = Math.min(RETRY_MAX_MILLIS, retryDelay * 2);
+        }
+    }
+
+    /**
+     * Começa o envio dos movimentos por enviar (um por ingrediente) e a
+     * verificação dos enviados sem confirmação
+     */
+    private void flush() {
+        List<Movement> toSend = new ArrayList<>();
+        List<Movement> toCheck = new ArrayList<>();
+        synchronized (this) {
+            scheduledFlush = null;
+            if (!running || suspended) {
+                return;
+            }
+            for (Movement movement : inFlight.values()) {
+                if (!movement.busy) {
+                    movement.busy = true;
+                    toCheck.add(movement);
+                }
+            }
+            pending.values().removeIf(movement -> {
+                if (inFlight.containsKey(movement.ingredientId)) {
+                    return false;
+                }
+                movement.busy = true;
+                inFlight.put(movement.ingredientId, movement);
+                toSend.add(movement);
+                return true;
+            });
+        }
+        if (!toSend.isEmpty()) {
+            System.out.println("[STOCK] A enviar movimentos de " + toSend.size() + " ingredientes");
+        }
+        toSend.forEach(this::readBaseAndSend);
+        toCheck.forEach(this::reconcile);
+    }
+
+    /**
+     * Lê o stock antes do primeiro envio, para se poder verificar mais tarde
+     * se o movimento foi aplicado
+     */
+    private void readBaseAndSend(Movement movement) {
+        readStock(movement.ingredientId).whenComplete((stock, ex) -> {
+            if (ex != null) {
+                System.err.println("Erro ao ler stock do ingrediente " + movement.ingredientId + ": "
+                        + ex.getMessage());
+                notSent(movement, sessionRefusedReason(ex));
+                return;
+            }
+            synchronized (this) {
+                movement.baseStock = stock;
+                writeJournal();
+            }
+            send(movement);
+        });
+    }
+
+    private void send(Movement movement) {
+        int ingredientId = movement.ingredientId;
+        int quantidade = movement.quantidade;
+        HttpRequest moveStockReq = HttpRequest.newBuilder()
+                .uri(URI.create(AppConfig.getApiEndpoint(MOVE_STOCK_PATH + ingredientId)))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", movement.id)
+                .POST(HttpRequest.BodyPublishers.ofString(String.format("{\"quantidade\":%d}", quantidade)))
+                .build();
+
+        apiClient.sendAsync(moveStockReq, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((resp, ex) -> {
+                    if (ex != null) {
+                        System.err.println("Movimento de stock do ingrediente " + ingredientId
+                                + " sem resposta: " + ex.getMessage());
+                        unconfirmed(movement);
+                    } else if (resp.statusCode() == 200 || resp.statusCode() == 201) {
+                        delivered(movement);
+                    } else if (isSessionRefused(resp.statusCode())) {
+                        notSent(movement, "Status code: " + resp.statusCode());
+                    } else if (isNotProcessed(resp.statusCode())) {
+                        System.err.println("Movimento de stock do ingrediente " + ingredientId
+                                + " adiado (código " + resp.statusCode() + ")");
+                        notSent(movement, null);
+                    } else if (isUnknownOutcome(resp.statusCode())) {
+                        System.err.println("Movimento de stock do ingrediente " + ingredientId
+                                + " sem confirmação (código " + resp.statusCode() + ")");
+                        unconfirmed(movement);
+                    } else {
+                        System.err.println("Movimento de stock do ingrediente " + ingredientId + " rejeitado: "
+                                + resp.statusCode() + " - " + resp.body());
+                        finish(movement);
+                        String reason = "Status code: " + resp.statusCode() + "\nResposta: " + resp.body();
+                        listeners.forEach(listener -> Platform.runLater(
+                                () -> listener.onRolledBack(ingredientId, quantidade, reason)));
+                    }
+                });
+    }
+
+    /**
+     * Verifica pelo stock do servidor se um movimento enviado sem
+     * confirmação foi aplicado; só é reenviado se o stock não mudou
+     */
+    private void reconcile(Movement movement) {
+        readStock(movement.ingredientId).whenComplete((stock, ex) -> {
+            if (ex != null) {
+                System.err.println("Erro ao verificar movimento de stock do ingrediente " + movement.ingredientId
+                        + ": " + ex.getMessage());
+                String refused = sessionRefusedReason(ex);
+                synchronized (this) {
+                    movement.busy = false;
+                    if (refused != null) {
+                        suspend(refused);
+                    } else {
+                        scheduleRetry();
+                    }
+                }
+                return;
+            }
+
+            int base = movement.baseStock;
+            if (stock == base + movement.quantidade) {
+                System.out.println("[STOCK] Movimento do ingrediente " + movement.ingredientId
+                        + " já estava aplicado");
+                delivered(movement);
+            } else if (stock == base) {
+                System.out.println("[STOCK] Movimento do ingrediente " + movement.ingredientId
+                        + " não foi aplicado, a reenviar");
+                send(movement);
+            } else {
+                System.err.println("[STOCK] Movimento do ingrediente " + movement.ingredientId
+                        + " por confirmar: stock era " + base + ", é " + stock);
+                finish(movement);
+                int ingredientId = movement.ingredientId;
+                int quantidade = movement.quantidade;
+                listeners.forEach(listener -> Platform.runLater(
+                        () -> listener.onUncertain(ingredientId, quantidade, stock)));
+            }
+        });
+    }
+
+    /**
+     * @return Future com o stock atual do ingrediente no servidor; falha com
+     *         SessionRefusedException se a sessão for recusada
+     */
+    private CompletableFuture<Integer> readStock(int ingredientId) {
+        HttpRequest getIngredientReq = HttpRequest.newBuilder()
+                .uri(URI.create(AppConfig.getApiEndpoint(GET_INGREDIENT_PATH + ingredientId)))
+                .GET()
+                .build();
+        return apiClient.sendAsync(getIngredientReq, HttpResponse.BodyHandlers.ofString())
+                .thenApply(resp -> {
+                    if (isSessionRefused(resp.statusCode())) {
+                        throw new SessionRefusedException("Status code: " + resp.statusCode());
+                    }
+                    if (resp.statusCode() != 200) {
+                        throw new IllegalStateException("Status code: " + resp.statusCode());
+                    }
+                    String body = resp.body().trim();
+                    List<Ingredient> ingredients = JsonParser
+                            .parseIngredients(body.startsWith("[") ? body : "[" + body + "]");
+                    if (ingredients.isEmpty()) {
+                        throw new IllegalStateException("Ingrediente " + ingredientId + " não encontrado");
+                    }
+                    return ingredients.get(0).getStock();
+                });
+    }
+
+    /**
+     * @return Motivo se a falha foi a sessão recusada, senão null
+     */
+    private static String sessionRefusedReason(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof SessionRefusedException ? cause.getMessage() : null;
+    }
+
+    /**
+     * Movimento aplicado no servidor: sai do diário e seguem os que
+     * entretanto chegaram para o mesmo ingrediente
+     */
+    private void delivered(Movement movement) {
+        finish(movement);
+        listeners.forEach(listener -> Platform.runLater(
+                () -> listener.onDelivered(movement.ingredientId, movement.quantidade)));
+    }
+
+    /**
+     * Tira do diário um movimento com resultado conhecido
+     */
+    private synchronized void finish(Movement movement) {
+        inFlight.remove(movement.ingredientId, movement);
+        retryDelay = RETRY_BASE_MILLIS;
+        writeJournal();
+        if (pending.containsKey(movement.ingredientId)) {
+            scheduleIfIdle(AppConfig.getStockMovementsFlushMillis());
+        }
+    }
+
+    /**
+     * Devolve à fila um movimento que de certeza não foi aplicado
+     *
+     * @param sessionRefused Motivo, se a sessão foi recusada (a fila é
+     *                       suspensa), ou null
+     */
+    private synchronized void notSent(Movement movement, String sessionRefused) {
+        inFlight.remove(movement.ingredientId, movement);
+        addPending(movement.ingredientId, movement.quantidade);
+        writeJournal();
+        if (sessionRefused != null) {
+            suspend(sessionRefused);
+        } else {
+            scheduleRetry();
+        }
+    }
+
+    /**
+     * Movimento que pode ou não ter sido aplicado: fica no diário como
+     * enviado e é verificado no próximo flush
+     */
+    private synchronized void unconfirmed(Movement movement) {
+        movement.busy = false;
+        writeJournal();
+        scheduleRetry();
+    }
+
+    private void suspend(String reason) {
+        if (suspended) {
+            return;
+        }
+        suspended = true;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        System.err.println("[STOCK] Sessão recusada (" + reason + "), envio de movimentos suspenso");
+        listeners.forEach(listener -> Platform.runLater(() -> listener.onSuspended(reason)));
+    }
+
+    private static boolean isSessionRefused(int statusCode) {
+        return statusCode == 401 || statusCode == 403;
+    }
+
+    /**
+     * Códigos com que o servidor diz que não processou o pedido
+     */
+    private static boolean isNotProcessed(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode == 503;
+    }
+
+    /**
+     * Códigos de um intermediário: o backend pode ter aplicado o movimento
+     */
+    private static boolean isUnknownOutcome(int statusCode) {
+        return statusCode == 502 || statusCode == 504;
+    }
+
+    /**
+     * Escreve os movimentos por enviar e os enviados sem confirmação. A
+     * escrita é feita para um ficheiro temporário e depois movida; sem
+     * movimentos o diário é apagado. Chamado com o lock da fila.
+     */
+    private void writeJournal() {
+        List<Movement> all = new ArrayList<>(inFlight.values());
+        all.addAll(pending.values());
+
+        try {
+            if (all.isEmpty()) {
+                Files.deleteIfExists(journal);
+                return;
+            }
+            Files.createDirectories(journal.getParent());
+            Path tmp = journal.resolveSibling(journal.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(all.size());
+                for (Movement movement : all) {
+                    // Ainda sem stock de referência = ainda não foi enviado
+                    boolean sent = movement.baseStock != null;
+                    out.writeByte(sent ? STATE_SENT : STATE_PENDING);
+                    out.writeUTF(movement.id);
+                    out.writeInt(movement.ingredientId);
+                    out.writeInt(movement.quantidade);
+                    if (sent) {
+                        out.writeInt(movement.baseStock);
+                    }
+                }
+            }
+            Files.move(tmp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Erro ao guardar movimentos de stock " + journal + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(journal)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                System.err.println("Diário de stock " + journal + " com formato desconhecido, a ignorar");
+                return;
+            }
+            int count = in.readInt();
+            List<Movement> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte state = in.readByte();
+                Movement movement = new Movement(in.readUTF(), in.readInt(), in.readInt());
+                if (state == STATE_SENT) {
+                    movement.baseStock = in.readInt();
+                }
+                loaded.add(movement);
+            }
+            synchronized (this) {
+                for (Movement movement : loaded) {
+                    if (movement.baseStock != null) {
+                        inFlight.put(movement.ingredientId, movement);
+                    } else if (pending.containsKey(movement.ingredientId)) {
+                        addPending(movement.ingredientId, movement.quantidade);
+                    } else {
+                        pending.put(movement.ingredientId, movement);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler diário de stock " + journal + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * O servidor recusou a sessão (401/403) ao ler o stock
+     */
+    private static final class SessionRefusedException extends RuntimeException {
+        SessionRefusedException(String message) {
+            super(message);
+        }
+    }
+}
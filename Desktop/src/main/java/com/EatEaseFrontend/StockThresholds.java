@@ -0,0 +1,78 @@
+package com.EatEaseFrontend;
+
+/**
+ * Limites de stock usados nos alertas. Por omissão um produto é crítico com
+ * stock &lt;= stock.critical (5) e baixo com stock &lt;= stock.low (10); um
+ * ingrediente é crítico até metade do seu stock mínimo e baixo até ao stock
+ * mínimo. Cada produto ou ingrediente pode ter limites próprios na
+ * configuração (ver AppConfig.getStockThreshold).
+ */
+public final class StockThresholds {
+
+    public static final String ITEM_SCOPE = "item";
+    public static final String INGREDIENT_SCOPE = "ingrediente";
+
+    /**
+     * Nível de stock
+     */
+    public enum Level {
+        OK,
+        LOW,
+        CRITICAL
+    }
+
+    private StockThresholds() {
+    }
+
+    /**
+     * @return Nível de stock do produto
+     */
+    public static Level ofItem(int itemId, int stock) {
+        int critical = AppConfig.getStockThreshold(ITEM_SCOPE, itemId, "critical", AppConfig.getStockCritical());
+        int low = AppConfig.getStockThreshold(ITEM_SCOPE, itemId, "low", AppConfig.getStockLow());
+        return levelOf(stock, critical, low);
+    }
+
+    public static Level ofItem(Item item) {
+        return ofItem(item.getId(), item.getStockAtual());
+    }
+
+    /**
+     * @param stockMin Stock mínimo do ingrediente (sem mínimo só o stock
+     *                 esgotado é crítico)
+     * @return Nível de stock do ingrediente
+     */
+    public static Level ofIngredient(int ingredientId, int stock, int stockMin) {
+        int minimum = Math.max(0, stockMin);
+        int critical = AppConfig.getStockThreshold(INGREDIENT_SCOPE, ingredientId, "critical", minimum / 2);
+        int low = AppConfig.getStockThreshold(INGREDIENT_SCOPE, ingredientId, "low", minimum);
+        return levelOf(stock, critical, low);
+    }
+
+    public static Level ofIngredient(Ingredient ingredient) {
+        return ofIngredient(ingredient.getId(), ingredient.getStock(), ingredient.getStock_min());
+    }
+
+    /**
+     * Define limites próprios para um produto ou ingrediente
+     *
+     * @param scope    ITEM_SCOPE ou INGREDIENT_SCOPE
+     * @param id       Id do produto ou ingrediente
+     * @param critical Stock a partir do qual é crítico
+     * @param low      Stock a partir do qual é baixo
+     */
+    public static void set(String scope, int id, int critical, int low) {
+        AppConfig.setProperty("stock." + scope + "." + id + ".critical", String.valueOf(critical));
+        AppConfig.setProperty("stock." + scope + "." + id + ".low", String.valueOf(Math.max(critical, low)));
+    }
+
+    private static Level levelOf(int stock, int critical, int low) {
+        if (stock <= critical) {
+            return Level.CRITICAL;
+        }
+        if (stock <= low) {
+            return Level.LOW;
+        }
+        return Level.OK;
+    }
+}
@@ -0,0 +1,132 @@
+package com.EatEaseFrontend;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Grelha de cards virtualizada: os cards são agrupados em linhas e mostrados
+ * num ListView, por isso só as linhas visíveis existem no scene graph e as
+ * células são reutilizadas ao fazer scroll. O número de colunas acompanha a
+ * largura disponível. A margem à volta dos cards vem da classe CSS
+ * card-grid.
+ *
+ * @param <T> Tipo dos elementos mostrados
+ */
+public final class VirtualCardGrid<T> extends ListView<List<T>> {
+
+    private final Function<T, Node> cardFactory;
+    private final double cardWidth;
+    private final double gap;
+    private List<T> elements = new ArrayList<>();
+    private int columns = 1;
+    // Incrementada por refreshCards(); as células com outra geração refazem os cards
+    private int generation = 0;
+
+    /**
+     * @param cardFactory Cria o card de um elemento
+     * @param cardWidth   Largura de cada card (para calcular as colunas)
+     * @param gap         Espaço horizontal entre cards
+     */
+    public VirtualCardGrid(Function<T, Node> cardFactory, double cardWidth, double gap) {
+        this.cardFactory = cardFactory;
+        this.cardWidth = cardWidth;
+        this.gap = gap;
+
+        getStyleClass().add("card-grid");
+        setFocusTraversable(false);
+        setCellFactory(list -> new RowCell());
+
+        widthProperty().addListener((obs, oldWidth, newWidth) -> updateColumns());
+        paddingProperty().addListener((obs, oldPadding, newPadding) -> updateColumns());
+    }
+
+    private void updateColumns() {
+        int newColumns = computeColumns(getWidth());
+        if (newColumns != columns) {
+            columns = newColumns;
+            regroup();
+        }
+    }
+
+    /**
+     * Substitui os elementos mostrados (a ordem é mantida)
+     *
+     * @param newElements Elementos a mostrar
+     */
+    public void setElements(List<T> newElements) {
+        elements = new ArrayList<>(newElements);
+        regroup();
+        scrollTo(0);
+    }
+
+    /**
+     * @return Elementos mostrados atualmente
+     */
+    public List<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * Volta a criar os cards visíveis (ex: quando dados auxiliares mudaram)
+     */
+    public void refreshCards() {
+        generation++;
+        refresh();
+    }
+
+    private int computeColumns(double width) {
+        // Descontar padding e a barra de scroll vertical
+        double available = width - getPadding().getLeft() - getPadding().getRight() - 20;
+        return Math.max(1, (int) ((available + gap) / (cardWidth + gap)));
+    }
+
+    private void regroup() {
+        ObservableList<List<T>> rows = FXCollections.observableArrayList();
+        for (int i = 0; i < elements.size(); i += columns) {
+            rows.add(elements.subList(i, Math.min(i + columns, elements.size())));
+        }
+        setItems(rows);
+    }
+
+    /**
+     * Célula com uma linha de cards. Só volta a criar os cards quando a linha
+     * que lhe é atribuída muda ou depois de refreshCards().
+     */
+    private class RowCell extends ListCell<List<T>> {
+        private final HBox row = new HBox(gap);
+        private List<T> shown;
+        private int shownGeneration = -1;
+
+        @Override
+        protected void updateItem(List<T> rowElements, boolean empty) {
+            super.updateItem(rowElements, empty);
+            setText(null);
+            if (empty || rowElements == null) {
+                shown = null;
+                row.getChildren().clear();
+                setGraphic(null);
+                return;
+            }
+
+            if (shownGeneration != generation || !rowElements.equals(shown)
+                    || row.getChildren().size() != rowElements.size()) {
+                List<Node> cards = new ArrayList<>(rowElements.size());
+                for (T element : rowElements) {
+                    cards.add(cardFactory.apply(element));
+                }
+                row.getChildren().setAll(cards);
+                shown = new ArrayList<>(rowElements);
+                shownGeneration = generation;
+            }
+            setGraphic(row);
+        }
+    }
+}
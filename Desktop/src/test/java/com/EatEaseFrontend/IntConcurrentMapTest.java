@@ -0,0 +1,154 @@
+package com.EatEaseFrontend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IntConcurrentMap: sondagem linear com colisões, remoção sem marcas,
+ * crescimento das tabelas e merge concorrente.
+ */
+class IntConcurrentMapTest {
+
+    private static final int LAST_SLOT = IntConcurrentMap.INITIAL_CAPACITY - 1;
+
+    @Test
+    void removeInCollisionChainThatWrapsAround() {
+        // Quatro chaves do mesmo segmento: três com "home" na última posição
+        // (ocupam 15, 0 e 1) e uma com "home" em 0 (empurrada para 2)
+        List<Integer> keys = keysWithHome(0, LAST_SLOT, 3);
+        int homeZero = keysWithHome(0, 0, 1).get(0);
+        keys.add(homeZero);
+
+        IntConcurrentMap<String> map = new IntConcurrentMap<>();
+        for (int key : keys) {
+            assertNull(map.put(key, "v" + key));
+        }
+        assertEquals(4, map.size());
+
+        // Apagar o início da sequência obriga a puxar para trás as seguintes,
+        // incluindo as que deram a volta à tabela
+        assertEquals("v" + keys.get(0), map.remove(keys.get(0)));
+        assertNull(map.get(keys.get(0)));
+        for (int key : keys.subList(1, keys.size())) {
+            assertEquals("v" + key, map.get(key), "chave " + key);
+        }
+
+        // E a meio da sequência, depois da volta
+        assertEquals("v" + keys.get(2), map.remove(keys.get(2)));
+        assertEquals("v" + keys.get(1), map.get(keys.get(1)));
+        assertEquals("v" + homeZero, map.get(homeZero));
+        assertEquals(2, map.size());
+
+        // As posições libertadas voltam a ser usadas sem duplicar chaves
+        assertNull(map.put(keys.get(0), "again"));
+        assertEquals("v" + homeZero, map.put(homeZero, "replaced"));
+        assertEquals(3, map.size());
+        assertEquals("again", map.get(keys.get(0)));
+        assertEquals("replaced", map.get(homeZero));
+    }
+
+    @Test
+    void growsAndKeepsEveryKey() {
+        IntConcurrentMap<Integer> map = new IntConcurrentMap<>();
+        int count = 50_000;
+        for (int key = 0; key < count; key++) {
+            map.put(key * 7, key);
+        }
+        assertEquals(count, map.size());
+        for (int key = 0; key < count; key++) {
+            assertEquals(key, map.get(key * 7));
+        }
+        assertNull(map.get(1));
+
+        for (int key = 0; key < count; key += 2) {
+            assertEquals(key, map.remove(key * 7));
+        }
+        assertEquals(count / 2, map.size());
+        for (int key = 0; key < count; key++) {
+            assertEquals(key % 2 == 0 ? null : key, map.get(key * 7));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(7));
+    }
+
+    @Test
+    void removeWithValueOnlyMatchesSameInstance() {
+        IntConcurrentMap<String> map = new IntConcurrentMap<>();
+        String value = new String("menu");
+        map.put(3, value);
+
+        assertFalse(map.remove(3, new String("menu")));
+        assertFalse(map.remove(4, value));
+        assertSame(value, map.get(3));
+
+        assertTrue(map.remove(3, value));
+        assertNull(map.get(3));
+        assertFalse(map.remove(3, value));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void concurrentMergeLosesNoUpdates() throws Exception {
+        IntConcurrentMap<Integer> map = new IntConcurrentMap<>();
+        int threads = 8;
+        int keys = 200;
+        int rounds = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        for (int key = 0; key < keys; key++) {
+                            map.merge(key, 1, Integer::sum);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(keys, map.size());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(threads * rounds, map.get(key), "chave " + key);
+        }
+    }
+
+    /**
+     * Chaves que caem no segmento e na posição inicial indicados de uma
+     * tabela ainda com a capacidade inicial
+     */
+    private static List<Integer> keysWithHome(int segment, int home, int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 0; keys.size() < count; key++) {
+            int hash = IntConcurrentMap.hash(key);
+            if (hash >>> 28 == segment && (hash & LAST_SLOT) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,175 @@
+package com.EatEaseFrontend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor local que imita o endpoint de eventos do backend, para testar o
+ * LiveEventStream (ver LiveEventStreamTest) e as views sem servidor real.
+ *
+ * Uso a partir da linha de comandos, com as classes de teste no classpath (e
+ * api.events.url apontado para o URL indicado):
+ *
+ * <pre>
+ * java com.EatEaseFrontend.LiveEventStandInServer [porta]
+ * pedido {"id": 12}
+ * mesa {"id": 3}
+ * item {"id": 7, "stockAtual": 4}
+ * ingrediente {"id": 2, "stock": 120}
+ * </pre>
+ *
+ * Cada linha lida do stdin é publicada como evento para todos os clientes.
+ */
+public class LiveEventStandInServer {
+
+    private static final int HEARTBEAT_SECONDS = 15;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<OutputStream> clients = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "stand-in-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param port Porta local (0 escolhe uma livre)
+     * @throws IOException Se não for possível abrir a porta
+     */
+    public LiveEventStandInServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/events", this::handleEvents);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        heartbeat.scheduleAtFixedRate(() -> write(": heartbeat\n\n"),
+                HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        heartbeat.shutdownNow();
+        for (OutputStream client : clients) {
+            closeQuietly(client);
+        }
+        clients.clear();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return URL do endpoint de eventos
+     */
+    public URI getEventsUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+    }
+
+    /**
+     * @return Número de clientes ligados
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Fecha a ligação de todos os clientes (como um backend reiniciado)
+     */
+    public void disconnectAll() {
+        for (OutputStream client : clients) {
+            clients.remove(client);
+            closeQuietly(client);
+        }
+    }
+
+    /**
+     * Publica um evento para todos os clientes ligados
+     *
+     * @param topic Tópico do evento
+     * @param data  Conteúdo (normalmente JSON numa linha)
+     */
+    public void publish(LiveEventStream.Topic topic, String data) {
+        StringBuilder event = new StringBuilder();
+        event.append("event: ").append(topic.getEventName()).append('\n');
+        for (String line : data.split("\n", -1)) {
+            event.append("data: ").append(line).append('\n');
+        }
+        event.append('\n');
+        write(event.toString());
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        out.write(": ligado\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        clients.add(out);
+    }
+
+    private void write(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        for (OutputStream client : clients) {
+            try {
+                synchronized (client) {
+                    client.write(bytes);
+                    client.flush();
+                }
+            } catch (IOException e) {
+                clients.remove(client);
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // já fechado
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        LiveEventStandInServer standIn = new LiveEventStandInServer(port);
+        standIn.start();
+        System.out.println("Stand-in de eventos em " + standIn.getEventsUri());
+        System.out.println("Escreva \"pedido <json>\" ou \"mesa <json>\" para publicar");
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+", 2);
+            LiveEventStream.Topic topic = LiveEventStream.Topic.fromEventName(parts[0]);
+            if (topic == null) {
+                System.out.println("Tópico desconhecido: " + parts[0]);
+                continue;
+            }
+            standIn.publish(topic, parts.length > 1 ? parts[1] : "{}");
+            System.out.println("Publicado para " + standIn.getClientCount() + " cliente(s)");
+        }
+        standIn.stop();
+    }
+}
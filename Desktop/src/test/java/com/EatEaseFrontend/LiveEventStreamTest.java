@@ -0,0 +1,117 @@
+package com.EatEaseFrontend;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LiveEventStream contra o LiveEventStandInServer: ligar, receber eventos e
+ * voltar a ligar quando o servidor fecha a ligação.
+ */
+class LiveEventStreamTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private LiveEventStandInServer standIn;
+    private LiveEventStream stream;
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        standIn = new LiveEventStandInServer(0);
+        standIn.start();
+    }
+
+    @AfterEach
+    void stopAll() {
+        if (stream != null) {
+            stream.stop();
+        }
+        standIn.stop();
+    }
+
+    @Test
+    void receivesEventsOfSubscribedTopic() throws Exception {
+        BlockingQueue<String> pedidos = new LinkedBlockingQueue<>();
+        BlockingQueue<String> mesas = new LinkedBlockingQueue<>();
+        stream = new LiveEventStream(http, standIn.getEventsUri());
+        stream.subscribe(LiveEventStream.Topic.PEDIDOS, pedidos::add);
+        stream.subscribe(LiveEventStream.Topic.MESAS, mesas::add);
+        stream.start();
+
+        waitUntil(() -> stream.isConnected() && standIn.getClientCount() == 1, "ligação ao stand-in");
+
+        standIn.publish(LiveEventStream.Topic.PEDIDOS, "{\"id\": 12, \"estadoPedido_id\": 3}");
+        assertEquals("{\"id\": 12, \"estadoPedido_id\": 3}", pedidos.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        standIn.publish(LiveEventStream.Topic.MESAS, "{\"id\": 3}");
+        assertEquals("{\"id\": 3}", mesas.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(pedidos.isEmpty());
+    }
+
+    @Test
+    void reconnectsAfterServerClosesConnection() throws Exception {
+        BlockingQueue<String> pedidos = new LinkedBlockingQueue<>();
+        stream = new LiveEventStream(http, standIn.getEventsUri());
+        stream.subscribe(LiveEventStream.Topic.PEDIDOS, pedidos::add);
+        stream.start();
+        waitUntil(() -> stream.isConnected() && standIn.getClientCount() == 1, "ligação ao stand-in");
+
+        standIn.disconnectAll();
+        waitUntil(() -> !stream.isConnected(), "fim da ligação");
+        waitUntil(() -> stream.isConnected() && standIn.getClientCount() == 1, "nova ligação ao stand-in");
+
+        standIn.publish(LiveEventStream.Topic.PEDIDOS, "{\"id\": 13}");
+        assertEquals("{\"id\": 13}", pedidos.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void stopsRetryingWhenServerHasNoEventEndpoint() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            stream = new LiveEventStream(http,
+                    URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events"));
+            stream.start();
+            waitUntil(() -> requests.get() == 1, "primeiro pedido");
+
+            // Com o backoff normal já teria havido pelo menos mais duas tentativas
+            Thread.sleep(3_000);
+            assertEquals(1, requests.get());
+            assertFalse(stream.isConnected());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timeout à espera de " + what);
+            }
+            Thread.sleep(20);
+        }
+    }
+}